@@ -9,6 +9,7 @@ import java.util.Arrays;
 public class InputHandler implements KeyListener {
 	boolean[] keys = new boolean[256];
 	boolean[] previousKeys = new boolean[256];
+	private InputRecorder recorder;
 
 	/**
 	 * Assigns the newly created InputHandler to a Component
@@ -20,6 +21,48 @@ public class InputHandler implements KeyListener {
 		c.addKeyListener(this);
 	}
 
+	/**
+	 * Creates an InputHandler with no Component; keys are driven through
+	 * {@link #setKeyDown(int, boolean)} instead, e.g. by a movie replay.
+	 */
+	protected InputHandler() {
+	}
+
+	/**
+	 * Attaches a recorder that captures this handler's keys at the start of
+	 * every frame, or detaches it when null.
+	 */
+	public void setRecorder(InputRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	public InputRecorder getRecorder() {
+		return recorder;
+	}
+
+	/**
+	 * Called at the start of each frame, before any input is read.
+	 */
+	public void beginFrame() {
+		if (recorder != null) {
+			recorder.capture(this);
+		}
+	}
+
+	/**
+	 * Sets a key's state directly, as a key event would.
+	 *
+	 * @param keyCode
+	 *            The key to set
+	 * @param down
+	 *            Whether the key is held
+	 */
+	protected void setKeyDown(int keyCode, boolean down) {
+		if (keyCode > 0 && keyCode < 256) {
+			keys[keyCode] = down;
+		}
+	}
+
 	/**
 	 * Checks whether a specific key is down
 	 *
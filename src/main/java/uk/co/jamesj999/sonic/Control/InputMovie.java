@@ -0,0 +1,153 @@
+package uk.co.jamesj999.sonic.Control;
+
+import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
+import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A recorded play session: the RNG seed and zone/act it started from, plus one bitmask per
+ * frame of the buttons the game reads.
+ * <p>
+ * Masks hold logical buttons rather than key codes, so a movie replays the same under any key
+ * bindings. Rewind and retry are recorded too, since they change the simulation. Debug-only
+ * keys (level skips, special stage shortcuts) are not recorded.
+ * <p>
+ * File layout, big-endian: magic "SMOV", version, seed, zone, act, frame count, then one
+ * 16-bit mask per frame. Version 1 files, with one byte per frame, still load.
+ */
+public class InputMovie {
+    public static final int UP = 1;
+    public static final int DOWN = 1 << 1;
+    public static final int LEFT = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+    public static final int JUMP = 1 << 4;
+    public static final int TEST = 1 << 5;
+    public static final int DEBUG_MODE = 1 << 6;
+    public static final int REWIND = 1 << 7;
+    public static final int RETRY = 1 << 8;
+
+    private static final int MAGIC = 0x534D4F56; // "SMOV"
+    private static final int VERSION = 2;
+    // One byte per frame, without rewind or retry
+    private static final int VERSION_BYTE_MASKS = 1;
+
+    private final int seed;
+    private final int zone;
+    private final int act;
+    private short[] frames = new short[60 * 60];
+    private int frameCount;
+
+    public InputMovie(int seed, int zone, int act) {
+        this.seed = seed;
+        this.zone = zone;
+        this.act = act;
+    }
+
+    public int getSeed() {
+        return seed;
+    }
+
+    public int getZone() {
+        return zone;
+    }
+
+    public int getAct() {
+        return act;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public int getFrame(int index) {
+        if (index < 0 || index >= frameCount) {
+            throw new IndexOutOfBoundsException("Frame " + index + " of " + frameCount);
+        }
+        return frames[index] & 0xFFFF;
+    }
+
+    public void addFrame(int mask) {
+        if (frameCount == frames.length) {
+            frames = Arrays.copyOf(frames, frames.length * 2);
+        }
+        frames[frameCount++] = (short) mask;
+    }
+
+    public void save(Path path) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(out);
+        }
+    }
+
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeInt(seed);
+        data.writeShort(zone);
+        data.writeShort(act);
+        data.writeInt(frameCount);
+        for (int i = 0; i < frameCount; i++) {
+            data.writeShort(frames[i]);
+        }
+        data.flush();
+    }
+
+    public static InputMovie load(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            return read(in);
+        }
+    }
+
+    public static InputMovie read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not an input movie");
+        }
+        int version = data.readUnsignedShort();
+        if (version != VERSION && version != VERSION_BYTE_MASKS) {
+            throw new IOException("Unsupported input movie version " + version);
+        }
+        InputMovie movie = new InputMovie(data.readInt(), data.readUnsignedShort(), data.readUnsignedShort());
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IOException("Corrupt input movie frame count " + count);
+        }
+        movie.frames = new short[Math.max(count, 1)];
+        for (int i = 0; i < count; i++) {
+            movie.frames[i] = version == VERSION_BYTE_MASKS
+                    ? (short) data.readUnsignedByte()
+                    : data.readShort();
+        }
+        movie.frameCount = count;
+        return movie;
+    }
+
+    /**
+     * Key codes currently bound to each mask bit, indexed by bit number.
+     */
+    static int[] boundKeys() {
+        SonicConfigurationService config = SonicConfigurationService.getInstance();
+        return new int[] {
+                config.getInt(SonicConfiguration.UP),
+                config.getInt(SonicConfiguration.DOWN),
+                config.getInt(SonicConfiguration.LEFT),
+                config.getInt(SonicConfiguration.RIGHT),
+                config.getInt(SonicConfiguration.JUMP),
+                config.getInt(SonicConfiguration.TEST),
+                config.getInt(SonicConfiguration.DEBUG_MODE_KEY),
+                config.getInt(SonicConfiguration.REWIND_KEY),
+                config.getInt(SonicConfiguration.RETRY_KEY)
+        };
+    }
+}
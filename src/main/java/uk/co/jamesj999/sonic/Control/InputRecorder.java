@@ -0,0 +1,28 @@
+package uk.co.jamesj999.sonic.Control;
+
+/**
+ * Appends the held buttons to an {@link InputMovie} once per frame. Attach it with
+ * {@link InputHandler#setRecorder(InputRecorder)}.
+ */
+public class InputRecorder {
+    private final InputMovie movie;
+    private final int[] boundKeys = InputMovie.boundKeys();
+
+    public InputRecorder(InputMovie movie) {
+        this.movie = movie;
+    }
+
+    public InputMovie getMovie() {
+        return movie;
+    }
+
+    void capture(InputHandler handler) {
+        int mask = 0;
+        for (int bit = 0; bit < boundKeys.length; bit++) {
+            if (handler.isKeyDown(boundKeys[bit])) {
+                mask |= 1 << bit;
+            }
+        }
+        movie.addFrame(mask);
+    }
+}
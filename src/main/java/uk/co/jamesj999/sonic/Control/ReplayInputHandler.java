@@ -0,0 +1,17 @@
+package uk.co.jamesj999.sonic.Control;
+
+/**
+ * InputHandler fed from an {@link InputMovie} instead of the keyboard.
+ */
+public class ReplayInputHandler extends InputHandler {
+    private final int[] boundKeys = InputMovie.boundKeys();
+
+    /**
+     * Holds exactly the buttons in {@code mask} until the next call.
+     */
+    public void setFrameMask(int mask) {
+        for (int bit = 0; bit < boundKeys.length; bit++) {
+            setKeyDown(boundKeys[bit], (mask & (1 << bit)) != 0);
+        }
+    }
+}
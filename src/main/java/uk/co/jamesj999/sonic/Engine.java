@@ -2,24 +2,28 @@ package uk.co.jamesj999.sonic;
 
 import com.jogamp.opengl.util.FPSAnimator;
 import uk.co.jamesj999.sonic.Control.InputHandler;
+import uk.co.jamesj999.sonic.Control.InputMovie;
+import uk.co.jamesj999.sonic.Control.InputRecorder;
 import uk.co.jamesj999.sonic.audio.AudioManager;
 import uk.co.jamesj999.sonic.audio.JOALAudioBackend;
 import uk.co.jamesj999.sonic.camera.Camera;
 import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
 import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
 import uk.co.jamesj999.sonic.configuration.OptionsMenu;
-import uk.co.jamesj999.sonic.debug.DebugOption;
 import uk.co.jamesj999.sonic.debug.DebugRenderer;
 import uk.co.jamesj999.sonic.debug.DebugSpecialStageSprites;
-import uk.co.jamesj999.sonic.debug.DebugState;
+import uk.co.jamesj999.sonic.debug.DebugViewState;
 import uk.co.jamesj999.sonic.graphics.FadeManager;
 import uk.co.jamesj999.sonic.graphics.GraphicsManager;
+import uk.co.jamesj999.sonic.graphics.RenderInterpolator;
 import uk.co.jamesj999.sonic.graphics.SpriteRenderManager;
+import uk.co.jamesj999.sonic.game.GameRng;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.sprites.managers.SpriteManager;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 import uk.co.jamesj999.sonic.sprites.playable.Sonic;
 import uk.co.jamesj999.sonic.sprites.playable.Tails;
+import uk.co.jamesj999.sonic.timer.FixedStepClock;
 import uk.co.jamesj999.sonic.game.GameMode;
 import uk.co.jamesj999.sonic.game.TitleCardProvider;
 import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageManager;
@@ -34,6 +38,9 @@ import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import static com.jogamp.opengl.GL.GL_COLOR_BUFFER_BIT;
 import static com.jogamp.opengl.GL.GL_DEPTH_BUFFER_BIT;
@@ -49,6 +56,7 @@ import static com.jogamp.opengl.fixedfunc.GLMatrixFunc.GL_PROJECTION;
  */
 @SuppressWarnings("serial")
 public class Engine extends GLCanvas implements GLEventListener {
+	private static final Logger LOGGER = Logger.getLogger(Engine.class.getName());
 	public static final String RESOURCES_SHADERS_PIXEL_SHADER_GLSL = "shaders/shader_the_hedgehog.glsl";
 	private final SonicConfigurationService configService = SonicConfigurationService
 			.getInstance();
@@ -61,8 +69,12 @@ public class Engine extends GLCanvas implements GLEventListener {
 
 	private final GameLoop gameLoop = new GameLoop();
 
-	public static DebugState debugState = DebugState.NONE;
-	public static DebugOption debugOption = DebugOption.A;
+	// A redraw more than this many ticks late drops the rest instead of fast-forwarding
+	private static final int MAX_CATCH_UP_TICKS = 4;
+	// Game ticks run at the region's rate however often the screen is redrawn
+	private final FixedStepClock tickClock = new FixedStepClock(
+			FixedStepClock.hzForRegion(configService.getString(SonicConfiguration.REGION)), MAX_CATCH_UP_TICKS);
+	private final RenderInterpolator renderInterpolator = new RenderInterpolator(camera);
 
 	private double realWidth = configService
 			.getInt(SonicConfiguration.SCREEN_WIDTH_PIXELS);
@@ -137,6 +149,29 @@ public class Engine extends GLCanvas implements GLEventListener {
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
+
+		if (!configService.getString(SonicConfiguration.INPUT_MOVIE_RECORD_PATH).isEmpty()) {
+			gameLoop.getInputHandler().setRecorder(
+					new InputRecorder(new InputMovie(GameRng.getInstance().getSeed(), 0, 0)));
+		}
+	}
+
+	/**
+	 * Writes the input movie recorded this session, if recording is enabled.
+	 */
+	public void saveInputRecording() {
+		InputHandler inputHandler = gameLoop.getInputHandler();
+		InputRecorder recorder = inputHandler != null ? inputHandler.getRecorder() : null;
+		if (recorder == null) {
+			return;
+		}
+		Path path = Path.of(configService.getString(SonicConfiguration.INPUT_MOVIE_RECORD_PATH));
+		try {
+			recorder.getMovie().save(path);
+			LOGGER.info("Saved " + recorder.getMovie().getFrameCount() + " frame input movie to " + path);
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Failed to save input movie to " + path, e);
+		}
 	}
 
 	// Viewport parameters for aspect-ratio-correct rendering
@@ -270,7 +305,7 @@ public class Engine extends GLCanvas implements GLEventListener {
 				graphicsManager.flushScreenSpace();
 			}
 		} else {
-			switch (debugState) {
+			switch (DebugViewState.getInstance().getState()) {
 				case PATTERNS_VIEW -> levelManager.drawAllPatterns();
 				case CHUNKS_VIEW -> levelManager.drawAllChunks();
 				case BLOCKS_VIEW -> levelManager.draw();
@@ -307,7 +342,7 @@ public class Engine extends GLCanvas implements GLEventListener {
 				canvas.setPreferredSize(new Dimension(width, height));
 
 				// Create a animator that drives canvas' display() at the
-				// specified FPS.
+				// specified FPS. Game speed is set by the tick clock, not this.
 				final FPSAnimator animator = new FPSAnimator(canvas, fps, true);
 
 				// Create the top-level container
@@ -336,6 +371,7 @@ public class Engine extends GLCanvas implements GLEventListener {
 							public void run() {
 								if (animator.isStarted())
 									animator.stop();
+								((Engine) canvas).saveInputRecording();
 								System.exit(0);
 							}
 						}.start();
@@ -402,17 +438,33 @@ public class Engine extends GLCanvas implements GLEventListener {
 		gl.glDisable(GL2.GL_LIGHTING);
 		gl.glDisable(GL2.GL_COLOR_MATERIAL);
 		gl.glColorMask(true, true, true, true);
-		update();
-
-		// Update fade manager for screen transitions
 		FadeManager fadeManager = graphicsManager.getFadeManager();
-		if (fadeManager != null) {
-			fadeManager.update();
+		int ticks = tickClock.advance(System.nanoTime());
+		int loadCount = gameLoop.getLoadCount();
+		for (int i = 0; i < ticks; i++) {
+			renderInterpolator.beforeTick();
+			update();
+
+			// Update fade manager for screen transitions
+			if (fadeManager != null) {
+				fadeManager.update();
+			}
+
+			// A level or special stage just loaded; don't run the time the load took as a
+			// burst of catch-up ticks
+			if (gameLoop.getLoadCount() != loadCount) {
+				tickClock.reset();
+				break;
+			}
 		}
 
 		graphicsManager.setGraphics(gl);
+		// Send this tick's DPLC and animated tile changes before anything is drawn
+		graphicsManager.flushPatternUploads();
+		renderInterpolator.apply(tickClock.getAlpha());
 		draw();
 		graphicsManager.flush();
+		renderInterpolator.restore();
 
 		// Render screen fade overlay if active (after all game rendering)
 		if (fadeManager != null && fadeManager.isActive()) {
@@ -446,34 +498,6 @@ public class Engine extends GLCanvas implements GLEventListener {
 			specialStageManager.renderAlignmentOverlay(drawable.getSurfaceWidth(), drawable.getSurfaceHeight());
 		}
 
-		// Render lag compensation overlay in special stage (when not in alignment test mode)
-		if (getCurrentGameMode() == GameMode.SPECIAL_STAGE && !specialStageManager.isAlignmentTestMode()) {
-			// Reset OpenGL state for JOGL's TextRenderer
-			gl.glActiveTexture(GL2.GL_TEXTURE0);
-			gl.glUseProgram(0);
-			gl.glDisable(GL2.GL_LIGHTING);
-			gl.glDisable(GL2.GL_COLOR_MATERIAL);
-			gl.glDisable(GL2.GL_DEPTH_TEST);
-			gl.glColor4f(1f, 1f, 1f, 1f);
-			gl.glEnable(GL2.GL_TEXTURE_2D);
-			gl.glBindTexture(GL2.GL_TEXTURE_2D, 0);
-			gl.glActiveTexture(GL2.GL_TEXTURE1);
-			gl.glBindTexture(GL2.GL_TEXTURE_2D, 0);
-			gl.glActiveTexture(GL2.GL_TEXTURE0);
-			// Reset matrices for 2D rendering
-			gl.glMatrixMode(GL_PROJECTION);
-			gl.glLoadIdentity();
-			glu.gluOrtho2D(0, projectionWidth, 0, realHeight);
-			gl.glMatrixMode(GL_MODELVIEW);
-			gl.glLoadIdentity();
-
-			// Re-enable blending for the TextRenderer
-			gl.glEnable(GL2.GL_BLEND);
-			gl.glBlendFunc(GL2.GL_SRC_ALPHA, GL2.GL_ONE_MINUS_SRC_ALPHA);
-
-			specialStageManager.renderLagCompensationOverlay(drawable.getSurfaceWidth(), drawable.getSurfaceHeight());
-		}
-
 		// Only show debug overlay in level mode, not during special stage
 		if (debugViewEnabled && getCurrentGameMode() != GameMode.SPECIAL_STAGE) {
 			// Reset OpenGL state for JOGL's TextRenderer
@@ -517,12 +541,4 @@ public class Engine extends GLCanvas implements GLEventListener {
 		AudioManager.getInstance().destroy();
 	}
 
-	public static void nextDebugState() {
-		debugState = debugState.next();
-		debugOption = DebugOption.A;
-	}
-
-	public static void nextDebugOption() {
-		debugOption = debugOption.next();
-	}
 }
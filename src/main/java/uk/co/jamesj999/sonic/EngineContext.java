@@ -0,0 +1,126 @@
+package uk.co.jamesj999.sonic;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Owns one game's worth of engine services (level, sprites, camera, audio, timers and so on).
+ * <p>
+ * The managers' {@code getInstance()} methods resolve through {@link #current()}: the context
+ * bound to the calling thread, or the process-wide default when none is bound. The windowed
+ * game only ever uses the default, so nothing changes for it. Headless runs that want to go
+ * side by side create their own context and do all their work inside {@link #run} or
+ * {@link #bind}; a {@link GameLoop} built with a context binds it for every step.
+ * <p>
+ * Services are created lazily on first use and are only as thread-safe as they always were,
+ * so a context must be driven from one thread at a time. Configuration stays process-wide.
+ */
+public final class EngineContext {
+    private static final EngineContext DEFAULT = new EngineContext("default");
+    private static final ThreadLocal<EngineContext> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final Map<Class<?>, Object> services = new IdentityHashMap<>();
+
+    public EngineContext(String name) {
+        this.name = name;
+    }
+
+    public static EngineContext getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * The context bound to this thread, or the default context.
+     */
+    public static EngineContext current() {
+        EngineContext context = CURRENT.get();
+        return context != null ? context : DEFAULT;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns this context's instance of {@code type}, creating it with {@code factory} on
+     * first use. Factories may look up other services while they run.
+     */
+    public synchronized <T> T service(Class<T> type, Supplier<T> factory) {
+        Object existing = services.get(type);
+        if (existing == null) {
+            existing = factory.get();
+            services.put(type, existing);
+        }
+        return type.cast(existing);
+    }
+
+    /**
+     * Drops this context's instance of {@code type} so the next lookup creates a fresh one.
+     *
+     * @return the instance removed, or null if there wasn't one
+     */
+    public synchronized <T> T remove(Class<T> type) {
+        return type.cast(services.remove(type));
+    }
+
+    /**
+     * Binds this context to the calling thread until the returned binding is closed, which
+     * restores whatever was bound before.
+     */
+    public Binding bind() {
+        EngineContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return new Binding(previous);
+    }
+
+    /**
+     * Runs {@code action} with this context bound to the calling thread.
+     */
+    public void run(Runnable action) {
+        Binding binding = bind();
+        try {
+            action.run();
+        } finally {
+            binding.close();
+        }
+    }
+
+    /**
+     * Computes {@code action} with this context bound to the calling thread.
+     */
+    public <T> T call(Supplier<T> action) {
+        Binding binding = bind();
+        try {
+            return action.get();
+        } finally {
+            binding.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EngineContext[" + name + "]";
+    }
+
+    /**
+     * An active thread binding; closing it restores the previous one.
+     */
+    public static final class Binding implements AutoCloseable {
+        private final EngineContext previous;
+
+        private Binding(EngineContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
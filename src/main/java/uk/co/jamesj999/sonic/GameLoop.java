@@ -19,6 +19,7 @@ import uk.co.jamesj999.sonic.game.sonic2.constants.Sonic2AudioConstants;
 import uk.co.jamesj999.sonic.game.sonic2.objects.SpecialStageResultsScreenObjectInstance;
 import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageManager;
 import uk.co.jamesj999.sonic.level.LevelManager;
+import uk.co.jamesj999.sonic.rewind.RewindManager;
 import uk.co.jamesj999.sonic.sprites.managers.SpriteCollisionManager;
 
 import java.awt.event.KeyEvent;
@@ -47,17 +48,23 @@ import java.util.logging.Logger;
  *
  * <p>For headless testing, create a GameLoop with a mock InputHandler
  * and call {@link #step()} to advance one frame.
+ *
+ * <p>A GameLoop belongs to one {@link EngineContext}: it resolves its managers in that
+ * context and binds it around every {@link #step()}, so loops built on separate contexts
+ * can run on separate threads at once.
  */
 public class GameLoop {
     private static final Logger LOGGER = Logger.getLogger(GameLoop.class.getName());
 
+    private final EngineContext context;
     private final SonicConfigurationService configService = SonicConfigurationService.getInstance();
-    private final SpriteManager spriteManager = SpriteManager.getInstance();
-    private final SpriteCollisionManager spriteCollisionManager = SpriteCollisionManager.getInstance();
-    private final Camera camera = Camera.getInstance();
-    private final TimerManager timerManager = TimerManager.getInstance();
-    private final LevelManager levelManager = LevelManager.getInstance();
-    private final Sonic2SpecialStageManager specialStageManager = Sonic2SpecialStageManager.getInstance();
+    private final SpriteManager spriteManager;
+    private final SpriteCollisionManager spriteCollisionManager;
+    private final Camera camera;
+    private final TimerManager timerManager;
+    private final LevelManager levelManager;
+    private final Sonic2SpecialStageManager specialStageManager;
+    private final RewindManager rewindManager;
 
     // Title card provider - lazily initialized when GameModule is available
     private TitleCardProvider titleCardProvider;
@@ -78,6 +85,9 @@ public class GameLoop {
     // Flag to freeze level updates during special stage entry transition
     private boolean specialStageTransitionPending = false;
 
+    // Number of special stages loaded so far
+    private int specialStageLoadCount;
+
     // Listener for game mode changes (used by Engine to update projection)
     private GameModeChangeListener gameModeChangeListener;
 
@@ -89,10 +99,32 @@ public class GameLoop {
     }
 
     public GameLoop() {
+        this(EngineContext.current(), null);
     }
 
     public GameLoop(InputHandler inputHandler) {
+        this(EngineContext.current(), inputHandler);
+    }
+
+    public GameLoop(EngineContext context, InputHandler inputHandler) {
+        this.context = context;
         this.inputHandler = inputHandler;
+        EngineContext.Binding binding = context.bind();
+        try {
+            spriteManager = SpriteManager.getInstance();
+            spriteCollisionManager = SpriteCollisionManager.getInstance();
+            camera = Camera.getInstance();
+            timerManager = TimerManager.getInstance();
+            levelManager = LevelManager.getInstance();
+            specialStageManager = Sonic2SpecialStageManager.getInstance();
+            rewindManager = RewindManager.getInstance();
+        } finally {
+            binding.close();
+        }
+    }
+
+    public EngineContext getContext() {
+        return context;
     }
 
     public void setInputHandler(InputHandler inputHandler) {
@@ -122,14 +154,36 @@ public class GameLoop {
         return currentGameMode;
     }
 
+    /**
+     * Number of levels and special stages loaded so far. A change between two calls means a
+     * load finished in between.
+     */
+    public int getLoadCount() {
+        return levelManager.getLevelLoadCount() + specialStageLoadCount;
+    }
+
     /**
      * Advances the game by one frame. This is the main update loop.
      * Call this method at your target FPS (typically 60fps).
      */
     public void step() {
+        if (EngineContext.current() == context) {
+            stepFrame();
+            return;
+        }
+        EngineContext.Binding binding = context.bind();
+        try {
+            stepFrame();
+        } finally {
+            binding.close();
+        }
+    }
+
+    private void stepFrame() {
         if (inputHandler == null) {
             throw new IllegalStateException("InputHandler must be set before calling step()");
         }
+        inputHandler.beginFrame();
 
         AudioManager.getInstance().update();
         timerManager.update();
@@ -255,7 +309,14 @@ public class GameLoop {
                     .isEnabled(uk.co.jamesj999.sonic.debug.DebugOverlayToggle.OBJECT_ART_VIEWER);
             // Freeze level updates during special stage entry transition
             boolean freezeForSpecialStage = specialStageTransitionPending;
-            if (!freezeForArtViewer && !freezeForSpecialStage) {
+            // Holding the rewind key replays recorded frames backwards instead of advancing; the
+            // retry key jumps back to the level's first recorded frame
+            boolean rewinding = !freezeForArtViewer && !freezeForSpecialStage
+                    && (inputHandler.isKeyPressed(configService.getInt(SonicConfiguration.RETRY_KEY))
+                            && rewindManager.retry()
+                    || inputHandler.isKeyDown(configService.getInt(SonicConfiguration.REWIND_KEY))
+                            && rewindManager.stepBack());
+            if (!freezeForArtViewer && !freezeForSpecialStage && !rewinding) {
                 spriteCollisionManager.update(inputHandler);
 
                 // Dynamic level events update boundary targets (game-specific)
@@ -268,6 +329,7 @@ public class GameLoop {
 
                 camera.updatePosition();
                 levelManager.update();
+                rewindManager.capture();
 
                 // Check if a checkpoint star requested a special stage
                 if (levelManager.consumeSpecialStageRequest()) {
@@ -493,6 +555,7 @@ public class GameLoop {
         try {
             specialStageManager.reset();
             specialStageManager.initialize(stageIndex);
+            specialStageLoadCount++;
 
             GameMode oldMode = currentGameMode;
             currentGameMode = GameMode.SPECIAL_STAGE;
@@ -897,14 +960,6 @@ public class GameLoop {
             specialStageManager.toggleAlignmentTestMode();
         }
 
-        // Lag compensation adjustment (F6 decrease, F7 increase)
-        if (inputHandler.isKeyPressed(KeyEvent.VK_F6)) {
-            adjustLagCompensation(-0.05);
-        }
-        if (inputHandler.isKeyPressed(KeyEvent.VK_F7)) {
-            adjustLagCompensation(0.05);
-        }
-
         if (specialStageManager.isAlignmentTestMode()) {
             if (inputHandler.isKeyPressed(leftKey)) {
                 specialStageManager.adjustAlignmentOffset(-1);
@@ -943,28 +998,4 @@ public class GameLoop {
 
         specialStageManager.handleInput(heldButtons, pressedButtons);
     }
-
-    /**
-     * Adjusts the lag compensation factor for the entire special stage simulation.
-     * The lag compensation simulates original Mega Drive hardware lag frames,
-     * affecting track animation, player movement, object speed, and all other timing.
-     *
-     * @param delta Amount to adjust (positive = more lag compensation = slower simulation)
-     */
-    private void adjustLagCompensation(double delta) {
-        if (!specialStageManager.isInitialized()) {
-            return;
-        }
-
-        double current = specialStageManager.getLagCompensation();
-        double newValue = current + delta;
-        specialStageManager.setLagCompensation(newValue);
-
-        // Calculate effective simulation rate for display
-        // Base is 60 fps. With lag compensation, effective = 60 * (1 - lagComp)
-        double effectiveUpdates = 60.0 * (1.0 - specialStageManager.getLagCompensation());
-
-        LOGGER.info(String.format("Lag compensation: %.0f%% (effective ~%.1f updates/sec)",
-                specialStageManager.getLagCompensation() * 100, effectiveUpdates));
-    }
 }
@@ -2,6 +2,7 @@ package uk.co.jamesj999.sonic.audio;
 
 import uk.co.jamesj999.sonic.audio.smps.AbstractSmpsData;
 import uk.co.jamesj999.sonic.audio.smps.DacData;
+import uk.co.jamesj999.sonic.audio.smps.SmpsSequencer;
 
 public interface AudioBackend {
     void init();
@@ -68,5 +69,19 @@ public interface AudioBackend {
 
     void update();
 
+    /**
+     * The sequencer playing the current music, or null if the music is not sequenced.
+     */
+    default SmpsSequencer getMusicSequencer() {
+        return null;
+    }
+
+    /**
+     * ID of the music currently playing, or -1.
+     */
+    default int getCurrentMusicId() {
+        return -1;
+    }
+
     void destroy();
 }
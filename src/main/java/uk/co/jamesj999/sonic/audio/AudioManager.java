@@ -1,16 +1,20 @@
 package uk.co.jamesj999.sonic.audio;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.audio.smps.AbstractSmpsData;
 import uk.co.jamesj999.sonic.audio.smps.DacData;
 import uk.co.jamesj999.sonic.audio.smps.SmpsLoader;
+import uk.co.jamesj999.sonic.audio.smps.SmpsSequencer;
 import uk.co.jamesj999.sonic.data.Rom;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 
 import java.util.Map;
 import java.util.logging.Logger;
 
-public class AudioManager {
+public class AudioManager implements Snapshottable {
     private static final Logger LOGGER = Logger.getLogger(AudioManager.class.getName());
-    private static AudioManager instance;
     private AudioBackend backend;
     private SmpsLoader smpsLoader;
     private DacData dacData;
@@ -23,11 +27,8 @@ public class AudioManager {
         backend = new NullAudioBackend();
     }
 
-    public static synchronized AudioManager getInstance() {
-        if (instance == null) {
-            instance = new AudioManager();
-        }
-        return instance;
+    public static AudioManager getInstance() {
+        return EngineContext.current().service(AudioManager.class, AudioManager::new);
     }
 
     public AudioBackend getBackend() {
@@ -50,6 +51,36 @@ public class AudioManager {
         }
     }
 
+    /**
+     * Writes the music sequencer's position. Sound effects are short enough to be left alone.
+     */
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(backend.getCurrentMusicId());
+        int mark = out.beginBlock();
+        SmpsSequencer sequencer = backend.getMusicSequencer();
+        if (sequencer != null) {
+            sequencer.saveState(out);
+        }
+        out.endBlock(mark);
+    }
+
+    /**
+     * Puts the music back where it was, if the same song is still playing; otherwise the
+     * current music carries on.
+     */
+    @Override
+    public void loadState(StateReader in) {
+        int musicId = in.readInt();
+        int length = in.readBlockLength();
+        SmpsSequencer sequencer = backend.getMusicSequencer();
+        if (length > 0 && sequencer != null && musicId == backend.getCurrentMusicId()) {
+            sequencer.loadState(in);
+        } else {
+            in.skip(length);
+        }
+    }
+
     public void setAudioProfile(GameAudioProfile audioProfile) {
         this.audioProfile = audioProfile;
         if (backend != null) {
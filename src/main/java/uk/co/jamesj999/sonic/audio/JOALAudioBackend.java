@@ -406,6 +406,16 @@ public class JOALAudioBackend implements AudioBackend {
         al.alBufferData(bufferId, AL.AL_FORMAT_STEREO16, sBuffer, data.length * 2, 44100);
     }
 
+    @Override
+    public SmpsSequencer getMusicSequencer() {
+        return currentSmps;
+    }
+
+    @Override
+    public int getCurrentMusicId() {
+        return currentMusicId;
+    }
+
     /**
      * Returns a debug snapshot of the current SMPS sequencer if one is playing.
      */
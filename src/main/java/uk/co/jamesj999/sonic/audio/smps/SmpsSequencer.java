@@ -4,13 +4,16 @@ import uk.co.jamesj999.sonic.audio.AudioManager;
 import uk.co.jamesj999.sonic.audio.AudioStream;
 import uk.co.jamesj999.sonic.audio.synth.Synthesizer;
 import uk.co.jamesj999.sonic.audio.synth.VirtualSynthesizer;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.logging.Logger;
 
-public class SmpsSequencer implements AudioStream {
+public class SmpsSequencer implements AudioStream, Snapshottable {
     private static final Logger LOGGER = Logger.getLogger(SmpsSequencer.class.getName());
     private final AbstractSmpsData smpsData;
     private AbstractSmpsData fallbackVoiceData;
@@ -1665,6 +1668,171 @@ public class SmpsSequencer implements AudioStream {
         }
     }
 
+    /**
+     * Writes the song position, tempo and every track's state. Voice and envelope data are
+     * written as IDs and looked up again on load; chip registers are rewritten from the
+     * restored voices rather than saved.
+     */
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeBoolean(speedShoes);
+        out.writeInt(normalTempo);
+        out.writeInt(commData);
+        out.writeInt(tempoWeight);
+        out.writeInt(tempoAccumulator);
+        out.writeInt(dividingTiming);
+        out.writeDouble(sampleCounter);
+        out.writeBoolean(primed);
+        out.writeInt(fadeState.steps);
+        out.writeInt(fadeState.delayInit);
+        out.writeInt(fadeState.delayCounter);
+        out.writeInt(fadeState.addFm);
+        out.writeInt(fadeState.addPsg);
+        out.writeBoolean(fadeState.active);
+        out.writeBoolean(fadeState.fadeOut);
+
+        out.writeByte(tracks.size());
+        for (Track t : tracks) {
+            out.writeInt(t.pos);
+            out.writeInt(t.duration);
+            out.writeInt(t.note);
+            out.writeBoolean(t.active);
+            out.writeBoolean(t.overridden);
+            out.writeInt(t.rawDuration);
+            out.writeInt(t.scaledDuration);
+            out.writeInt(t.fill);
+            out.writeInt(t.keyOffset);
+            out.writeInt(t.volumeOffset);
+            out.writeBoolean(t.tieNext);
+            out.writeInt(t.pan);
+            out.writeInt(t.ams);
+            out.writeInt(t.fms);
+            out.writeBoolean(t.voiceData != null);
+            out.writeInt(t.voiceId);
+            out.writeInt(t.baseFnum);
+            out.writeInt(t.baseBlock);
+            for (int counter : t.loopCounters) {
+                out.writeInt(counter);
+            }
+            out.writeInt(t.loopTarget);
+            for (int entry : t.returnStack) {
+                out.writeInt(entry);
+            }
+            out.writeInt(t.returnSp);
+            out.writeInt(t.dividingTiming);
+            out.writeInt(t.modDelay);
+            out.writeInt(t.modDelayInit);
+            out.writeInt(t.modRate);
+            out.writeInt(t.modDelta);
+            out.writeInt(t.modSteps);
+            out.writeInt(t.modRateCounter);
+            out.writeInt(t.modStepCounter);
+            out.writeInt(t.modAccumulator);
+            out.writeInt(t.modCurrentDelta);
+            out.writeBoolean(t.modEnabled);
+            out.writeInt(t.detune);
+            out.writeInt(t.modEnvId);
+            out.writeInt(t.instrumentId);
+            out.writeBoolean(t.noiseMode);
+            out.writeInt(t.psgNoiseParam);
+            out.writeInt(t.decayOffset);
+            out.writeInt(t.decayTimer);
+            out.writeBoolean(t.envData != null);
+            out.writeInt(t.envPos);
+            out.writeInt(t.envValue);
+            out.writeBoolean(t.envHold);
+            out.writeBoolean(t.envAtRest);
+            out.writeBoolean(t.forceRefresh);
+            out.writeBoolean(t.dacMuted);
+        }
+    }
+
+    /**
+     * Restores state written by {@link #saveState} for the same song.
+     */
+    @Override
+    public synchronized void loadState(StateReader in) {
+        setSpeedShoes(in.readBoolean());
+        normalTempo = in.readInt();
+        commData = in.readInt();
+        tempoWeight = in.readInt();
+        tempoAccumulator = in.readInt();
+        dividingTiming = in.readInt();
+        sampleCounter = in.readDouble();
+        primed = in.readBoolean();
+        fadeState.steps = in.readInt();
+        fadeState.delayInit = in.readInt();
+        fadeState.delayCounter = in.readInt();
+        fadeState.addFm = in.readInt();
+        fadeState.addPsg = in.readInt();
+        fadeState.active = in.readBoolean();
+        fadeState.fadeOut = in.readBoolean();
+
+        int count = in.readByte();
+        for (int i = 0; i < count; i++) {
+            Track t = tracks.get(i);
+            t.pos = in.readInt();
+            t.duration = in.readInt();
+            t.note = in.readInt();
+            t.active = in.readBoolean();
+            t.overridden = in.readBoolean();
+            t.rawDuration = in.readInt();
+            t.scaledDuration = in.readInt();
+            t.fill = in.readInt();
+            t.keyOffset = in.readInt();
+            t.volumeOffset = in.readInt();
+            t.tieNext = in.readBoolean();
+            t.pan = in.readInt();
+            t.ams = in.readInt();
+            t.fms = in.readInt();
+            boolean hasVoice = in.readBoolean();
+            t.voiceId = in.readInt();
+            t.voiceData = null;
+            if (hasVoice) {
+                t.voiceData = smpsData.getVoice(t.voiceId);
+                if (t.voiceData == null && fallbackVoiceData != null) {
+                    t.voiceData = fallbackVoiceData.getVoice(t.voiceId);
+                }
+            }
+            t.baseFnum = in.readInt();
+            t.baseBlock = in.readInt();
+            for (int j = 0; j < t.loopCounters.length; j++) {
+                t.loopCounters[j] = in.readInt();
+            }
+            t.loopTarget = in.readInt();
+            for (int j = 0; j < t.returnStack.length; j++) {
+                t.returnStack[j] = in.readInt();
+            }
+            t.returnSp = in.readInt();
+            t.dividingTiming = in.readInt();
+            t.modDelay = in.readInt();
+            t.modDelayInit = in.readInt();
+            t.modRate = in.readInt();
+            t.modDelta = in.readInt();
+            t.modSteps = in.readInt();
+            t.modRateCounter = in.readInt();
+            t.modStepCounter = in.readInt();
+            t.modAccumulator = in.readInt();
+            t.modCurrentDelta = in.readInt();
+            t.modEnabled = in.readBoolean();
+            t.detune = in.readInt();
+            t.modEnvId = in.readInt();
+            t.instrumentId = in.readInt();
+            t.noiseMode = in.readBoolean();
+            t.psgNoiseParam = in.readInt();
+            t.decayOffset = in.readInt();
+            t.decayTimer = in.readInt();
+            t.envData = in.readBoolean() ? smpsData.getPsgEnvelope(t.instrumentId) : null;
+            t.envPos = in.readInt();
+            t.envValue = in.readInt();
+            t.envHold = in.readBoolean();
+            t.envAtRest = in.readBoolean();
+            t.forceRefresh = in.readBoolean();
+            t.dacMuted = in.readBoolean();
+        }
+        refreshAllVoices();
+    }
+
     public Synthesizer getSynthesizer() {
         return synth;
     }
@@ -1,12 +1,15 @@
 package uk.co.jamesj999.sonic.camera;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
 import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.Sprite;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
-public class Camera {
-	private static Camera camera;
+public class Camera implements Snapshottable {
 	private short x = 0;
 	private short y = 0;
 
@@ -427,10 +430,41 @@ public class Camera {
 		y += amount;
 	}
 
-	public static synchronized Camera getInstance() {
-		if (camera == null) {
-			camera = new Camera();
-		}
-		return camera;
+	@Override
+	public void saveState(StateWriter out) {
+		out.writeShort(x);
+		out.writeShort(y);
+		out.writeShort(minX);
+		out.writeShort(minY);
+		out.writeShort(maxX);
+		out.writeShort(maxY);
+		out.writeShort(minXTarget);
+		out.writeShort(minYTarget);
+		out.writeShort(maxXTarget);
+		out.writeShort(maxYTarget);
+		out.writeBoolean(maxYChanging);
+		out.writeInt(framesBehind);
+		out.writeBoolean(frozen);
+	}
+
+	@Override
+	public void loadState(StateReader in) {
+		x = in.readShort();
+		y = in.readShort();
+		minX = in.readShort();
+		minY = in.readShort();
+		maxX = in.readShort();
+		maxY = in.readShort();
+		minXTarget = in.readShort();
+		minYTarget = in.readShort();
+		maxXTarget = in.readShort();
+		maxYTarget = in.readShort();
+		maxYChanging = in.readBoolean();
+		framesBehind = in.readInt();
+		frozen = in.readBoolean();
+	}
+
+	public static Camera getInstance() {
+		return EngineContext.current().service(Camera.class, Camera::new);
 	}
 }
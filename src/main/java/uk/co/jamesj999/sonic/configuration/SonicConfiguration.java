@@ -39,7 +39,7 @@ public enum SonicConfiguration {
 	 */
 	SCALE,
 	/**
-	 * Frames per second to render. Will make the game faster/slower!
+	 * Frames per second to redraw the screen. Game speed follows REGION, not this.
 	 */
 	FPS,
 	/*
@@ -96,6 +96,41 @@ public enum SonicConfiguration {
 	 */
 	DEBUG_COLLISION_VIEW_ENABLED,
 
+	/**
+	 * Whether to bake level collision into a per-cell lookup table at load time.
+	 */
+	COLLISION_FIELD_ENABLED,
+
+	/**
+	 * Memory cap in bytes for decoded object art kept between levels.
+	 */
+	OBJECT_ART_CACHE_BYTES,
+
+	/**
+	 * File to record an input movie to for later replay; empty disables recording.
+	 */
+	INPUT_MOVIE_RECORD_PATH,
+
+	/**
+	 * Seconds of level play kept for rewinding; 0 disables rewind.
+	 */
+	REWIND_SECONDS,
+
+	/**
+	 * Off-heap bytes set aside for rewind snapshots.
+	 */
+	REWIND_BUFFER_BYTES,
+
+	/**
+	 * Key held to rewind.
+	 */
+	REWIND_KEY,
+
+	/**
+	 * Key pressed to restart the level from its first recorded frame.
+	 */
+	RETRY_KEY,
+
 	/**
 	 * Filename of ROM to use (temporary)
 	 */
@@ -112,7 +147,7 @@ public enum SonicConfiguration {
 	AUDIO_ENABLED,
 
 	/**
-	 * Region (NTSC/PAL) for audio timing.
+	 * Region (NTSC/PAL) for audio timing and the game tick rate (59.94Hz/50Hz).
 	 */
 	REGION,
 
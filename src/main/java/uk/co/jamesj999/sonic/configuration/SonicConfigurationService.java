@@ -150,6 +150,13 @@ public class SonicConfigurationService {
 		// Force debug view enabled for tests/headless use unless explicitly overridden
 		config.put(SonicConfiguration.DEBUG_VIEW_ENABLED.name(), true);
 		putDefault(SonicConfiguration.DEBUG_COLLISION_VIEW_ENABLED, false);
+		putDefault(SonicConfiguration.COLLISION_FIELD_ENABLED, true);
+		putDefault(SonicConfiguration.OBJECT_ART_CACHE_BYTES, 1048576);
+		putDefault(SonicConfiguration.INPUT_MOVIE_RECORD_PATH, "");
+		putDefault(SonicConfiguration.REWIND_SECONDS, 30);
+		putDefault(SonicConfiguration.REWIND_BUFFER_BYTES, 4194304);
+		putDefault(SonicConfiguration.REWIND_KEY, java.awt.event.KeyEvent.VK_BACK_SPACE);
+		putDefault(SonicConfiguration.RETRY_KEY, java.awt.event.KeyEvent.VK_R);
 		putDefault(SonicConfiguration.DAC_INTERPOLATE, true);
 		putDefault(SonicConfiguration.FM6_DAC_OFF, true); // Default true for Sonic 2 parity
 		putDefault(SonicConfiguration.AUDIO_ENABLED, true);
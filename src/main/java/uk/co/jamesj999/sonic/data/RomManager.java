@@ -1,5 +1,6 @@
 package uk.co.jamesj999.sonic.data;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
 import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
 
@@ -24,8 +25,6 @@ import java.util.logging.Logger;
 public class RomManager implements AutoCloseable {
     private static final Logger LOGGER = Logger.getLogger(RomManager.class.getName());
 
-    private static RomManager instance;
-
     private final SonicConfigurationService configService = SonicConfigurationService.getInstance();
     private Rom rom;
     private boolean initialized = false;
@@ -36,11 +35,8 @@ public class RomManager implements AutoCloseable {
     /**
      * Gets the singleton instance of RomManager.
      */
-    public static synchronized RomManager getInstance() {
-        if (instance == null) {
-            instance = new RomManager();
-        }
-        return instance;
+    public static RomManager getInstance() {
+        return EngineContext.current().service(RomManager.class, RomManager::new);
     }
 
     /**
@@ -108,10 +104,10 @@ public class RomManager implements AutoCloseable {
     /**
      * Resets the singleton instance (primarily for testing).
      */
-    public static synchronized void resetInstance() {
+    public static void resetInstance() {
+        RomManager instance = EngineContext.current().remove(RomManager.class);
         if (instance != null) {
             instance.close();
-            instance = null;
         }
     }
 }
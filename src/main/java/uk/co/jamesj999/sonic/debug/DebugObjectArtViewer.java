@@ -1,5 +1,6 @@
 package uk.co.jamesj999.sonic.debug;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.Control.InputHandler;
 import uk.co.jamesj999.sonic.camera.Camera;
 import uk.co.jamesj999.sonic.level.Pattern;
@@ -12,7 +13,6 @@ import java.awt.event.KeyEvent;
  * Debug viewer for object art frames.
  */
 public class DebugObjectArtViewer {
-    private static DebugObjectArtViewer instance;
 
     private enum ArtTarget {
         SIGNPOST("Signpost"),
@@ -56,11 +56,8 @@ public class DebugObjectArtViewer {
     private static final int GRID_COLUMNS = 16;
     private static final int GRID_ROWS = 16;
 
-    public static synchronized DebugObjectArtViewer getInstance() {
-        if (instance == null) {
-            instance = new DebugObjectArtViewer();
-        }
-        return instance;
+    public static DebugObjectArtViewer getInstance() {
+        return EngineContext.current().service(DebugObjectArtViewer.class, DebugObjectArtViewer::new);
     }
 
     public void updateInput(InputHandler handler) {
@@ -1,5 +1,6 @@
 package uk.co.jamesj999.sonic.debug;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.Control.InputHandler;
 
 import java.util.ArrayList;
@@ -7,28 +8,26 @@ import java.util.EnumMap;
 import java.util.List;
 
 public class DebugOverlayManager {
-    private static DebugOverlayManager debugOverlayManager;
+    // values() clones its array on every call; updateInput runs every frame
+    private static final DebugOverlayToggle[] TOGGLES = DebugOverlayToggle.values();
 
     private final EnumMap<DebugOverlayToggle, Boolean> states = new EnumMap<>(DebugOverlayToggle.class);
 
     private DebugOverlayManager() {
-        for (DebugOverlayToggle toggle : DebugOverlayToggle.values()) {
+        for (DebugOverlayToggle toggle : TOGGLES) {
             states.put(toggle, toggle.defaultEnabled());
         }
     }
 
-    public static synchronized DebugOverlayManager getInstance() {
-        if (debugOverlayManager == null) {
-            debugOverlayManager = new DebugOverlayManager();
-        }
-        return debugOverlayManager;
+    public static DebugOverlayManager getInstance() {
+        return EngineContext.current().service(DebugOverlayManager.class, DebugOverlayManager::new);
     }
 
     public void updateInput(InputHandler handler) {
         if (handler == null) {
             return;
         }
-        for (DebugOverlayToggle toggle : DebugOverlayToggle.values()) {
+        for (DebugOverlayToggle toggle : TOGGLES) {
             if (handler.isKeyPressed(toggle.keyCode())) {
                 setEnabled(toggle, !isEnabled(toggle));
             }
@@ -45,7 +44,7 @@ public class DebugOverlayManager {
 
     public List<String> buildShortcutLines() {
         List<String> lines = new ArrayList<>();
-        for (DebugOverlayToggle toggle : DebugOverlayToggle.values()) {
+        for (DebugOverlayToggle toggle : TOGGLES) {
             String state = isEnabled(toggle) ? "On" : "Off";
             lines.add(toggle.shortcutLabel() + " " + toggle.label() + ": " + state);
         }
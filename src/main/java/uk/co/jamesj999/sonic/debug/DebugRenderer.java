@@ -2,6 +2,7 @@ package uk.co.jamesj999.sonic.debug;
 import uk.co.jamesj999.sonic.game.GameModuleRegistry;
 
 import com.jogamp.opengl.util.awt.TextRenderer;
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.camera.Camera;
 import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
 import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
@@ -25,7 +26,6 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class DebugRenderer {
-	private static DebugRenderer debugRenderer;
 	// private final GraphicsManager graphicsManager = GraphicsManager
 	// .getInstance();
 	private final SpriteManager spriteManager = SpriteManager.getInstance();
@@ -128,10 +128,9 @@ public class DebugRenderer {
                                                                         playable.getGroundMode(),
                                                                         sensor.getDirection());
                                         Direction globalDirection = sensorConfiguration.direction();
-                                        short[] rotatedOffset = sensor.getRotatedOffset();
 
-                                        short worldX = (short) (playable.getCentreX() + rotatedOffset[0]);
-                                        short worldY = (short) (playable.getCentreY() + rotatedOffset[1]);
+                                        short worldX = (short) (playable.getCentreX() + sensor.getRotatedXOffset());
+                                        short worldY = (short) (playable.getCentreY() + sensor.getRotatedYOffset());
                                         short xAdjusted = (short) (worldX - camera.getX());
                                         short yAdjusted = (short) (worldY - camera.getY());
 
@@ -547,11 +546,8 @@ public class DebugRenderer {
                 textRenderer.draw(text, x, y);
         }
 
-        public static synchronized DebugRenderer getInstance() {
-                if (debugRenderer == null) {
-                        debugRenderer = new DebugRenderer();
-                }
-                return debugRenderer;
+        public static DebugRenderer getInstance() {
+                return EngineContext.current().service(DebugRenderer.class, DebugRenderer::new);
         }
 
         public void updateViewport(int viewportWidth, int viewportHeight) {
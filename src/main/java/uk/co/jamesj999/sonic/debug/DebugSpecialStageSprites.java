@@ -1,5 +1,6 @@
 package uk.co.jamesj999.sonic.debug;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageSpriteMappings;
 import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageSpriteMappings.SpriteFrame;
 import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageSpriteMappings.SpritePiece;
@@ -24,7 +25,6 @@ import uk.co.jamesj999.sonic.level.PatternDesc;
  * - Left/Right arrows: Change page within current set
  */
 public class DebugSpecialStageSprites {
-    private static DebugSpecialStageSprites instance;
 
     private static final int TILE_SIZE = 8;
     private static final int FRAME_CELL_WIDTH = 72;
@@ -89,11 +89,8 @@ public class DebugSpecialStageSprites {
         this.graphicsManager = GraphicsManager.getInstance();
     }
 
-    public static synchronized DebugSpecialStageSprites getInstance() {
-        if (instance == null) {
-            instance = new DebugSpecialStageSprites();
-        }
-        return instance;
+    public static DebugSpecialStageSprites getInstance() {
+        return EngineContext.current().service(DebugSpecialStageSprites.class, DebugSpecialStageSprites::new);
     }
 
     /**
@@ -0,0 +1,43 @@
+package uk.co.jamesj999.sonic.debug;
+
+import uk.co.jamesj999.sonic.EngineContext;
+
+/**
+ * Which debug view (patterns, chunks or blocks) replaces the level, and the option it is drawn
+ * with, such as the palette for the patterns view. Both are cycled from debug movement mode.
+ */
+public class DebugViewState {
+    private DebugState state = DebugState.NONE;
+    private DebugOption option = DebugOption.A;
+
+    private DebugViewState() {
+    }
+
+    public static DebugViewState getInstance() {
+        return EngineContext.current().service(DebugViewState.class, DebugViewState::new);
+    }
+
+    public DebugState getState() {
+        return state;
+    }
+
+    public DebugOption getOption() {
+        return option;
+    }
+
+    public void setOption(DebugOption option) {
+        this.option = option;
+    }
+
+    /**
+     * Moves to the next view and resets its option.
+     */
+    public void nextState() {
+        state = state.next();
+        option = DebugOption.A;
+    }
+
+    public void nextOption() {
+        option = option.next();
+    }
+}
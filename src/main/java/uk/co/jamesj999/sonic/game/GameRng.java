@@ -0,0 +1,54 @@
+package uk.co.jamesj999.sonic.game;
+
+import uk.co.jamesj999.sonic.EngineContext;
+
+/**
+ * The game's pseudo-random number generator, shared by every object that needs one.
+ * <p>
+ * Mirrors the ROM's RandomNumber routine and RNG_seed variable so that a run started from a
+ * known seed with the same inputs plays out identically, which input movie replay relies on.
+ */
+public class GameRng {
+    // RandomNumber substitutes this when RNG_seed is zero
+    private static final int ZERO_SEED_REPLACEMENT = 0x2A6D365A;
+
+    private int seed;
+
+    private GameRng() {
+    }
+
+    public static GameRng getInstance() {
+        return EngineContext.current().service(GameRng.class, GameRng::new);
+    }
+
+    public int getSeed() {
+        return seed;
+    }
+
+    public void setSeed(int seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Advances the generator and returns the next 32-bit value (RandomNumber's d0).
+     */
+    public int next() {
+        int d1 = seed != 0 ? seed : ZERO_SEED_REPLACEMENT;
+        int d0 = d1;
+        // d1 = seed * 41, via asl #2 / add / asl #3 / add
+        d1 = ((d1 << 2) + d0 << 3) + d0;
+        int low = (d1 + (d1 >>> 16)) & 0xFFFF;
+        seed = (low << 16) | (d1 & 0xFFFF);
+        return (d0 & 0xFFFF0000) | low;
+    }
+
+    /**
+     * Returns a value in {@code [0, bound)} taken from the low word of {@link #next()}.
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        return (next() & 0xFFFF) % bound;
+    }
+}
@@ -1,5 +1,10 @@
 package uk.co.jamesj999.sonic.game;
 
+import uk.co.jamesj999.sonic.EngineContext;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
+
 /**
  * Manages session-persistent game state such as Score, Lives, and Special Stage progress.
  * <p>
@@ -8,11 +13,9 @@ package uk.co.jamesj999.sonic.game;
  * - Emerald_count: number of emeralds collected (0-7)
  * - Got_Emeralds_array: which specific emeralds have been obtained
  */
-public class GameStateManager {
+public class GameStateManager implements Snapshottable {
     private static final int SPECIAL_STAGE_COUNT = 7;
 
-    private static GameStateManager instance;
-
     private int score;
     private int lives;
 
@@ -24,11 +27,8 @@ public class GameStateManager {
         resetSession();
     }
 
-    public static synchronized GameStateManager getInstance() {
-        if (instance == null) {
-            instance = new GameStateManager();
-        }
-        return instance;
+    public static GameStateManager getInstance() {
+        return EngineContext.current().service(GameStateManager.class, GameStateManager::new);
     }
 
     /**
@@ -69,6 +69,22 @@ public class GameStateManager {
         }
     }
 
+    /**
+     * Writes score and lives. Special stage progress only changes outside a level, which
+     * rewinding never crosses.
+     */
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(score);
+        out.writeInt(lives);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        score = in.readInt();
+        lives = in.readInt();
+    }
+
     /**
      * Gets the current special stage index (0-6).
      */
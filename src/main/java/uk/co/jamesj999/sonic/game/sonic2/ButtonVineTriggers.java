@@ -0,0 +1,40 @@
+package uk.co.jamesj999.sonic.game.sonic2;
+
+import uk.co.jamesj999.sonic.EngineContext;
+
+import java.util.Arrays;
+
+/**
+ * The ButtonVine_Trigger flags from the disassembly: one byte per trigger index, set by
+ * buttons and vine pulleys and polled by the objects they drive (e.g. Obj18 subtype 0xX5).
+ * <p>
+ * The flags belong to the running level, so each {@link EngineContext} keeps its own set.
+ */
+public final class ButtonVineTriggers {
+    private static final int TRIGGER_COUNT = 16;
+
+    private static final class State {
+        final byte[] triggers = new byte[TRIGGER_COUNT];
+    }
+
+    private ButtonVineTriggers() {
+    }
+
+    private static State state() {
+        return EngineContext.current().service(State.class, State::new);
+    }
+
+    public static void reset() {
+        Arrays.fill(state().triggers, (byte) 0);
+    }
+
+    public static boolean isSet(int index) {
+        return index >= 0 && index < TRIGGER_COUNT && state().triggers[index] != 0;
+    }
+
+    public static void set(int index, boolean value) {
+        if (index >= 0 && index < TRIGGER_COUNT) {
+            state().triggers[index] = (byte) (value ? 1 : 0);
+        }
+    }
+}
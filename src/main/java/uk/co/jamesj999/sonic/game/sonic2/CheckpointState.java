@@ -3,6 +3,9 @@ package uk.co.jamesj999.sonic.game.sonic2;
 import uk.co.jamesj999.sonic.camera.Camera;
 import uk.co.jamesj999.sonic.game.RespawnState;
 import uk.co.jamesj999.sonic.game.sonic2.objects.CheckpointObjectInstance;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.logging.Logger;
@@ -13,7 +16,7 @@ import java.util.logging.Logger;
  * Based on the Sonic 2 disassembly's Saved_* variables.
  * </p>
  */
-public class CheckpointState implements RespawnState {
+public class CheckpointState implements RespawnState, Snapshottable {
     private static final Logger LOGGER = Logger.getLogger(CheckpointState.class.getName());
 
     private int lastCheckpointIndex = -1;
@@ -93,6 +96,28 @@ public class CheckpointState implements RespawnState {
         LOGGER.info("Restored from checkpoint " + lastCheckpointIndex);
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(lastCheckpointIndex);
+        out.writeInt(savedX);
+        out.writeInt(savedY);
+        out.writeInt(savedCameraX);
+        out.writeInt(savedCameraY);
+        out.writeBoolean(cameraLock);
+        out.writeBoolean(usedForSpecialStage);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        lastCheckpointIndex = in.readInt();
+        savedX = in.readInt();
+        savedY = in.readInt();
+        savedCameraX = in.readInt();
+        savedCameraY = in.readInt();
+        cameraLock = in.readBoolean();
+        usedForSpecialStage = in.readBoolean();
+    }
+
     public boolean isActive() {
         return lastCheckpointIndex >= 0;
     }
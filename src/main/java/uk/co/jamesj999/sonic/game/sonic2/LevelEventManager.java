@@ -1,5 +1,6 @@
 package uk.co.jamesj999.sonic.game.sonic2;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.camera.Camera;
 import uk.co.jamesj999.sonic.game.LevelEventProvider;
 
@@ -14,7 +15,6 @@ import uk.co.jamesj999.sonic.game.LevelEventProvider;
  * Each zone has its own event routine dispatched via the zone index.
  */
 public class LevelEventManager implements LevelEventProvider {
-    private static LevelEventManager instance;
 
     private final Camera camera;
 
@@ -245,10 +245,7 @@ public class LevelEventManager implements LevelEventProvider {
         this.eventRoutine = routine;
     }
 
-    public static synchronized LevelEventManager getInstance() {
-        if (instance == null) {
-            instance = new LevelEventManager();
-        }
-        return instance;
+    public static LevelEventManager getInstance() {
+        return EngineContext.current().service(LevelEventManager.class, LevelEventManager::new);
     }
 }
@@ -1,6 +1,9 @@
 package uk.co.jamesj999.sonic.game.sonic2;
 
 import uk.co.jamesj999.sonic.game.LevelState;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 
 /**
  * Manages transient state for a single level execution, such as Rings and Time.
@@ -8,7 +11,7 @@ import uk.co.jamesj999.sonic.game.LevelState;
  * Rings are always reset on level load/respawn (unless specialized checkout
  * logic exists, but normally 0).
  */
-public class LevelGamestate implements LevelState {
+public class LevelGamestate implements LevelState, Snapshottable {
     private final LevelTimer timer;
     private int rings;
 
@@ -83,4 +86,16 @@ public class LevelGamestate implements LevelState {
     public int getElapsedSeconds() {
         return timer.getElapsedSeconds();
     }
+
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(rings);
+        timer.saveState(out);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        rings = in.readInt();
+        timer.loadState(in);
+    }
 }
@@ -1,10 +1,14 @@
 package uk.co.jamesj999.sonic.game.sonic2;
 
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
+
 /**
  * Tracks the time spent in the current level.
  * Handles frame counting, time string formatting, and Time Over logic.
  */
-public class LevelTimer {
+public class LevelTimer implements Snapshottable {
     private static final int MAX_MINUTES = 10;
     private static final int FLASH_THRESHOLD_MINUTES = 9;
 
@@ -33,6 +37,18 @@ public class LevelTimer {
         return paused;
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeLong(totalFrames);
+        out.writeBoolean(paused);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        totalFrames = in.readLong();
+        paused = in.readBoolean();
+    }
+
     public void update() {
         if (paused) {
             return;
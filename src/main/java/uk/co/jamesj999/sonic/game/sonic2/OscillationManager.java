@@ -1,8 +1,14 @@
 package uk.co.jamesj999.sonic.game.sonic2;
 
+import uk.co.jamesj999.sonic.EngineContext;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
+
 /**
  * Tracks the global oscillating values used by multiple Sonic 2 objects.
  * Ported from OscillateNumInit/OscillateNumDo in the disassembly.
+ * <p>
+ * The values are global to a game, so each {@link EngineContext} keeps its own set.
  */
 public final class OscillationManager {
     private static final int OSC_COUNT = 16;
@@ -36,32 +42,70 @@ public final class OscillationManager {
             0x50, 0x70, 0x40, 0x40
     };
 
-    private static final int[] values = new int[OSC_COUNT];
-    private static final int[] deltas = new int[OSC_COUNT];
-    private static int control = INITIAL_CONTROL;
-    private static int lastFrame = Integer.MIN_VALUE;
+    // Oscillating_Data for one game
+    private static final class State {
+        final int[] values = new int[OSC_COUNT];
+        final int[] deltas = new int[OSC_COUNT];
+        int control;
+        int lastFrame;
+
+        State() {
+            reset();
+        }
 
-    static {
-        reset();
+        void reset() {
+            control = INITIAL_CONTROL;
+            for (int i = 0; i < OSC_COUNT; i++) {
+                values[i] = INITIAL_VALUES[i] & 0xFFFF;
+                deltas[i] = INITIAL_DELTAS[i] & 0xFFFF;
+            }
+            lastFrame = Integer.MIN_VALUE;
+        }
     }
 
     private OscillationManager() {
     }
 
+    private static State state() {
+        return EngineContext.current().service(State.class, State::new);
+    }
+
     public static void reset() {
-        control = INITIAL_CONTROL;
+        state().reset();
+    }
+
+    /**
+     * Writes the oscillator values and directions for a rewind snapshot.
+     */
+    public static void saveState(StateWriter out) {
+        State state = state();
+        out.writeShort(state.control);
+        out.writeInt(state.lastFrame);
+        for (int i = 0; i < OSC_COUNT; i++) {
+            out.writeShort(state.values[i]);
+            out.writeShort(state.deltas[i]);
+        }
+    }
+
+    public static void loadState(StateReader in) {
+        State state = state();
+        state.control = in.readShort() & 0xFFFF;
+        state.lastFrame = in.readInt();
         for (int i = 0; i < OSC_COUNT; i++) {
-            values[i] = INITIAL_VALUES[i] & 0xFFFF;
-            deltas[i] = INITIAL_DELTAS[i] & 0xFFFF;
+            state.values[i] = in.readShort() & 0xFFFF;
+            state.deltas[i] = in.readShort() & 0xFFFF;
         }
-        lastFrame = Integer.MIN_VALUE;
     }
 
     public static void update(int frameCounter) {
-        if (frameCounter == lastFrame) {
+        State state = state();
+        if (frameCounter == state.lastFrame) {
             return;
         }
-        lastFrame = frameCounter;
+        state.lastFrame = frameCounter;
+        int[] values = state.values;
+        int[] deltas = state.deltas;
+        int control = state.control;
 
         for (int i = 0; i < OSC_COUNT; i++) {
             int bit = OSC_COUNT - 1 - i;
@@ -91,6 +135,7 @@ public final class OscillationManager {
             values[i] = value;
             deltas[i] = delta;
         }
+        state.control = control;
     }
 
     /**
@@ -103,7 +148,8 @@ public final class OscillationManager {
         }
         int index = offset / 4;
         int within = offset % 4;
-        int word = (within < 2) ? values[index] : deltas[index];
+        State state = state();
+        int word = (within < 2) ? state.values[index] : state.deltas[index];
         return ((within & 1) == 0) ? ((word >> 8) & 0xFF) : (word & 0xFF);
     }
 }
@@ -24,19 +24,19 @@ public class Sonic2Level implements Level {
     private static final int MAP_WIDTH = 128;
 
     private Palette[] palettes;
-    private Pattern[] patterns;
-    private Chunk[] chunks;
-    private Block[] blocks;
+    private byte[] patternPixels;
+    private short[] chunkPatterns;
+    private byte[] chunkSolidTiles;
+    private byte[] chunkAltSolidTiles;
+    private short[] blockChunks;
     private SolidTile[] solidTiles;
     private Map map;
+    private PackedLevel packedLevel;
     private List<ObjectSpawn> objects;
     private List<RingSpawn> rings;
     private RingSpriteSheet ringSpriteSheet;
     private final int zoneIndex;
 
-    private int patternCount;
-    private int chunkCount;
-    private int blockCount;
     private int solidTileCount;
     private int minX;
     private int maxX;
@@ -71,6 +71,9 @@ public class Sonic2Level implements Level {
         loadChunks(rom, chunksAddr, collisionsAddr, altCollisionsAddr);
         loadBlocks(rom, blocksAddr);
         loadMap(rom, mapAddr);
+        packedLevel = new PackedLevel(patternPixels, chunkPatterns, chunkSolidTiles, chunkAltSolidTiles,
+                blockChunks, map);
+        cachePatternTextures(0, packedLevel.getPatternCount());
         this.objects = List.copyOf(objectSpawns);
         this.rings = List.copyOf(ringSpawns);
         this.ringSpriteSheet = ringSpriteSheet;
@@ -92,58 +95,47 @@ public class Sonic2Level implements Level {
 
     @Override
     public int getPatternCount() {
-        return patternCount;
+        return packedLevel.getPatternCount();
     }
 
     @Override
     public Pattern getPattern(int index) {
-        if (index >= patternCount) {
-            throw new IllegalArgumentException("Invalid pattern index");
-        }
-        return patterns[index];
+        return packedLevel.getPattern(index);
     }
 
     @Override
     public void ensurePatternCapacity(int minCount) {
-        if (minCount <= patternCount) {
+        int oldCount = packedLevel.getPatternCount();
+        if (minCount <= oldCount) {
             return;
         }
-        int newCount = Math.max(minCount, patternCount);
-        patterns = Arrays.copyOf(patterns, newCount);
-        GraphicsManager graphicsMan = GraphicsManager.getInstance();
-        for (int i = patternCount; i < newCount; i++) {
-            patterns[i] = new Pattern();
-            if (graphicsMan.getGraphics() != null) {
-                graphicsMan.cachePatternTexture(patterns[i], i);
-            }
-        }
-        patternCount = newCount;
+        packedLevel.ensurePatternCapacity(minCount);
+        cachePatternTextures(oldCount, minCount);
     }
 
     @Override
     public int getChunkCount() {
-        return chunkCount;
+        return packedLevel.getChunkCount();
     }
 
     @Override
     public Chunk getChunk(int index) {
-        if (index >= chunkCount) {
-            throw new IllegalArgumentException("Invalid chunk index: " + index);
-        }
-        return chunks[index];
+        return packedLevel.getChunk(index);
     }
 
     @Override
     public int getBlockCount() {
-        return blockCount;
+        return packedLevel.getBlockCount();
     }
 
     @Override
     public Block getBlock(int index) {
-        if (index >= blockCount) {
-            throw new IllegalArgumentException("Invalid block index: " + index);
-        }
-        return blocks[index];
+        return packedLevel.getBlock(index);
+    }
+
+    @Override
+    public PackedLevel getPackedLevel() {
+        return packedLevel;
     }
 
     @Override
@@ -154,6 +146,11 @@ public class Sonic2Level implements Level {
         return solidTiles[index];
     }
 
+    @Override
+    public int getSolidTileCount() {
+        return solidTileCount;
+    }
+
     @Override
     public Map getMap() {
         return map;
@@ -238,47 +235,45 @@ public class Sonic2Level implements Level {
     }
 
     private void loadPatterns(Rom rom, int patternsAddr) throws IOException {
-        final int PATTERN_BUFFER_SIZE = 0xFFFF; // 64KB
-        GraphicsManager graphicsMan = GraphicsManager.getInstance();
         FileChannel channel = rom.getFileChannel();
         channel.position(patternsAddr);
 
         var result = KosinskiReader.decompress(channel, KOS_DEBUG_LOG);
 
-        patternCount = result.length / Pattern.PATTERN_SIZE_IN_ROM;
+        int patternCount = result.length / Pattern.PATTERN_SIZE_IN_ROM;
         if (result.length % Pattern.PATTERN_SIZE_IN_ROM != 0) {
             throw new IOException("Inconsistent pattern data");
         }
 
-        patterns = new Pattern[patternCount];
+        // Unpack straight into the shared pixel array rather than one byte[] per pattern
+        patternPixels = new byte[patternCount * Pattern.PATTERN_SIZE_IN_MEM];
         for (int i = 0; i < patternCount; i++) {
-            patterns[i] = new Pattern();
-            // Pass a sub-array (slice) using Arrays.copyOfRange
-            byte[] subArray = Arrays.copyOfRange(result, i * Pattern.PATTERN_SIZE_IN_ROM,
-                    (i + 1) * Pattern.PATTERN_SIZE_IN_ROM);
-            patterns[i].fromSegaFormat(subArray);
-
-            if (graphicsMan.getGraphics() != null) {
-                graphicsMan.cachePatternTexture(patterns[i], i);
-            }
-
+            Pattern.decodeSegaFormat(result, i * Pattern.PATTERN_SIZE_IN_ROM,
+                    patternPixels, PackedLevel.patternOffset(i));
         }
 
         LOG.fine("Pattern count: " + patternCount + " (" + result.length + " bytes)");
     }
 
+    private void cachePatternTextures(int fromIndex, int toIndex) {
+        GraphicsManager graphicsMan = GraphicsManager.getInstance();
+        if (graphicsMan.getGraphics() == null) {
+            return;
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            graphicsMan.cachePatternTexture(packedLevel.getPattern(i), i);
+        }
+    }
+
     // TODO both collision addresses
     private void loadChunks(Rom rom, int chunksAddr, int collisionAddr, int altCollisionAddr) throws IOException {
-        final int CHUNK_BUFFER_SIZE = 0xFFFF; // 64KB
-        final int SOLID_TILE_REF_BUFFER_LENGTH = 0x300;
-
         FileChannel channel = rom.getFileChannel();
         channel.position(chunksAddr);
 
         byte[] chunkBuffer = KosinskiReader.decompress(channel, KOS_DEBUG_LOG);
         chunkBuffer = applyAnimatedPatternMappings(rom, chunkBuffer);
 
-        chunkCount = chunkBuffer.length / Chunk.CHUNK_SIZE_IN_ROM;
+        int chunkCount = chunkBuffer.length / Chunk.CHUNK_SIZE_IN_ROM;
         if (chunkBuffer.length % Chunk.CHUNK_SIZE_IN_ROM != 0) {
             throw new IOException("Inconsistent chunk data");
         }
@@ -291,22 +286,10 @@ public class Sonic2Level implements Level {
 
         byte[] solidTileAltRefBuffer = KosinskiReader.decompress(channel, KOS_DEBUG_LOG);
 
-        chunks = new Chunk[chunkCount];
-        for (int i = 0; i < chunkCount; i++) {
-            chunks[i] = new Chunk();
-            // Pass a sub-array (slice) using Arrays.copyOfRange
-            byte[] subArray = Arrays.copyOfRange(chunkBuffer, i * Chunk.CHUNK_SIZE_IN_ROM,
-                    (i + 1) * Chunk.CHUNK_SIZE_IN_ROM);
-            int solidTileIndex = 0;
-            if (i < solidTileRefBuffer.length) {
-                solidTileIndex = Byte.toUnsignedInt(solidTileRefBuffer[i]);
-            }
-            int altSolidTileIndex = 0;
-            if (i < solidTileAltRefBuffer.length) {
-                altSolidTileIndex = Byte.toUnsignedInt(solidTileAltRefBuffer[i]);
-            }
-            chunks[i].fromSegaFormat(subArray, solidTileIndex, altSolidTileIndex);
-        }
+        chunkPatterns = readBigEndianWords(chunkBuffer, chunkCount * Chunk.PATTERNS_PER_CHUNK);
+        // Chunks without a collision reference use solid tile 0
+        chunkSolidTiles = Arrays.copyOf(solidTileRefBuffer, chunkCount);
+        chunkAltSolidTiles = Arrays.copyOf(solidTileAltRefBuffer, chunkCount);
 
         LOG.fine("Chunk count: " + chunkCount + " (" + chunkBuffer.length + " bytes)");
     }
@@ -389,45 +372,39 @@ public class Sonic2Level implements Level {
     }
 
     private void loadBlocks(Rom rom, int blocksAddr) throws IOException {
-        final int BLOCK_BUFFER_SIZE = 0xFFFF; // 64KB
-
         FileChannel channel = rom.getFileChannel();
-        KosinskiReader reader = new KosinskiReader();
 
         channel.position(blocksAddr);
         byte[] blockBuffer = KosinskiReader.decompress(channel, KOS_DEBUG_LOG);
 
-        blockCount = blockBuffer.length / LevelConstants.BLOCK_SIZE_IN_ROM;
+        int blockCount = blockBuffer.length / LevelConstants.BLOCK_SIZE_IN_ROM;
         if (blockBuffer.length % LevelConstants.BLOCK_SIZE_IN_ROM != 0) {
             throw new IOException("Inconsistent block data");
         }
 
-        blocks = new Block[blockCount];
-        for (int i = 0; i < blockCount; i++) {
-            blocks[i] = new Block();
-            // Pass a sub-array (slice) using Arrays.copyOfRange
-            byte[] subArray = Arrays.copyOfRange(blockBuffer, i * LevelConstants.BLOCK_SIZE_IN_ROM,
-                    (i + 1) * LevelConstants.BLOCK_SIZE_IN_ROM);
-
-            blocks[i].fromSegaFormat(subArray);
-
-        }
+        blockChunks = readBigEndianWords(blockBuffer, blockCount * LevelConstants.CHUNKS_PER_BLOCK);
 
         // Sanitize Block 0: In Sonic 2, Block 0 is universally defined as "Empty".
         // If the ROM data for Block 0 contains garbage (or valid but unwanted tiles),
         // it corrupts "empty" space in the level. Forcing it to a clean empty block
         // fixes this.
         if (blockCount > 0) {
-            blocks[0] = new Block();
+            Arrays.fill(blockChunks, 0, LevelConstants.CHUNKS_PER_BLOCK, (short) 0);
         }
 
         LOG.fine("Block count: " + blockCount + " (" + blockBuffer.length + " bytes)");
 
     }
 
-    private void loadMap(Rom rom, int mapAddr) throws IOException {
-        final int MAP_BUFFER_SIZE = 0xFFFF; // 64KB
+    private static short[] readBigEndianWords(byte[] buffer, int wordCount) {
+        short[] words = new short[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            words[i] = (short) (((buffer[i * 2] & 0xFF) << 8) | (buffer[i * 2 + 1] & 0xFF));
+        }
+        return words;
+    }
 
+    private void loadMap(Rom rom, int mapAddr) throws IOException {
         FileChannel channel = rom.getFileChannel();
         channel.position(mapAddr);
 
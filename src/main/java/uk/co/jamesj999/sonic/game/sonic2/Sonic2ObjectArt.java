@@ -1,11 +1,15 @@
 package uk.co.jamesj999.sonic.game.sonic2;
 
+import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
+import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
 import uk.co.jamesj999.sonic.game.sonic2.constants.Sonic2Constants;
+import uk.co.jamesj999.sonic.game.sonic2.constants.Sonic2ObjectIds;
 import uk.co.jamesj999.sonic.game.sonic2.objects.badniks.AnimalType;
 
 import uk.co.jamesj999.sonic.data.Rom;
 import uk.co.jamesj999.sonic.data.RomByteReader;
 import uk.co.jamesj999.sonic.level.Pattern;
+import uk.co.jamesj999.sonic.level.objects.ObjectArtCache;
 import uk.co.jamesj999.sonic.level.objects.ObjectArtData;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpriteSheet;
 import uk.co.jamesj999.sonic.level.render.SpriteMappingFrame;
@@ -19,18 +23,22 @@ import java.io.IOException;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Loads common object art (monitors, spikes, springs) for Sonic 2 (REV01).
+ * <p>
+ * Art used by placed objects is decoded lazily, the first time a spawn of that type comes
+ * into range. Decoded art is kept in a size-capped LRU so acts of the same zone (and zones
+ * sharing art) don't decode it again.
  */
 public class Sonic2ObjectArt {
     private static final Logger LOGGER = Logger.getLogger(Sonic2ObjectArt.class.getName());
     private static final int ANIMAL_TILE_OFFSET = 0x14;
+    // Tails life art is placed at tile 340 of the monitor sheet (0x154 * 32 bytes = 10880 offset)
+    private static final int MONITOR_LIFE_ART_OFFSET = 340;
     private static final AnimalType[] DEFAULT_ANIMALS = { AnimalType.RABBIT, AnimalType.RABBIT };
     private static final AnimalType[][] ZONE_ANIMALS = {
             { AnimalType.SQUIRREL, AnimalType.FLICKY }, // 0 EHZ
@@ -54,11 +62,24 @@ public class Sonic2ObjectArt {
 
     private final Rom rom;
     private final RomByteReader reader;
-    private final Map<Integer, ObjectArtData> cachedByZone = new HashMap<>();
+    private final ObjectArtCache artCache;
+    // Only the current zone's sheets are kept; other art lives on in the capped LRU
+    private int cachedZoneIndex;
+    private ObjectArtData cachedArtData;
 
     public Sonic2ObjectArt(Rom rom, RomByteReader reader) {
+        this(rom, reader, new ObjectArtCache(
+                SonicConfigurationService.getInstance().getInt(SonicConfiguration.OBJECT_ART_CACHE_BYTES)));
+    }
+
+    public Sonic2ObjectArt(Rom rom, RomByteReader reader, ObjectArtCache artCache) {
         this.rom = rom;
         this.reader = reader;
+        this.artCache = artCache;
+    }
+
+    public ObjectArtCache getArtCache() {
+        return artCache;
     }
 
     public ObjectArtData load() throws IOException {
@@ -66,21 +87,14 @@ public class Sonic2ObjectArt {
     }
 
     public ObjectArtData loadForZone(int zoneIndex) throws IOException {
-        Integer cacheKey = zoneIndex;
-        ObjectArtData cached = cachedByZone.get(cacheKey);
-        if (cached != null) {
-            return cached;
+        if (cachedArtData != null && cachedZoneIndex == zoneIndex) {
+            return cachedArtData;
         }
 
         AnimalType[] zoneAnimals = resolveZoneAnimals(zoneIndex);
         AnimalType animalTypeA = zoneAnimals[0];
         AnimalType animalTypeB = zoneAnimals[1];
 
-        // Load Monitor Art (base art)
-        Pattern[] monitorBasePatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_MONITOR_ADDR, "Monitor");
-        // Load Tails Life Art (used for Tails Monitor icon, requests tile 340)
-        Pattern[] tailsLifePatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_TAILS_LIFE_ADDR, "TailsLife");
-
         List<SpriteMappingFrame> monitorMappings = loadMappingFrames(Sonic2Constants.MAP_UNC_MONITOR_ADDR);
 
         // Calculate max requested tile index
@@ -90,58 +104,34 @@ public class Sonic2ObjectArt {
                 maxTileIndex = Math.max(maxTileIndex, piece.tileIndex());
             }
         }
+        // Monitor art is extended to the max requested index, with the Tails life art
+        // (used for the Tails monitor icon) placed at tile 340
+        int requiredSize = Math.max(maxTileIndex + 1,
+                MONITOR_LIFE_ART_OFFSET + readNemesisPatternCount(Sonic2Constants.ART_NEM_TAILS_LIFE_ADDR));
+        ObjectSpriteSheet monitorSheet = new ObjectSpriteSheet(requiredSize, this::loadMonitorPatterns,
+                monitorMappings, 0, 1);
 
-        // Extend monitor patterns to cover the max requested index
-        int requiredSize = maxTileIndex + 1;
-        // Ensure we have enough space for Tails Life Art starting at 340 (0x154 * 32
-        // bytes = 10880 offset)
-        int lifeArtOffset = 340;
-        requiredSize = Math.max(requiredSize, lifeArtOffset + tailsLifePatterns.length);
-
-        Pattern[] monitorPatterns = new Pattern[requiredSize];
-        // Copy base patterns
-        if (monitorBasePatterns.length > 0) {
-            System.arraycopy(monitorBasePatterns, 0, monitorPatterns, 0, monitorBasePatterns.length);
-        }
-        // Copy Tails Life patterns at offset 340
-        if (tailsLifePatterns.length > 0 && lifeArtOffset < monitorPatterns.length) {
-            System.arraycopy(tailsLifePatterns, 0, monitorPatterns, lifeArtOffset,
-                    Math.min(tailsLifePatterns.length, monitorPatterns.length - lifeArtOffset));
-        }
-
-        // Fill gaps with empty patterns to prevent NPEs
-        for (int i = 0; i < monitorPatterns.length; i++) {
-            if (monitorPatterns[i] == null) {
-                monitorPatterns[i] = new Pattern();
-            }
-        }
-
-        ObjectSpriteSheet monitorSheet = new ObjectSpriteSheet(monitorPatterns, monitorMappings, 0, 1);
-
-        Pattern[] spikePatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_SPIKES_ADDR, "Spikes");
-        Pattern[] spikeSidePatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_SPIKES_SIDE_ADDR, "SpikesSide");
         List<SpriteMappingFrame> spikeMappings = loadMappingFrames(Sonic2Constants.MAP_UNC_SPIKES_ADDR);
-        ObjectSpriteSheet spikeSheet = new ObjectSpriteSheet(spikePatterns, spikeMappings, 1, 1);
-        ObjectSpriteSheet spikeSideSheet = new ObjectSpriteSheet(spikeSidePatterns, spikeMappings, 1, 1);
-
-        Pattern[] springVerticalPatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_SPRING_VERTICAL_ADDR,
-                "SpringVertical");
-        Pattern[] springHorizontalPatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_SPRING_HORIZONTAL_ADDR,
-                "SpringHorizontal");
-        Pattern[] springDiagonalPatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_SPRING_DIAGONAL_ADDR,
-                "SpringDiagonal");
+        ObjectSpriteSheet spikeSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_SPIKES_ADDR, "Spikes",
+                spikeMappings, 1, 0);
+        ObjectSpriteSheet spikeSideSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_SPIKES_SIDE_ADDR, "SpikesSide",
+                spikeMappings, 1, 0);
+
+        // Red and yellow springs share art; the second sheet of each pair is a cache hit
         List<SpriteMappingFrame> springMappings = loadMappingFrames(Sonic2Constants.MAP_UNC_SPRING_ADDR);
         List<SpriteMappingFrame> springMappingsRed = loadMappingFrames(Sonic2Constants.MAP_UNC_SPRING_RED_ADDR);
-        ObjectSpriteSheet springVerticalSheet = new ObjectSpriteSheet(springVerticalPatterns, springMappings, 0, 1);
-        ObjectSpriteSheet springHorizontalSheet = new ObjectSpriteSheet(springHorizontalPatterns, springMappings, 0, 1);
-        ObjectSpriteSheet springDiagonalSheet = new ObjectSpriteSheet(springDiagonalPatterns, springMappings, 0, 1);
-        ObjectSpriteSheet springVerticalRedSheet = new ObjectSpriteSheet(springVerticalPatterns, springMappingsRed, 1,
-                1);
-        ObjectSpriteSheet springHorizontalRedSheet = new ObjectSpriteSheet(springHorizontalPatterns, springMappingsRed,
-                1, 1);
-
-        ObjectSpriteSheet springDiagonalRedSheet = new ObjectSpriteSheet(springDiagonalPatterns, springMappingsRed, 1,
-                1);
+        ObjectSpriteSheet springVerticalSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_SPRING_VERTICAL_ADDR,
+                "SpringVertical", springMappings, 0, 0);
+        ObjectSpriteSheet springHorizontalSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_SPRING_HORIZONTAL_ADDR,
+                "SpringHorizontal", springMappings, 0, 0);
+        ObjectSpriteSheet springDiagonalSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_SPRING_DIAGONAL_ADDR,
+                "SpringDiagonal", springMappings, 0, 0);
+        ObjectSpriteSheet springVerticalRedSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_SPRING_VERTICAL_ADDR,
+                "SpringVertical", springMappingsRed, 1, 0);
+        ObjectSpriteSheet springHorizontalRedSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_SPRING_HORIZONTAL_ADDR,
+                "SpringHorizontal", springMappingsRed, 1, 0);
+        ObjectSpriteSheet springDiagonalRedSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_SPRING_DIAGONAL_ADDR,
+                "SpringDiagonal", springMappingsRed, 1, 0);
 
         Pattern[] explosionPatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_EXPLOSION_ADDR, "Explosion");
         List<SpriteMappingFrame> explosionMappings = createExplosionMappings();
@@ -151,27 +141,14 @@ public class Sonic2ObjectArt {
         List<SpriteMappingFrame> shieldMappings = createShieldMappings();
         ObjectSpriteSheet shieldSheet = new ObjectSpriteSheet(shieldPatterns, shieldMappings, 0, 1);
 
-        Pattern[] bridgePatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_BRIDGE_ADDR, "Bridge");
         List<SpriteMappingFrame> bridgeMappings = createBridgeMappings();
-        ObjectSpriteSheet bridgeSheet = new ObjectSpriteSheet(bridgePatterns, bridgeMappings, 2, 1);
+        ObjectSpriteSheet bridgeSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_BRIDGE_ADDR, "Bridge",
+                bridgeMappings, 2, 0);
 
-        Pattern[] waterfallPatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_EHZ_WATERFALL_ADDR,
-                "EHZWaterfall");
+        // Waterfall mappings reach past the end of the art; the sheet pads with blank tiles
         List<SpriteMappingFrame> waterfallMappings = createEHZWaterfallMappings();
-        int waterfallMaxTile = computeMaxTileIndex(waterfallMappings);
-        if (waterfallMaxTile >= waterfallPatterns.length) {
-            Pattern[] extended = new Pattern[waterfallMaxTile + 1];
-            if (waterfallPatterns.length > 0) {
-                System.arraycopy(waterfallPatterns, 0, extended, 0, waterfallPatterns.length);
-            }
-            for (int i = 0; i < extended.length; i++) {
-                if (extended[i] == null) {
-                    extended[i] = new Pattern();
-                }
-            }
-            waterfallPatterns = extended;
-        }
-        ObjectSpriteSheet waterfallSheet = new ObjectSpriteSheet(waterfallPatterns, waterfallMappings, 1, 1);
+        ObjectSpriteSheet waterfallSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_EHZ_WATERFALL_ADDR,
+                "EHZWaterfall", waterfallMappings, 1, computeMaxTileIndex(waterfallMappings) + 1);
 
         Pattern[] invincibilityStarsPatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_INVINCIBILITY_STARS_ADDR,
                 "InvincibilityStars");
@@ -190,28 +167,24 @@ public class Sonic2ObjectArt {
                 Sonic2Constants.ANI_OBJ41_SCRIPT_COUNT);
 
         // Checkpoint/Starpost art
-        Pattern[] checkpointPatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_CHECKPOINT_ADDR, "Checkpoint");
         List<SpriteMappingFrame> checkpointMappings = loadMappingFrames(Sonic2Constants.MAP_UNC_CHECKPOINT_ADDR);
         List<SpriteMappingFrame> checkpointStarMappings = loadMappingFrames(
                 Sonic2Constants.MAP_UNC_CHECKPOINT_STAR_ADDR);
-        ObjectSpriteSheet checkpointSheet = new ObjectSpriteSheet(checkpointPatterns, checkpointMappings, 0, 1);
-        ObjectSpriteSheet checkpointStarSheet = new ObjectSpriteSheet(checkpointPatterns, checkpointStarMappings, 0, 1);
+        ObjectSpriteSheet checkpointSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_CHECKPOINT_ADDR, "Checkpoint",
+                checkpointMappings, 0, 0);
+        ObjectSpriteSheet checkpointStarSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_CHECKPOINT_ADDR,
+                "Checkpoint", checkpointStarMappings, 0, 0);
         SpriteAnimationSet checkpointAnimations = loadAnimationSet(
                 Sonic2Constants.ANI_OBJ79_ADDR,
                 Sonic2Constants.ANI_OBJ79_SCRIPT_COUNT);
 
         // Badnik art (Masher, Buzzer, Coconuts)
-        Pattern[] masherPatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_MASHER_ADDR, "Masher");
-        List<SpriteMappingFrame> masherMappings = createMasherMappings();
-        ObjectSpriteSheet masherSheet = new ObjectSpriteSheet(masherPatterns, masherMappings, 0, 1);
-
-        Pattern[] buzzerPatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_BUZZER_ADDR, "Buzzer");
-        List<SpriteMappingFrame> buzzerMappings = createBuzzerMappings();
-        ObjectSpriteSheet buzzerSheet = new ObjectSpriteSheet(buzzerPatterns, buzzerMappings, 0, 1);
-
-        Pattern[] coconutsPatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_COCONUTS_ADDR, "Coconuts");
-        List<SpriteMappingFrame> coconutsMappings = createCoconutsMappings();
-        ObjectSpriteSheet coconutsSheet = new ObjectSpriteSheet(coconutsPatterns, coconutsMappings, 0, 1);
+        ObjectSpriteSheet masherSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_MASHER_ADDR, "Masher",
+                createMasherMappings(), 0, 0);
+        ObjectSpriteSheet buzzerSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_BUZZER_ADDR, "Buzzer",
+                createBuzzerMappings(), 0, 0);
+        ObjectSpriteSheet coconutsSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_COCONUTS_ADDR, "Coconuts",
+                createCoconutsMappings(), 0, 0);
 
         Pattern[] animalPatterns = loadAnimalPatterns(animalTypeA, animalTypeB);
         List<SpriteMappingFrame> animalMappings = createAnimalMappings();
@@ -223,9 +196,8 @@ public class Sonic2ObjectArt {
         ObjectSpriteSheet pointsSheet = new ObjectSpriteSheet(pointsPatterns, pointsMappings, 0, 1);
 
         // Signpost/Goal plate art
-        Pattern[] signpostPatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_SIGNPOST_ADDR, "Signpost");
-        List<SpriteMappingFrame> signpostMappings = createSignpostMappings();
-        ObjectSpriteSheet signpostSheet = new ObjectSpriteSheet(signpostPatterns, signpostMappings, 0, 1);
+        ObjectSpriteSheet signpostSheet = lazyNemesisSheet(Sonic2Constants.ART_NEM_SIGNPOST_ADDR, "Signpost",
+                createSignpostMappings(), 0, 0);
         SpriteAnimationSet signpostAnimations = createSignpostAnimations();
 
         // Results screen art (Obj3A)
@@ -305,10 +277,64 @@ public class Sonic2ObjectArt {
                 checkpointAnimations,
                 signpostAnimations);
 
-        cachedByZone.put(cacheKey, artData);
+        artData.addObjectSheets(Sonic2ObjectIds.MONITOR, monitorSheet);
+        artData.addObjectSheets(Sonic2ObjectIds.SPIKES, spikeSheet, spikeSideSheet);
+        artData.addObjectSheets(Sonic2ObjectIds.SPRING, springVerticalSheet, springHorizontalSheet,
+                springDiagonalSheet, springVerticalRedSheet, springHorizontalRedSheet, springDiagonalRedSheet);
+        artData.addObjectSheets(Sonic2ObjectIds.BRIDGE, bridgeSheet);
+        artData.addObjectSheets(Sonic2ObjectIds.BRIDGE_STAKE, bridgeSheet);
+        artData.addObjectSheets(Sonic2ObjectIds.EHZ_WATERFALL, waterfallSheet);
+        artData.addObjectSheets(Sonic2ObjectIds.CHECKPOINT, checkpointSheet, checkpointStarSheet);
+        artData.addObjectSheets(Sonic2ObjectIds.MASHER, masherSheet);
+        artData.addObjectSheets(Sonic2ObjectIds.BUZZER, buzzerSheet);
+        artData.addObjectSheets(Sonic2ObjectIds.COCONUTS, coconutsSheet);
+        artData.addObjectSheets(Sonic2ObjectIds.SIGNPOST, signpostSheet);
+
+        cachedZoneIndex = zoneIndex;
+        cachedArtData = artData;
         return artData;
     }
 
+    /**
+     * Creates a sheet for Nemesis art that is only decoded when first drawn. The pattern count
+     * comes from the Nemesis header, so texture slots can be reserved without decoding.
+     *
+     * @param minPatternCount lower bound for the pattern count (for mappings that reach past
+     *                        the end of the art); blank tiles pad the difference
+     */
+    private ObjectSpriteSheet lazyNemesisSheet(int artAddr, String assetName, List<SpriteMappingFrame> mappings,
+            int paletteIndex, int minPatternCount) {
+        int patternCount = Math.max(readNemesisPatternCount(artAddr), minPatternCount);
+        return new ObjectSpriteSheet(patternCount, () -> safeLoadNemesisPatterns(artAddr, assetName),
+                mappings, paletteIndex, 1);
+    }
+
+    private int readNemesisPatternCount(int artAddr) {
+        try {
+            // Top bit selects XOR mode; the rest is the number of 8x8 patterns
+            return reader.readU16BE(artAddr) & 0x7FFF;
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, String.format("Failed to read art header at 0x%06X", artAddr), e);
+            return 0;
+        }
+    }
+
+    private Pattern[] loadMonitorPatterns() {
+        Pattern[] monitorBasePatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_MONITOR_ADDR, "Monitor");
+        Pattern[] tailsLifePatterns = safeLoadNemesisPatterns(Sonic2Constants.ART_NEM_TAILS_LIFE_ADDR, "TailsLife");
+        int size = Math.max(monitorBasePatterns.length, MONITOR_LIFE_ART_OFFSET + tailsLifePatterns.length);
+        Pattern[] monitorPatterns = new Pattern[size];
+        System.arraycopy(monitorBasePatterns, 0, monitorPatterns, 0, monitorBasePatterns.length);
+        System.arraycopy(tailsLifePatterns, 0, monitorPatterns, MONITOR_LIFE_ART_OFFSET, tailsLifePatterns.length);
+        // Fill gaps with empty patterns to prevent NPEs
+        for (int i = 0; i < monitorPatterns.length; i++) {
+            if (monitorPatterns[i] == null) {
+                monitorPatterns[i] = new Pattern();
+            }
+        }
+        return monitorPatterns;
+    }
+
     private Pattern[] loadNemesisPatterns(int artAddr) throws IOException {
         FileChannel channel = rom.getFileChannel();
         channel.position(artAddr);
@@ -361,7 +387,7 @@ public class Sonic2ObjectArt {
     }
 
     /**
-     * Safely loads Nemesis patterns, returning an empty array on failure.
+     * Safely loads Nemesis patterns through the art cache, returning an empty array on failure.
      * Logs full stack trace for diagnosis without blocking other art.
      * 
      * @param artAddr   ROM address of the Nemesis-compressed art
@@ -369,8 +395,14 @@ public class Sonic2ObjectArt {
      * @return Decompressed patterns, or empty array on failure
      */
     private Pattern[] safeLoadNemesisPatterns(int artAddr, String assetName) {
+        Pattern[] cached = artCache.get(artAddr);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            return loadNemesisPatterns(artAddr);
+            Pattern[] patterns = loadNemesisPatterns(artAddr);
+            artCache.put(artAddr, patterns);
+            return patterns;
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE,
                     String.format("Failed to load art '%s' at 0x%06X", assetName, artAddr), e);
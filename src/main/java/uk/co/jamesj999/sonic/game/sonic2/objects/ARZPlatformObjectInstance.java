@@ -1,8 +1,10 @@
 package uk.co.jamesj999.sonic.game.sonic2.objects;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.camera.Camera;
 import uk.co.jamesj999.sonic.data.Rom;
 import uk.co.jamesj999.sonic.data.RomByteReader;
+import uk.co.jamesj999.sonic.game.sonic2.ButtonVineTriggers;
 import uk.co.jamesj999.sonic.game.sonic2.OscillationManager;
 import uk.co.jamesj999.sonic.game.sonic2.constants.Sonic2Constants;
 import uk.co.jamesj999.sonic.graphics.GLCommand;
@@ -18,6 +20,9 @@ import uk.co.jamesj999.sonic.level.objects.SolidObjectProvider;
 import uk.co.jamesj999.sonic.level.render.SpriteMappingFrame;
 import uk.co.jamesj999.sonic.level.render.SpriteMappingPiece;
 import uk.co.jamesj999.sonic.level.render.SpritePieceRenderer;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.io.IOException;
@@ -29,7 +34,8 @@ import java.util.logging.Logger;
  * Object 18 - Stationary floating platform (EHZ/ARZ/HTZ).
  * Implements movement behaviors and rendering from the disassembly.
  */
-public class ARZPlatformObjectInstance extends AbstractObjectInstance implements SolidObjectProvider, SolidObjectListener {
+public class ARZPlatformObjectInstance extends AbstractObjectInstance implements SolidObjectProvider, SolidObjectListener,
+        Snapshottable {
     private static final Logger LOGGER = Logger.getLogger(ARZPlatformObjectInstance.class.getName());
 
     private static final int[] WIDTH_PIXELS = {
@@ -48,11 +54,12 @@ public class ARZPlatformObjectInstance extends AbstractObjectInstance implements
     private static final int BUTTON_DELAY = 60;
     private static final int OFFSCREEN_Y_MARGIN = 0x120;
 
-    private static final byte[] BUTTON_VINE_TRIGGERS = new byte[16];
-
-    private static List<SpriteMappingFrame> mappingsA;
-    private static List<SpriteMappingFrame> mappingsB;
-    private static boolean mappingLoadAttempted;
+    // Obj18_MapUnc_107F6 / Obj18_MapUnc_1084E, loaded once per game
+    private static final class Mappings {
+        List<SpriteMappingFrame> mappingsA;
+        List<SpriteMappingFrame> mappingsB;
+        boolean loaded;
+    }
 
     private int x;
     private int y;
@@ -132,6 +139,35 @@ public class ARZPlatformObjectInstance extends AbstractObjectInstance implements
         refreshDynamicSpawn();
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(x);
+        out.writeInt(y);
+        out.writeInt(baseYFixed);
+        out.writeInt(subtype);
+        out.writeInt(routine);
+        out.writeInt(bobAngle);
+        out.writeInt(angle);
+        out.writeInt(timer);
+        out.writeInt(yVel);
+        out.writeBoolean(isDestroyed());
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        x = in.readInt();
+        y = in.readInt();
+        baseYFixed = in.readInt();
+        subtype = in.readInt();
+        routine = in.readInt();
+        bobAngle = in.readInt();
+        angle = in.readInt();
+        timer = in.readInt();
+        yVel = in.readInt();
+        setDestroyed(in.readBoolean());
+        refreshDynamicSpawn();
+    }
+
     @Override
     public void appendRenderCommands(List<GLCommand> commands) {
         List<SpriteMappingFrame> mappings = resolveMappings();
@@ -348,8 +384,7 @@ public class ARZPlatformObjectInstance extends AbstractObjectInstance implements
     private void handleButtonTrigger() {
         int triggerIndex = (subtype >> 4) & 0x0F;
         if (timer == 0) {
-            if (triggerIndex >= 0 && triggerIndex < BUTTON_VINE_TRIGGERS.length
-                    && BUTTON_VINE_TRIGGERS[triggerIndex] != 0) {
+            if (ButtonVineTriggers.isSet(triggerIndex)) {
                 timer = BUTTON_DELAY;
             }
             return;
@@ -424,24 +459,26 @@ public class ARZPlatformObjectInstance extends AbstractObjectInstance implements
     }
 
     private List<SpriteMappingFrame> resolveMappings() {
-        ensureMappingsLoaded();
-        return isAquaticRuin() ? mappingsB : mappingsA;
+        Mappings mappings = EngineContext.current().service(Mappings.class, Mappings::new);
+        ensureMappingsLoaded(mappings);
+        return isAquaticRuin() ? mappings.mappingsB : mappings.mappingsA;
     }
 
-    private static void ensureMappingsLoaded() {
-        if (mappingLoadAttempted) {
+    private static void ensureMappingsLoaded(Mappings mappings) {
+        if (mappings.loaded) {
             return;
         }
-        mappingLoadAttempted = true;
         LevelManager manager = LevelManager.getInstance();
         if (manager == null || manager.getGame() == null) {
+            // Try again once a game is loaded
             return;
         }
+        mappings.loaded = true;
         try {
             Rom rom = manager.getGame().getRom();
             RomByteReader reader = RomByteReader.fromRom(rom);
-            mappingsA = loadMappingFrames(reader, Sonic2Constants.MAP_UNC_OBJ18_A_ADDR);
-            mappingsB = loadMappingFrames(reader, Sonic2Constants.MAP_UNC_OBJ18_B_ADDR);
+            mappings.mappingsA = loadMappingFrames(reader, Sonic2Constants.MAP_UNC_OBJ18_A_ADDR);
+            mappings.mappingsB = loadMappingFrames(reader, Sonic2Constants.MAP_UNC_OBJ18_B_ADDR);
         } catch (IOException | RuntimeException e) {
             LOGGER.warning("Failed to load Obj18 mappings: " + e.getMessage());
         }
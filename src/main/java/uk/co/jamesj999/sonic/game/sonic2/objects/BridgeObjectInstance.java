@@ -5,6 +5,9 @@ import uk.co.jamesj999.sonic.graphics.GLCommand;
 import uk.co.jamesj999.sonic.graphics.RenderPriority;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
@@ -19,7 +22,8 @@ import java.util.List;
  * - Uses palette 2
  * - Art from ArtNem_EHZ_Bridge
  */
-public class BridgeObjectInstance extends BoxObjectInstance implements SlopedSolidProvider, SolidObjectListener {
+public class BridgeObjectInstance extends BoxObjectInstance implements SlopedSolidProvider, SolidObjectListener,
+        Snapshottable {
     private static final int LOG_WIDTH = 16; // pixels per log segment
     private static final int LOG_HALF_HEIGHT = 8; // half-height for collision (sprite is 16px tall)
     private static final int COLLISION_X_OFFSET = -8; // ROM PlatformObject11_cont uses x_pos - 8 for bounds
@@ -87,14 +91,8 @@ public class BridgeObjectInstance extends BoxObjectInstance implements SlopedSol
     @Override
     public void update(int frameCounter, AbstractPlayableSprite player) {
         int logCount = getLogCount();
-        int slopeWidth = getHalfWidth() + 1;
 
-        // Initialize arrays if needed
-        if (slopeData == null || slopeData.length != slopeWidth) {
-            slopeData = new byte[slopeWidth];
-            targetLogOffsets = new int[logCount];
-            currentLogOffsets = new int[logCount];
-        }
+        ensureArrays(logCount);
 
         // Reset Targets
         for (int i = 0; i < logCount; i++) {
@@ -129,6 +127,44 @@ public class BridgeObjectInstance extends BoxObjectInstance implements SlopedSol
             currentLogOffsets[i] = current;
         }
 
+        updateSlopeData(logCount);
+    }
+
+    @Override
+    public void saveState(StateWriter out) {
+        int count = currentLogOffsets != null ? currentLogOffsets.length : 0;
+        out.writeByte(count);
+        for (int i = 0; i < count; i++) {
+            out.writeInt(currentLogOffsets[i]);
+        }
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        int count = in.readByte();
+        if (count == 0) {
+            slopeData = null;
+            targetLogOffsets = null;
+            currentLogOffsets = null;
+            return;
+        }
+        ensureArrays(count);
+        for (int i = 0; i < count; i++) {
+            currentLogOffsets[i] = in.readInt();
+        }
+        updateSlopeData(count);
+    }
+
+    private void ensureArrays(int logCount) {
+        int slopeWidth = getHalfWidth() + 1;
+        if (slopeData == null || slopeData.length != slopeWidth) {
+            slopeData = new byte[slopeWidth];
+            targetLogOffsets = new int[logCount];
+            currentLogOffsets = new int[logCount];
+        }
+    }
+
+    private void updateSlopeData(int logCount) {
         int samplesPerLog = LOG_WIDTH / 2;
         for (int k = 0; k < slopeData.length; k++) {
             int logIndex = k / samplesPerLog;
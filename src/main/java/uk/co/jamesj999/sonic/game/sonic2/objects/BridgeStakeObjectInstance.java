@@ -4,6 +4,9 @@ import uk.co.jamesj999.sonic.level.objects.*;
 import uk.co.jamesj999.sonic.graphics.GLCommand;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 
 import java.util.List;
 
@@ -18,7 +21,7 @@ import java.util.List;
  * - Uses palette 2
  * - No collision/physics (pure scenery)
  */
-public class BridgeStakeObjectInstance extends AbstractObjectInstance {
+public class BridgeStakeObjectInstance extends AbstractObjectInstance implements Snapshottable {
 
     public BridgeStakeObjectInstance(ObjectSpawn spawn, String name) {
         super(spawn, name);
@@ -39,4 +42,14 @@ public class BridgeStakeObjectInstance extends AbstractObjectInstance {
         // Render frame 1 (the stake) at the spawn position
         renderer.drawFrameIndex(1, spawn.x(), spawn.y(), false, false);
     }
+
+    // Nothing here changes after construction; being Snapshottable lets a rewind keep this
+    // instance rather than build a new one from the spawn
+    @Override
+    public void saveState(StateWriter out) {
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+    }
 }
@@ -6,6 +6,7 @@ import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance;
 import uk.co.jamesj999.sonic.level.objects.ObjectRenderManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
+import uk.co.jamesj999.sonic.level.objects.PooledObject;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
@@ -22,22 +23,35 @@ import java.util.List;
  * - sin * $C00 >> 16 = Y offset
  * </p>
  */
-public class CheckpointDongleInstance extends AbstractObjectInstance {
+public final class CheckpointDongleInstance extends AbstractObjectInstance implements PooledObject {
     private static final int INITIAL_LIFETIME = 0x20;
     private static final int ANGLE_DECREMENT = 0x10;
     private static final int SWING_RADIUS = 0x0C00;
     private static final int DONGLE_FRAME = 2; // Mapping frame for dongle
 
-    private final CheckpointObjectInstance parent;
-    private final int centerX;
-    private final int centerY;
+    private CheckpointObjectInstance parent;
+    private int centerX;
+    private int centerY;
     private int lifetime;
     private int angle;
     private int currentX;
     private int currentY;
 
     public CheckpointDongleInstance(CheckpointObjectInstance parent) {
-        super(createDummySpawn(parent), "CheckpointDongle");
+        this();
+        reset(parent);
+    }
+
+    /**
+     * Creates an unplaced instance for an object pool; {@link #reset} places it.
+     */
+    public CheckpointDongleInstance() {
+        super(null, "CheckpointDongle");
+    }
+
+    public void reset(CheckpointObjectInstance parent) {
+        setSpawn(createDummySpawn(parent));
+        setDestroyed(false);
         this.parent = parent;
         this.centerX = parent.getCenterX();
         this.centerY = parent.getCenterY() - 0x14; // Y offset from ROM
@@ -47,6 +61,11 @@ public class CheckpointDongleInstance extends AbstractObjectInstance {
         this.currentY = centerY;
     }
 
+    @Override
+    public void onRelease() {
+        parent = null;
+    }
+
     private static ObjectSpawn createDummySpawn(CheckpointObjectInstance parent) {
         return new ObjectSpawn(parent.getCenterX(), parent.getCenterY(), 0x79, 0, 0, false, 0);
     }
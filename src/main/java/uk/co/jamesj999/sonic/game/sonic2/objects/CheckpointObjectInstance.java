@@ -9,6 +9,9 @@ import uk.co.jamesj999.sonic.graphics.GLCommand;
 import uk.co.jamesj999.sonic.graphics.RenderPriority;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
@@ -30,7 +33,7 @@ import java.util.logging.Logger;
  * - Anim 2: frames 0,4 alternating (blinking after dongle expires)
  * </p>
  */
-public class CheckpointObjectInstance extends BoxObjectInstance {
+public class CheckpointObjectInstance extends BoxObjectInstance implements Snapshottable {
     private static final Logger LOGGER = Logger.getLogger(CheckpointObjectInstance.class.getName());
 
     // Activation zone dimensions (ROM: x_delta + 8 < $10, y_delta + $40 < $68)
@@ -87,6 +90,33 @@ public class CheckpointObjectInstance extends BoxObjectInstance {
         updateAnimation();
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(animId);
+        out.writeInt(mappingFrame);
+        out.writeInt(animTimer);
+        out.writeInt(animFrameIndex);
+        out.writeBoolean(activated);
+        out.writeBoolean(dongleActive);
+    }
+
+    /**
+     * Restores the post. A swinging dongle is a pooled object that a restore clears, so it is
+     * started again from the top of its swing.
+     */
+    @Override
+    public void loadState(StateReader in) {
+        animId = in.readInt();
+        mappingFrame = in.readInt();
+        animTimer = in.readInt();
+        animFrameIndex = in.readInt();
+        activated = in.readBoolean();
+        dongleActive = in.readBoolean();
+        if (dongleActive) {
+            spawnDongle();
+        }
+    }
+
     private void updateAnimation() {
         // Decrement timer
         if (animTimer > 0) {
@@ -183,7 +213,11 @@ public class CheckpointObjectInstance extends BoxObjectInstance {
     private void spawnDongle() {
         ObjectManager objectManager = LevelManager.getInstance().getObjectManager();
         if (objectManager != null) {
-            objectManager.addDynamicObject(new CheckpointDongleInstance(this));
+            CheckpointDongleInstance dongle = objectManager.acquire(CheckpointDongleInstance.class);
+            if (dongle != null) {
+                dongle.reset(this);
+                objectManager.addDynamicObject(dongle);
+            }
         }
     }
 
@@ -222,7 +256,11 @@ public class CheckpointObjectInstance extends BoxObjectInstance {
         // Spawn 4 stars at angle offsets 0, 0x40, 0x80, 0xC0
         for (int i = 0; i < 4; i++) {
             int angleOffset = i * 0x40;
-            objectManager.addDynamicObject(new CheckpointStarInstance(this, angleOffset));
+            CheckpointStarInstance star = objectManager.acquire(CheckpointStarInstance.class);
+            if (star != null) {
+                star.reset(this, angleOffset);
+                objectManager.addDynamicObject(star);
+            }
         }
     }
 
@@ -7,6 +7,7 @@ import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance;
 import uk.co.jamesj999.sonic.level.objects.ObjectRenderManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
+import uk.co.jamesj999.sonic.level.objects.PooledObject;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
@@ -26,7 +27,7 @@ import java.util.logging.Logger;
  * - Animation: frames 0, 1, 2, 1 based on (frame & 6) >> 1, with 3 -> 1 mapping
  * </p>
  */
-public class CheckpointStarInstance extends AbstractObjectInstance {
+public final class CheckpointStarInstance extends AbstractObjectInstance implements PooledObject {
     private static final Logger LOGGER = Logger.getLogger(CheckpointStarInstance.class.getName());
 
     // ROM constants (from disassembly)
@@ -35,9 +36,9 @@ public class CheckpointStarInstance extends AbstractObjectInstance {
     private static final int DELETE_AT = 0x200; // Delete when lifetime reaches this
     private static final int ANGLE_INCREMENT = 0xA; // Add to angle each frame
 
-    private final CheckpointObjectInstance parentCheckpoint; // Reference to parent for marking as used
-    private final int centerX; // objoff_30
-    private final int centerY; // objoff_32
+    private CheckpointObjectInstance parentCheckpoint; // Reference to parent for marking as used
+    private int centerX; // objoff_30
+    private int centerY; // objoff_32
     private int angle; // objoff_34 (starts at angleOffset, increments by 0xA)
     private int lifetime; // objoff_36
     private int animFrame; // anim_frame counter for animation cycling
@@ -47,7 +48,20 @@ public class CheckpointStarInstance extends AbstractObjectInstance {
     private boolean collisionEnabled;
 
     public CheckpointStarInstance(CheckpointObjectInstance parent, int angleOffset) {
-        super(createDummySpawn(parent), "CheckpointStar");
+        this();
+        reset(parent, angleOffset);
+    }
+
+    /**
+     * Creates an unplaced instance for an object pool; {@link #reset} places it.
+     */
+    public CheckpointStarInstance() {
+        super(null, "CheckpointStar");
+    }
+
+    public void reset(CheckpointObjectInstance parent, int angleOffset) {
+        setSpawn(createDummySpawn(parent));
+        setDestroyed(false);
         this.parentCheckpoint = parent;
         this.centerX = parent.getCenterX();
         this.centerY = parent.getCenterY() - 0x30; // Y offset from ROM
@@ -62,6 +76,11 @@ public class CheckpointStarInstance extends AbstractObjectInstance {
         this.currentY = centerY;
     }
 
+    @Override
+    public void onRelease() {
+        parentCheckpoint = null;
+    }
+
     private static ObjectSpawn createDummySpawn(CheckpointObjectInstance parent) {
         return new ObjectSpawn(parent.getCenterX(), parent.getCenterY(), 0x79, 0, 0, false, 0);
     }
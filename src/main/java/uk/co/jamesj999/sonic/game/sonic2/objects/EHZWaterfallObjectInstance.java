@@ -6,6 +6,9 @@ import uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance;
 import uk.co.jamesj999.sonic.level.objects.ObjectRenderManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
@@ -17,7 +20,7 @@ import java.util.logging.Logger;
  * Displays different frames based on proximity to the player.
  * Based on Obj49_ChkDel logic.
  */
-public class EHZWaterfallObjectInstance extends AbstractObjectInstance {
+public class EHZWaterfallObjectInstance extends AbstractObjectInstance implements Snapshottable {
     private static final Logger LOGGER = Logger.getLogger(EHZWaterfallObjectInstance.class.getName());
 
     private int mappingFrame;
@@ -80,4 +83,14 @@ public class EHZWaterfallObjectInstance extends AbstractObjectInstance {
         // Render at spawn position
         renderer.drawFrameIndex(mappingFrame, spawn.x(), spawn.y(), false, false);
     }
+
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(mappingFrame);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        mappingFrame = in.readInt();
+    }
 }
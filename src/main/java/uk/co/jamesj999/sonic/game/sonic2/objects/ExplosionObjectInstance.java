@@ -8,16 +8,36 @@ import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
 
-public class ExplosionObjectInstance extends AbstractObjectInstance {
-    private final ObjectRenderManager renderManager;
+public final class ExplosionObjectInstance extends AbstractObjectInstance implements PooledObject {
+    private ObjectRenderManager renderManager;
     private int animTimer = 0;
     private int animFrame = 0;
     private static final int ANIM_DELAY = 3; // 3 frames per sprite frame
     private static final int MAX_FRAME = 4;
 
     public ExplosionObjectInstance(int id, int x, int y, ObjectRenderManager renderManager) {
-        super(new ObjectSpawn(x, y, id, 0, 0, false, 0), "Explosion");
+        this();
+        reset(id, x, y, renderManager);
+    }
+
+    /**
+     * Creates an unplaced instance for an object pool; {@link #reset} places it.
+     */
+    public ExplosionObjectInstance() {
+        super(null, "Explosion");
+    }
+
+    public void reset(int id, int x, int y, ObjectRenderManager renderManager) {
+        setSpawn(new ObjectSpawn(x, y, id, 0, 0, false, 0));
         this.renderManager = renderManager;
+        animTimer = 0;
+        animFrame = 0;
+        setDestroyed(false);
+    }
+
+    @Override
+    public void onRelease() {
+        renderManager = null;
     }
 
     @Override
@@ -8,6 +8,10 @@ import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
 import uk.co.jamesj999.sonic.level.render.SpriteMappingFrame;
 import uk.co.jamesj999.sonic.level.render.SpriteMappingPiece;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
+import uk.co.jamesj999.sonic.sprites.managers.SpriteManager;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 import uk.co.jamesj999.sonic.sprites.playable.Tails;
 import uk.co.jamesj999.sonic.audio.AudioManager;
@@ -18,7 +22,7 @@ import java.util.List;
 import java.util.logging.Logger;
 
 public class MonitorObjectInstance extends BoxObjectInstance implements TouchResponseProvider, TouchResponseListener,
-        SolidObjectProvider, SolidObjectListener {
+        SolidObjectProvider, SolidObjectListener, Snapshottable {
     private static final Logger LOGGER = Logger.getLogger(MonitorObjectInstance.class.getName());
     private static final int HALF_RADIUS = 0x0E;
     private static final int ICON_INITIAL_VELOCITY = -0x300;
@@ -27,6 +31,7 @@ public class MonitorObjectInstance extends BoxObjectInstance implements TouchRes
     private static final int BROKEN_FRAME = 0x0B;
     private static final int ICON_FRAME_OFFSET = 1;
     private static final int RING_MONITOR_REWARD = 10;
+    private static final SolidObjectParams SOLID_PARAMS = new SolidObjectParams(0x1A, 0x0F, 0x10);
 
     private final MonitorType type;
     private final ObjectAnimationState animationState;
@@ -72,6 +77,46 @@ public class MonitorObjectInstance extends BoxObjectInstance implements TouchRes
         updateIcon();
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        animationState.saveState(out);
+        out.writeBoolean(broken);
+        out.writeInt(mappingFrame);
+        out.writeBoolean(iconActive);
+        out.writeInt(iconSubY);
+        out.writeInt(iconVelY);
+        out.writeInt(iconWaitFrames);
+        out.writeBoolean(effectApplied);
+        writePlayer(out, effectTarget);
+        writePlayer(out, iconPlayer);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        animationState.loadState(in);
+        broken = in.readBoolean();
+        mappingFrame = in.readInt();
+        iconActive = in.readBoolean();
+        iconSubY = in.readInt();
+        iconVelY = in.readInt();
+        iconWaitFrames = in.readInt();
+        effectApplied = in.readBoolean();
+        effectTarget = readPlayer(in);
+        iconPlayer = readPlayer(in);
+    }
+
+    private static void writePlayer(StateWriter out, AbstractPlayableSprite player) {
+        out.writeString(player != null ? player.getCode() : "");
+    }
+
+    private static AbstractPlayableSprite readPlayer(StateReader in) {
+        String code = in.readString();
+        if (code.isEmpty()) {
+            return null;
+        }
+        return SpriteManager.getInstance().getSprite(code) instanceof AbstractPlayableSprite player ? player : null;
+    }
+
     @Override
     public void onTouchResponse(AbstractPlayableSprite player, TouchResponseResult result, int frameCounter) {
         if (broken || player == null) {
@@ -118,8 +163,12 @@ public class MonitorObjectInstance extends BoxObjectInstance implements TouchRes
 
         ObjectRenderManager renderManager = LevelManager.getInstance().getObjectRenderManager();
         if (renderManager != null) {
-            LevelManager.getInstance().getObjectManager().addDynamicObject(
-                    new ExplosionObjectInstance(0x27, spawn.x(), spawn.y(), renderManager));
+            ObjectManager objectManager = LevelManager.getInstance().getObjectManager();
+            ExplosionObjectInstance explosion = objectManager.acquire(ExplosionObjectInstance.class);
+            if (explosion != null) {
+                explosion.reset(0x27, spawn.x(), spawn.y(), renderManager);
+                objectManager.addDynamicObject(explosion);
+            }
         }
         AudioManager.getInstance().playSfx(Sonic2AudioConstants.SFX_EXPLOSION);
     }
@@ -174,7 +223,7 @@ public class MonitorObjectInstance extends BoxObjectInstance implements TouchRes
 
     @Override
     public SolidObjectParams getSolidParams() {
-        return new SolidObjectParams(0x1A, 0x0F, 0x10);
+        return SOLID_PARAMS;
     }
 
     @Override
@@ -1,12 +1,15 @@
 package uk.co.jamesj999.sonic.game.sonic2.objects;
 
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.animation.SpriteAnimationScript;
 import uk.co.jamesj999.sonic.sprites.animation.SpriteAnimationSet;
 
 /**
  * Lightweight animation runner for object mappings (AnimateSprite-style).
  */
-public class ObjectAnimationState {
+public class ObjectAnimationState implements Snapshottable {
     private final SpriteAnimationSet animationSet;
     private int animId;
     private int lastAnimId = -1;
@@ -32,6 +35,24 @@ public class ObjectAnimationState {
         return mappingFrame;
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(animId);
+        out.writeInt(lastAnimId);
+        out.writeInt(frameIndex);
+        out.writeInt(frameTick);
+        out.writeInt(mappingFrame);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        animId = in.readInt();
+        lastAnimId = in.readInt();
+        frameIndex = in.readInt();
+        frameTick = in.readInt();
+        mappingFrame = in.readInt();
+    }
+
     public void update() {
         if (animationSet == null) {
             return;
@@ -1,7 +1,10 @@
 package uk.co.jamesj999.sonic.game.sonic2.objects;
 import uk.co.jamesj999.sonic.level.objects.*;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 
-public class PlatformObjectInstance extends BoxObjectInstance {
+public class PlatformObjectInstance extends BoxObjectInstance implements Snapshottable {
     private static final int[] WIDTH_PIXELS = {
             0x20, 0x20, 0x20, 0x40, 0x30
     };
@@ -28,4 +31,14 @@ public class PlatformObjectInstance extends BoxObjectInstance {
     protected int getHalfHeight() {
         return HALF_HEIGHT;
     }
+
+    // Nothing here changes after construction; being Snapshottable lets a rewind keep this
+    // instance rather than build a new one from the spawn
+    @Override
+    public void saveState(StateWriter out) {
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+    }
 }
@@ -11,6 +11,9 @@ import uk.co.jamesj999.sonic.level.objects.ObjectRenderManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
 import uk.co.jamesj999.sonic.level.render.SpritePieceRenderer;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 import uk.co.jamesj999.sonic.sprites.render.PlayerSpriteRenderer;
 
@@ -31,7 +34,7 @@ import java.util.logging.Logger;
  * <li>Spawn results screen (Obj3A), play end-level jingle</li>
  * </ol>
  */
-public class SignpostObjectInstance extends BoxObjectInstance {
+public class SignpostObjectInstance extends BoxObjectInstance implements Snapshottable {
     private static final Logger LOGGER = Logger.getLogger(SignpostObjectInstance.class.getName());
 
     // Routine states (matching ROM)
@@ -101,6 +104,32 @@ public class SignpostObjectInstance extends BoxObjectInstance {
         }
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeByte(routineState);
+        out.writeByte(mappingFrame);
+        out.writeInt(animTimer);
+        out.writeInt(spinFrameIndex);
+        out.writeInt(spinCycleCount);
+        out.writeInt(sparkleTimer);
+        out.writeInt(sparkleIndex);
+        out.writeShort(groundLockY);
+        out.writeBoolean(resultsSpawned);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        routineState = in.readByte();
+        mappingFrame = in.readByte();
+        animTimer = in.readInt();
+        spinFrameIndex = in.readInt();
+        spinCycleCount = in.readInt();
+        sparkleTimer = in.readInt();
+        sparkleIndex = in.readInt();
+        groundLockY = in.readShort();
+        resultsSpawned = in.readBoolean();
+    }
+
     private void checkPlayerPass(AbstractPlayableSprite player) {
         int signpostX = spawn.x();
         int playerX = player.getX();
@@ -181,10 +210,13 @@ public class SignpostObjectInstance extends BoxObjectInstance {
             int sparkleX = spawn.x() + offset[0];
             int sparkleY = spawn.y() + offset[1];
 
-            SignpostSparkleObjectInstance sparkle = new SignpostSparkleObjectInstance(sparkleX, sparkleY);
             ObjectManager objectManager = LevelManager.getInstance().getObjectManager();
             if (objectManager != null) {
-                objectManager.addDynamicObject(sparkle);
+                SignpostSparkleObjectInstance sparkle = objectManager.acquire(SignpostSparkleObjectInstance.class);
+                if (sparkle != null) {
+                    sparkle.reset(sparkleX, sparkleY);
+                    objectManager.addDynamicObject(sparkle);
+                }
             }
 
             // Cycle through positions (ROM: addq.b #2, andi.b #$E => 0,2,4,6,0,2...)
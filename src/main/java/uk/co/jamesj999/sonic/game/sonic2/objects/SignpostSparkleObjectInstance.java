@@ -4,6 +4,7 @@ import uk.co.jamesj999.sonic.graphics.GLCommand;
 import uk.co.jamesj999.sonic.graphics.RenderPriority;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance;
+import uk.co.jamesj999.sonic.level.objects.PooledObject;
 import uk.co.jamesj999.sonic.level.rings.RingRenderManager;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
@@ -14,7 +15,7 @@ import java.util.List;
  * Uses ring sparkle animation frames.
  * Self-destructs after animation completes.
  */
-public class SignpostSparkleObjectInstance extends AbstractObjectInstance {
+public final class SignpostSparkleObjectInstance extends AbstractObjectInstance implements PooledObject {
 
     // Animation timing
     private static final int FRAME_DELAY = 4; // Frames between animation steps
@@ -23,13 +24,27 @@ public class SignpostSparkleObjectInstance extends AbstractObjectInstance {
     private int animFrame = 0;
     private int totalFrames = 4; // Default, will be updated from RingRenderManager
     private int sparkleStartIndex = 4; // Default sparkle frame start
-    private final int worldX;
-    private final int worldY;
+    private int worldX;
+    private int worldY;
 
     public SignpostSparkleObjectInstance(int x, int y) {
-        super(null, "signpost_sparkle_" + x + "_" + y);
+        this();
+        reset(x, y);
+    }
+
+    /**
+     * Creates an unplaced instance for an object pool; {@link #reset} places it.
+     */
+    public SignpostSparkleObjectInstance() {
+        super(null, "signpost_sparkle");
+    }
+
+    public void reset(int x, int y) {
         this.worldX = x;
         this.worldY = y;
+        animTimer = 0;
+        animFrame = 0;
+        setDestroyed(false);
 
         // Try to get actual sparkle frame info from RingRenderManager
         RingRenderManager ringManager = LevelManager.getInstance().getRingRenderManager();
@@ -1,13 +1,18 @@
 package uk.co.jamesj999.sonic.game.sonic2.objects;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.game.sonic2.constants.Sonic2ObjectIds;
 import uk.co.jamesj999.sonic.level.objects.ObjectFactory;
 import uk.co.jamesj999.sonic.level.objects.ObjectInstance;
+import uk.co.jamesj999.sonic.level.objects.ObjectManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectRegistry;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
 import uk.co.jamesj999.sonic.level.objects.PlaceholderObjectInstance;
+import uk.co.jamesj999.sonic.game.sonic2.objects.badniks.AnimalObjectInstance;
+import uk.co.jamesj999.sonic.game.sonic2.objects.badniks.BadnikProjectileInstance;
 import uk.co.jamesj999.sonic.game.sonic2.objects.badniks.MasherBadnikInstance;
+import uk.co.jamesj999.sonic.game.sonic2.objects.badniks.PointsObjectInstance;
 import uk.co.jamesj999.sonic.game.sonic2.objects.badniks.BuzzerBadnikInstance;
 import uk.co.jamesj999.sonic.game.sonic2.objects.badniks.CoconutsBadnikInstance;
 
@@ -22,7 +27,6 @@ import java.util.logging.Logger;
 
 public class Sonic2ObjectRegistry implements ObjectRegistry {
     private static final Logger LOGGER = Logger.getLogger(Sonic2ObjectRegistry.class.getName());
-    private static Sonic2ObjectRegistry instance;
 
     private final Map<Integer, List<String>> namesById = new HashMap<>();
     private final Map<Integer, ObjectFactory> factories = new HashMap<>();
@@ -35,11 +39,8 @@ public class Sonic2ObjectRegistry implements ObjectRegistry {
     private Sonic2ObjectRegistry() {
     }
 
-    public static synchronized Sonic2ObjectRegistry getInstance() {
-        if (instance == null) {
-            instance = new Sonic2ObjectRegistry();
-        }
-        return instance;
+    public static Sonic2ObjectRegistry getInstance() {
+        return EngineContext.current().service(Sonic2ObjectRegistry.class, Sonic2ObjectRegistry::new);
     }
 
     public ObjectInstance create(ObjectSpawn spawn) {
@@ -60,6 +61,19 @@ public class Sonic2ObjectRegistry implements ObjectRegistry {
         factories.put(objectId & 0xFF, factory);
     }
 
+    @Override
+    public void registerPools(ObjectManager objectManager) {
+        // Caps stand in for Dynamic_Object_RAM ($70 slots); together they never exceed it.
+        // Badnik debris gets the lion's share since a chain of kills spawns three per badnik.
+        objectManager.registerPool(ExplosionObjectInstance.class, 0x10, ExplosionObjectInstance::new);
+        objectManager.registerPool(AnimalObjectInstance.class, 0x10, AnimalObjectInstance::new);
+        objectManager.registerPool(PointsObjectInstance.class, 0x10, PointsObjectInstance::new);
+        objectManager.registerPool(BadnikProjectileInstance.class, 0x10, BadnikProjectileInstance::new);
+        objectManager.registerPool(SignpostSparkleObjectInstance.class, 4, SignpostSparkleObjectInstance::new);
+        objectManager.registerPool(CheckpointStarInstance.class, 4, CheckpointStarInstance::new);
+        objectManager.registerPool(CheckpointDongleInstance.class, 2, CheckpointDongleInstance::new);
+    }
+
     public String getPrimaryName(int objectId) {
         ensureLoaded();
         List<String> names = namesById.get(objectId);
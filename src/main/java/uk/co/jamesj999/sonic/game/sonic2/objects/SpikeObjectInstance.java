@@ -13,11 +13,15 @@ import uk.co.jamesj999.sonic.level.objects.SolidObjectListener;
 import uk.co.jamesj999.sonic.level.objects.SolidObjectParams;
 import uk.co.jamesj999.sonic.level.objects.SolidObjectProvider;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
 
-public class SpikeObjectInstance extends BoxObjectInstance implements SolidObjectProvider, SolidObjectListener {
+public class SpikeObjectInstance extends BoxObjectInstance implements SolidObjectProvider, SolidObjectListener,
+        Snapshottable {
     private static final int[] WIDTH_PIXELS = {
             0x10, 0x20, 0x30, 0x40,
             0x10, 0x10, 0x10, 0x10
@@ -74,6 +78,25 @@ public class SpikeObjectInstance extends BoxObjectInstance implements SolidObjec
         updateDynamicSpawn();
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(currentX);
+        out.writeInt(currentY);
+        out.writeInt(retractOffset);
+        out.writeInt(retractState);
+        out.writeInt(retractTimer);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        currentX = in.readInt();
+        currentY = in.readInt();
+        retractOffset = in.readInt();
+        retractState = in.readInt();
+        retractTimer = in.readInt();
+        updateDynamicSpawn();
+    }
+
     @Override
     protected int getHalfWidth() {
         return getEntryValue(WIDTH_PIXELS);
@@ -5,6 +5,9 @@ import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
 import uk.co.jamesj999.sonic.level.objects.SolidObjectManager;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
@@ -17,7 +20,7 @@ import java.util.logging.Logger;
  * they traverse it.
  * Effectively creates a "wave" motion and sprite twisting effect.
  */
-public class SpiralObjectInstance extends AbstractObjectInstance {
+public class SpiralObjectInstance extends AbstractObjectInstance implements Snapshottable {
     private static final Logger LOGGER = Logger.getLogger(SpiralObjectInstance.class.getName());
 
     // Obj06_FlipAngleTable (sloopdirtbl)
@@ -135,6 +138,16 @@ public class SpiralObjectInstance extends AbstractObjectInstance {
         }
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeBoolean(active);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        active = in.readBoolean();
+    }
+
     private void checkActivation(int frameCounter, AbstractPlayableSprite player) {
         int dx = player.getCentreX() - spawn.x();
 
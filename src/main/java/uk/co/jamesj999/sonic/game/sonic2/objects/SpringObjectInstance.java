@@ -8,12 +8,15 @@ import uk.co.jamesj999.sonic.graphics.RenderPriority;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
 import uk.co.jamesj999.sonic.physics.Direction;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
 
 public class SpringObjectInstance extends BoxObjectInstance
-        implements SolidObjectProvider, SolidObjectListener, SlopedSolidProvider {
+        implements SolidObjectProvider, SolidObjectListener, SlopedSolidProvider, Snapshottable {
 
     // Subtype constants (shifted >> 3 & 0xE) - matches ROM Obj41_Index
     private static final int TYPE_UP = 0;
@@ -22,6 +25,9 @@ public class SpringObjectInstance extends BoxObjectInstance
     private static final int TYPE_DIAGONAL_UP = 6;
     private static final int TYPE_DIAGONAL_DOWN = 8;
 
+    private static final SolidObjectParams HORIZONTAL_SOLID_PARAMS = new SolidObjectParams(19, 8, 8);
+    private static final SolidObjectParams VERTICAL_SOLID_PARAMS = new SolidObjectParams(27, 8, 8);
+
     // Diagonal slope data
     private static final byte[] SLOPE_DIAG_UP = {
             0x10, 0x10, 0x10, 0x10, 0x10, 0x10, 0x10, 0x10,
@@ -67,6 +73,18 @@ public class SpringObjectInstance extends BoxObjectInstance
                 mappingFrame);
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        animationState.saveState(out);
+        out.writeInt(mappingFrame);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        animationState.loadState(in);
+        mappingFrame = in.readInt();
+    }
+
     @Override
     public void onSolidContact(AbstractPlayableSprite player, SolidContact contact, int frameCounter) {
         if (player == null) {
@@ -293,12 +311,12 @@ public class SpringObjectInstance extends BoxObjectInstance
         int type = getType();
         if (type == TYPE_HORIZONTAL) {
             // Reduce height to 8 (16px total) to avoid blocking player when walking over it
-            return new SolidObjectParams(19, 8, 8);
+            return HORIZONTAL_SOLID_PARAMS;
         }
         // Up, Down, Diagonal use standard vertical params
         // Fix height: Air=8, Ground=8 (matches 16px visual height, prevents
         // oscillation)
-        return new SolidObjectParams(27, 8, 8);
+        return VERTICAL_SOLID_PARAMS;
     }
 
     @Override
@@ -2,10 +2,14 @@ package uk.co.jamesj999.sonic.game.sonic2.objects.badniks;
 
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance;
+import uk.co.jamesj999.sonic.level.objects.ObjectManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
 import uk.co.jamesj999.sonic.level.objects.TouchResponseAttackable;
 import uk.co.jamesj999.sonic.level.objects.TouchResponseProvider;
 import uk.co.jamesj999.sonic.level.objects.TouchResponseResult;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 import uk.co.jamesj999.sonic.game.sonic2.objects.ExplosionObjectInstance;
 import uk.co.jamesj999.sonic.game.sonic2.objects.badniks.AnimalObjectInstance;
@@ -18,7 +22,7 @@ import uk.co.jamesj999.sonic.game.sonic2.constants.Sonic2Constants;
  * for AI.
  */
 public abstract class AbstractBadnikInstance extends AbstractObjectInstance
-        implements TouchResponseProvider, TouchResponseAttackable {
+        implements TouchResponseProvider, TouchResponseAttackable, Snapshottable {
 
     protected int currentX;
     protected int currentY;
@@ -97,15 +101,21 @@ public abstract class AbstractBadnikInstance extends AbstractObjectInstance
         destroyed = true;
         setDestroyed(true);
 
-        // Spawn explosion
-        ExplosionObjectInstance explosion = new ExplosionObjectInstance(0x27, currentX, currentY,
-                levelManager.getObjectRenderManager());
-        levelManager.getObjectManager().addDynamicObject(explosion);
+        ObjectManager objectManager = levelManager.getObjectManager();
 
-        // Spawn animal
-        AnimalObjectInstance animal = new AnimalObjectInstance(
-                new ObjectSpawn(currentX, currentY, 0x28, 0, 0, false, 0), levelManager);
-        levelManager.getObjectManager().addDynamicObject(animal);
+        // Spawn explosion, animal and points from their pools; a full pool skips the spawn
+        // like running out of object slots does on hardware
+        ExplosionObjectInstance explosion = objectManager.acquire(ExplosionObjectInstance.class);
+        if (explosion != null) {
+            explosion.reset(0x27, currentX, currentY, levelManager.getObjectRenderManager());
+            objectManager.addDynamicObject(explosion);
+        }
+
+        AnimalObjectInstance animal = objectManager.acquire(AnimalObjectInstance.class);
+        if (animal != null) {
+            animal.reset(new ObjectSpawn(currentX, currentY, 0x28, 0, 0, false, 0), levelManager);
+            objectManager.addDynamicObject(animal);
+        }
 
         // Calculate points based on chain
         int pointsValue = 100;
@@ -114,10 +124,11 @@ public abstract class AbstractBadnikInstance extends AbstractObjectInstance
             uk.co.jamesj999.sonic.game.GameStateManager.getInstance().addScore(pointsValue);
         }
 
-        // Spawn points
-        PointsObjectInstance points = new PointsObjectInstance(
-                new ObjectSpawn(currentX, currentY, 0x29, 0, 0, false, 0), levelManager, pointsValue);
-        levelManager.getObjectManager().addDynamicObject(points);
+        PointsObjectInstance points = objectManager.acquire(PointsObjectInstance.class);
+        if (points != null) {
+            points.reset(new ObjectSpawn(currentX, currentY, 0x29, 0, 0, false, 0), levelManager, pointsValue);
+            objectManager.addDynamicObject(points);
+        }
 
         // Play explosion SFX
         uk.co.jamesj999.sonic.audio.AudioManager.getInstance().playSfx(Sonic2Constants.SndID_Explosion);
@@ -126,6 +137,35 @@ public abstract class AbstractBadnikInstance extends AbstractObjectInstance
         // Remove self (handled by update loop via destroyed flag)
     }
 
+    /**
+     * Writes the position, velocity and animation shared by every Badnik. Subclasses with AI
+     * state of their own extend this and call super first.
+     */
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(currentX);
+        out.writeInt(currentY);
+        out.writeInt(xVelocity);
+        out.writeInt(yVelocity);
+        out.writeInt(animTimer);
+        out.writeInt(animFrame);
+        out.writeBoolean(facingLeft);
+        out.writeBoolean(destroyed);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        currentX = in.readInt();
+        currentY = in.readInt();
+        xVelocity = in.readInt();
+        yVelocity = in.readInt();
+        animTimer = in.readInt();
+        animFrame = in.readInt();
+        facingLeft = in.readBoolean();
+        destroyed = in.readBoolean();
+        setDestroyed(destroyed);
+    }
+
     /**
      * Returns a dynamic spawn with the current position for collision detection.
      * This is critical because TouchResponseManager uses getSpawn() position.
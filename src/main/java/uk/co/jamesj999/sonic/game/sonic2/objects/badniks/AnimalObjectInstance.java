@@ -1,17 +1,20 @@
 package uk.co.jamesj999.sonic.game.sonic2.objects.badniks;
 
 import uk.co.jamesj999.sonic.camera.Camera;
+import uk.co.jamesj999.sonic.game.GameRng;
 
 import uk.co.jamesj999.sonic.graphics.GLCommand;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectRenderManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
+import uk.co.jamesj999.sonic.level.objects.PooledObject;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
 
-public class AnimalObjectInstance extends uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance {
+public final class AnimalObjectInstance extends uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance
+        implements PooledObject {
     private static final int GRAVITY = 0x38;
     private static final int FLY_GRAVITY = 0x18;
     private static final int INITIAL_POP_VEL = -0x400;
@@ -25,8 +28,8 @@ public class AnimalObjectInstance extends uk.co.jamesj999.sonic.level.objects.Ab
         FLY
     }
 
-    private final PatternSpriteRenderer renderer;
-    private final LevelManager levelManager;
+    private PatternSpriteRenderer renderer;
+    private LevelManager levelManager;
     private int currentX;
     private int currentY;
     private int xVelocity;
@@ -41,7 +44,20 @@ public class AnimalObjectInstance extends uk.co.jamesj999.sonic.level.objects.Ab
     private AnimalType definition;
 
     public AnimalObjectInstance(ObjectSpawn spawn, LevelManager levelManager) {
-        super(spawn, "Animal");
+        this();
+        reset(spawn, levelManager);
+    }
+
+    /**
+     * Creates an unplaced instance for an object pool; {@link #reset} places it.
+     */
+    public AnimalObjectInstance() {
+        super(null, "Animal");
+    }
+
+    public void reset(ObjectSpawn spawn, LevelManager levelManager) {
+        setSpawn(spawn);
+        setDestroyed(false);
         this.levelManager = levelManager;
         ObjectRenderManager renderManager = levelManager.getObjectRenderManager();
         this.renderer = renderManager != null ? renderManager.getAnimalRenderer() : null;
@@ -58,7 +74,7 @@ public class AnimalObjectInstance extends uk.co.jamesj999.sonic.level.objects.Ab
             typeB = renderManager.getAnimalTypeB();
         }
 
-        this.artVariant = java.util.concurrent.ThreadLocalRandom.current().nextInt(ART_VARIANT_COUNT);
+        this.artVariant = GameRng.getInstance().nextInt(ART_VARIANT_COUNT);
         int animalIndex = artVariant == 0 ? typeA : typeB;
         this.definition = AnimalType.fromIndex(animalIndex);
         this.mappingSetIndex = definition.mappingSet().ordinal();
@@ -68,6 +84,12 @@ public class AnimalObjectInstance extends uk.co.jamesj999.sonic.level.objects.Ab
         this.yVelocity = INITIAL_POP_VEL;
     }
 
+    @Override
+    public void onRelease() {
+        levelManager = null;
+        renderer = null;
+    }
+
     @Override
     public void update(int frameCounter, AbstractPlayableSprite player) {
         switch (state) {
@@ -6,6 +6,7 @@ import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance;
 import uk.co.jamesj999.sonic.level.objects.ObjectRenderManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
+import uk.co.jamesj999.sonic.level.objects.PooledObject;
 import uk.co.jamesj999.sonic.level.objects.TouchResponseProvider;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
@@ -16,8 +17,8 @@ import java.util.List;
  * Projectile fired by Badniks (Buzzer stinger, Coconuts coconut).
  * Moves with configurable velocity and optional gravity.
  */
-public class BadnikProjectileInstance extends AbstractObjectInstance
-        implements TouchResponseProvider {
+public final class BadnikProjectileInstance extends AbstractObjectInstance
+        implements TouchResponseProvider, PooledObject {
 
     public enum ProjectileType {
         BUZZER_STINGER,
@@ -28,7 +29,7 @@ public class BadnikProjectileInstance extends AbstractObjectInstance
     private static final int COLLISION_SIZE_COCONUT = 0x0B; // From disassembly $8B & 0x3F
     private static final int GRAVITY_COCONUT = 0x20; // Obj98_CoconutFall
 
-    private final ProjectileType type;
+    private ProjectileType type;
     private int currentX;
     private int currentY;
     private int xVelocity; // In subpixels
@@ -53,7 +54,24 @@ public class BadnikProjectileInstance extends AbstractObjectInstance
      */
     public BadnikProjectileInstance(ObjectSpawn spawn, ProjectileType type,
             int x, int y, int xVel, int yVel, boolean gravity, boolean hFlip) {
-        super(spawn, "Projectile");
+        this();
+        reset(spawn, type, x, y, xVel, yVel, gravity, hFlip);
+    }
+
+    /**
+     * Creates an unplaced instance for an object pool; {@link #reset} places it.
+     */
+    public BadnikProjectileInstance() {
+        super(null, "Projectile");
+    }
+
+    /**
+     * Reinitialises a pooled projectile; parameters as for the full constructor.
+     */
+    public void reset(ObjectSpawn spawn, ProjectileType type,
+            int x, int y, int xVel, int yVel, boolean gravity, boolean hFlip) {
+        setSpawn(spawn);
+        setDestroyed(false);
         this.type = type;
         this.currentX = x;
         this.currentY = y;
@@ -3,9 +3,12 @@ package uk.co.jamesj999.sonic.game.sonic2.objects.badniks;
 import uk.co.jamesj999.sonic.graphics.GLCommand;
 import uk.co.jamesj999.sonic.graphics.RenderPriority;
 import uk.co.jamesj999.sonic.level.LevelManager;
+import uk.co.jamesj999.sonic.level.objects.ObjectManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectRenderManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
@@ -57,6 +60,26 @@ public class BuzzerBadnikInstance extends AbstractBadnikInstance {
         this.shootingDisabled = false;
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        super.saveState(out);
+        out.writeByte(state.ordinal());
+        out.writeInt(moveTimer);
+        out.writeInt(turnDelay);
+        out.writeInt(shotTimer);
+        out.writeBoolean(shootingDisabled);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        super.loadState(in);
+        state = State.values()[in.readByte()];
+        moveTimer = in.readInt();
+        turnDelay = in.readInt();
+        shotTimer = in.readInt();
+        shootingDisabled = in.readBoolean();
+    }
+
     @Override
     protected void updateMovement(int frameCounter, AbstractPlayableSprite player) {
         switch (state) {
@@ -143,7 +166,12 @@ public class BuzzerBadnikInstance extends AbstractBadnikInstance {
         int yVel = 0x180;
         int xVel = facingLeft ? -0x180 : 0x180;
 
-        BadnikProjectileInstance projectile = new BadnikProjectileInstance(
+        ObjectManager objectManager = LevelManager.getInstance().getObjectManager();
+        BadnikProjectileInstance projectile = objectManager.acquire(BadnikProjectileInstance.class);
+        if (projectile == null) {
+            return;
+        }
+        projectile.reset(
                 spawn,
                 BadnikProjectileInstance.ProjectileType.BUZZER_STINGER,
                 currentX + xOffset,
@@ -153,7 +181,7 @@ public class BuzzerBadnikInstance extends AbstractBadnikInstance {
                 false, // No gravity for Buzzer stinger
                 !facingLeft);
 
-        LevelManager.getInstance().getObjectManager().addDynamicObject(projectile);
+        objectManager.addDynamicObject(projectile);
     }
 
     @Override
@@ -3,9 +3,12 @@ package uk.co.jamesj999.sonic.game.sonic2.objects.badniks;
 import uk.co.jamesj999.sonic.graphics.GLCommand;
 import uk.co.jamesj999.sonic.graphics.RenderPriority;
 import uk.co.jamesj999.sonic.level.LevelManager;
+import uk.co.jamesj999.sonic.level.objects.ObjectManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectRenderManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
@@ -64,6 +67,28 @@ public class CoconutsBadnikInstance extends AbstractBadnikInstance {
         this.throwState = ThrowState.HAND_RAISED;
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        super.saveState(out);
+        out.writeInt(timer);
+        out.writeInt(climbTableIndex);
+        out.writeInt(attackTimer);
+        out.writeInt(yVelocity);
+        out.writeByte(state.ordinal());
+        out.writeByte(throwState.ordinal());
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        super.loadState(in);
+        timer = in.readInt();
+        climbTableIndex = in.readInt();
+        attackTimer = in.readInt();
+        yVelocity = in.readInt();
+        state = State.values()[in.readByte()];
+        throwState = ThrowState.values()[in.readByte()];
+    }
+
     @Override
     protected void updateMovement(int frameCounter, AbstractPlayableSprite player) {
         currentX = spawn.x();
@@ -152,7 +177,12 @@ public class CoconutsBadnikInstance extends AbstractBadnikInstance {
             xVel = THROW_X_VEL;
         }
 
-        BadnikProjectileInstance projectile = new BadnikProjectileInstance(
+        ObjectManager objectManager = LevelManager.getInstance().getObjectManager();
+        BadnikProjectileInstance projectile = objectManager.acquire(BadnikProjectileInstance.class);
+        if (projectile == null) {
+            return;
+        }
+        projectile.reset(
                 spawn,
                 BadnikProjectileInstance.ProjectileType.COCONUT,
                 currentX + xOffset,
@@ -162,7 +192,7 @@ public class CoconutsBadnikInstance extends AbstractBadnikInstance {
                 true,
                 !facingLeft);
 
-        LevelManager.getInstance().getObjectManager().addDynamicObject(projectile);
+        objectManager.addDynamicObject(projectile);
     }
 
     @Override
@@ -6,6 +6,8 @@ import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectRenderManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
@@ -31,6 +33,18 @@ public class MasherBadnikInstance extends AbstractBadnikInstance {
         this.localYVel = INITIAL_Y_VEL; // Start moving upward
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        super.saveState(out);
+        out.writeInt(localYVel);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        super.loadState(in);
+        localYVel = in.readInt();
+    }
+
     @Override
     protected void updateMovement(int frameCounter, AbstractPlayableSprite player) {
         // Apply gravity
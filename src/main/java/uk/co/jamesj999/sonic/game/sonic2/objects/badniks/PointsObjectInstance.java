@@ -4,21 +4,36 @@ import uk.co.jamesj999.sonic.graphics.GLCommand;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectRenderManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
+import uk.co.jamesj999.sonic.level.objects.PooledObject;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.util.List;
 
-public class PointsObjectInstance extends uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance {
-    private final PatternSpriteRenderer renderer;
-    private final LevelManager levelManager;
+public final class PointsObjectInstance extends uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance
+        implements PooledObject {
+    private PatternSpriteRenderer renderer;
+    private LevelManager levelManager;
     private int currentX;
     private int currentY;
     private int scoreFrame;
     private int timer;
 
     public PointsObjectInstance(ObjectSpawn spawn, LevelManager levelManager, int points) {
-        super(spawn, "Points");
+        this();
+        reset(spawn, levelManager, points);
+    }
+
+    /**
+     * Creates an unplaced instance for an object pool; {@link #reset} places it.
+     */
+    public PointsObjectInstance() {
+        super(null, "Points");
+    }
+
+    public void reset(ObjectSpawn spawn, LevelManager levelManager, int points) {
+        setSpawn(spawn);
+        setDestroyed(false);
         this.levelManager = levelManager;
         this.renderer = levelManager.getObjectRenderManager().getPointsRenderer();
         this.currentX = spawn.x();
@@ -27,6 +42,12 @@ public class PointsObjectInstance extends uk.co.jamesj999.sonic.level.objects.Ab
         setScore(points);
     }
 
+    @Override
+    public void onRelease() {
+        levelManager = null;
+        renderer = null;
+    }
+
     public void setScore(int points) {
         switch (points) {
             case 10:
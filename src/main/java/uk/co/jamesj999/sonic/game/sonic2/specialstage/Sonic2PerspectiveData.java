@@ -26,6 +26,10 @@ import static uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageC
  * Screen position calculation:
  *   x_pos = x_base + (cos(angle) * x_radius) >> 8
  *   y_pos = y_base + (sin(angle) * y_radius) >> 8
+ *
+ * Objects are positioned every frame, so {@link #load} also expands every entry into
+ * flat lookup tables over all 256 angles. {@link #entryIndex} finds the table row for a
+ * (track frame, depth) pair and the getters below it are plain array reads.
  */
 public class Sonic2PerspectiveData {
     private static final Logger LOGGER = Logger.getLogger(Sonic2PerspectiveData.class.getName());
@@ -36,6 +40,9 @@ public class Sonic2PerspectiveData {
     /** Size of each perspective entry */
     private static final int ENTRY_SIZE = 6;
 
+    /** Number of object angles covered by the lookup tables */
+    private static final int ANGLE_COUNT = 256;
+
     /** Raw decompressed perspective data */
     private byte[] data;
 
@@ -45,6 +52,26 @@ public class Sonic2PerspectiveData {
     /** Pre-parsed max depth counts per frame */
     private int[] maxDepthCounts;
 
+    /** First lookup table row of each frame, and how many depths it has rows for */
+    private int[] frameEntryStart;
+    private int[] frameEntryCount;
+
+    /** Screen positions per (row * 256 + angle); X is for the unflipped track */
+    private short[] screenX;
+    private short[] screenY;
+
+    /** The same positions with both radii scaled by 3/4, as the emerald uses them */
+    private short[] scaledScreenX;
+    private short[] scaledScreenY;
+
+    /** Per row: X shift from the unflipped to the flipped track, and the track floor Y */
+    private int[] flippedXShift;
+    private int[] floorY;
+
+    /** Per row: 256-bit angle visibility masks, four longs per row */
+    private long[] visibleAngles;
+    private long[] visibleAnglesFlipped;
+
     /** Cosine lookup table (256 entries, -128 to 127 fixed point) */
     private static final int[] COSINE_TABLE = new int[256];
 
@@ -84,7 +111,125 @@ public class Sonic2PerspectiveData {
             }
         }
 
-        LOGGER.fine("Loaded perspective data: " + data.length + " bytes, " + FRAME_COUNT + " frames");
+        buildLookupTables();
+
+        LOGGER.fine("Loaded perspective data: " + data.length + " bytes, " + FRAME_COUNT + " frames, " +
+                flippedXShift.length + " lookup rows");
+    }
+
+    /**
+     * Expands every perspective entry into the per-angle lookup tables.
+     */
+    private void buildLookupTables() {
+        frameEntryStart = new int[FRAME_COUNT];
+        frameEntryCount = new int[FRAME_COUNT];
+        int rows = 0;
+        for (int frame = 0; frame < FRAME_COUNT; frame++) {
+            int available = (data.length - frameOffsets[frame] - 2) / ENTRY_SIZE;
+            frameEntryStart[frame] = rows;
+            frameEntryCount[frame] = Math.max(0, Math.min(maxDepthCounts[frame], available));
+            rows += frameEntryCount[frame];
+        }
+
+        screenX = new short[rows * ANGLE_COUNT];
+        screenY = new short[rows * ANGLE_COUNT];
+        scaledScreenX = new short[rows * ANGLE_COUNT];
+        scaledScreenY = new short[rows * ANGLE_COUNT];
+        flippedXShift = new int[rows];
+        floorY = new int[rows];
+        visibleAngles = new long[rows * 4];
+        visibleAnglesFlipped = new long[rows * 4];
+
+        for (int frame = 0; frame < FRAME_COUNT; frame++) {
+            for (int depthIndex = 0; depthIndex < frameEntryCount[frame]; depthIndex++) {
+                PerspectiveEntry entry = getEntry(frame, depthIndex + 1);
+                int row = frameEntryStart[frame] + depthIndex;
+                int scaledXRadius = (entry.xRadius * 3) / 4;
+                int scaledYRadius = (entry.yRadius * 3) / 4;
+
+                flippedXShift[row] = 0x100 - 2 * entry.xBase;
+                floorY[row] = entry.yBase + entry.yRadius;
+
+                for (int angle = 0; angle < ANGLE_COUNT; angle++) {
+                    int slot = row * ANGLE_COUNT + angle;
+                    screenX[slot] = (short) (entry.xBase + ((COSINE_TABLE[angle] * entry.xRadius) >> 8));
+                    screenY[slot] = (short) (entry.yBase + ((SINE_TABLE[angle] * entry.yRadius) >> 8));
+                    scaledScreenX[slot] = (short) (entry.xBase + ((COSINE_TABLE[angle] * scaledXRadius) >> 8));
+                    scaledScreenY[slot] = (short) (entry.yBase + ((SINE_TABLE[angle] * scaledYRadius) >> 8));
+
+                    if (entry.isAngleVisible(angle, false)) {
+                        visibleAngles[row * 4 + (angle >> 6)] |= 1L << angle;
+                    }
+                    if (entry.isAngleVisible(angle, true)) {
+                        visibleAnglesFlipped[row * 4 + (angle >> 6)] |= 1L << angle;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the lookup table row for the given track frame and depth.
+     *
+     * @param trackFrame Track frame index (0-55)
+     * @param depth Object depth value (objoff_30)
+     * @return the row for the other lookups, or -1 if there is no entry
+     */
+    public int entryIndex(int trackFrame, int depth) {
+        if (frameEntryStart == null || trackFrame < 0 || trackFrame >= FRAME_COUNT) {
+            return -1;
+        }
+        int depthIndex = depth - 1;
+        if (depthIndex < 0 || depthIndex >= frameEntryCount[trackFrame]) {
+            return -1;
+        }
+        return frameEntryStart[trackFrame] + depthIndex;
+    }
+
+    /**
+     * Table form of {@link PerspectiveEntry#isAngleVisible}.
+     */
+    public boolean isAngleVisible(int entryIndex, int angle, boolean trackFlipped) {
+        long[] mask = trackFlipped ? visibleAnglesFlipped : visibleAngles;
+        int a = angle & 0xFF;
+        return (mask[entryIndex * 4 + (a >> 6)] & (1L << a)) != 0;
+    }
+
+    /**
+     * Table form of the X half of {@link PerspectiveEntry#calculateScreenPosition}.
+     */
+    public int getScreenX(int entryIndex, int angle, boolean trackFlipped) {
+        int x = screenX[entryIndex * ANGLE_COUNT + (angle & 0xFF)];
+        return trackFlipped ? x + flippedXShift[entryIndex] : x;
+    }
+
+    /**
+     * Table form of the Y half of {@link PerspectiveEntry#calculateScreenPosition}.
+     */
+    public int getScreenY(int entryIndex, int angle) {
+        return screenY[entryIndex * ANGLE_COUNT + (angle & 0xFF)];
+    }
+
+    /**
+     * Screen X with both radii scaled to 3/4, as the emerald positions itself (loc_36088).
+     */
+    public int getScaledScreenX(int entryIndex, int angle, boolean trackFlipped) {
+        int x = scaledScreenX[entryIndex * ANGLE_COUNT + (angle & 0xFF)];
+        return trackFlipped ? x + flippedXShift[entryIndex] : x;
+    }
+
+    /**
+     * Screen Y with both radii scaled to 3/4, as the emerald positions itself (loc_36088).
+     */
+    public int getScaledScreenY(int entryIndex, int angle) {
+        return scaledScreenY[entryIndex * ANGLE_COUNT + (angle & 0xFF)];
+    }
+
+    /**
+     * Track floor Y (bottom of the perspective ellipse, y_base + y_radius) for a row.
+     */
+    public int getFloorY(int entryIndex) {
+        return floorY[entryIndex];
     }
 
     /**
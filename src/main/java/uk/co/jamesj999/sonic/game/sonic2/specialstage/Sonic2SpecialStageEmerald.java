@@ -55,6 +55,9 @@ public class Sonic2SpecialStageEmerald extends Sonic2SpecialStageObject {
     /** Timer for fail state before ending stage */
     private static final int FAIL_COUNTDOWN = 79;  // $4F from disassembly
 
+    /** Bobbing Y offsets (byte_361C8) */
+    private static final int[] BOB_OFFSETS = { -1, 0, 1, 0 };
+
     private EmeraldPhase phase = EmeraldPhase.INITIALIZING;
     private int phaseTimer = 0;
 
@@ -87,6 +90,9 @@ public class Sonic2SpecialStageEmerald extends Sonic2SpecialStageObject {
         this.emeraldAwarded = false;
         this.bobbingOffset = 0;
         this.bobbingCounter = 0;
+        // The emerald is pooled, so drop what the previous stage configured
+        this.ringRequirement = 0;
+        this.manager = null;
     }
 
     /**
@@ -118,71 +124,36 @@ public class Sonic2SpecialStageEmerald extends Sonic2SpecialStageObject {
             return;
         }
 
-        // Get perspective entry for current frame and depth
-        Sonic2PerspectiveData.PerspectiveEntry entry =
-            perspectiveData.getEntry(currentTrackFrame, depth);
+        // Get perspective lookup row for current frame and depth
+        int entry = perspectiveData.entryIndex(currentTrackFrame, depth);
 
-        if (entry == null) {
+        if (entry < 0) {
             onScreen = false;
             return;
         }
 
         // Check visibility angle range
-        if (!entry.isAngleVisible(angle, trackFlipped)) {
+        if (!perspectiveData.isAngleVisible(entry, angle, trackFlipped)) {
             onScreen = false;
             return;
         }
 
-        // Calculate screen position with 0.75 radius scaling (from loc_36088)
+        // Screen position with 0.75 radius scaling (from loc_36088)
         // This matches the original: d4 = d4 * 3 / 4, d5 = d5 * 3 / 4
-        int[] pos = calculateEmeraldScreenPosition(entry, angle, trackFlipped);
-        screenX = pos[0];
-        screenY = pos[1];
+        screenX = perspectiveData.getScaledScreenX(entry, angle, trackFlipped);
+        screenY = perspectiveData.getScaledScreenY(entry, angle);
         onScreen = true;
 
-        // Calculate track floor Y position (bottom of perspective ellipse, UNSCALED)
+        // Track floor Y position (bottom of perspective ellipse, UNSCALED)
         // This is where the emerald's shadow should be rendered.
         // The emerald floats above the track (due to 0.75 radius scaling),
         // but the shadow goes on the actual track surface.
-        trackFloorY = entry.yBase + entry.yRadius;
+        trackFloorY = perspectiveData.getFloorY(entry);
 
         // Determine animation index based on depth
         animIndex = calculateAnimIndex();
     }
 
-    /**
-     * Calculates emerald screen position with 0.75 radius scaling.
-     * This matches the original loc_36088 code which scales x_radius and y_radius
-     * to 75% of their values before the sine/cosine multiplication.
-     */
-    private int[] calculateEmeraldScreenPosition(Sonic2PerspectiveData.PerspectiveEntry entry,
-                                                  int angle, boolean trackFlipped) {
-        // Cosine/Sine tables matching the Mega Drive CalcSine
-        double radians = (angle / 256.0) * 2 * Math.PI;
-        int cos = (int) Math.round(Math.cos(radians) * 256);
-        int sin = (int) Math.round(Math.sin(radians) * 256);
-
-        // Scale radius by 0.75 (multiply by 3, divide by 4)
-        int scaledXRadius = (entry.xRadius * 3) / 4;
-        int scaledYRadius = (entry.yRadius * 3) / 4;
-
-        // Calculate position offsets using scaled radius
-        int xOffset = (cos * scaledXRadius) >> 8;
-        int yOffset = (sin * scaledYRadius) >> 8;
-
-        // Calculate base X (flipped if track is flipped)
-        int effectiveXBase = entry.xBase;
-        if (trackFlipped) {
-            effectiveXBase = 0x100 - entry.xBase;
-        }
-
-        // Final screen position (no VDP offset - emerald uses raw coordinates)
-        int x = effectiveXBase + xOffset;
-        int y = entry.yBase + yOffset;
-
-        return new int[] { x, y };
-    }
-
     @Override
     public void update(int currentTrackFrame, boolean trackFlipped, int speedFactor, boolean drawingIndex4) {
         if (state == State.REMOVED) {
@@ -293,8 +264,7 @@ public class Sonic2SpecialStageEmerald extends Sonic2SpecialStageObject {
         // From byte_361C8: $FF, $00, $01, $00 (cycle every 4 frames)
         bobbingCounter++;
         int bobIndex = (bobbingCounter >> 2) & 0x3;
-        int[] bobOffsets = { -1, 0, 1, 0 };
-        bobbingOffset = bobOffsets[bobIndex];
+        bobbingOffset = BOB_OFFSETS[bobIndex];
 
         // Count down then signal stage end (success)
         phaseTimer--;
@@ -1,5 +1,6 @@
 package uk.co.jamesj999.sonic.game.sonic2.specialstage;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.audio.AudioManager;
 import uk.co.jamesj999.sonic.audio.GameSound;
 import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
@@ -8,6 +9,7 @@ import uk.co.jamesj999.sonic.data.Rom;
 import uk.co.jamesj999.sonic.data.RomManager;
 import uk.co.jamesj999.sonic.debug.DebugSpecialStageSprites;
 import uk.co.jamesj999.sonic.graphics.GraphicsManager;
+import uk.co.jamesj999.sonic.graphics.PatternUsage;
 import uk.co.jamesj999.sonic.level.Palette;
 import uk.co.jamesj999.sonic.level.Pattern;
 
@@ -41,7 +43,6 @@ import static uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageC
  */
 public class Sonic2SpecialStageManager {
     private static final Logger LOGGER = Logger.getLogger(Sonic2SpecialStageManager.class.getName());
-    private static Sonic2SpecialStageManager instance;
 
     /**
      * Result state for special stage completion.
@@ -87,6 +88,8 @@ public class Sonic2SpecialStageManager {
 
     private Sonic2SpecialStageRenderer renderer;
     private SpecialStageBackgroundRenderer bgRenderer;
+    private SpecialStageTrackRenderer trackGpuRenderer;
+    private final PatternUsage backgroundFboUsage = new PatternUsage();
     private int frameCounter = 0;
 
     private enum PlaneDebugMode {
@@ -121,9 +124,8 @@ public class Sonic2SpecialStageManager {
 
     private PlaneDebugMode planeDebugMode = PlaneDebugMode.BOTH;
 
-    private int[] decodedTrackFrame;
-    private int lastDecodedFrameIndex = -1;
-    private boolean lastDecodedFlipped = false;
+    private Sonic2TrackFrameCache trackFrameCache;
+    private int trackFrameOffset = -1;
 
     private Sonic2SpecialStagePlayer sonicPlayer;
     private Sonic2SpecialStagePlayer tailsPlayer;
@@ -169,15 +171,13 @@ public class Sonic2SpecialStageManager {
     private int alignmentFrameIndex = 0;
     private int alignmentFrameTimer = 0;
     private int alignmentTrackFrameIndex = -1;
-    private int alignmentLastDecodedFrameIndex = -1;
-    private int[] alignmentDecodedTrackFrame;
+    private int alignmentTrackFrameOffset = -1;
     private int alignmentDrawingIndex = 0;
     private int alignmentTriggerOffsetFrames = 0;
     private double alignmentRainbowSpeedScale = 1.0;
     private double alignmentRainbowSpeedAccumulator = 0.0;
     private boolean alignmentStepByTrackFrame = false;
     private TextRenderer alignmentTextRenderer;
-    private TextRenderer lagCompensationTextRenderer;
 
     // Current ring requirement for the active checkpoint (for "rings to go" display)
     private int currentRingRequirement = 0;
@@ -201,16 +201,16 @@ public class Sonic2SpecialStageManager {
      * When this can't complete in one VBlank period, Vint_Lag runs instead,
      * which does NOT run the main game loop - effectively skipping that entire frame.
      *
-     * Our Java implementation runs at consistent 60fps with no lag, making the
-     * entire simulation appear ~35% faster than the original hardware. This factor
-     * compensates by skipping a proportional number of update frames entirely.
+     * Our Java implementation ticks at a steady rate with no lag, which would make the
+     * entire simulation ~35% faster than the original hardware. This ratio reproduces
+     * the hardware by skipping a proportional number of update frames entirely.
      *
      * Value of 0.35 means ~35% of frames are "lag frames" (entire update skipped):
      * - Original theoretical: 60 updates/sec
      * - Original with lag: ~39 effective updates/sec
      * - This affects track animation, player movement, object speed, everything
      */
-    private double lagCompensation = 0.35;
+    private static final double LAG_FRAME_RATIO = 0.35;
     private double lagAccumulator = 0.0;
 
     // Skydome scroll state (accumulated horizontal scroll for background)
@@ -298,11 +298,8 @@ public class Sonic2SpecialStageManager {
     private Sonic2SpecialStageManager() {
     }
 
-    public static synchronized Sonic2SpecialStageManager getInstance() {
-        if (instance == null) {
-            instance = new Sonic2SpecialStageManager();
-        }
-        return instance;
+    public static Sonic2SpecialStageManager getInstance() {
+        return EngineContext.current().service(Sonic2SpecialStageManager.class, Sonic2SpecialStageManager::new);
     }
 
     /**
@@ -734,6 +731,7 @@ public class Sonic2SpecialStageManager {
 
         trackFrames = dataLoader.getTrackFrames();
         LOGGER.fine("Track frames: " + trackFrames.length + " frames loaded");
+        trackFrameCache = Sonic2TrackFrameCache.build(trackFrames);
 
         backgroundMainMappings = dataLoader.getBackgroundMainMappings();
         LOGGER.fine("Background main mappings: " + backgroundMainMappings.length + " bytes");
@@ -789,6 +787,9 @@ public class Sonic2SpecialStageManager {
         for (int i = 0; i < trackPatterns.length; i++) {
             graphicsManager.cachePatternTexture(trackPatterns[i], trackPatternBase + i);
         }
+        if (trackGpuRenderer != null) {
+            trackGpuRenderer.uploadPatterns(graphicsManager.getGraphics(), trackPatterns);
+        }
         LOGGER.fine("Cached " + trackPatterns.length + " track patterns at base 0x" +
                 Integer.toHexString(trackPatternBase) + " (range 0x" +
                 Integer.toHexString(trackPatternBase) + "-0x" +
@@ -850,6 +851,10 @@ public class Sonic2SpecialStageManager {
             bgRenderer = new SpecialStageBackgroundRenderer();
             bgRenderer.init(gl);
             LOGGER.fine("Special Stage background renderer initialized with shader");
+
+            trackGpuRenderer = new SpecialStageTrackRenderer();
+            trackGpuRenderer.init(gl);
+            trackGpuRenderer.uploadNametables(gl, trackFrameCache);
         } else {
             LOGGER.warning("GL context not available, background renderer not initialized");
         }
@@ -863,8 +868,7 @@ public class Sonic2SpecialStageManager {
         // Use the real stage layout data from ROM
         trackAnimator.initialize(currentStage);
 
-        lastDecodedFrameIndex = -1;
-        decodedTrackFrame = null;
+        trackFrameOffset = -1;
 
         LOGGER.fine("Track animator initialized");
     }
@@ -934,7 +938,7 @@ public class Sonic2SpecialStageManager {
 
         // Lag compensation: simulate original hardware lag frames
         // by skipping entire update frames proportionally
-        lagAccumulator += lagCompensation;
+        lagAccumulator += LAG_FRAME_RATIO;
         if (lagAccumulator >= 1.0) {
             lagAccumulator -= 1.0;
             // Still update lastFrameTime to avoid FPS diagnostic skew
@@ -1013,8 +1017,8 @@ public class Sonic2SpecialStageManager {
             diagnosticTrackAdvances = 0;
         }
 
-        if (frameChanged || decodedTrackFrame == null) {
-            decodeCurrentTrackFrame();
+        if (frameChanged || trackFrameOffset < 0) {
+            selectCurrentTrackFrame();
         }
 
         if (trackAnimator.isStageComplete()) {
@@ -1104,8 +1108,8 @@ public class Sonic2SpecialStageManager {
 
         // Update screen positions using perspective data
         if (perspectiveData != null) {
-            for (Sonic2SpecialStageObject obj : objectManager.getActiveObjects()) {
-                obj.updateScreenPosition(perspectiveData, currentFrame, flipped);
+            for (int i = 0; i < objectManager.getActiveObjectCount(); i++) {
+                objectManager.getActiveObject(i).updateScreenPosition(perspectiveData, currentFrame, flipped);
             }
         }
 
@@ -1136,7 +1140,8 @@ public class Sonic2SpecialStageManager {
         // Collision threshold: ±10 angle units (0x0A), matching original game
         final int ANGLE_THRESHOLD = 10;
 
-        for (Sonic2SpecialStageObject obj : objectManager.getActiveObjects()) {
+        for (int i = 0; i < objectManager.getActiveObjectCount(); i++) {
+            Sonic2SpecialStageObject obj = objectManager.getActiveObject(i);
             // Only test collidable objects (animIndex == 8)
             if (!obj.isCollidable()) {
                 continue;
@@ -1379,8 +1384,7 @@ public class Sonic2SpecialStageManager {
         alignmentFrameIndex = 0;
         alignmentFrameTimer = 0;
         alignmentTrackFrameIndex = -1;
-        alignmentLastDecodedFrameIndex = -1;
-        alignmentDecodedTrackFrame = null;
+        alignmentTrackFrameOffset = -1;
         alignmentDrawingIndex = 0;
         alignmentRainbowSpeedAccumulator = 0.0;
         alignmentPendingCheckpoint = true;
@@ -1398,9 +1402,8 @@ public class Sonic2SpecialStageManager {
 
     private void exitAlignmentTestMode() {
         alignmentCheckpoint = null;
-        alignmentDecodedTrackFrame = null;
+        alignmentTrackFrameOffset = -1;
         alignmentTrackFrameIndex = -1;
-        alignmentLastDecodedFrameIndex = -1;
         alignmentFrameIndex = 0;
         alignmentFrameTimer = 0;
         alignmentDrawingIndex = 0;
@@ -1452,7 +1455,7 @@ public class Sonic2SpecialStageManager {
         }
 
         alignmentTrackFrameIndex = ANIM_STRAIGHT[alignmentFrameIndex];
-        decodeAlignmentTrackFrame();
+        selectAlignmentTrackFrame();
 
         if (alignmentCheckpoint != null && alignmentCheckpoint.isActive()) {
             boolean shouldStep = alignmentStepByTrackFrame ? frameAdvanced : (alignmentDrawingIndex == 4);
@@ -1526,28 +1529,17 @@ public class Sonic2SpecialStageManager {
     private boolean flipDiagnosticDone = false;
 
     /**
-     * Decodes the current track frame if needed.
+     * Points the track renderer at the pre-decoded current track frame.
      */
-    private void decodeCurrentTrackFrame() {
+    private void selectCurrentTrackFrame() {
         int frameIndex = trackAnimator.getCurrentTrackFrameIndex();
         boolean flipped = trackAnimator.getEffectiveFlipState();
 
-        if (frameIndex == lastDecodedFrameIndex && flipped == lastDecodedFlipped && decodedTrackFrame != null) {
-            return;
-        }
-
-        if (trackFrames != null && frameIndex >= 0 && frameIndex < trackFrames.length) {
-            byte[] frameData = trackFrames[frameIndex];
-
-            // Diagnostic logging disabled - set to true to enable verbose frame decode logging
-            boolean runDiag = false;
-
-            decodedTrackFrame = Sonic2TrackFrameDecoder.decodeFrame(frameData, flipped, runDiag);
-            lastDecodedFrameIndex = frameIndex;
-            lastDecodedFlipped = flipped;
+        if (trackFrameCache != null && trackFrameCache.contains(frameIndex)) {
+            trackFrameOffset = trackFrameCache.offsetOf(frameIndex, flipped);
 
             if (frameCounter % 60 == 0) {
-                LOGGER.fine("Decoded track frame " + frameIndex +
+                LOGGER.fine("Track frame " + frameIndex +
                         " (flipped=" + flipped + "), segment " +
                         trackAnimator.getCurrentSegmentIndex() +
                         ", type " + trackAnimator.getCurrentSegmentType());
@@ -1555,20 +1547,72 @@ public class Sonic2SpecialStageManager {
         }
     }
 
-    private void decodeAlignmentTrackFrame() {
+    private void selectAlignmentTrackFrame() {
         int frameIndex = alignmentTrackFrameIndex;
-        if (frameIndex < 0) {
-            return;
+        if (trackFrameCache != null && trackFrameCache.contains(frameIndex)) {
+            alignmentTrackFrameOffset = trackFrameCache.offsetOf(frameIndex, false);
         }
-        if (frameIndex == alignmentLastDecodedFrameIndex && alignmentDecodedTrackFrame != null) {
+    }
+
+    /**
+     * Draws plane B. The skydome tiles are only rasterised into the background FBO when
+     * it holds nothing yet or a pattern or palette line it used has been re-uploaded;
+     * every other frame just scrolls the existing FBO in the shader.
+     */
+    private void drawBackgroundPlane() {
+        if (bgRenderer == null || !bgRenderer.isInitialized()) {
+            // Fallback to CPU-based rendering
+            renderer.renderBackground(combinedBackgroundMappings, skydomeScrollX, vScrollBG);
             return;
         }
-        if (trackFrames != null && frameIndex >= 0 && frameIndex < trackFrames.length) {
-            byte[] frameData = trackFrames[frameIndex];
-            boolean runDiag = false;
-            alignmentDecodedTrackFrame = Sonic2TrackFrameDecoder.decodeFrame(frameData, false, runDiag);
-            alignmentLastDecodedFrameIndex = frameIndex;
+
+        if (graphicsManager.hasChangedSince(backgroundFboUsage)) {
+            // 1. Begin Tile Pass (Bind FBO) - queued as command for proper ordering
+            graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
+                bgRenderer.beginTilePass(gl, H32_HEIGHT);
+            }));
+
+            // 2. Render background tiles to FBO
+            graphicsManager.beginUsageCapture(backgroundFboUsage);
+            graphicsManager.beginPatternBatch();
+            renderer.renderBackgroundToFBO(combinedBackgroundMappings);
+            graphicsManager.flushPatternBatch();
+            graphicsManager.endUsageCapture();
+
+            // 3. End Tile Pass (Unbind FBO)
+            graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
+                bgRenderer.endTilePass(gl);
+            }));
+        }
+
+        // Capture current scroll values for use in lambda
+        final int currentScrollX = skydomeScrollX;
+        final float currentVScrollBG = (float) vScrollBG;
+
+        // 4. Update H-scroll and render with shader (vScrollBG applies vertical parallax)
+        graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
+            bgRenderer.setUniformHScroll(currentScrollX);
+            bgRenderer.renderWithShader(gl, currentVScrollBG);
+        }));
+    }
+
+    /**
+     * Draws plane A, as one shader quad when the GPU track renderer is ready and
+     * strip by strip otherwise.
+     */
+    private void drawTrack(int frameIndex, int frameOffset) {
+        Integer paletteTextureId = graphicsManager.getCombinedPaletteTextureId();
+        if (trackGpuRenderer != null && trackGpuRenderer.isReady()
+                && frameOffset >= 0 && paletteTextureId != null) {
+            final int offset = frameOffset;
+            final int paletteId = paletteTextureId;
+            graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
+                trackGpuRenderer.render(gl, offset, paletteId);
+            }));
+            return;
         }
+        short[] words = trackFrameCache != null ? trackFrameCache.getWords() : null;
+        renderer.renderTrack(frameIndex, words, frameOffset);
     }
 
     /**
@@ -1588,41 +1632,11 @@ public class Sonic2SpecialStageManager {
         boolean renderPlaneA = planeDebugMode.renderPlaneA();
 
         if (renderPlaneB) {
-            // Use shader-based background rendering if available
-            if (bgRenderer != null && bgRenderer.isInitialized()) {
-                // Capture current scroll values for use in lambda
-                final int currentScrollX = skydomeScrollX;
-                final float currentVScrollBG = (float) vScrollBG;
-
-                // 1. Begin Tile Pass (Bind FBO) - queued as command for proper ordering
-                graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
-                    bgRenderer.beginTilePass(gl, H32_HEIGHT);
-                }));
-
-                // 2. Render background tiles to FBO
-                graphicsManager.beginPatternBatch();
-                renderer.renderBackgroundToFBO(combinedBackgroundMappings);
-                graphicsManager.flushPatternBatch();
-
-                // 3. End Tile Pass (Unbind FBO)
-                graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
-                    bgRenderer.endTilePass(gl);
-                }));
-
-                // 4. Update H-scroll and render with shader (vScrollBG applies vertical parallax)
-                graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
-                    bgRenderer.setUniformHScroll(currentScrollX);
-                    bgRenderer.renderWithShader(gl, currentVScrollBG);
-                }));
-            } else {
-                // Fallback to CPU-based rendering
-                renderer.renderBackground(combinedBackgroundMappings, skydomeScrollX, vScrollBG);
-            }
+            drawBackgroundPlane();
         }
 
         if (renderPlaneA) {
-            int trackFrameIndex = trackAnimator.getCurrentTrackFrameIndex();
-            renderer.renderTrack(trackFrameIndex, decodedTrackFrame);
+            drawTrack(trackAnimator.getCurrentTrackFrameIndex(), trackFrameOffset);
         }
 
         // Render objects (rings, bombs) between track and players
@@ -1661,33 +1675,11 @@ public class Sonic2SpecialStageManager {
         boolean renderPlaneA = planeDebugMode.renderPlaneA();
 
         if (renderPlaneB) {
-            if (bgRenderer != null && bgRenderer.isInitialized()) {
-                final int currentScrollX = skydomeScrollX;
-                final float currentVScrollBG = (float) vScrollBG;
-
-                graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
-                    bgRenderer.beginTilePass(gl, H32_HEIGHT);
-                }));
-
-                graphicsManager.beginPatternBatch();
-                renderer.renderBackgroundToFBO(combinedBackgroundMappings);
-                graphicsManager.flushPatternBatch();
-
-                graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
-                    bgRenderer.endTilePass(gl);
-                }));
-
-                graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
-                    bgRenderer.setUniformHScroll(currentScrollX);
-                    bgRenderer.renderWithShader(gl, currentVScrollBG);
-                }));
-            } else {
-                renderer.renderBackground(combinedBackgroundMappings, skydomeScrollX, vScrollBG);
-            }
+            drawBackgroundPlane();
         }
 
         if (renderPlaneA) {
-            renderer.renderTrack(alignmentTrackFrameIndex, alignmentDecodedTrackFrame);
+            drawTrack(alignmentTrackFrameIndex, alignmentTrackFrameOffset);
         }
 
         if (alignmentCheckpoint != null && alignmentCheckpoint.isActive()) {
@@ -1754,34 +1746,6 @@ public class Sonic2SpecialStageManager {
         textRenderer.draw(text, x, y);
     }
 
-    /**
-     * Renders the lag compensation overlay showing current settings.
-     * Displayed when not in alignment test mode.
-     */
-    public void renderLagCompensationOverlay(int viewportWidth, int viewportHeight) {
-        if (alignmentTestMode) {
-            return;
-        }
-
-        if (lagCompensationTextRenderer == null) {
-            lagCompensationTextRenderer = new TextRenderer(new Font("SansSerif", Font.PLAIN, 12), true, true);
-        }
-
-        lagCompensationTextRenderer.beginRendering(viewportWidth, viewportHeight);
-
-        // Position at bottom-left of screen
-        int y = 14;
-
-        // Calculate effective updates per second: base 60 * (1 - lagComp)
-        double effectiveUpdates = 60.0 * (1.0 - lagCompensation);
-
-        drawOutlined(lagCompensationTextRenderer,
-                String.format("Lag: %.0f%% (~%.0f upd/s)  F6/F7", lagCompensation * 100, effectiveUpdates),
-                8, y, Color.YELLOW);
-
-        lagCompensationTextRenderer.endRendering();
-    }
-
     /**
      * Gets the current track frame index (0-55).
      */
@@ -1808,23 +1772,6 @@ public class Sonic2SpecialStageManager {
         return initialized;
     }
 
-    /**
-     * Gets the lag compensation factor.
-     * @return Value between 0.0 and 0.5 representing proportion of frames skipped
-     */
-    public double getLagCompensation() {
-        return lagCompensation;
-    }
-
-    /**
-     * Sets the lag compensation factor.
-     * Value of 0.35 means ~35% of frames are "lag frames" (entire update skipped).
-     * Range: 0.0 (no compensation) to 0.5 (half the frames are lag).
-     */
-    public void setLagCompensation(double factor) {
-        this.lagCompensation = Math.max(0.0, Math.min(0.5, factor));
-    }
-
     public int getCurrentStage() {
         return currentStage;
     }
@@ -1857,9 +1804,8 @@ public class Sonic2SpecialStageManager {
         lagAccumulator = 0.0;
 
         trackAnimator = null;
-        decodedTrackFrame = null;
-        lastDecodedFrameIndex = -1;
-        lastDecodedFlipped = false;
+        trackFrameCache = null;
+        trackFrameOffset = -1;
 
         levelLayouts = null;
         trackFrames = null;
@@ -1912,9 +1858,8 @@ public class Sonic2SpecialStageManager {
         pendingFinalCheckpoint = false;
         alignmentTestMode = false;
         alignmentCheckpoint = null;
-        alignmentDecodedTrackFrame = null;
+        alignmentTrackFrameOffset = -1;
         alignmentTrackFrameIndex = -1;
-        alignmentLastDecodedFrameIndex = -1;
         alignmentFrameIndex = 0;
         alignmentFrameTimer = 0;
         alignmentDrawingIndex = 0;
@@ -1934,6 +1879,14 @@ public class Sonic2SpecialStageManager {
             }
             bgRenderer = null;
         }
+        backgroundFboUsage.clear();
+        if (trackGpuRenderer != null) {
+            GL2 gl = graphicsManager.getGraphics();
+            if (gl != null) {
+                trackGpuRenderer.cleanup(gl);
+            }
+            trackGpuRenderer = null;
+        }
 
         // Skydome scroll state
         skydomeScrollX = 0;
@@ -2060,6 +2013,13 @@ public class Sonic2SpecialStageManager {
         return objectManager;
     }
 
+    /**
+     * Gets the pre-decoded track frames, or null before the stage has loaded.
+     */
+    public Sonic2TrackFrameCache getTrackFrameCache() {
+        return trackFrameCache;
+    }
+
     /**
      * Gets the perspective data.
      */
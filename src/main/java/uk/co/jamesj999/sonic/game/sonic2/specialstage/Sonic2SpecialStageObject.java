@@ -67,6 +67,9 @@ public abstract class Sonic2SpecialStageObject {
     /** Whether the object should be drawn with priority */
     protected boolean highPriority;
 
+    /** Slot index in the owning {@link Sonic2SpecialStageObjectPool} */
+    int poolIndex;
+
     /**
      * Initializes the object with starting depth and angle.
      * @param depth Integer depth value (will be converted to fixed-point)
@@ -105,30 +108,28 @@ public abstract class Sonic2SpecialStageObject {
             return;
         }
 
-        // Get perspective entry for current frame and depth
-        Sonic2PerspectiveData.PerspectiveEntry entry =
-            perspectiveData.getEntry(currentTrackFrame, depth);
+        // Get perspective lookup row for current frame and depth
+        int entry = perspectiveData.entryIndex(currentTrackFrame, depth);
 
-        if (entry == null) {
+        if (entry < 0) {
             onScreen = false;
             return;
         }
 
         // Check visibility angle range
-        if (!entry.isAngleVisible(angle, trackFlipped)) {
+        if (!perspectiveData.isAngleVisible(entry, angle, trackFlipped)) {
             onScreen = false;
             return;
         }
 
-        // Calculate screen position
-        int[] pos = entry.calculateScreenPosition(angle, trackFlipped);
-        screenX = pos[0];
-        screenY = pos[1];
+        // Look up screen position
+        screenX = perspectiveData.getScreenX(entry, angle, trackFlipped);
+        screenY = perspectiveData.getScreenY(entry, angle);
         onScreen = true;
 
-        // Calculate track floor Y position (bottom of perspective ellipse)
+        // Track floor Y position (bottom of perspective ellipse)
         // This is where shadows should be rendered, at yBase + yRadius
-        trackFloorY = entry.yBase + entry.yRadius;
+        trackFloorY = perspectiveData.getFloorY(entry);
 
         // Determine animation index based on depth
         // Lower depth = closer = larger sprite (higher anim index)
@@ -154,19 +155,18 @@ public abstract class Sonic2SpecialStageObject {
         if (depth <= 0) return 9;
         if (depth >= 30) return 0;
 
-        // Table from disassembly (depths 0-31 map to anim 9-0):
-        // 9,9,9,8,8,7,7,6,6,5,5,4,4,3,3,3,2,2,2,1,1,1,1,1,1,1,1,1,1,1,0,0
-        int[] animLookup = {
-            9, 9, 9, 8, 8, 7, 7, 6, 6, 5, 5, 4, 4, 3, 3, 3,
-            2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0
-        };
-
-        if (depth < animLookup.length) {
-            return animLookup[depth];
+        if (depth < ANIM_LOOKUP.length) {
+            return ANIM_LOOKUP[depth];
         }
         return 0; // Furthest for very large depths
     }
 
+    // Table from disassembly (depths 0-31 map to anim 9-0)
+    private static final int[] ANIM_LOOKUP = {
+        9, 9, 9, 8, 8, 7, 7, 6, 6, 5, 5, 4, 4, 3, 3, 3,
+        2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0
+    };
+
     /**
      * Decrements the depth value using fixed-point math.
      *
@@ -1,8 +1,7 @@
 package uk.co.jamesj999.sonic.game.sonic2.specialstage;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageConstants.*;
@@ -62,8 +61,8 @@ public class Sonic2SpecialStageObjectManager {
     /** Last segment that had objects spawned */
     private int lastProcessedSegment = -1;
 
-    /** Active special stage objects (rings and bombs) */
-    private final List<Sonic2SpecialStageObject> activeObjects = new ArrayList<>();
+    /** Active special stage objects (rings, bombs and the emerald), recycled by slot */
+    private final Sonic2SpecialStageObjectPool objectPool = new Sonic2SpecialStageObjectPool();
 
     /** Ring counter */
     private int ringsCollected = 0;
@@ -126,7 +125,7 @@ public class Sonic2SpecialStageObjectManager {
         this.noCheckpointFlag = false;
         this.noCheckpointMsgFlag = false;
         this.emeraldSpawned = false;
-        activeObjects.clear();
+        objectPool.clear();
 
         // Load object location data
         objectLocationData = dataLoader.getObjectLocations();
@@ -169,27 +168,30 @@ public class Sonic2SpecialStageObjectManager {
      *
      * @param segmentIndex The current segment index
      * @param segmentType The segment animation type (0-4)
-     * @return List of newly spawned objects
+     * @return Number of newly spawned objects
      */
-    public List<Sonic2SpecialStageObject> processSegment(int segmentIndex, int segmentType) {
-        List<Sonic2SpecialStageObject> newObjects = new ArrayList<>();
+    public int processSegment(int segmentIndex, int segmentType) {
+        int spawned = 0;
 
         // Only process once per segment
         if (segmentIndex == lastProcessedSegment) {
-            return newObjects;
+            return spawned;
         }
         lastProcessedSegment = segmentIndex;
 
         if (objectLocationData == null || currentPosition >= objectLocationData.length) {
-            return newObjects;
+            return spawned;
         }
 
         // Get segment animation length for depth calculation
         int segmentAnimLength = getSegmentAnimLength(segmentType);
         int depthOffset = segmentAnimLength * 4;
 
-        LOGGER.fine("Processing segment " + segmentIndex +
-                   " (type=" + segmentType + ", depthOffset=" + depthOffset + ")");
+        boolean fine = LOGGER.isLoggable(Level.FINE);
+        if (fine) {
+            LOGGER.fine("Processing segment " + segmentIndex +
+                       " (type=" + segmentType + ", depthOffset=" + depthOffset + ")");
+        }
 
         // Read objects until we hit a marker
         while (currentPosition < objectLocationData.length) {
@@ -199,7 +201,9 @@ public class Sonic2SpecialStageObjectManager {
             if ((firstByte & 0x80) != 0) {
                 // This is a marker byte
                 currentPosition++;
-                handleMarker(firstByte, newObjects);
+                if (handleMarker(firstByte)) {
+                    spawned++;
+                }
                 break; // Exit after processing marker
             }
 
@@ -217,49 +221,55 @@ public class Sonic2SpecialStageObjectManager {
             // Calculate depth value (objoff_30)
             int depth = (distanceIndex * 4) + depthOffset;
 
-            // Create and add the object
+            // Take a free slot for the object
             Sonic2SpecialStageObject obj;
             if (isBomb) {
-                obj = new Sonic2SpecialStageBomb();
+                obj = objectPool.spawnBomb();
             } else {
-                obj = new Sonic2SpecialStageRing();
+                obj = objectPool.spawnRing();
                 perfectRingsTotal++;
             }
 
+            if (obj == null) {
+                LOGGER.warning("No free " + (isBomb ? "bomb" : "ring") + " slot, object skipped");
+                continue;
+            }
             obj.initialize(depth, angleByte);
-            activeObjects.add(obj);
-            newObjects.add(obj);
+            spawned++;
 
-            LOGGER.fine("Spawned " + (isBomb ? "bomb" : "ring") +
-                       " at angle=" + angleByte + ", depth=" + depth);
+            if (fine) {
+                LOGGER.fine("Spawned " + (isBomb ? "bomb" : "ring") +
+                           " at angle=" + angleByte + ", depth=" + depth);
+            }
         }
 
-        return newObjects;
+        return spawned;
     }
 
     /**
      * Handles a marker byte in the object stream.
+     *
+     * @return true if the marker spawned an object
      */
-    private void handleMarker(int marker, List<Sonic2SpecialStageObject> newObjects) {
+    private boolean handleMarker(int marker) {
         // Convert to signed for comparison (matching assembly's bmi check)
         if (marker == MARKER_END) {
             // $FF: End of segment's objects - just return
             LOGGER.fine("End marker ($FF) at segment");
-            return;
+            return false;
         }
 
         if (marker == MARKER_CHECKPOINT) {
             // $FE: Checkpoint marker
             LOGGER.info("Checkpoint marker ($FE) - act " + currentSpecialAct);
             handleCheckpoint();
-            return;
+            return false;
         }
 
         if (marker == MARKER_EMERALD) {
             // $FD: Emerald marker
             LOGGER.info("Emerald marker ($FD)");
-            handleEmerald(newObjects);
-            return;
+            return handleEmerald();
         }
 
         // $FC and below: No-checkpoint marker
@@ -272,6 +282,7 @@ public class Sonic2SpecialStageObjectManager {
         ringsToGoEnabled = true;
         LOGGER.fine("Rings to go display enabled");
         // NOTE: Unlike $FE, this does NOT call handleCheckpoint() - it just sets flags
+        return false;
     }
 
     /**
@@ -292,34 +303,33 @@ public class Sonic2SpecialStageObjectManager {
     /**
      * Handles emerald marker processing.
      * Spawns the emerald object that appears at the end of the stage.
+     *
+     * @return true if the emerald was spawned
      */
-    private void handleEmerald(List<Sonic2SpecialStageObject> newObjects) {
+    private boolean handleEmerald() {
         emeraldSpawned = true;
 
-        // Create emerald object at depth 54 ($36), angle 0x40 (bottom center)
-        Sonic2SpecialStageEmerald emerald = new Sonic2SpecialStageEmerald();
-        emerald.initialize(54, 0x40);  // Initial values from disassembly
-        activeObjects.add(emerald);  // Add to active list so it gets updated
-        newObjects.add(emerald);
-
-        LOGGER.info("Emerald object spawned at depth 54, angle 0x40");
+        // Spawn emerald object at depth 54 ($36), angle 0x40 (bottom center)
+        Sonic2SpecialStageEmerald emerald = objectPool.spawnEmerald();
+        if (emerald != null) {
+            emerald.initialize(54, 0x40);  // Initial values from disassembly
+            LOGGER.info("Emerald object spawned at depth 54, angle 0x40");
+        } else {
+            LOGGER.warning("Emerald marker while the emerald is already active");
+        }
 
         // Notify callback if set
         if (checkpointCallback != null) {
             checkpointCallback.onEmerald();
         }
+        return emerald != null;
     }
 
     /**
      * Gets the active emerald object if one exists.
      */
     public Sonic2SpecialStageEmerald getActiveEmerald() {
-        for (Sonic2SpecialStageObject obj : activeObjects) {
-            if (obj.isEmerald()) {
-                return (Sonic2SpecialStageEmerald) obj;
-            }
-        }
-        return null;
+        return objectPool.getActiveEmerald();
     }
 
     /**
@@ -343,22 +353,27 @@ public class Sonic2SpecialStageObjectManager {
      */
     public void update(int currentTrackFrame, boolean trackFlipped, int speedFactor, boolean drawingIndex4) {
         // Update each active object
-        for (int i = activeObjects.size() - 1; i >= 0; i--) {
-            Sonic2SpecialStageObject obj = activeObjects.get(i);
-            obj.update(currentTrackFrame, trackFlipped, speedFactor, drawingIndex4);
-
-            // Remove objects that are done (collected or off-screen)
-            if (obj.shouldRemove()) {
-                activeObjects.remove(i);
-            }
+        for (int i = objectPool.size() - 1; i >= 0; i--) {
+            objectPool.get(i).update(currentTrackFrame, trackFlipped, speedFactor, drawingIndex4);
         }
+
+        // Recycle objects that are done (collected or off-screen)
+        objectPool.removeFinished();
+    }
+
+    /**
+     * Gets the number of active objects.
+     */
+    public int getActiveObjectCount() {
+        return objectPool.size();
     }
 
     /**
-     * Gets all active objects for rendering.
+     * Gets an active object by position, for allocation-free iteration together with
+     * {@link #getActiveObjectCount()}. Objects are in spawn order.
      */
-    public List<Sonic2SpecialStageObject> getActiveObjects() {
-        return activeObjects;
+    public Sonic2SpecialStageObject getActiveObject(int index) {
+        return objectPool.get(index);
     }
 
     /**
@@ -448,6 +463,6 @@ public class Sonic2SpecialStageObjectManager {
         noCheckpointMsgFlag = false;
         ringsToGoEnabled = false;
         emeraldSpawned = false;
-        activeObjects.clear();
+        objectPool.clear();
     }
 }
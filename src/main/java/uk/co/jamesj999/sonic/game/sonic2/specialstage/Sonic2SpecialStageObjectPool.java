@@ -0,0 +1,157 @@
+package uk.co.jamesj999.sonic.game.sonic2.specialstage;
+
+/**
+ * Fixed-capacity store for Special Stage objects.
+ *
+ * Every ring, bomb and the emerald are allocated once up front. Spawning takes a free
+ * slot index from the type's free stack and removal pushes it back, so objects are
+ * recycled across segments and stages instead of being dropped for the garbage collector.
+ *
+ * Active objects are kept in spawn order in one array and read with {@link #size()} and
+ * {@link #get(int)}, which lets the per-frame loops run without an iterator.
+ */
+public final class Sonic2SpecialStageObjectPool {
+
+    /** Ring and bomb slots, comfortably above the most a stage has in flight at once */
+    public static final int RING_CAPACITY = 128;
+    public static final int BOMB_CAPACITY = 128;
+
+    private final Sonic2SpecialStageRing[] rings = new Sonic2SpecialStageRing[RING_CAPACITY];
+    private final Sonic2SpecialStageBomb[] bombs = new Sonic2SpecialStageBomb[BOMB_CAPACITY];
+    private final Sonic2SpecialStageEmerald emerald = new Sonic2SpecialStageEmerald();
+
+    /** Free slot indices per type, used as stacks */
+    private final int[] freeRings = new int[RING_CAPACITY];
+    private final int[] freeBombs = new int[BOMB_CAPACITY];
+    private int freeRingCount;
+    private int freeBombCount;
+    private boolean emeraldInUse;
+
+    /** Active objects in spawn order */
+    private final Sonic2SpecialStageObject[] active =
+            new Sonic2SpecialStageObject[RING_CAPACITY + BOMB_CAPACITY + 1];
+    private int activeCount;
+
+    public Sonic2SpecialStageObjectPool() {
+        for (int i = 0; i < RING_CAPACITY; i++) {
+            rings[i] = new Sonic2SpecialStageRing();
+            rings[i].poolIndex = i;
+        }
+        for (int i = 0; i < BOMB_CAPACITY; i++) {
+            bombs[i] = new Sonic2SpecialStageBomb();
+            bombs[i].poolIndex = i;
+        }
+        clear();
+    }
+
+    /**
+     * Takes a free ring and appends it to the active objects.
+     *
+     * @return the ring to initialize, or null if every ring slot is in use
+     */
+    public Sonic2SpecialStageRing spawnRing() {
+        if (freeRingCount == 0) {
+            return null;
+        }
+        Sonic2SpecialStageRing ring = rings[freeRings[--freeRingCount]];
+        active[activeCount++] = ring;
+        return ring;
+    }
+
+    /**
+     * Takes a free bomb and appends it to the active objects.
+     *
+     * @return the bomb to initialize, or null if every bomb slot is in use
+     */
+    public Sonic2SpecialStageBomb spawnBomb() {
+        if (freeBombCount == 0) {
+            return null;
+        }
+        Sonic2SpecialStageBomb bomb = bombs[freeBombs[--freeBombCount]];
+        active[activeCount++] = bomb;
+        return bomb;
+    }
+
+    /**
+     * Takes the emerald and appends it to the active objects.
+     *
+     * @return the emerald to initialize, or null if it is already active
+     */
+    public Sonic2SpecialStageEmerald spawnEmerald() {
+        if (emeraldInUse) {
+            return null;
+        }
+        emeraldInUse = true;
+        active[activeCount++] = emerald;
+        return emerald;
+    }
+
+    /**
+     * Returns objects marked for removal to their free stacks, keeping the rest in order.
+     */
+    public void removeFinished() {
+        int kept = 0;
+        for (int i = 0; i < activeCount; i++) {
+            Sonic2SpecialStageObject obj = active[i];
+            if (obj.shouldRemove()) {
+                release(obj);
+            } else {
+                active[kept++] = obj;
+            }
+        }
+        for (int i = kept; i < activeCount; i++) {
+            active[i] = null;
+        }
+        activeCount = kept;
+    }
+
+    /**
+     * Releases every object.
+     */
+    public void clear() {
+        for (int i = 0; i < activeCount; i++) {
+            active[i] = null;
+        }
+        activeCount = 0;
+        for (int i = 0; i < RING_CAPACITY; i++) {
+            freeRings[i] = RING_CAPACITY - 1 - i;
+        }
+        for (int i = 0; i < BOMB_CAPACITY; i++) {
+            freeBombs[i] = BOMB_CAPACITY - 1 - i;
+        }
+        freeRingCount = RING_CAPACITY;
+        freeBombCount = BOMB_CAPACITY;
+        emeraldInUse = false;
+    }
+
+    private void release(Sonic2SpecialStageObject obj) {
+        if (obj.isRing()) {
+            freeRings[freeRingCount++] = obj.poolIndex;
+        } else if (obj.isBomb()) {
+            freeBombs[freeBombCount++] = obj.poolIndex;
+        } else if (obj.isEmerald()) {
+            emeraldInUse = false;
+        }
+    }
+
+    /**
+     * Number of active objects.
+     */
+    public int size() {
+        return activeCount;
+    }
+
+    /**
+     * Active object at the given position, in spawn order.
+     */
+    public Sonic2SpecialStageObject get(int index) {
+        return active[index];
+    }
+
+    /**
+     * The emerald if it is active, otherwise null.
+     */
+    public Sonic2SpecialStageEmerald getActiveEmerald() {
+        return emeraldInUse ? emerald : null;
+    }
+}
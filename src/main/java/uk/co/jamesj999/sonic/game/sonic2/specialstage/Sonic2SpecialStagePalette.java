@@ -75,7 +75,7 @@ public class Sonic2SpecialStagePalette {
     /**
      * Loads cached palette data from ROM if not already loaded.
      */
-    private static void loadPaletteDataIfNeeded() throws IOException {
+    private static synchronized void loadPaletteDataIfNeeded() throws IOException {
         if (cachedMainPalette == null || cachedStagePalettes == null) {
             Rom rom = RomManager.getInstance().getRom();
 
@@ -180,7 +180,7 @@ public class Sonic2SpecialStagePalette {
     /**
      * Loads the emerald palette data from ROM if not already cached.
      */
-    private static void loadEmeraldPaletteDataIfNeeded() throws IOException {
+    private static synchronized void loadEmeraldPaletteDataIfNeeded() throws IOException {
         if (cachedEmeraldPalette == null) {
             Rom rom = RomManager.getInstance().getRom();
             cachedEmeraldPalette = rom.readBytes(PALETTE_EMERALD_OFFSET, PALETTE_EMERALD_SIZE);
@@ -192,7 +192,7 @@ public class Sonic2SpecialStagePalette {
     /**
      * Clears cached palette data. Call this when ROM changes or on reset.
      */
-    public static void clearCache() {
+    public static synchronized void clearCache() {
         cachedMainPalette = null;
         cachedStagePalettes = null;
         cachedEmeraldPalette = null;
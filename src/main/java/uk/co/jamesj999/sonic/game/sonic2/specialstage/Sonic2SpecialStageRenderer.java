@@ -53,6 +53,12 @@ public class Sonic2SpecialStageRenderer {
     // Checkpoint system
     private Sonic2SpecialStageCheckpoint checkpoint;
 
+    // Reused every frame by renderObjects so object drawing does not allocate
+    private static final Comparator<Sonic2SpecialStageObject> FURTHEST_FIRST =
+            (a, b) -> Integer.compare(b.getDepth(), a.getDepth());
+    private final List<Sonic2SpecialStageObject> sortedObjects = new ArrayList<>();
+    private final PatternDesc objectDesc = new PatternDesc();
+
     /**
      * START banner sprite-piece definition (Obj5F frame0 from obj5F_a.asm).
      * spritePiece format: xOffset, yOffset, widthTiles, heightTiles, tileIndexOffset, hFlip, vFlip
@@ -368,17 +374,19 @@ public class Sonic2SpecialStageRenderer {
      * - Scanlines 6-7: VDP columns 96-127 (strip 3)
      *
      * @param trackFrameIndex Current track frame index (0-55)
-     * @param frameTiles      Decoded tile data from track frame (or null for
-     *                        placeholder)
+     * @param frameTiles      Packed pattern words of the pre-decoded track frames
+     *                        (or null for placeholder)
+     * @param frameOffset     Start of the current frame within {@code frameTiles}
+     *                        (or negative for placeholder)
      */
-    public void renderTrack(int trackFrameIndex, int[] frameTiles) {
-        if (frameTiles == null || frameTiles.length == 0) {
+    public void renderTrack(int trackFrameIndex, short[] frameTiles, int frameOffset) {
+        if (frameTiles == null || frameOffset < 0) {
             renderPlaceholderTrack(trackFrameIndex);
             return;
         }
 
         if (DEBUG_FULL_TILE_MODE) {
-            renderTrackDebugFullTiles(frameTiles);
+            renderTrackDebugFullTiles(frameTiles, frameOffset);
             return;
         }
 
@@ -413,7 +421,7 @@ public class Sonic2SpecialStageRenderer {
 
                 // Which 32-column slice of the 128-wide plane to show
                 // Strip 0: columns 0-31, Strip 1: columns 32-63, etc.
-                int rowDataStart = row * CELLS_PER_ROW;
+                int rowDataStart = frameOffset + row * CELLS_PER_ROW;
                 int dataStripNum = (DEBUG_FORCE_DATA_FROM_STRIP >= 0) ? DEBUG_FORCE_DATA_FROM_STRIP : stripNum;
                 int stripDataStart = rowDataStart + dataStripNum * CELLS_PER_STRIP;
 
@@ -423,7 +431,7 @@ public class Sonic2SpecialStageRenderer {
                     if (tileIndex >= frameTiles.length)
                         break;
 
-                    int word = frameTiles[tileIndex];
+                    int word = frameTiles[tileIndex] & 0xFFFF;
 
                     // Skip empty tiles (check pattern index)
                     if ((word & 0x7FF) == 0) {
@@ -465,7 +473,7 @@ public class Sonic2SpecialStageRenderer {
      * Mode 1: Only strip 0's tiles (32 columns)
      * Mode 2: All strips' tiles stacked (shows full 128 columns as 4 vertical sections)
      */
-    private void renderTrackDebugFullTiles(int[] frameTiles) {
+    private void renderTrackDebugFullTiles(short[] frameTiles, int frameOffset) {
         graphicsManager.beginPatternBatch();
 
         final int H32_WIDTH = 256;
@@ -478,7 +486,7 @@ public class Sonic2SpecialStageRenderer {
         // Each strip becomes a separate 8-pixel-tall band
         // This shows the full decoded data in a blocky but visible way
         for (int row = 0; row < NUM_ROWS; row++) {
-            int rowDataStart = row * CELLS_PER_ROW;
+            int rowDataStart = frameOffset + row * CELLS_PER_ROW;
 
             for (int stripNum = 0; stripNum < 4; stripNum++) {
                 // Each strip rendered as full tiles, stacked at different Y positions
@@ -490,7 +498,7 @@ public class Sonic2SpecialStageRenderer {
                     int tileIndex = stripDataStart + col;
                     if (tileIndex >= frameTiles.length) break;
 
-                    int word = frameTiles[tileIndex];
+                    int word = frameTiles[tileIndex] & 0xFFFF;
                     if ((word & 0x7FF) == 0) continue;
 
                     PatternDesc desc = new PatternDesc(word);
@@ -1436,14 +1444,17 @@ public class Sonic2SpecialStageRenderer {
             return;
         }
 
-        List<Sonic2SpecialStageObject> objects = objectManager.getActiveObjects();
-        if (objects.isEmpty()) {
+        int objectCount = objectManager.getActiveObjectCount();
+        if (objectCount == 0) {
             return;
         }
 
         // Sort by depth (higher depth = further away = draw first)
-        List<Sonic2SpecialStageObject> sortedObjects = new ArrayList<>(objects);
-        sortedObjects.sort((a, b) -> Integer.compare(b.getDepth(), a.getDepth()));
+        sortedObjects.clear();
+        for (int i = 0; i < objectCount; i++) {
+            sortedObjects.add(objectManager.getActiveObject(i));
+        }
+        sortedObjects.sort(FURTHEST_FIRST);
 
         final int H32_WIDTH = 256;
         final int SCREEN_CENTER_OFFSET = (320 - H32_WIDTH) / 2;
@@ -1495,6 +1506,7 @@ public class Sonic2SpecialStageRenderer {
                 renderEmerald((Sonic2SpecialStageEmerald) obj, SCREEN_CENTER_OFFSET);
             }
         }
+        sortedObjects.clear();
 
         graphicsManager.flushPatternBatch();
     }
@@ -1567,7 +1579,8 @@ public class Sonic2SpecialStageRenderer {
                     int tileIndex = srcCol * piece.heightTiles + ty;
                     int patternId = patternBase + piece.tileIndex + tileIndex;
 
-                    PatternDesc desc = new PatternDesc();
+                    PatternDesc desc = objectDesc;
+                    desc.set(0);
                     desc.setHFlip(finalHFlip);
                     desc.setVFlip(piece.vFlip);
                     desc.setPatternIndex(patternId & 0x7FF);
@@ -1619,7 +1632,7 @@ public class Sonic2SpecialStageRenderer {
                     int tileIndex = tx * piece.heightTiles + ty;
                     int patternId = patternBase + piece.tileIndex + tileIndex;
 
-                    PatternDesc desc = new PatternDesc();
+                    PatternDesc desc = objectDesc;
                     desc.setPriority(ring.isHighPriority());
                     desc.setPaletteIndex(paletteIndex);
                     desc.setHFlip(piece.hFlip);
@@ -1673,7 +1686,7 @@ public class Sonic2SpecialStageRenderer {
                     int tileIndex = tx * piece.heightTiles + ty;
                     int patternId = patternBase + piece.tileIndex + tileIndex;
 
-                    PatternDesc desc = new PatternDesc();
+                    PatternDesc desc = objectDesc;
                     desc.setPriority(bomb.isHighPriority());
                     desc.setPaletteIndex(paletteIndex);
                     desc.setHFlip(piece.hFlip);
@@ -1724,7 +1737,7 @@ public class Sonic2SpecialStageRenderer {
                     int tileIndex = tx * piece.heightTiles + ty;
                     int patternId = patternBase + piece.tileIndex + tileIndex;
 
-                    PatternDesc desc = new PatternDesc();
+                    PatternDesc desc = objectDesc;
                     desc.setPriority(true);  // Emerald always high priority
                     desc.setPaletteIndex(paletteIndex);
                     desc.setHFlip(piece.hFlip);
@@ -470,6 +470,19 @@ public class Sonic2SpecialStageSpriteData {
      * @return Shadow info with type and x-flip state
      */
     public static ObjectShadowInfo getObjectShadowInfo(int angle) {
+        return OBJECT_SHADOW_INFO[angle & 0xFF];
+    }
+
+    /** Shadow info for every object angle, shared so the per-frame draw does not allocate */
+    private static final ObjectShadowInfo[] OBJECT_SHADOW_INFO = new ObjectShadowInfo[256];
+
+    static {
+        for (int angle = 0; angle < OBJECT_SHADOW_INFO.length; angle++) {
+            OBJECT_SHADOW_INFO[angle] = computeObjectShadowInfo(angle);
+        }
+    }
+
+    private static ObjectShadowInfo computeObjectShadowInfo(int angle) {
         // Normalize angle to 0-127 range, tracking which half
         int normalizedAngle = angle & 0x7F;
         boolean upperHalf = (angle & 0x80) != 0;
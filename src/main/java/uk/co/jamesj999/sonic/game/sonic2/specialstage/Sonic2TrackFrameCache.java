@@ -0,0 +1,94 @@
+package uk.co.jamesj999.sonic.game.sonic2.specialstage;
+
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import static uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2TrackFrameDecoder.TOTAL_VDP_TILES;
+
+/**
+ * Every track frame decoded up front, in both orientations.
+ * <p>
+ * Decoding a compressed frame means bit-parsing three streams and allocating a fresh plane
+ * buffer, and the track animator moves to a new frame or orientation every few game frames.
+ * Since there are only 56 frames, all of them are decoded once when the stage loads (across
+ * the common fork-join pool) into one packed block of 16-bit pattern words. The block holds
+ * {@link Sonic2TrackFrameDecoder#TOTAL_VDP_TILES} words per frame, normal orientation first
+ * and flipped second, so drawing a frame is just an offset into {@link #getWords()}.
+ */
+public final class Sonic2TrackFrameCache {
+    private static final Logger LOGGER = Logger.getLogger(Sonic2TrackFrameCache.class.getName());
+
+    private final short[] words;
+    private final int frameCount;
+    private final long buildNanos;
+
+    private Sonic2TrackFrameCache(short[] words, int frameCount, long buildNanos) {
+        this.words = words;
+        this.frameCount = frameCount;
+        this.buildNanos = buildNanos;
+    }
+
+    /**
+     * Decodes all frames in both orientations.
+     *
+     * @param trackFrames raw track frame data from ROM, one array per frame
+     */
+    public static Sonic2TrackFrameCache build(byte[][] trackFrames) {
+        long start = System.nanoTime();
+        int frameCount = trackFrames.length;
+        short[] words = new short[frameCount * 2 * TOTAL_VDP_TILES];
+
+        // Each task writes its own slice, so no synchronisation is needed
+        IntStream.range(0, frameCount * 2).parallel().forEach(slot -> {
+            int[] decoded = Sonic2TrackFrameDecoder.decodeFrame(trackFrames[slot >> 1], (slot & 1) != 0);
+            int base = slot * TOTAL_VDP_TILES;
+            int length = Math.min(decoded.length, TOTAL_VDP_TILES);
+            for (int i = 0; i < length; i++) {
+                words[base + i] = (short) decoded[i];
+            }
+        });
+
+        long buildNanos = System.nanoTime() - start;
+        LOGGER.fine(String.format("Decoded %d track frames (both orientations) in %.2f ms",
+                frameCount, buildNanos / 1_000_000.0));
+        return new Sonic2TrackFrameCache(words, frameCount, buildNanos);
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Whether {@code frameIndex} is a frame this cache holds.
+     */
+    public boolean contains(int frameIndex) {
+        return frameIndex >= 0 && frameIndex < frameCount;
+    }
+
+    /**
+     * Start of a decoded frame within {@link #getWords()}. The frame occupies the next
+     * {@link Sonic2TrackFrameDecoder#TOTAL_VDP_TILES} words, laid out as the 128-cell-wide
+     * VDP plane.
+     */
+    public int offsetOf(int frameIndex, boolean flipped) {
+        if (!contains(frameIndex)) {
+            throw new IndexOutOfBoundsException("Track frame index out of range: " + frameIndex);
+        }
+        return ((frameIndex << 1) | (flipped ? 1 : 0)) * TOTAL_VDP_TILES;
+    }
+
+    /**
+     * The packed pattern words for every frame. Mask with {@code 0xFFFF} when reading, and
+     * do not modify.
+     */
+    public short[] getWords() {
+        return words;
+    }
+
+    /**
+     * How long {@link #build} took.
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+}
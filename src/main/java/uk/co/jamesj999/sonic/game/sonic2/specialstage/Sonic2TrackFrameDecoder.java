@@ -298,8 +298,6 @@ public class Sonic2TrackFrameDecoder {
         return decodeFrame(frameData, false);
     }
 
-    private static int lastUncIndex = -1; // For diagnostics
-
     /**
      * Reads an uncompressed pattern from the bitstream.
      *
@@ -332,8 +330,6 @@ public class Sonic2TrackFrameDecoder {
                 return -1;
         }
 
-        lastUncIndex = index; // Save for diagnostics
-
         if (index >= 0 && index < Sonic2TrackLookupTables.UNC_LUT.length) {
             int pattern = Sonic2TrackLookupTables.UNC_LUT[index];
             return pattern | PALETTE_LINE_3;
@@ -341,12 +337,6 @@ public class Sonic2TrackFrameDecoder {
         return 0;
     }
 
-    public static int getLastUncIndex() {
-        return lastUncIndex;
-    }
-
-    private static int lastRleIndex = -1; // For diagnostics
-
     /**
      * Reads an RLE entry from the bitstream.
      *
@@ -381,8 +371,6 @@ public class Sonic2TrackFrameDecoder {
             // No EOL check for non-extended (EOL only in extended mode)
         }
 
-        lastRleIndex = index; // Save for diagnostics
-
         if (index >= 0 && index < Sonic2TrackLookupTables.RLE_LUT.length) {
             return Sonic2TrackLookupTables.RLE_LUT[index];
         }
@@ -390,10 +378,6 @@ public class Sonic2TrackFrameDecoder {
         return new int[] { 0, 1 };
     }
 
-    public static int getLastRleIndex() {
-        return lastRleIndex;
-    }
-
     // Number of tiles per strip (matches H-scroll interleaving)
     private static final int TILES_PER_STRIP = 32;
 
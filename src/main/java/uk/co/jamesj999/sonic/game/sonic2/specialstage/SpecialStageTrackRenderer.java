@@ -0,0 +1,255 @@
+package uk.co.jamesj999.sonic.game.sonic2.specialstage;
+
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.util.GLBuffers;
+import uk.co.jamesj999.sonic.graphics.TilemapShaderProgram;
+import uk.co.jamesj999.sonic.level.Pattern;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.logging.Logger;
+
+import static uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2TrackFrameDecoder.VDP_PLANE_WIDTH;
+
+/**
+ * GPU-based track (plane A) renderer for Special Stage.
+ *
+ * Instead of queueing one 8x2 strip quad per visible cell (28 rows x 4 strips x
+ * 32 columns), the renderer keeps three textures on the GPU and draws a single
+ * fullscreen quad:
+ * - Every pre-decoded track frame from {@link Sonic2TrackFrameCache}, uploaded once
+ * as a 128-wide nametable texture (RG8, low and high byte of each pattern word)
+ * - The track patterns, packed into one R8 atlas of colour indices
+ * - The combined palette texture already maintained by the GraphicsManager
+ *
+ * The fragment shader does the strip/scanline lookup, so switching track frames
+ * only changes which nametable row the shader starts at.
+ */
+public class SpecialStageTrackRenderer {
+
+    private static final Logger LOGGER = Logger.getLogger(SpecialStageTrackRenderer.class.getName());
+
+    // Pattern atlas layout - 32 patterns of 8x8 per row
+    static final int ATLAS_PATTERNS_PER_ROW = 32;
+    static final int ATLAS_WIDTH = ATLAS_PATTERNS_PER_ROW * Pattern.PATTERN_WIDTH;
+
+    private static final int NAMETABLE_UNIT = 0;
+    private static final int ATLAS_UNIT = 1;
+    private static final int PALETTE_UNIT = 2;
+
+    // OpenGL resources
+    private int nametableTextureId = -1;
+    private int atlasTextureId = -1;
+    private int nametableHeight;
+    private int atlasHeight;
+
+    private TilemapShaderProgram shader;
+
+    // State
+    private boolean initialized = false;
+    private final int[] viewport = new int[4];
+
+    /**
+     * Initialize the renderer shader.
+     *
+     * @param gl OpenGL context
+     * @throws IOException if shader loading fails
+     */
+    public void init(GL2 gl) throws IOException {
+        if (initialized) {
+            return;
+        }
+        shader = new TilemapShaderProgram(gl, "shaders/shader_ss_track.glsl");
+        shader.cacheUniformLocations(gl);
+        initialized = true;
+        LOGGER.info("SpecialStageTrackRenderer initialized");
+    }
+
+    /**
+     * Upload every decoded track frame as one nametable texture.
+     */
+    public void uploadNametables(GL2 gl, Sonic2TrackFrameCache cache) {
+        if (!initialized) {
+            return;
+        }
+        short[] words = cache.getWords();
+        nametableHeight = words.length / VDP_PLANE_WIDTH;
+        nametableTextureId = createTexture(gl, nametableTextureId);
+        gl.glTexImage2D(GL2.GL_TEXTURE_2D, 0, GL2.GL_RG8, VDP_PLANE_WIDTH, nametableHeight, 0,
+                GL2.GL_RG, GL2.GL_UNSIGNED_BYTE, packNametables(words));
+        gl.glBindTexture(GL2.GL_TEXTURE_2D, 0);
+        LOGGER.fine("Uploaded " + cache.getFrameCount() + " track frames as a " +
+                VDP_PLANE_WIDTH + "x" + nametableHeight + " nametable texture");
+    }
+
+    /**
+     * Upload the track patterns into the pattern atlas.
+     */
+    public void uploadPatterns(GL2 gl, Pattern[] patterns) {
+        if (!initialized) {
+            return;
+        }
+        atlasHeight = atlasHeightFor(patterns.length);
+        atlasTextureId = createTexture(gl, atlasTextureId);
+        gl.glTexImage2D(GL2.GL_TEXTURE_2D, 0, GL2.GL_RED, ATLAS_WIDTH, atlasHeight, 0,
+                GL2.GL_RED, GL2.GL_UNSIGNED_BYTE, packPatternAtlas(patterns));
+        gl.glBindTexture(GL2.GL_TEXTURE_2D, 0);
+        LOGGER.fine("Uploaded " + patterns.length + " track patterns to a " +
+                ATLAS_WIDTH + "x" + atlasHeight + " atlas");
+    }
+
+    /**
+     * Whether both textures have been uploaded and the track can be drawn.
+     */
+    public boolean isReady() {
+        return initialized && nametableTextureId > 0 && atlasTextureId > 0;
+    }
+
+    /**
+     * Draw the track frame starting at {@code frameOffset} in the frame cache.
+     *
+     * @param gl                OpenGL context
+     * @param frameOffset       Offset of the frame from {@link Sonic2TrackFrameCache#offsetOf}
+     * @param paletteTextureId  The combined palette texture
+     */
+    public void render(GL2 gl, int frameOffset, int paletteTextureId) {
+        if (!isReady()) {
+            return;
+        }
+
+        shader.use(gl);
+        shader.setTextureUnits(gl, NAMETABLE_UNIT, ATLAS_UNIT, PALETTE_UNIT);
+
+        // Get actual viewport dimensions for resolution independence
+        gl.glGetIntegerv(GL2.GL_VIEWPORT, viewport, 0);
+        shader.setScreenDimensions(gl, (float) viewport[2], (float) viewport[3]);
+        shader.setViewportOffset(gl, (float) viewport[0], (float) viewport[1]);
+        shader.setNametable(gl, frameOffset / VDP_PLANE_WIDTH, nametableHeight);
+        shader.setAtlasHeight(gl, atlasHeight);
+
+        gl.glActiveTexture(GL2.GL_TEXTURE0 + NAMETABLE_UNIT);
+        gl.glBindTexture(GL2.GL_TEXTURE_2D, nametableTextureId);
+        gl.glActiveTexture(GL2.GL_TEXTURE0 + ATLAS_UNIT);
+        gl.glBindTexture(GL2.GL_TEXTURE_2D, atlasTextureId);
+        gl.glActiveTexture(GL2.GL_TEXTURE0 + PALETTE_UNIT);
+        gl.glBindTexture(GL2.GL_TEXTURE_2D, paletteTextureId);
+
+        drawFullscreenQuad(gl);
+
+        // Cleanup
+        shader.stop(gl);
+        gl.glBindTexture(GL2.GL_TEXTURE_2D, 0);
+        gl.glActiveTexture(GL2.GL_TEXTURE0 + ATLAS_UNIT);
+        gl.glBindTexture(GL2.GL_TEXTURE_2D, 0);
+        gl.glActiveTexture(GL2.GL_TEXTURE0 + NAMETABLE_UNIT);
+        gl.glBindTexture(GL2.GL_TEXTURE_2D, 0);
+    }
+
+    /**
+     * Draw a fullscreen quad covering the entire screen.
+     * The shader handles H32 clipping internally.
+     */
+    private void drawFullscreenQuad(GL2 gl) {
+        int width = SpecialStageBackgroundRenderer.SCREEN_WIDTH;
+        int height = SpecialStageBackgroundRenderer.SCREEN_HEIGHT;
+
+        gl.glMatrixMode(GL2.GL_PROJECTION);
+        gl.glPushMatrix();
+        gl.glLoadIdentity();
+        gl.glOrtho(0, width, height, 0, -1, 1);
+
+        gl.glMatrixMode(GL2.GL_MODELVIEW);
+        gl.glPushMatrix();
+        gl.glLoadIdentity();
+
+        gl.glBegin(GL2.GL_QUADS);
+        gl.glVertex2f(0, 0);
+        gl.glVertex2f(width, 0);
+        gl.glVertex2f(width, height);
+        gl.glVertex2f(0, height);
+        gl.glEnd();
+
+        gl.glPopMatrix();
+        gl.glMatrixMode(GL2.GL_PROJECTION);
+        gl.glPopMatrix();
+        gl.glMatrixMode(GL2.GL_MODELVIEW);
+    }
+
+    private static int createTexture(GL2 gl, int existingId) {
+        int textureId = existingId;
+        if (textureId <= 0) {
+            int[] textures = new int[1];
+            gl.glGenTextures(1, textures, 0);
+            textureId = textures[0];
+        }
+        gl.glBindTexture(GL2.GL_TEXTURE_2D, textureId);
+        gl.glTexParameteri(GL2.GL_TEXTURE_2D, GL2.GL_TEXTURE_MIN_FILTER, GL2.GL_NEAREST);
+        gl.glTexParameteri(GL2.GL_TEXTURE_2D, GL2.GL_TEXTURE_MAG_FILTER, GL2.GL_NEAREST);
+        gl.glTexParameteri(GL2.GL_TEXTURE_2D, GL2.GL_TEXTURE_WRAP_S, GL2.GL_CLAMP_TO_EDGE);
+        gl.glTexParameteri(GL2.GL_TEXTURE_2D, GL2.GL_TEXTURE_WRAP_T, GL2.GL_CLAMP_TO_EDGE);
+        return textureId;
+    }
+
+    /**
+     * Pack pattern words as two bytes each, low byte first, for an RG8 texture.
+     */
+    static ByteBuffer packNametables(short[] words) {
+        ByteBuffer buffer = GLBuffers.newDirectByteBuffer(words.length * 2);
+        for (short word : words) {
+            buffer.put((byte) word);
+            buffer.put((byte) (word >> 8));
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Pack patterns into rows of {@link #ATLAS_PATTERNS_PER_ROW}, one colour index per byte.
+     */
+    static ByteBuffer packPatternAtlas(Pattern[] patterns) {
+        int height = atlasHeightFor(patterns.length);
+        ByteBuffer buffer = GLBuffers.newDirectByteBuffer(ATLAS_WIDTH * height);
+        for (int i = 0; i < patterns.length; i++) {
+            int baseX = (i % ATLAS_PATTERNS_PER_ROW) * Pattern.PATTERN_WIDTH;
+            int baseY = (i / ATLAS_PATTERNS_PER_ROW) * Pattern.PATTERN_HEIGHT;
+            for (int y = 0; y < Pattern.PATTERN_HEIGHT; y++) {
+                for (int x = 0; x < Pattern.PATTERN_WIDTH; x++) {
+                    buffer.put((baseY + y) * ATLAS_WIDTH + baseX + x, patterns[i].getPixel(x, y));
+                }
+            }
+        }
+        return buffer;
+    }
+
+    static int atlasHeightFor(int patternCount) {
+        int rows = Math.max(1, (patternCount + ATLAS_PATTERNS_PER_ROW - 1) / ATLAS_PATTERNS_PER_ROW);
+        return rows * Pattern.PATTERN_HEIGHT;
+    }
+
+    /**
+     * Check if renderer is initialized.
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Clean up OpenGL resources.
+     */
+    public void cleanup(GL2 gl) {
+        if (shader != null) {
+            shader.cleanup(gl);
+            shader = null;
+        }
+        if (nametableTextureId > 0) {
+            gl.glDeleteTextures(1, new int[] { nametableTextureId }, 0);
+            nametableTextureId = -1;
+        }
+        if (atlasTextureId > 0) {
+            gl.glDeleteTextures(1, new int[] { atlasTextureId }, 0);
+            atlasTextureId = -1;
+        }
+        initialized = false;
+        LOGGER.info("SpecialStageTrackRenderer cleaned up");
+    }
+}
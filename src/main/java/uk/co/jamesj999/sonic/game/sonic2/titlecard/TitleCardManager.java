@@ -1,5 +1,6 @@
 package uk.co.jamesj999.sonic.game.sonic2.titlecard;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.data.Rom;
 import uk.co.jamesj999.sonic.data.RomManager;
 import uk.co.jamesj999.sonic.game.TitleCardProvider;
@@ -36,8 +37,6 @@ import java.util.logging.Logger;
 public class TitleCardManager implements TitleCardProvider {
     private static final Logger LOGGER = Logger.getLogger(TitleCardManager.class.getName());
 
-    private static TitleCardManager instance;
-
     /**
      * Display hold duration in frames before starting the exit sequence.
      *
@@ -211,11 +210,8 @@ public class TitleCardManager implements TitleCardProvider {
 
     private TitleCardManager() {}
 
-    public static synchronized TitleCardManager getInstance() {
-        if (instance == null) {
-            instance = new TitleCardManager();
-        }
-        return instance;
+    public static TitleCardManager getInstance() {
+        return EngineContext.current().service(TitleCardManager.class, TitleCardManager::new);
     }
 
     /**
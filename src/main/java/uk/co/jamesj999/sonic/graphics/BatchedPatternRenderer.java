@@ -2,6 +2,7 @@ package uk.co.jamesj999.sonic.graphics;
 
 import com.jogamp.opengl.GL2;
 import com.jogamp.opengl.util.GLBuffers;
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
 import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
 import uk.co.jamesj999.sonic.level.PatternDesc;
@@ -50,14 +51,8 @@ public class BatchedPatternRenderer {
     // Track whether a shadow batch is active (uses different shader and blend mode)
     private boolean shadowBatchActive = false;
 
-    // Singleton instance
-    private static BatchedPatternRenderer instance;
-
-    public static synchronized BatchedPatternRenderer getInstance() {
-        if (instance == null) {
-            instance = new BatchedPatternRenderer();
-        }
-        return instance;
+    public static BatchedPatternRenderer getInstance() {
+        return EngineContext.current().service(BatchedPatternRenderer.class, BatchedPatternRenderer::new);
     }
 
     private BatchedPatternRenderer() {
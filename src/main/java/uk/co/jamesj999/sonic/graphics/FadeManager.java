@@ -1,6 +1,7 @@
 package uk.co.jamesj999.sonic.graphics;
 
 import com.jogamp.opengl.GL2;
+import uk.co.jamesj999.sonic.EngineContext;
 
 /**
  * Manages screen fade effects for transitions.
@@ -51,8 +52,6 @@ public class FadeManager {
         BLACK
     }
 
-    private static FadeManager instance;
-
     // Current fade state
     private FadeState state = FadeState.NONE;
     private int frameCount = 0;
@@ -97,18 +96,15 @@ public class FadeManager {
     /**
      * Get the singleton instance.
      */
-    public static synchronized FadeManager getInstance() {
-        if (instance == null) {
-            instance = new FadeManager();
-        }
-        return instance;
+    public static FadeManager getInstance() {
+        return EngineContext.current().service(FadeManager.class, FadeManager::new);
     }
 
     /**
      * Reset the singleton instance (for testing).
      */
-    public static synchronized void resetInstance() {
-        instance = null;
+    public static void resetInstance() {
+        EngineContext.current().remove(FadeManager.class);
     }
 
     /**
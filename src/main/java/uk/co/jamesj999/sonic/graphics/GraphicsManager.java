@@ -1,5 +1,6 @@
 package uk.co.jamesj999.sonic.graphics;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.camera.Camera;
 import uk.co.jamesj999.sonic.level.Palette;
 import uk.co.jamesj999.sonic.level.Pattern;
@@ -13,6 +14,8 @@ import com.jogamp.opengl.util.GLBuffers;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,13 +26,21 @@ import java.util.logging.Logger;
 public class GraphicsManager {
 	private static final Logger LOGGER = Logger.getLogger(GraphicsManager.class.getName());
 
-	private static GraphicsManager graphicsManager;
 	List<GLCommandable> commands = new ArrayList<>();
 
 	private final Map<String, Integer> patternTextureMap = new HashMap<>(); // Map for pattern textures
 	private final Map<String, Integer> paletteTextureMap = new HashMap<>(); // Map for palette textures
 	private Integer combinedPaletteTextureId;
 
+	// Upload revisions, so render caches can tell when a pattern or palette line they drew has changed
+	private long uploadRevision;
+	private long[] patternRevisions = new long[0];
+	private final long[] paletteRevisions = new long[4];
+	private PatternUsage usageCapture;
+
+	// Pattern re-uploads made during the frame, sent in one batch when rendering starts
+	private final PatternUploadQueue patternUploads = new PatternUploadQueue();
+
 	private final Camera camera = Camera.getInstance();
 	private GL2 graphics;
 	private ShaderProgram shaderProgram;
@@ -128,6 +139,8 @@ public class GraphicsManager {
 			return;
 		}
 
+		flushPatternUploads();
+
 		// Reset pattern render state for new batch of commands
 		PatternRenderCommand.resetFrameState();
 
@@ -178,11 +191,14 @@ public class GraphicsManager {
 	 * Cache a pattern texture (contains color indices) in the GPU.
 	 */
 	public void cachePatternTexture(Pattern pattern, int patternId) {
+		markPatternUploaded(patternId);
 		if (headlessMode) {
 			// In headless mode, just record that the pattern was cached
 			patternTextureMap.put("pattern_" + patternId, -1);
 			return;
 		}
+		// This upload is newer than anything still queued for the pattern
+		patternUploads.remove(patternId);
 		int textureId = glGenTexture();
 
 		// Create a buffer to store the color indices (8x8 grid of 1-byte indices)
@@ -212,6 +228,7 @@ public class GraphicsManager {
 	}
 
 	public void updatePatternTexture(Pattern pattern, int patternId) {
+		markPatternUploaded(patternId);
 		if (headlessMode || graphics == null) {
 			// In headless mode, just ensure pattern is tracked
 			if (headlessMode && !patternTextureMap.containsKey("pattern_" + patternId)) {
@@ -225,20 +242,28 @@ public class GraphicsManager {
 			return;
 		}
 
-		ByteBuffer patternBuffer = GLBuffers.newDirectByteBuffer(Pattern.PATTERN_WIDTH * Pattern.PATTERN_HEIGHT);
-		for (int col = 0; col < Pattern.PATTERN_HEIGHT; col++) {
-			for (int row = 0; row < Pattern.PATTERN_WIDTH; row++) {
-				byte colorIndex = pattern.getPixel(row, col);
-				patternBuffer.put(colorIndex);
-			}
-		}
-		patternBuffer.flip();
+		// Copied now, uploaded with the rest of the frame's changes by flushPatternUploads()
+		patternUploads.add(patternId, textureId, pattern);
+	}
 
-		graphics.glBindTexture(GL2.GL_TEXTURE_2D, textureId);
-		graphics.glTexSubImage2D(GL2.GL_TEXTURE_2D, 0, 0, 0, 8, 8, GL2.GL_RED, GL2.GL_UNSIGNED_BYTE, patternBuffer);
+	/**
+	 * Upload every pattern queued by {@link #updatePatternTexture} since the last call.
+	 * Runs at the start of each flush; call it directly before drawing patterns with GL
+	 * outside the command list.
+	 */
+	public void flushPatternUploads() {
+		if (headlessMode || graphics == null) {
+			patternUploads.clear();
+			return;
+		}
+		patternUploads.flush(graphics);
 	}
 
 	public void cachePaletteTexture(Palette palette, int paletteId) {
+		uploadRevision++;
+		if (paletteId >= 0 && paletteId < paletteRevisions.length) {
+			paletteRevisions[paletteId] = uploadRevision;
+		}
 		if (headlessMode) {
 			// In headless mode, just record that the palette was cached
 			paletteTextureMap.put("palette_" + paletteId, -1);
@@ -290,6 +315,9 @@ public class GraphicsManager {
 	 * This allows using pattern IDs beyond the 11-bit limit of PatternDesc.
 	 */
 	public void renderPatternWithId(int patternId, PatternDesc desc, int x, int y) {
+		if (usageCapture != null) {
+			usageCapture.record(patternId, desc.getPaletteIndex());
+		}
 		Integer patternTextureId = patternTextureMap.get("pattern_" + patternId);
 		Integer paletteTextureId = paletteTextureMap.get("palette_" + desc.getPaletteIndex());
 
@@ -308,8 +336,10 @@ public class GraphicsManager {
 		}
 
 		if (!usedBatch) {
-			// Fallback to individual commands
-			PatternRenderCommand command = new PatternRenderCommand(patternTextureId, paletteTextureId, desc, x, y);
+			// Fallback to individual commands. The command outlives this call, so it gets its
+			// own copy of desc and callers are free to reuse theirs.
+			PatternRenderCommand command = new PatternRenderCommand(patternTextureId, paletteTextureId,
+					new PatternDesc(desc), x, y);
 			registerCommand(command);
 		}
 	}
@@ -329,6 +359,9 @@ public class GraphicsManager {
 	 *                   tile)
 	 */
 	public void renderStripPatternWithId(int patternId, PatternDesc desc, int x, int y, int stripIndex) {
+		if (usageCapture != null) {
+			usageCapture.record(patternId, desc.getPaletteIndex());
+		}
 		Integer patternTextureId = patternTextureMap.get("pattern_" + patternId);
 		Integer paletteTextureId = paletteTextureMap.get("palette_" + desc.getPaletteIndex());
 
@@ -429,6 +462,73 @@ public class GraphicsManager {
 		return batchingEnabled;
 	}
 
+	/**
+	 * Start recording the patterns and palette lines drawn into {@code usage}, replacing
+	 * whatever it held. Pair with {@link #endUsageCapture()}.
+	 */
+	public void beginUsageCapture(PatternUsage usage) {
+		usage.clear();
+		usageCapture = usage;
+	}
+
+	/**
+	 * Start recording into {@code usage} on top of what it already holds, for a cached
+	 * render that is only partly redrawn. Only valid while {@link #hasChangedSince} is
+	 * false for it, since {@link #endUsageCapture()} re-stamps the whole capture.
+	 */
+	public void resumeUsageCapture(PatternUsage usage) {
+		usageCapture = usage;
+	}
+
+	/**
+	 * Stop recording and stamp the capture with the current upload revision.
+	 */
+	public void endUsageCapture() {
+		if (usageCapture != null) {
+			usageCapture.finish(uploadRevision);
+			usageCapture = null;
+		}
+	}
+
+	/**
+	 * Whether any pattern or palette line recorded in {@code usage} has been uploaded again
+	 * since it was captured. An empty capture always counts as changed.
+	 */
+	public boolean hasChangedSince(PatternUsage usage) {
+		if (!usage.isCaptured()) {
+			return true;
+		}
+		long since = usage.getRevision();
+		if (uploadRevision == since) {
+			return false;
+		}
+		for (int line = 0; line < paletteRevisions.length; line++) {
+			if (paletteRevisions[line] > since && usage.usesPaletteLine(line)) {
+				return true;
+			}
+		}
+		BitSet patterns = usage.getPatterns();
+		for (int id = patterns.nextSetBit(0); id >= 0 && id < patternRevisions.length;
+				id = patterns.nextSetBit(id + 1)) {
+			if (patternRevisions[id] > since) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void markPatternUploaded(int patternId) {
+		if (patternId < 0) {
+			return;
+		}
+		uploadRevision++;
+		if (patternId >= patternRevisions.length) {
+			patternRevisions = Arrays.copyOf(patternRevisions,
+					Math.max(patternId + 1, patternRevisions.length * 2));
+		}
+		patternRevisions[patternId] = uploadRevision;
+	}
+
 	/**
 	 * Get the combined palette texture ID.
 	 */
@@ -449,12 +549,14 @@ public class GraphicsManager {
 	public void cleanup() {
 		if (headlessMode || graphics == null) {
 			// In headless mode, just clear the tracking maps
+			patternUploads.cleanup(null);
 			patternTextureMap.clear();
 			paletteTextureMap.clear();
 			combinedPaletteTextureId = null;
 			return;
 		}
 		// Delete pattern textures
+		patternUploads.cleanup(graphics);
 		for (int textureId : patternTextureMap.values()) {
 			graphics.glDeleteTextures(1, new int[] { textureId }, 0);
 		}
@@ -494,20 +596,17 @@ public class GraphicsManager {
 	/**
 	 * Singleton access to the GraphicsManager instance.
 	 */
-	public static synchronized final GraphicsManager getInstance() {
-		if (graphicsManager == null) {
-			graphicsManager = new GraphicsManager();
-		}
-		return graphicsManager;
+	public static GraphicsManager getInstance() {
+		return EngineContext.current().service(GraphicsManager.class, GraphicsManager::new);
 	}
 
 	/**
 	 * Reset the singleton instance. Used for testing.
 	 */
-	public static synchronized void resetInstance() {
+	public static void resetInstance() {
+		GraphicsManager graphicsManager = EngineContext.current().remove(GraphicsManager.class);
 		if (graphicsManager != null) {
 			graphicsManager.cleanup();
-			graphicsManager = null;
 		}
 	}
 
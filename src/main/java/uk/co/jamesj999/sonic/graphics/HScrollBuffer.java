@@ -1,31 +1,37 @@
 package uk.co.jamesj999.sonic.graphics;
 
 import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.util.GLBuffers;
 
-import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
 
 /**
  * GPU-side horizontal scroll buffer for per-scanline parallax scrolling.
  * Emulates Mega Drive VDP HScroll RAM by storing per-line scroll values
  * in a 1D texture that the parallax shader samples.
  * 
- * The texture stores 224 entries (one per visible scanline), with each
- * entry containing the background X scroll offset normalized to -1..1.
+ * The texture stores 224 entries (one per visible scanline), each holding the
+ * raw 16-bit scroll words as an RG16 texel: R = BG (plane B), G = FG (plane A).
+ * Both words go up in one upload straight from the packed hScroll array, with
+ * no per-line float conversion.
  * 
- * IMPORTANT: Uses R32F format (32-bit float) instead of R16F because:
- * - 16-bit half-float only has 11 significant bits of mantissa
- * - At high scroll values (e.g., cameraX=25000), precision loss causes
- * visible "jitter" as fractional positions are rounded
- * - 32-bit float provides 23 bits of mantissa, sufficient for sub-pixel
- * precision across the entire level range
+ * RG16 is a normalized format, but 16-bit unsigned values survive the
+ * round trip through a 32-bit float sample exactly, so shaders recover the
+ * signed word with {@code floor(v * 65535.0 + 0.5)} and a sign fold. This keeps
+ * the full integer range without needing integer samplers (GLSL 1.30).
  */
 public class HScrollBuffer {
 
     public static final int VISIBLE_LINES = 224;
 
     private int textureId = -1;
-    private final float[] scrollData = new float[VISIBLE_LINES];
+    // Packed (FG << 16 | BG) words the texture currently holds
+    private final int[] scrollWords = new int[VISIBLE_LINES];
+    // Reused upload buffer, two shorts (BG, FG) per line
+    private final ShortBuffer uploadBuffer = GLBuffers.newDirectShortBuffer(VISIBLE_LINES * 2);
     private boolean initialized = false;
+    // False until scrollWords has been uploaded once; after that the texture matches it
+    private boolean uploaded = false;
 
     /**
      * Initialize the OpenGL texture for scroll data.
@@ -49,16 +55,15 @@ public class HScrollBuffer {
         // Clamp to edge - shouldn't sample outside valid range
         gl.glTexParameteri(GL2.GL_TEXTURE_1D, GL2.GL_TEXTURE_WRAP_S, GL2.GL_CLAMP_TO_EDGE);
 
-        // Allocate texture with R32F format for full precision
-        // R16F (half-float) only has 11 significant bits, causing jitter at high X
+        // Allocate texture with RG16 format: the raw BG and FG scroll words
         gl.glTexImage1D(
                 GL2.GL_TEXTURE_1D,
                 0,
-                GL2.GL_R32F,
+                GL2.GL_RG16,
                 VISIBLE_LINES,
                 0,
-                GL2.GL_RED,
-                GL2.GL_FLOAT,
+                GL2.GL_RG,
+                GL2.GL_UNSIGNED_SHORT,
                 null);
 
         gl.glBindTexture(GL2.GL_TEXTURE_1D, 0);
@@ -67,28 +72,33 @@ public class HScrollBuffer {
 
     /**
      * Upload new scroll data to the GPU texture.
+     * Skipped when every line matches what the texture already holds.
      * 
      * @param hScroll Packed scroll array from ParallaxManager.
-     *                Lower 16 bits contain BG scroll value.
+     *                Lower 16 bits contain BG scroll value, upper 16 bits FG.
      */
     public void upload(GL2 gl, int[] hScroll) {
         if (!initialized || hScroll == null) {
             return;
         }
 
-        // Extract BG scroll values (lower 16 bits) and normalize to -1..1
+        boolean changed = !uploaded;
         for (int i = 0; i < VISIBLE_LINES && i < hScroll.length; i++) {
-            int raw = (short) (hScroll[i] & 0xFFFF);
-            float normalized = raw / 32767.0f;
-            if (normalized > 1.0f) {
-                normalized = 1.0f;
-            } else if (normalized < -1.0f) {
-                normalized = -1.0f;
+            if (scrollWords[i] != hScroll[i]) {
+                scrollWords[i] = hScroll[i];
+                changed = true;
             }
-            scrollData[i] = normalized;
+        }
+        if (!changed) {
+            return;
         }
 
-        FloatBuffer buffer = FloatBuffer.wrap(scrollData);
+        uploadBuffer.clear();
+        for (int words : scrollWords) {
+            uploadBuffer.put((short) words);
+            uploadBuffer.put((short) (words >> 16));
+        }
+        uploadBuffer.flip();
 
         gl.glBindTexture(GL2.GL_TEXTURE_1D, textureId);
         gl.glTexSubImage1D(
@@ -96,10 +106,11 @@ public class HScrollBuffer {
                 0,
                 0,
                 VISIBLE_LINES,
-                GL2.GL_RED,
-                GL2.GL_FLOAT,
-                buffer);
+                GL2.GL_RG,
+                GL2.GL_UNSIGNED_SHORT,
+                uploadBuffer);
         gl.glBindTexture(GL2.GL_TEXTURE_1D, 0);
+        uploaded = true;
     }
 
     /**
@@ -147,5 +158,6 @@ public class HScrollBuffer {
             textureId = -1;
         }
         initialized = false;
+        uploaded = false;
     }
 }
@@ -0,0 +1,209 @@
+package uk.co.jamesj999.sonic.graphics;
+
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.util.GLBuffers;
+import uk.co.jamesj999.sonic.level.Pattern;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Collects pattern texture re-uploads (DPLC frames, animated tiles) made during a frame and
+ * sends them to the GPU together when rendering starts.
+ *
+ * Each queued pattern's pixels are copied straight away into one reused staging buffer, so a
+ * pattern that changes again later in the frame only keeps its latest pixels and nothing is
+ * allocated per tile. On {@link #flush} the staging buffer is written into a pixel buffer
+ * object from a small ring in one copy, and every tile's glTexSubImage2D then reads from an
+ * offset in that PBO, letting the driver transfer them without stalling the CPU. Without PBO
+ * support the tiles are uploaded from the staging buffer directly.
+ *
+ * Only the base {@link GL} profile is needed, which keeps the queue testable against a
+ * mocked context.
+ */
+final class PatternUploadQueue {
+
+    private static final int TILE_BYTES = Pattern.PATTERN_WIDTH * Pattern.PATTERN_HEIGHT;
+    private static final int RING_SIZE = 3;
+
+    private ByteBuffer staging = GLBuffers.newDirectByteBuffer(TILE_BYTES * 64);
+    private int[] textureIds = new int[64];
+    private int[] patternIds = new int[64];
+    private int count;
+
+    // Queue slot of each pending pattern id, or -1
+    private int[] slotByPattern = new int[0];
+
+    private final int[] pbos = new int[RING_SIZE];
+    private final int[] pboCapacity = new int[RING_SIZE];
+    private int ringIndex;
+    private Boolean pboSupported;
+
+    /**
+     * Queue the pattern's current pixels for upload into {@code textureId}, replacing any
+     * pixels already queued for the same pattern this frame.
+     */
+    void add(int patternId, int textureId, Pattern pattern) {
+        int slot = getSlot(patternId);
+        if (slot < 0) {
+            slot = count++;
+            ensureCapacity(count);
+            patternIds[slot] = patternId;
+            if (patternId >= 0) {
+                if (patternId >= slotByPattern.length) {
+                    int oldLength = slotByPattern.length;
+                    slotByPattern = Arrays.copyOf(slotByPattern, Math.max(patternId + 1, oldLength * 2));
+                    Arrays.fill(slotByPattern, oldLength, slotByPattern.length, -1);
+                }
+                slotByPattern[patternId] = slot;
+            }
+        }
+        textureIds[slot] = textureId;
+
+        int offset = slot * TILE_BYTES;
+        for (int col = 0; col < Pattern.PATTERN_HEIGHT; col++) {
+            for (int row = 0; row < Pattern.PATTERN_WIDTH; row++) {
+                staging.put(offset++, pattern.getPixel(row, col));
+            }
+        }
+    }
+
+    /**
+     * Drop a queued upload, e.g. because the pattern's texture has just been recreated with
+     * newer pixels.
+     */
+    void remove(int patternId) {
+        int slot = getSlot(patternId);
+        if (slot >= 0) {
+            // Mark the slot dead; it is skipped on flush
+            textureIds[slot] = 0;
+            slotByPattern[patternId] = -1;
+        }
+    }
+
+    /**
+     * Number of queued pattern uploads, including dropped ones.
+     */
+    int size() {
+        return count;
+    }
+
+    boolean isQueued(int patternId) {
+        return getSlot(patternId) >= 0;
+    }
+
+    /**
+     * Upload every queued pattern and empty the queue.
+     */
+    void flush(GL gl) {
+        if (count == 0) {
+            return;
+        }
+        if (pboSupported == null) {
+            pboSupported = gl.isExtensionAvailable("GL_ARB_pixel_buffer_object");
+        }
+
+        int bytes = count * TILE_BYTES;
+        staging.position(0).limit(bytes);
+        if (pboSupported && fillNextPbo(gl, bytes)) {
+            for (int slot = 0; slot < count; slot++) {
+                if (textureIds[slot] != 0) {
+                    gl.glBindTexture(GL2.GL_TEXTURE_2D, textureIds[slot]);
+                    gl.glTexSubImage2D(GL2.GL_TEXTURE_2D, 0, 0, 0, 8, 8, GL2.GL_RED, GL2.GL_UNSIGNED_BYTE,
+                            (long) slot * TILE_BYTES);
+                }
+            }
+            gl.glBindBuffer(GL2.GL_PIXEL_UNPACK_BUFFER, 0);
+        } else {
+            for (int slot = 0; slot < count; slot++) {
+                if (textureIds[slot] != 0) {
+                    staging.limit((slot + 1) * TILE_BYTES).position(slot * TILE_BYTES);
+                    gl.glBindTexture(GL2.GL_TEXTURE_2D, textureIds[slot]);
+                    gl.glTexSubImage2D(GL2.GL_TEXTURE_2D, 0, 0, 0, 8, 8, GL2.GL_RED, GL2.GL_UNSIGNED_BYTE,
+                            staging);
+                }
+            }
+        }
+        staging.clear();
+        clear();
+    }
+
+    /**
+     * Copy the staged tiles into the next PBO in the ring and leave it bound for unpacking.
+     * The buffer is orphaned first, so the driver never waits on a transfer still reading it.
+     *
+     * @return false if the PBO could not be mapped; nothing is left bound then
+     */
+    private boolean fillNextPbo(GL gl, int bytes) {
+        int index = ringIndex;
+        ringIndex = (ringIndex + 1) % RING_SIZE;
+        if (pbos[index] == 0) {
+            int[] ids = new int[1];
+            gl.glGenBuffers(1, ids, 0);
+            pbos[index] = ids[0];
+        }
+
+        gl.glBindBuffer(GL2.GL_PIXEL_UNPACK_BUFFER, pbos[index]);
+        int capacity = Math.max(bytes, pboCapacity[index]);
+        gl.glBufferData(GL2.GL_PIXEL_UNPACK_BUFFER, capacity, null, GL2.GL_STREAM_DRAW);
+        pboCapacity[index] = capacity;
+
+        ByteBuffer mapped = gl.glMapBuffer(GL2.GL_PIXEL_UNPACK_BUFFER, GL2.GL_WRITE_ONLY);
+        if (mapped == null) {
+            gl.glBindBuffer(GL2.GL_PIXEL_UNPACK_BUFFER, 0);
+            return false;
+        }
+        mapped.put(staging);
+        gl.glUnmapBuffer(GL2.GL_PIXEL_UNPACK_BUFFER);
+        return true;
+    }
+
+    /**
+     * Forget every queued upload.
+     */
+    void clear() {
+        for (int slot = 0; slot < count; slot++) {
+            int patternId = patternIds[slot];
+            if (getSlot(patternId) == slot) {
+                slotByPattern[patternId] = -1;
+            }
+        }
+        count = 0;
+    }
+
+    /**
+     * Forget every queued upload and delete the PBOs.
+     */
+    void cleanup(GL gl) {
+        clear();
+        if (gl != null) {
+            for (int i = 0; i < RING_SIZE; i++) {
+                if (pbos[i] != 0) {
+                    gl.glDeleteBuffers(1, new int[] { pbos[i] }, 0);
+                }
+            }
+        }
+        Arrays.fill(pbos, 0);
+        Arrays.fill(pboCapacity, 0);
+        pboSupported = null;
+    }
+
+    private int getSlot(int patternId) {
+        return patternId >= 0 && patternId < slotByPattern.length ? slotByPattern[patternId] : -1;
+    }
+
+    private void ensureCapacity(int slots) {
+        if (slots <= textureIds.length) {
+            return;
+        }
+        int newLength = Math.max(slots, textureIds.length * 2);
+        textureIds = Arrays.copyOf(textureIds, newLength);
+        patternIds = Arrays.copyOf(patternIds, newLength);
+        ByteBuffer grown = GLBuffers.newDirectByteBuffer(newLength * TILE_BYTES);
+        staging.clear();
+        grown.put(staging);
+        grown.clear();
+        staging = grown;
+    }
+}
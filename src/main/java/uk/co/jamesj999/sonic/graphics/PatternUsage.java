@@ -0,0 +1,50 @@
+package uk.co.jamesj999.sonic.graphics;
+
+import java.util.BitSet;
+
+/**
+ * Records which patterns and palette lines went into a cached render, such as a background
+ * drawn once into an FBO, so {@link GraphicsManager#hasChangedSince} can tell whether any of
+ * them has been uploaded again since and the cache needs redrawing.
+ */
+public final class PatternUsage {
+    private static final long NOT_CAPTURED = -1;
+
+    private final BitSet patterns = new BitSet();
+    private int paletteLines;
+    private long revision = NOT_CAPTURED;
+
+    /**
+     * Forgets the capture, so the next {@link GraphicsManager#hasChangedSince} reports a change.
+     */
+    public void clear() {
+        patterns.clear();
+        paletteLines = 0;
+        revision = NOT_CAPTURED;
+    }
+
+    public boolean isCaptured() {
+        return revision != NOT_CAPTURED;
+    }
+
+    void record(int patternId, int paletteLine) {
+        patterns.set(patternId);
+        paletteLines |= 1 << paletteLine;
+    }
+
+    void finish(long revision) {
+        this.revision = revision;
+    }
+
+    long getRevision() {
+        return revision;
+    }
+
+    BitSet getPatterns() {
+        return patterns;
+    }
+
+    boolean usesPaletteLine(int line) {
+        return (paletteLines & (1 << line)) != 0;
+    }
+}
@@ -0,0 +1,81 @@
+package uk.co.jamesj999.sonic.graphics;
+
+import java.util.Arrays;
+
+/**
+ * Sorts renderables into the 8 {@link RenderPriority} buckets x low/high priority in one
+ * counting-sort pass, so drawing every bucket in order costs one visit per renderable rather
+ * than one per renderable per bucket. Items keep the order they were added in within a bucket.
+ * Storage is reused from frame to frame.
+ */
+public final class PriorityBuckets<T> {
+    private static final int BUCKETS = RenderPriority.MAX - RenderPriority.MIN + 1;
+    private static final int KEYS = BUCKETS * 2;
+
+    private Object[] pending = new Object[32];
+    private int[] pendingKeys = new int[32];
+    private Object[] sorted = new Object[32];
+    private final int[] starts = new int[KEYS + 1];
+    private int count;
+
+    /**
+     * Empties every bucket; call before adding this frame's renderables.
+     */
+    public void clear() {
+        Arrays.fill(pending, 0, count, null);
+        Arrays.fill(sorted, 0, count, null);
+        Arrays.fill(starts, 0);
+        count = 0;
+    }
+
+    public void add(T item, int bucket, boolean highPriority) {
+        if (count == pending.length) {
+            int grown = count * 2;
+            pending = Arrays.copyOf(pending, grown);
+            pendingKeys = Arrays.copyOf(pendingKeys, grown);
+            sorted = Arrays.copyOf(sorted, grown);
+        }
+        pending[count] = item;
+        pendingKeys[count] = key(RenderPriority.clamp(bucket), highPriority);
+        count++;
+    }
+
+    /**
+     * Distributes everything added since {@link #clear()} into its bucket.
+     */
+    public void sort() {
+        Arrays.fill(starts, 0);
+        for (int i = 0; i < count; i++) {
+            starts[pendingKeys[i] + 1]++;
+        }
+        for (int key = 0; key < KEYS; key++) {
+            starts[key + 1] += starts[key];
+        }
+        // Walk the starts forward as items are placed, then shift them back afterwards
+        for (int i = 0; i < count; i++) {
+            sorted[starts[pendingKeys[i]]++] = pending[i];
+        }
+        for (int key = KEYS; key > 0; key--) {
+            starts[key] = starts[key - 1];
+        }
+        starts[0] = 0;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int size(int bucket, boolean highPriority) {
+        int key = key(RenderPriority.clamp(bucket), highPriority);
+        return starts[key + 1] - starts[key];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int bucket, boolean highPriority, int index) {
+        return (T) sorted[starts[key(RenderPriority.clamp(bucket), highPriority)] + index];
+    }
+
+    private static int key(int bucket, boolean highPriority) {
+        return (highPriority ? BUCKETS : 0) + bucket - RenderPriority.MIN;
+    }
+}
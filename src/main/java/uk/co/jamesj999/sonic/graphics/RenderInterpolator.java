@@ -0,0 +1,70 @@
+package uk.co.jamesj999.sonic.graphics;
+
+import uk.co.jamesj999.sonic.camera.Camera;
+
+/**
+ * Draws the camera part way between the last two game ticks, so redraws that fall between
+ * ticks scroll smoothly instead of repeating a frame.
+ * <p>
+ * Only the camera is blended. Players, objects, rings and the level all stay where the last
+ * tick put them, so they never drift against each other; the whole scene scrolls together.
+ * <p>
+ * Call {@link #beforeTick()} before each tick, then wrap drawing in {@link #apply} and
+ * {@link #restore()}. Only what is drawn moves; game state is put back untouched.
+ */
+public class RenderInterpolator {
+    // Moves larger than this in one tick are teleports (respawns, act changes) and snap
+    private static final int MAX_BLEND_DISTANCE = 64;
+
+    private final Camera camera;
+
+    private short previousCameraX;
+    private short previousCameraY;
+    private short savedCameraX;
+    private short savedCameraY;
+    private boolean applied;
+
+    public RenderInterpolator(Camera camera) {
+        this.camera = camera;
+    }
+
+    /**
+     * Records where the camera is before a tick moves it.
+     */
+    public void beforeTick() {
+        previousCameraX = camera.getX();
+        previousCameraY = camera.getY();
+    }
+
+    /**
+     * Moves the camera to {@code alpha} of the way from its previous tick position to its
+     * current one.
+     */
+    public void apply(float alpha) {
+        savedCameraX = camera.getX();
+        savedCameraY = camera.getY();
+        camera.setX((short) blend(previousCameraX, savedCameraX, alpha));
+        camera.setY((short) blend(previousCameraY, savedCameraY, alpha));
+        applied = true;
+    }
+
+    /**
+     * Puts back the camera position changed by {@link #apply}.
+     */
+    public void restore() {
+        if (!applied) {
+            return;
+        }
+        camera.setX(savedCameraX);
+        camera.setY(savedCameraY);
+        applied = false;
+    }
+
+    private static int blend(int previous, int current, float alpha) {
+        int delta = current - previous;
+        if (delta == 0 || Math.abs(delta) > MAX_BLEND_DISTANCE) {
+            return current;
+        }
+        return previous + Math.round(delta * alpha);
+    }
+}
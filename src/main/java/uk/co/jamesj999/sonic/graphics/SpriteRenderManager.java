@@ -1,5 +1,6 @@
 package uk.co.jamesj999.sonic.graphics;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.sprites.Sprite;
 import uk.co.jamesj999.sonic.sprites.managers.SpriteManager;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
@@ -11,9 +12,10 @@ import java.util.Collection;
  * Created by Jamesjohnstone on 09/04/15.
  */
 public class SpriteRenderManager {
-    private static SpriteRenderManager spriteRenderManager;
 
     private final SpriteManager spriteManager = SpriteManager.getInstance();
+    // Render order for the current frame, sorted once by sortForRender()
+    private final PriorityBuckets<Sprite> renderBuckets = new PriorityBuckets<>();
 
     public void draw() {
         Collection<Sprite> sprites = spriteManager.getAllSprites();
@@ -23,39 +25,45 @@ public class SpriteRenderManager {
     }
 
     public void drawLowPriority() {
+        sortForRender();
         for (int bucket = RenderPriority.MAX; bucket >= RenderPriority.MIN; bucket--) {
             drawPriorityBucket(bucket, false);
         }
     }
 
     public void drawHighPriority() {
+        sortForRender();
         for (int bucket = RenderPriority.MAX; bucket >= RenderPriority.MIN; bucket--) {
             drawPriorityBucket(bucket, true);
         }
     }
 
-    public void drawPriorityBucket(int bucket, boolean highPriority) {
-        Collection<Sprite> sprites = spriteManager.getAllSprites();
-        int targetBucket = RenderPriority.clamp(bucket);
-        for (Sprite sprite : sprites) {
+    /**
+     * Sorts the sprites into their priority buckets for {@link #drawPriorityBucket}. Call once
+     * per frame before drawing. Sprites without a priority draw last, in the lowest high
+     * priority bucket.
+     */
+    public void sortForRender() {
+        renderBuckets.clear();
+        for (Sprite sprite : spriteManager.getAllSprites()) {
             if (sprite instanceof AbstractPlayableSprite playable) {
-                int spriteBucket = RenderPriority.clamp(playable.getPriorityBucket());
-                if (playable.isHighPriority() == highPriority && spriteBucket == targetBucket) {
-                    sprite.draw();
-                }
-                continue;
-            }
-            if (highPriority && targetBucket == RenderPriority.MIN) {
-                sprite.draw();
+                renderBuckets.add(sprite, playable.getPriorityBucket(), playable.isHighPriority());
+            } else {
+                renderBuckets.add(sprite, RenderPriority.MIN, true);
             }
         }
+        renderBuckets.sort();
     }
 
-    public static synchronized SpriteRenderManager getInstance() {
-        if(spriteRenderManager == null) {
-            spriteRenderManager = new SpriteRenderManager();
+    public void drawPriorityBucket(int bucket, boolean highPriority) {
+        int size = renderBuckets.size(bucket, highPriority);
+        for (int i = 0; i < size; i++) {
+            renderBuckets.get(bucket, highPriority, i).draw();
         }
-        return spriteRenderManager;
+    }
+
+    public static SpriteRenderManager getInstance() {
+        return EngineContext.current().service(SpriteRenderManager.class, SpriteRenderManager::new);
     }
 
 }
@@ -0,0 +1,144 @@
+package uk.co.jamesj999.sonic.graphics;
+
+import com.jogamp.opengl.GL2;
+import java.io.IOException;
+
+/**
+ * Shader program for drawing a whole tilemap in one quad.
+ * The fragment shader reads the nametable, pattern atlas and palette
+ * from textures instead of receiving one quad per tile.
+ */
+public class TilemapShaderProgram {
+
+    private int programId;
+    private boolean uniformsCached = false;
+
+    // Texture sampler locations
+    private int nametableTextureLocation = -1;
+    private int patternAtlasLocation = -1;
+    private int paletteLocation = -1;
+
+    // Dimension uniforms
+    private int screenWidthLocation = -1;
+    private int screenHeightLocation = -1;
+    private int viewportOffsetXLocation = -1;
+    private int viewportOffsetYLocation = -1;
+    private int nametableRowLocation = -1;
+    private int nametableHeightLocation = -1;
+    private int atlasHeightLocation = -1;
+
+    /**
+     * Creates and links the tilemap shader program.
+     *
+     * @param gl                 OpenGL context
+     * @param fragmentShaderPath Path to the fragment shader file
+     * @throws IOException if shader loading fails
+     */
+    public TilemapShaderProgram(GL2 gl, String fragmentShaderPath) throws IOException {
+        int fragmentShaderId = ShaderLoader.loadShader(gl, fragmentShaderPath, GL2.GL_FRAGMENT_SHADER);
+
+        programId = gl.glCreateProgram();
+        gl.glAttachShader(programId, fragmentShaderId);
+        gl.glLinkProgram(programId);
+
+        // Check for linking errors
+        int[] linked = new int[1];
+        gl.glGetProgramiv(programId, GL2.GL_LINK_STATUS, linked, 0);
+        if (linked[0] == 0) {
+            int[] logLength = new int[1];
+            gl.glGetProgramiv(programId, GL2.GL_INFO_LOG_LENGTH, logLength, 0);
+            byte[] log = new byte[logLength[0]];
+            gl.glGetProgramInfoLog(programId, log.length, null, 0, log, 0);
+            System.err.println("Tilemap shader linking failed:\n" + new String(log));
+        }
+    }
+
+    /**
+     * Cache all uniform locations for efficient access.
+     */
+    public void cacheUniformLocations(GL2 gl) {
+        if (uniformsCached) {
+            return;
+        }
+
+        nametableTextureLocation = gl.glGetUniformLocation(programId, "NametableTexture");
+        patternAtlasLocation = gl.glGetUniformLocation(programId, "PatternAtlas");
+        paletteLocation = gl.glGetUniformLocation(programId, "Palette");
+
+        screenWidthLocation = gl.glGetUniformLocation(programId, "ScreenWidth");
+        screenHeightLocation = gl.glGetUniformLocation(programId, "ScreenHeight");
+        viewportOffsetXLocation = gl.glGetUniformLocation(programId, "ViewportOffsetX");
+        viewportOffsetYLocation = gl.glGetUniformLocation(programId, "ViewportOffsetY");
+        nametableRowLocation = gl.glGetUniformLocation(programId, "NametableRow");
+        nametableHeightLocation = gl.glGetUniformLocation(programId, "NametableHeight");
+        atlasHeightLocation = gl.glGetUniformLocation(programId, "AtlasHeight");
+
+        uniformsCached = true;
+    }
+
+    public void use(GL2 gl) {
+        gl.glUseProgram(programId);
+    }
+
+    public void stop(GL2 gl) {
+        gl.glUseProgram(0);
+    }
+
+    public int getProgramId() {
+        return programId;
+    }
+
+    // Texture unit setters
+    public void setTextureUnits(GL2 gl, int nametableUnit, int atlasUnit, int paletteUnit) {
+        if (nametableTextureLocation >= 0) {
+            gl.glUniform1i(nametableTextureLocation, nametableUnit);
+        }
+        if (patternAtlasLocation >= 0) {
+            gl.glUniform1i(patternAtlasLocation, atlasUnit);
+        }
+        if (paletteLocation >= 0) {
+            gl.glUniform1i(paletteLocation, paletteUnit);
+        }
+    }
+
+    // Dimension setters
+    public void setScreenDimensions(GL2 gl, float width, float height) {
+        if (screenWidthLocation >= 0) {
+            gl.glUniform1f(screenWidthLocation, width);
+        }
+        if (screenHeightLocation >= 0) {
+            gl.glUniform1f(screenHeightLocation, height);
+        }
+    }
+
+    public void setViewportOffset(GL2 gl, float offsetX, float offsetY) {
+        if (viewportOffsetXLocation >= 0) {
+            gl.glUniform1f(viewportOffsetXLocation, offsetX);
+        }
+        if (viewportOffsetYLocation >= 0) {
+            gl.glUniform1f(viewportOffsetYLocation, offsetY);
+        }
+    }
+
+    public void setNametable(GL2 gl, int firstRow, int height) {
+        if (nametableRowLocation >= 0) {
+            gl.glUniform1f(nametableRowLocation, (float) firstRow);
+        }
+        if (nametableHeightLocation >= 0) {
+            gl.glUniform1f(nametableHeightLocation, (float) height);
+        }
+    }
+
+    public void setAtlasHeight(GL2 gl, int height) {
+        if (atlasHeightLocation >= 0) {
+            gl.glUniform1f(atlasHeightLocation, (float) height);
+        }
+    }
+
+    public void cleanup(GL2 gl) {
+        if (programId != 0) {
+            gl.glDeleteProgram(programId);
+            programId = 0;
+        }
+    }
+}
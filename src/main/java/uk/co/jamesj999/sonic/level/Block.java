@@ -11,16 +11,29 @@ public class Block {
 
 
     private ChunkDesc[] chunkDescs;
+    private final boolean readOnly;
 
     // Default constructor
     public Block() {
         this.chunkDescs = new ChunkDesc[LevelConstants.CHUNKS_PER_BLOCK];
         // Initialize array with references to empty ChunkDesc instance (to save on pointlessly making objects)
         Arrays.setAll(this.chunkDescs, i -> ChunkDesc.EMPTY);
+        this.readOnly = false;
+    }
+
+    // Read-only view of CHUNKS_PER_BLOCK packed chunk descriptor words starting at offset (see
+    // PackedLevel). The descriptors are the shared read-only ones
+    Block(short[] chunkWords, int offset) {
+        this.chunkDescs = new ChunkDesc[LevelConstants.CHUNKS_PER_BLOCK];
+        Arrays.setAll(this.chunkDescs, i -> ChunkDesc.valueOf(chunkWords[offset + i] & 0xFFFF));
+        this.readOnly = true;
     }
 
     // Parses a block of data from Sega's format (big-endian 16-bit values)
     public void fromSegaFormat(byte[] blockBuffer) {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Packed level blocks are read-only");
+        }
         this.chunkDescs = LevelDataFactory.chunksFromSegaByteArray(blockBuffer);
     }
 
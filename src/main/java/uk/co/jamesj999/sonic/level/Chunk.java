@@ -18,15 +18,28 @@ public class Chunk {
     private final PatternDesc[] patternDescs;
     private int solidTileIndex;
     private int solidTileAltIndex;
+    private final boolean readOnly;
 
     // Default constructor
     public Chunk() {
         this.patternDescs = new PatternDesc[PATTERNS_PER_CHUNK];
         Arrays.setAll(this.patternDescs, i -> PatternDesc.EMPTY);  // Initialize array with new PatternDesc instances
+        this.readOnly = false;
+    }
+
+    // Read-only view of PATTERNS_PER_CHUNK packed pattern words starting at offset (see PackedLevel).
+    // The packed arrays are what rendering and collision read, so changes here would be lost
+    Chunk(short[] patternWords, int offset, int solidTileIndex, int altSolidTileIndex) {
+        this.patternDescs = new PatternDesc[PATTERNS_PER_CHUNK];
+        Arrays.setAll(this.patternDescs, i -> PatternDesc.readOnly(patternWords[offset + i] & 0xFFFF));
+        this.solidTileIndex = solidTileIndex;
+        this.solidTileAltIndex = altSolidTileIndex;
+        this.readOnly = true;
     }
 
     // Load chunk from Sega format (big-endian 16-bit values)
     public void fromSegaFormat(byte[] buffer, int solidTileIndex, int altSolidTileIndex) {
+        checkWritable();
         if (buffer.length != CHUNK_SIZE_IN_ROM) {
             throw new IllegalArgumentException("Buffer size does not match chunk size in ROM");
         }
@@ -55,6 +68,7 @@ public class Chunk {
     }
 
     public void setSolidTileIndex(int solidTileIndex) {
+        checkWritable();
         this.solidTileIndex = solidTileIndex;
     }
 
@@ -63,6 +77,13 @@ public class Chunk {
     }
 
     public void setSolidTileAltIndex(int solidTileAltIndex) {
+        checkWritable();
         this.solidTileAltIndex = solidTileAltIndex;
     }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Packed level chunks are read-only");
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package uk.co.jamesj999.sonic.level;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * Sonic 2/3 chunk descriptor
  *
@@ -23,6 +25,7 @@ public final class ChunkDesc {
     private int index; // 16-bit stored as an int to handle bitmask operations
 
     public void setChunkIndex(int chunkIndex) {
+        checkWritable();
         this.chunkIndex = chunkIndex;
     }
 
@@ -35,19 +38,46 @@ public final class ChunkDesc {
     private CollisionMode secondaryCollisionMode; // Cached secondary collision mode
     private boolean primarySolid; // Cached: (index & 0x3000) != 0
     private boolean secondarySolid; // Cached: (index & 0xC000) != 0
+    private final boolean shared;
 
     // A Chunk Descriptor that is empty (the default state)
-    public static ChunkDesc EMPTY = new ChunkDesc();
+    public static final ChunkDesc EMPTY = new ChunkDesc();
+
+    // Shared read-only descriptors, one per 16-bit value, created the first time a value is
+    // looked up. A level only uses a few hundred of the 64K values.
+    private static final AtomicReferenceArray<ChunkDesc> SHARED = new AtomicReferenceArray<>(0x10000);
 
     public ChunkDesc() {
         this.index = 0;
+        this.shared = false;
     }
 
     public ChunkDesc(int index) {
+        this(index, false);
+    }
+
+    private ChunkDesc(int index, boolean shared) {
         this.index = index;
+        this.shared = shared;
         updateFields();
     }
 
+    /**
+     * Returns the shared descriptor for the given 16-bit value. Only 64K distinct descriptors
+     * can exist, so lookups into packed level data reuse these rather than allocating. Shared
+     * instances are read-only; use the constructor for a descriptor you intend to modify.
+     */
+    public static ChunkDesc valueOf(int value) {
+        int key = value & 0xFFFF;
+        ChunkDesc desc = SHARED.get(key);
+        if (desc == null) {
+            // Contexts on other threads may race to create the same value; keep the first
+            SHARED.compareAndSet(key, null, new ChunkDesc(key, true));
+            desc = SHARED.get(key);
+        }
+        return desc;
+    }
+
     public int get() {
         return index;
     }
@@ -107,10 +137,17 @@ public final class ChunkDesc {
 
     // Set the index and update cached fields
     public void set(int value) {
+        checkWritable();
         this.index = value;
         updateFields(); // Update cached fields whenever index changes
     }
 
+    private void checkWritable() {
+        if (shared) {
+            throw new UnsupportedOperationException("Shared chunk descriptors are read-only");
+        }
+    }
+
     public static int getIndexSize() {
         return Short.BYTES; // Java equivalent of C++ sizeof(uint16_t)
     }
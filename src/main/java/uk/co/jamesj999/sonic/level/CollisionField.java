@@ -0,0 +1,167 @@
+package uk.co.jamesj999.sonic.level;
+
+/**
+ * Collision data for the foreground layer baked into one int per 16x16 cell.
+ *
+ * Resolving collision through the level normally means wrapping the coordinates, reading the map,
+ * the block and the chunk descriptor, and then following the chunk to its solid tile for the
+ * requested path. This field does all of that once at level load, so a sensor probe is a single
+ * array read followed by a solid tile lookup.
+ *
+ * Each cell keeps the chunk descriptor bits in their usual positions, so
+ * {@link #isSolidityBitSet(int, int)} takes the same bit indices as
+ * {@link ChunkDesc#isSolidityBitSet(int)}, plus the resolved solid tile for each path:
+ *
+ * <pre>
+ *   AAAAAAAA PPPPPPPP SSTT YXII IIII IIII
+ *     A    - alternate path solid tile index (solidity bits 0x0E/0x0F)
+ *     P    - primary path solid tile index   (solidity bits 0x0C/0x0D)
+ *     S, T - secondary/primary solidity bits
+ *     Y, X - vertical/horizontal flip
+ *     I    - chunk index
+ * </pre>
+ *
+ * Solidity bits are cleared for cells whose chunk or solid tile does not exist, which matches
+ * {@link LevelManager#getSolidTileForChunkDesc(ChunkDesc, int)} returning null for them. Only
+ * the foreground is baked since it is the only layer collision reads.
+ *
+ * The field goes stale when the map changes; {@link #isStale()} picks up edits made through
+ * {@link Map#setValue}. Code that writes to the map or block data directly must call
+ * {@link LevelManager#invalidateCollisionField()} afterwards.
+ */
+public final class CollisionField {
+    public static final int CELL_SIZE = LevelConstants.CHUNK_WIDTH;
+
+    private static final int PRIMARY_TILE_SHIFT = 16;
+    private static final int ALT_TILE_SHIFT = 24;
+    private static final int PRIMARY_SOLIDITY_MASK = 0x3000;
+    private static final int SECONDARY_SOLIDITY_MASK = 0xC000;
+    private static final int ALT_PATH_FIRST_BIT = 0x0E;
+
+    private final Level level;
+    private final PackedLevel packed;
+    private final int widthCells;
+    private final int heightCells;
+    private final int levelWidth;
+    private final int levelHeight;
+    private final int[] cells;
+    private int builtModCount;
+
+    private CollisionField(Level level, PackedLevel packed) {
+        this.level = level;
+        this.packed = packed;
+        this.levelWidth = packed.getLevelWidth();
+        this.levelHeight = packed.getLevelHeight();
+        this.widthCells = levelWidth / CELL_SIZE;
+        this.heightCells = levelHeight / CELL_SIZE;
+        this.cells = new int[widthCells * heightCells];
+        rebuild();
+    }
+
+    /**
+     * Bakes the collision field for a level, or returns null if the level does not provide
+     * packed data to bake from.
+     */
+    public static CollisionField build(Level level) {
+        if (level == null || level.getPackedLevel() == null || level.getMap() == null) {
+            return null;
+        }
+        return new CollisionField(level, level.getPackedLevel());
+    }
+
+    /**
+     * Re-resolves every cell from the level data.
+     */
+    public void rebuild() {
+        int solidTileCount = level.getSolidTileCount();
+        int chunkCount = packed.getChunkCount();
+        for (int cy = 0; cy < heightCells; cy++) {
+            int y = cy * CELL_SIZE;
+            int row = cy * widthCells;
+            for (int cx = 0; cx < widthCells; cx++) {
+                int word = packed.getChunkDescWordAt(0, cx * CELL_SIZE, y);
+                cells[row + cx] = word < 0 ? 0 : resolve(word, chunkCount, solidTileCount);
+            }
+        }
+        builtModCount = level.getMap().getModCount();
+    }
+
+    private int resolve(int word, int chunkCount, int solidTileCount) {
+        int chunkIndex = word & 0x3FF;
+        if (chunkIndex >= chunkCount) {
+            return word & ~(PRIMARY_SOLIDITY_MASK | SECONDARY_SOLIDITY_MASK);
+        }
+        int primaryTile = packed.getSolidTileIndex(chunkIndex);
+        int altTile = packed.getSolidTileAltIndex(chunkIndex);
+        int cell = word;
+        if (primaryTile >= solidTileCount) {
+            cell &= ~PRIMARY_SOLIDITY_MASK;
+        }
+        if (altTile >= solidTileCount) {
+            cell &= ~SECONDARY_SOLIDITY_MASK;
+        }
+        return cell | (primaryTile << PRIMARY_TILE_SHIFT) | (altTile << ALT_TILE_SHIFT);
+    }
+
+    /**
+     * True if the map has been edited through {@link Map#setValue} since the field was built.
+     */
+    public boolean isStale() {
+        return builtModCount != level.getMap().getModCount();
+    }
+
+    /**
+     * Returns the baked cell at a foreground pixel position. X wraps around the level width;
+     * positions above or below the level return an empty (non-solid) cell.
+     */
+    public int getCell(int x, int y) {
+        if (y < 0 || y >= levelHeight) {
+            return 0;
+        }
+        int wrappedX = packed.wrapX(x);
+        return cells[(y / CELL_SIZE) * widthCells + wrappedX / CELL_SIZE];
+    }
+
+    /**
+     * Returns the solid tile a cell uses for the given solidity bit, or null if the cell is not
+     * solid on that bit.
+     */
+    public SolidTile getSolidTile(int cell, int solidityBitIndex) {
+        if (!isSolidityBitSet(cell, solidityBitIndex)) {
+            return null;
+        }
+        return level.getSolidTile(getSolidTileIndex(cell, solidityBitIndex));
+    }
+
+    public static int getSolidTileIndex(int cell, int solidityBitIndex) {
+        int shift = solidityBitIndex < ALT_PATH_FIRST_BIT ? PRIMARY_TILE_SHIFT : ALT_TILE_SHIFT;
+        return (cell >>> shift) & 0xFF;
+    }
+
+    public static boolean isSolidityBitSet(int cell, int solidityBitIndex) {
+        if (solidityBitIndex < 0 || solidityBitIndex > 15) {
+            return false;
+        }
+        return (cell & (1 << solidityBitIndex)) != 0;
+    }
+
+    public static boolean getHFlip(int cell) {
+        return (cell & 0x0400) != 0;
+    }
+
+    public static boolean getVFlip(int cell) {
+        return (cell & 0x0800) != 0;
+    }
+
+    public static int getChunkIndex(int cell) {
+        return cell & 0x3FF;
+    }
+
+    public int getWidthInCells() {
+        return widthCells;
+    }
+
+    public int getHeightInCells() {
+        return heightCells;
+    }
+}
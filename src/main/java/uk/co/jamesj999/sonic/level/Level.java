@@ -45,9 +45,25 @@ public interface Level {
 
     SolidTile getSolidTile(int index);
 
+    /**
+     * Returns the number of solid tiles addressable through {@link #getSolidTile(int)}.
+     * Levels that provide packed data must override this so collision can be baked.
+     */
+    default int getSolidTileCount() {
+        return 0;
+    }
+
     // Abstract method to get the map associated with the level
     public Map getMap();
 
+    /**
+     * Returns the packed primitive-array form of this level's data, or null if the implementation
+     * only provides the object model. Callers on hot paths should prefer this when available.
+     */
+    default PackedLevel getPackedLevel() {
+        return null;
+    }
+
     public List<ObjectSpawn> getObjects();
 
     public List<RingSpawn> getRings();
@@ -1,7 +1,7 @@
 package uk.co.jamesj999.sonic.level;
 
 import com.jogamp.opengl.GL2;
-import uk.co.jamesj999.sonic.Engine;
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.camera.Camera;
 import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
 import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
@@ -20,9 +20,11 @@ import uk.co.jamesj999.sonic.game.GameModuleRegistry;
 import uk.co.jamesj999.sonic.game.LevelEventProvider;
 import uk.co.jamesj999.sonic.game.LevelState;
 import uk.co.jamesj999.sonic.game.RespawnState;
+import uk.co.jamesj999.sonic.game.sonic2.ButtonVineTriggers;
 import uk.co.jamesj999.sonic.game.sonic2.OscillationManager;
 import uk.co.jamesj999.sonic.debug.DebugObjectArtViewer;
 import uk.co.jamesj999.sonic.debug.DebugOption;
+import uk.co.jamesj999.sonic.debug.DebugViewState;
 import uk.co.jamesj999.sonic.debug.DebugOverlayManager;
 import uk.co.jamesj999.sonic.debug.DebugOverlayPalette;
 import uk.co.jamesj999.sonic.debug.DebugOverlayToggle;
@@ -32,6 +34,7 @@ import uk.co.jamesj999.sonic.graphics.GLCommand;
 import uk.co.jamesj999.sonic.graphics.GLCommandGroup;
 import uk.co.jamesj999.sonic.audio.AudioManager;
 import uk.co.jamesj999.sonic.graphics.GraphicsManager;
+import uk.co.jamesj999.sonic.graphics.PatternUsage;
 import uk.co.jamesj999.sonic.graphics.ShaderProgram;
 import uk.co.jamesj999.sonic.graphics.RenderPriority;
 import uk.co.jamesj999.sonic.graphics.SpriteRenderManager;
@@ -40,6 +43,7 @@ import uk.co.jamesj999.sonic.level.render.BackgroundRenderer;
 // import uk.co.jamesj999.sonic.level.ParallaxManager; -> Removed unused
 import uk.co.jamesj999.sonic.level.objects.ObjectManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectPlacementManager;
+import uk.co.jamesj999.sonic.level.objects.ObjectRegistry;
 import uk.co.jamesj999.sonic.level.objects.ObjectRenderManager;
 import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
 import uk.co.jamesj999.sonic.level.objects.PlaneSwitcherManager;
@@ -58,6 +62,9 @@ import uk.co.jamesj999.sonic.level.animation.AnimatedPatternManager;
 import uk.co.jamesj999.sonic.physics.Direction;
 import uk.co.jamesj999.sonic.physics.Sensor;
 import uk.co.jamesj999.sonic.physics.SensorResult;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.Sprite;
 import uk.co.jamesj999.sonic.sprites.SensorConfiguration;
 import uk.co.jamesj999.sonic.sprites.art.SpriteArtSet;
@@ -77,14 +84,13 @@ import static java.util.logging.Level.SEVERE;
 /**
  * Manages the loading and rendering of game levels.
  */
-public class LevelManager {
+public class LevelManager implements Snapshottable {
     private static final Logger LOGGER = Logger.getLogger(LevelManager.class.getName());
     private static final float SWITCHER_DEBUG_R = 1.0f;
     private static final float SWITCHER_DEBUG_G = 0.55f;
     private static final float SWITCHER_DEBUG_B = 0.1f;
     private static final float SWITCHER_DEBUG_ALPHA = 0.35f;
     private static final int OBJECT_PATTERN_BASE = 0x20000;
-    private static LevelManager levelManager;
     private Level level;
     private Game game;
     private GameModule gameModule;
@@ -120,6 +126,8 @@ public class LevelManager {
     private AnimatedPaletteManager animatedPaletteManager;
     private RespawnState checkpointState;
     private LevelState levelGamestate;
+    private CollisionField collisionField;
+    private boolean collisionFieldDirty;
 
     private boolean specialStageRequestedFromCheckpoint;
     private boolean titleCardRequested;
@@ -131,10 +139,20 @@ public class LevelManager {
     private boolean nextActRequested;
     private boolean nextZoneRequested;
 
+    // Number of levels loaded so far
+    private int levelLoadCount;
+
     // Background rendering support
     private final ParallaxManager parallaxManager = ParallaxManager.getInstance();
     private boolean useShaderBackground = true; // Feature flag for shader background
 
+    // What the background FBO currently holds. It wraps vertically like the VDP's plane B,
+    // so BG Y changes only redraw newly exposed chunk rows; anything else redraws it all.
+    private final PatternUsage backgroundFboUsage = new PatternUsage();
+    private Level backgroundFboLevel;
+    private BackgroundRenderer backgroundFboRenderer;
+    private int backgroundFboAlignedY;
+
     private enum TilePriorityPass {
         ALL,
         LOW_ONLY,
@@ -177,15 +195,23 @@ public class LevelManager {
             audioManager.resetRingSound();
             audioManager.playMusic(game.getMusicId(levelIndex));
             level = game.loadLevel(levelIndex);
+            collisionField = configService.getBoolean(SonicConfiguration.COLLISION_FIELD_ENABLED)
+                    ? CollisionField.build(level)
+                    : null;
+            collisionFieldDirty = false;
             OscillationManager.reset();
+        ButtonVineTriggers.reset();
             initAnimatedPatterns();
             initAnimatedPalettes();
             RomByteReader romReader = RomByteReader.fromRom(rom);
             objectPlacementManager = new ObjectPlacementManager(level.getObjects());
+            objectPlacementManager.setActivationListener(this::onObjectSpawnActivated);
             planeSwitcherManager = new PlaneSwitcherManager(objectPlacementManager,
                     gameModule.getPlaneSwitcherObjectId(),
                     gameModule.getPlaneSwitcherConfig());
-            objectManager = new ObjectManager(objectPlacementManager, gameModule.createObjectRegistry());
+            ObjectRegistry objectRegistry = gameModule.createObjectRegistry();
+            objectManager = new ObjectManager(objectPlacementManager, objectRegistry);
+            objectRegistry.registerPools(objectManager);
             // Reset camera state from previous level (signpost may have locked it)
             Camera camera = Camera.getInstance();
             camera.setFrozen(false);
@@ -217,6 +243,7 @@ public class LevelManager {
             }
             checkpointState.clear();
             levelGamestate = gameModule.createLevelState();
+            levelLoadCount++;
         } catch (IOException e) {
             LOGGER.log(SEVERE, "Failed to load level " + levelIndex, e);
             throw e;
@@ -226,6 +253,45 @@ public class LevelManager {
         }
     }
 
+    /**
+     * Loads {@code level} for simulation only: collision, objects, rings and lost rings, with no
+     * ROM, art, audio, background or level timer. Lets headless tools and tests step a level
+     * built in memory through the normal game loop.
+     */
+    public void loadHeadlessLevel(Level level, ObjectRegistry registry, TouchResponseTable touchResponseTable) {
+        this.level = level;
+        collisionField = configService.getBoolean(SonicConfiguration.COLLISION_FIELD_ENABLED)
+                ? CollisionField.build(level)
+                : null;
+        collisionFieldDirty = false;
+        OscillationManager.reset();
+        ButtonVineTriggers.reset();
+        objectPlacementManager = new ObjectPlacementManager(level.getObjects());
+        planeSwitcherManager = null;
+        objectManager = new ObjectManager(objectPlacementManager, registry);
+        registry.registerPools(objectManager);
+        Camera camera = Camera.getInstance();
+        camera.setFrozen(false);
+        camera.setMinX((short) level.getMinX());
+        camera.setMaxX((short) level.getMaxX());
+        camera.setMinY((short) level.getMinY());
+        camera.setMaxY((short) level.getMaxY());
+        camera.updatePosition(true);
+        objectManager.reset(camera.getX(), level.getObjects());
+        solidObjectManager = new SolidObjectManager(objectManager);
+        solidObjectManager.reset();
+        touchResponseManager = new TouchResponseManager(objectManager, touchResponseTable);
+        touchResponseManager.reset();
+        ringPlacementManager = new RingPlacementManager(level.getRings());
+        ringPlacementManager.reset(camera.getX());
+        ringRenderManager = null;
+        ringManager = new RingManager(ringPlacementManager, null);
+        lostRingManager = new LostRingManager(this, null, touchResponseTable);
+        levelGamestate = null;
+        frameCounter = 0;
+        levelLoadCount++;
+    }
+
     public void update() {
         Sprite player = null;
         AbstractPlayableSprite playable = null;
@@ -272,6 +338,56 @@ public class LevelManager {
         return levelGamestate;
     }
 
+    /**
+     * Writes the running level's frame counter, rings and timer, objects and ring state.
+     * Only meaningful for the level that is loaded when it is read back.
+     */
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(frameCounter);
+        saveOptional(out, levelGamestate);
+        saveOptional(out, objectManager);
+        saveOptional(out, ringPlacementManager);
+        saveOptional(out, lostRingManager);
+        saveOptional(out, checkpointState);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        frameCounter = in.readInt();
+        loadOptional(in, levelGamestate);
+        loadOptional(in, objectManager);
+        loadOptional(in, ringPlacementManager);
+        loadOptional(in, lostRingManager);
+        loadOptional(in, checkpointState);
+    }
+
+    private static void saveOptional(StateWriter out, Object state) {
+        boolean present = state instanceof Snapshottable;
+        out.writeBoolean(present);
+        if (present) {
+            int mark = out.beginBlock();
+            ((Snapshottable) state).saveState(out);
+            out.endBlock(mark);
+        }
+    }
+
+    /**
+     * Reads a block written by {@link #saveOptional}; it is skipped when there is no longer
+     * anything to restore it into.
+     */
+    private static void loadOptional(StateReader in, Object state) {
+        if (!in.readBoolean()) {
+            return;
+        }
+        int length = in.readBlockLength();
+        if (state instanceof Snapshottable snapshottable) {
+            snapshottable.loadState(in);
+        } else {
+            in.skip(length);
+        }
+    }
+
     private void initPlayerSpriteArt() {
         if (!(game instanceof PlayerSpriteArtProvider provider)) {
             return;
@@ -331,6 +447,12 @@ public class LevelManager {
         }
     }
 
+    private void onObjectSpawnActivated(ObjectSpawn spawn) {
+        if (objectRenderManager != null) {
+            objectRenderManager.ensureArtForObject(spawn.objectId());
+        }
+    }
+
     private void initObjectArt() {
         if (!(game instanceof ObjectArtProvider provider)) {
             objectRenderManager = null;
@@ -350,6 +472,12 @@ public class LevelManager {
             objectRenderManager = new ObjectRenderManager(artData);
             LOGGER.info("Initializing Object Art. Base Index: " + OBJECT_PATTERN_BASE);
             int hudBaseIndex = objectRenderManager.ensurePatternsCached(graphicsManager, OBJECT_PATTERN_BASE);
+            // Spawns already in range at level start need their art now
+            if (objectPlacementManager != null) {
+                for (ObjectSpawn spawn : objectPlacementManager.getActiveSpawns()) {
+                    objectRenderManager.ensureArtForObject(spawn.objectId());
+                }
+            }
 
             hudRenderManager = new HudRenderManager(graphicsManager);
 
@@ -449,15 +577,16 @@ public class LevelManager {
         int count = 0;
         int maxCount = level.getPatternCount();
 
-        if (Engine.debugOption.ordinal() > LevelConstants.MAX_PALETTES) {
-            Engine.debugOption = DebugOption.A;
+        DebugViewState debugView = DebugViewState.getInstance();
+        if (debugView.getOption().ordinal() > LevelConstants.MAX_PALETTES) {
+            debugView.setOption(DebugOption.A);
         }
 
         for (int y = yTopBound; y <= yBottomBound; y += Pattern.PATTERN_HEIGHT) {
             for (int x = xLeftBound; x <= xRightBound; x += Pattern.PATTERN_WIDTH) {
                 if (count < maxCount) {
                     PatternDesc pDesc = new PatternDesc();
-                    pDesc.setPaletteIndex(Engine.debugOption.ordinal());
+                    pDesc.setPaletteIndex(debugView.getOption().ordinal());
                     pDesc.setPatternIndex(count);
                     graphicsManager.renderPattern(pDesc, x, y);
                     count++;
@@ -565,13 +694,23 @@ public class LevelManager {
             graphicsManager.registerCommand(new GLCommandGroup(GL2.GL_POINTS, commands));
         }
 
+        // Placed and scattered rings share one pattern batch
+        graphicsManager.beginPatternBatch();
         if (ringManager != null) {
             ringManager.draw(frameCounter);
         }
         if (lostRingManager != null) {
             lostRingManager.draw(frameCounter);
         }
+        graphicsManager.flushPatternBatch();
 
+        // Sort once; both passes below draw from the same buckets
+        if (spriteRenderManager != null) {
+            spriteRenderManager.sortForRender();
+        }
+        if (objectManager != null) {
+            objectManager.sortForRender();
+        }
         for (int bucket = RenderPriority.MAX; bucket >= RenderPriority.MIN; bucket--) {
             if (spriteRenderManager != null) {
                 spriteRenderManager.drawPriorityBucket(bucket, false);
@@ -767,25 +906,65 @@ public class LevelManager {
         // This ensures zones like MCZ use their act-dependent BG Y calculations
         int actualBgScrollY = parallaxManager.getVscrollFactorBG();
 
-        // 1. Resize FBO
-        graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
-            bgRenderer.resizeFBO(gl, fboWidth, fboHeight);
-        }));
+        // The FBO holds world rows [alignedBgY, alignedBgY + fboHeight), each chunk row at
+        // (worldY mod fboHeight). Steps 1-4 only run when that would come out differently:
+        // a new level or a re-uploaded pattern or palette line redraws every row, while a
+        // vertical scroll past a chunk boundary only draws the rows it exposes.
+        // Otherwise last frame's FBO is scrolled again as-is.
+        int alignedBgY = alignToChunk(actualBgScrollY);
+        int rowDelta = alignedBgY - backgroundFboAlignedY;
+        boolean fullRedraw = backgroundFboLevel != level || backgroundFboRenderer != bgRenderer
+                || Math.abs(rowDelta) >= fboHeight
+                || graphicsManager.hasChangedSince(backgroundFboUsage);
+        if (fullRedraw || rowDelta != 0) {
+            int worldYStart;
+            int worldYEnd;
+            if (fullRedraw) {
+                worldYStart = alignedBgY;
+                worldYEnd = alignedBgY + fboHeight;
+            } else if (rowDelta > 0) {
+                worldYStart = backgroundFboAlignedY + fboHeight;
+                worldYEnd = alignedBgY + fboHeight;
+            } else {
+                worldYStart = alignedBgY;
+                worldYEnd = backgroundFboAlignedY;
+            }
 
-        // 2. Begin Tile Pass (Bind FBO)
-        graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
-            bgRenderer.beginTilePass(gl, screenHeightPixels);
-        }));
+            // 1. Resize FBO
+            graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
+                bgRenderer.resizeFBO(gl, fboWidth, fboHeight);
+            }));
 
-        // 3. Draw background tiles to wider FBO
-        graphicsManager.beginPatternBatch();
-        drawBackgroundToFBOWide(commands, camera, actualBgScrollY, fboWidth, fboHeight, extraBuffer);
-        graphicsManager.flushPatternBatch();
+            // 2. Begin Tile Pass (Bind FBO, clearing only the rows being replaced)
+            graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
+                if (fullRedraw) {
+                    bgRenderer.beginTilePass(gl, screenHeightPixels);
+                } else {
+                    bgRenderer.beginTilePass(gl, screenHeightPixels, worldYStart, worldYEnd - worldYStart);
+                }
+            }));
+
+            // 3. Draw background tiles to wider FBO. A partial redraw adds to the usage
+            // captured by the last full one, since the kept rows still use those patterns.
+            if (fullRedraw) {
+                graphicsManager.beginUsageCapture(backgroundFboUsage);
+            } else {
+                graphicsManager.resumeUsageCapture(backgroundFboUsage);
+            }
+            graphicsManager.beginPatternBatch();
+            drawBackgroundToFBOWide(commands, camera, worldYStart, worldYEnd, fboWidth, fboHeight);
+            graphicsManager.flushPatternBatch();
+            graphicsManager.endUsageCapture();
+
+            // 4. End Tile Pass (Unbind FBO)
+            graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
+                bgRenderer.endTilePass(gl);
+            }));
 
-        // 4. End Tile Pass (Unbind FBO)
-        graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx, cy, cw, ch) -> {
-            bgRenderer.endTilePass(gl);
-        }));
+            backgroundFboLevel = level;
+            backgroundFboRenderer = bgRenderer;
+            backgroundFboAlignedY = alignedBgY;
+        }
 
         // 5. Render the FBO with Parallax Shader
         Integer paletteId = graphicsManager.getCombinedPaletteTextureId();
@@ -802,14 +981,9 @@ public class LevelManager {
             int screenW = SonicConfigurationService.getInstance().getInt(SonicConfiguration.SCREEN_WIDTH_PIXELS);
             int screenH = screenHeightPixels;
 
-            // Calculate vertical scroll offset (sub-chunk) for shader
-            // The FBO is rendered aligned to 16-pixel chunk boundaries
-            // The shader needs to shift the view by the remaining offset
-            int vOffset = actualBgScrollY % LevelConstants.CHUNK_HEIGHT;
-            if (vOffset < 0)
-                vOffset += LevelConstants.CHUNK_HEIGHT; // Handle negative modulo
-
-            final int finalVOffset = vOffset;
+            // Vertical scroll for the shader: the FBO row holding the top scanline.
+            // Rows below it wrap at the FBO height.
+            final int finalVOffset = Math.floorMod(actualBgScrollY, fboHeight);
 
             graphicsManager.registerCommand(new GLCommand(GLCommand.CommandType.CUSTOM, (gl, cx2, cy2, cw2, ch2) -> {
                 bgRenderer.renderWithScrollWide(gl, hScrollData, baseScrollForShader, extraBuffer, finalVOffset, pId,
@@ -822,59 +996,36 @@ public class LevelManager {
     /**
      * Draw background tiles to FBO for per-scanline scrolling.
      * Renders exactly one horizontal period of the background for seamless
-     * wrapping.
-     * Y coordinates are aligned to screen space (FBO Y=0 = screen Y=0).
+     * wrapping, for the chunk-aligned world rows [worldYStart, worldYEnd).
+     * Each row lands at FBO Y = worldY mod fboHeight, so the FBO wraps vertically.
      */
-    private void drawBackgroundToFBOWide(List<GLCommand> commands, Camera camera, int bgScrollY,
-            int fboWidth, int fboHeight, int extraBuffer) {
+    private void drawBackgroundToFBOWide(List<GLCommand> commands, Camera camera, int worldYStart,
+            int worldYEnd, int fboWidth, int fboHeight) {
         int cameraX = camera.getX();
         int cameraY = camera.getY();
 
         int levelWidth = level.getMap().getWidth() * LevelConstants.BLOCK_WIDTH;
         int levelHeight = level.getMap().getHeight() * LevelConstants.BLOCK_HEIGHT;
 
-        // bgCameraY is the vertical scroll position for background
-        int bgCameraY = bgScrollY;
-
         int xStart = 0;
         int xEnd = Math.min(fboWidth, levelWidth);
 
-        // Render to FBO aligning Y to chunk boundaries
-        // This ensures consistent tile placement regardless of sub-chunk scroll
-        // The shader applies the sub-chunk offset
+        // Rows are chunk aligned, and fboHeight is a multiple of the chunk height,
+        // so a chunk never straddles the wrap point
         int chunkHeight = LevelConstants.CHUNK_HEIGHT;
-        // Align bgCameraY down to nearest chunk
-        int alignedBgY = (bgCameraY / chunkHeight) * chunkHeight;
-        if (bgCameraY < 0 && bgCameraY % chunkHeight != 0)
-            alignedBgY -= chunkHeight; // Handle negative rounding
-
-        // Render enough rows to fill the 256px FBO height
-        // alignedBgY corresponds to FBO Y=0
-        int worldYStart = alignedBgY;
-        int worldYEnd = alignedBgY + fboHeight;
 
         for (int worldY = worldYStart; worldY < worldYEnd; worldY += chunkHeight) {
-            // Calculate FBO Y position for this tile
-            // Since we start at alignedBgY, the first row is at fboY = 0
-            int fboY = worldY - alignedBgY;
-
-            // Skip tiles outside FBO range (safeguard)
-            if (fboY < 0 || fboY >= fboHeight)
-                continue;
+            int fboY = Math.floorMod(worldY, fboHeight);
 
             int wrappedY = ((worldY % levelHeight) + levelHeight) % levelHeight;
 
             for (int x = xStart; x < xEnd; x += LevelConstants.CHUNK_WIDTH) {
                 int wrappedX = x % levelWidth;
 
-                Block block = getBlockAtPosition((byte) 1, wrappedX, wrappedY);
-                if (block != null) {
-                    int xBlockBit = (wrappedX % LevelConstants.BLOCK_WIDTH) / LevelConstants.CHUNK_WIDTH;
-                    int yBlockBit = (wrappedY % LevelConstants.BLOCK_HEIGHT) / LevelConstants.CHUNK_HEIGHT;
-                    ChunkDesc chunkDesc = block.getChunkDesc(xBlockBit, yBlockBit);
-
+                ChunkDesc chunkDesc = getChunkDescAt((byte) 1, wrappedX, wrappedY);
+                if (chunkDesc != null) {
                     // Convert to pattern renderer coordinates
-                    // We render relative to alignedBgY, so fboY 0 is alignedBgY
+                    // fboY is the wrapped row for this worldY
                     // renderY is passed to pattern renderer which eventually maps to FBO
                     // renderY = fboY + cameraY (but wait, we want fboY to be the OFFSET in the FBO)
                     // If we pass x, y+cameraY, drawing usually effectively subtracts cameraY.
@@ -890,6 +1041,17 @@ public class LevelManager {
         }
     }
 
+    /**
+     * Aligns a background Y scroll down to the nearest chunk boundary.
+     */
+    private static int alignToChunk(int bgCameraY) {
+        int chunkHeight = LevelConstants.CHUNK_HEIGHT;
+        int alignedBgY = (bgCameraY / chunkHeight) * chunkHeight;
+        if (bgCameraY < 0 && bgCameraY % chunkHeight != 0)
+            alignedBgY -= chunkHeight; // Handle negative rounding
+        return alignedBgY;
+    }
+
     private void drawLayer(List<GLCommand> commands,
             int layerIndex,
             Camera camera,
@@ -1003,13 +1165,8 @@ public class LevelManager {
                         continue;
                 }
 
-                Block block = getBlockAtPosition((byte) layerIndex, wrappedX, wrappedY);
-                if (block != null) {
-                    int xBlockBit = (wrappedX % LevelConstants.BLOCK_WIDTH) / LevelConstants.CHUNK_WIDTH;
-                    int yBlockBit = (wrappedY % LevelConstants.BLOCK_HEIGHT) / LevelConstants.CHUNK_HEIGHT;
-
-                    ChunkDesc chunkDesc = block.getChunkDesc(xBlockBit, yBlockBit);
-
+                ChunkDesc chunkDesc = getChunkDescAt((byte) layerIndex, wrappedX, wrappedY);
+                if (chunkDesc != null) {
                     // Calculate screen coordinates
                     int screenX = x - bgCameraX;
                     int screenY = y - bgCameraY;
@@ -1059,10 +1216,16 @@ public class LevelManager {
             return; // Since we default to 0, which is empty, we can just return
         }
 
-        Chunk chunk = level.getChunk(chunkIndex);
-        if (chunk == null) {
-            LOGGER.warning("Chunk at index " + chunkIndex + " is null.");
-            return;
+        // Pattern words come straight from the packed level when available; the Chunk object is
+        // only needed for the object-model fallback and the collision overlay.
+        PackedLevel packed = level.getPackedLevel();
+        Chunk chunk = null;
+        if (packed == null || drawCollision) {
+            chunk = level.getChunk(chunkIndex);
+            if (chunk == null) {
+                LOGGER.warning("Chunk at index " + chunkIndex + " is null.");
+                return;
+            }
         }
 
         boolean chunkHFlip = chunkDesc.getHFlip();
@@ -1073,9 +1236,9 @@ public class LevelManager {
                 int logicalX = chunkHFlip ? 1 - cX : cX;
                 int logicalY = chunkVFlip ? 1 - cY : cY;
 
-                PatternDesc patternDesc = chunk.getPatternDesc(logicalX, logicalY);
-
-                int newIndex = patternDesc.get();
+                int newIndex = packed != null
+                        ? packed.getPatternWord(chunkIndex, logicalX, logicalY)
+                        : chunk.getPatternDesc(logicalX, logicalY).get();
                 if (chunkHFlip) {
                     newIndex ^= 0x800;
                 }
@@ -1258,9 +1421,8 @@ public class LevelManager {
             if (sensor == null) {
                 continue;
             }
-            short[] rotatedOffset = sensor.getRotatedOffset();
-            int originX = collisionCenterX + rotatedOffset[0];
-            int originY = collisionCenterY + rotatedOffset[1];
+            int originX = collisionCenterX + sensor.getRotatedXOffset();
+            int originY = collisionCenterY + sensor.getRotatedYOffset();
 
             float[] color = DebugOverlayPalette.sensorLineColor(i, sensor.isActive());
             appendCross(commands, originX, originY, 1, color[0], color[1], color[2]);
@@ -1486,6 +1648,15 @@ public class LevelManager {
     }
 
     public ChunkDesc getChunkDescAt(byte layer, int x, int y) {
+        if (level == null) {
+            return null;
+        }
+        PackedLevel packed = level.getPackedLevel();
+        if (packed != null) {
+            int word = packed.getChunkDescWordAt(layer, x, y);
+            return word < 0 ? null : ChunkDesc.valueOf(word);
+        }
+
         Block block = getBlockAtPosition(layer, x, y);
         if (block == null) {
             return null;
@@ -1514,6 +1685,17 @@ public class LevelManager {
                 return null;
             }
 
+            PackedLevel packed = level.getPackedLevel();
+            if (packed != null) {
+                int chunkIndex = chunkDesc.getChunkIndex();
+                if (chunkIndex >= packed.getChunkCount()) {
+                    return null;
+                }
+                return level.getSolidTile(solidityBitIndex < 0x0E
+                        ? packed.getSolidTileIndex(chunkIndex)
+                        : packed.getSolidTileAltIndex(chunkIndex));
+            }
+
             Chunk chunk = level.getChunk(chunkDesc.getChunkIndex());
             if (chunk == null) {
                 return null;
@@ -1546,6 +1728,36 @@ public class LevelManager {
         return getSolidTileForChunkDesc(chunkDesc, (byte) 0);
     }
 
+    /**
+     * Returns the baked foreground collision field for the current level, or null if it is
+     * disabled or unavailable (callers then fall back to {@link #getChunkDescAt}). The field is
+     * rebuilt first if the layout has changed since it was last baked.
+     */
+    public CollisionField getCollisionField() {
+        CollisionField field = collisionField;
+        if (field != null && (collisionFieldDirty || field.isStale())) {
+            field.rebuild();
+            collisionFieldDirty = false;
+        }
+        return field;
+    }
+
+    /**
+     * Marks the collision field as out of date. Call this after changing layout data without
+     * going through {@link Map#setValue}, e.g. by writing block or map arrays directly.
+     */
+    public void invalidateCollisionField() {
+        collisionFieldDirty = true;
+    }
+
+    /**
+     * Number of levels loaded so far. It changes whenever a load finishes, so callers can
+     * notice a load that happened inside some other update.
+     */
+    public int getLevelLoadCount() {
+        return levelLoadCount;
+    }
+
     /**
      * Returns the current level.
      *
@@ -1901,11 +2113,8 @@ public class LevelManager {
      *
      * @return the singleton LevelManager instance
      */
-    public static synchronized LevelManager getInstance() {
-        if (levelManager == null) {
-            levelManager = new LevelManager();
-        }
-        return levelManager;
+    public static LevelManager getInstance() {
+        return EngineContext.current().service(LevelManager.class, LevelManager::new);
     }
 
     public void setClearColor(GL2 gl) {
@@ -10,6 +10,7 @@ public class Map {
     private final int height;
     private final int width;
     private final byte[] data;
+    private int modCount;
 
     // Constructor with default data initialization (zeros)
     public Map(int layers, int width, int height) {
@@ -64,9 +65,15 @@ public class Map {
             throw new IllegalArgumentException("Invalid map tile index");
         }
         data[y * width * layers + layer * width + x] = value;
+        modCount++;
     }
 
-    // Return the underlying data array
+    // Number of setValue() calls so far, so derived data (e.g. CollisionField) can detect edits
+    public int getModCount() {
+        return modCount;
+    }
+
+    // Return the underlying data array. Writes through it are not counted by getModCount().
     public byte[] getData() {
         return data;
     }
@@ -0,0 +1,274 @@
+package uk.co.jamesj999.sonic.level;
+
+import java.util.Arrays;
+
+/**
+ * Flat, primitive-array representation of a level's patterns, chunks, blocks and map.
+ *
+ * The object model ({@link Pattern}, {@link Chunk}, {@link Block}, {@link Map}) is convenient for
+ * the editor and debug tools, but every lookup through it chases several references. This class
+ * keeps the same data in a handful of arrays that the rendering and collision paths can index
+ * directly:
+ *
+ * <pre>
+ *   patternPixels      - PATTERN_SIZE_IN_MEM bytes per pattern, one palette index per pixel
+ *   chunkPatterns      - PATTERNS_PER_CHUNK pattern descriptor words per chunk (2x2, row-major)
+ *   chunkSolidTiles    - primary solid tile index per chunk
+ *   chunkAltSolidTiles - alternate solid tile index per chunk
+ *   blockChunks        - CHUNKS_PER_BLOCK chunk descriptor words per block (8x8, row-major)
+ *   map                - block indices, laid out as in {@link Map} (and shared with it)
+ * </pre>
+ *
+ * The object API is still available through {@link #getPattern}, {@link #getChunk} and
+ * {@link #getBlock}. Patterns are live views over {@code patternPixels}; chunks and blocks are
+ * read-only views built from the packed words the first time they are requested, and throw
+ * {@link UnsupportedOperationException} on any attempt to change them.
+ */
+public final class PackedLevel {
+    private byte[] patternPixels;
+    private int patternCount;
+    private Pattern[] patternViews;
+
+    private final short[] chunkPatterns;
+    private final byte[] chunkSolidTiles;
+    private final byte[] chunkAltSolidTiles;
+    private final int chunkCount;
+    private final Chunk[] chunkViews;
+
+    private final short[] blockChunks;
+    private final int blockCount;
+    private final Block[] blockViews;
+
+    private final byte[] map;
+    private final int mapLayers;
+    private final int mapWidth;
+    private final int mapHeight;
+    private final int levelWidth;
+    private final int levelHeight;
+    private final int levelWidthMask;
+    private final int levelHeightMask;
+
+    public PackedLevel(byte[] patternPixels,
+            short[] chunkPatterns,
+            byte[] chunkSolidTiles,
+            byte[] chunkAltSolidTiles,
+            short[] blockChunks,
+            Map map) {
+        if (patternPixels.length % Pattern.PATTERN_SIZE_IN_MEM != 0) {
+            throw new IllegalArgumentException("Pattern pixel data is not a whole number of patterns");
+        }
+        if (chunkPatterns.length % Chunk.PATTERNS_PER_CHUNK != 0) {
+            throw new IllegalArgumentException("Chunk data is not a whole number of chunks");
+        }
+        if (blockChunks.length % LevelConstants.CHUNKS_PER_BLOCK != 0) {
+            throw new IllegalArgumentException("Block data is not a whole number of blocks");
+        }
+        this.patternPixels = patternPixels;
+        this.patternCount = patternPixels.length / Pattern.PATTERN_SIZE_IN_MEM;
+        this.patternViews = new Pattern[patternCount];
+
+        this.chunkPatterns = chunkPatterns;
+        this.chunkCount = chunkPatterns.length / Chunk.PATTERNS_PER_CHUNK;
+        if (chunkSolidTiles.length < chunkCount || chunkAltSolidTiles.length < chunkCount) {
+            throw new IllegalArgumentException("Solid tile references do not cover every chunk");
+        }
+        this.chunkSolidTiles = chunkSolidTiles;
+        this.chunkAltSolidTiles = chunkAltSolidTiles;
+        this.chunkViews = new Chunk[chunkCount];
+
+        this.blockChunks = blockChunks;
+        this.blockCount = blockChunks.length / LevelConstants.CHUNKS_PER_BLOCK;
+        this.blockViews = new Block[blockCount];
+
+        this.map = map.getData();
+        this.mapLayers = map.getLayerCount();
+        this.mapWidth = map.getWidth();
+        this.mapHeight = map.getHeight();
+        this.levelWidth = mapWidth * LevelConstants.BLOCK_WIDTH;
+        this.levelHeight = mapHeight * LevelConstants.BLOCK_HEIGHT;
+        this.levelWidthMask = Integer.bitCount(levelWidth) == 1 ? levelWidth - 1 : -1;
+        this.levelHeightMask = Integer.bitCount(levelHeight) == 1 ? levelHeight - 1 : -1;
+    }
+
+    // Index of the first pixel of a pattern within patternPixels
+    public static int patternOffset(int patternIndex) {
+        return patternIndex * Pattern.PATTERN_SIZE_IN_MEM;
+    }
+
+    // Index of pixel (x, y) of a pattern within patternPixels
+    public static int patternPixelIndex(int patternIndex, int x, int y) {
+        return patternIndex * Pattern.PATTERN_SIZE_IN_MEM + y * Pattern.PATTERN_WIDTH + x;
+    }
+
+    // Index of pattern word (x, y) (0-1 range) of a chunk within chunkPatterns
+    public static int chunkPatternIndex(int chunkIndex, int x, int y) {
+        return chunkIndex * Chunk.PATTERNS_PER_CHUNK + y * 2 + x;
+    }
+
+    // Index of chunk descriptor word (x, y) (0-7 range) of a block within blockChunks
+    public static int blockChunkIndex(int blockIndex, int x, int y) {
+        return blockIndex * LevelConstants.CHUNKS_PER_BLOCK + y * 8 + x;
+    }
+
+    public byte[] getPatternPixels() {
+        return patternPixels;
+    }
+
+    public short[] getChunkPatterns() {
+        return chunkPatterns;
+    }
+
+    public short[] getBlockChunks() {
+        return blockChunks;
+    }
+
+    public byte[] getMapData() {
+        return map;
+    }
+
+    public int getPatternCount() {
+        return patternCount;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    public int getLevelWidth() {
+        return levelWidth;
+    }
+
+    public int getLevelHeight() {
+        return levelHeight;
+    }
+
+    public byte getPixel(int patternIndex, int x, int y) {
+        return patternPixels[patternPixelIndex(patternIndex, x, y)];
+    }
+
+    // Raw 16-bit pattern descriptor word at (x, y) (0-1 range) of a chunk
+    public int getPatternWord(int chunkIndex, int x, int y) {
+        return chunkPatterns[chunkPatternIndex(chunkIndex, x, y)] & 0xFFFF;
+    }
+
+    public int getSolidTileIndex(int chunkIndex) {
+        return chunkSolidTiles[chunkIndex] & 0xFF;
+    }
+
+    public int getSolidTileAltIndex(int chunkIndex) {
+        return chunkAltSolidTiles[chunkIndex] & 0xFF;
+    }
+
+    // Raw 16-bit chunk descriptor word at (x, y) (0-7 range) of a block
+    public int getChunkWord(int blockIndex, int x, int y) {
+        return blockChunks[blockChunkIndex(blockIndex, x, y)] & 0xFFFF;
+    }
+
+    /**
+     * Returns the block index at a pixel position, or -1 if there is none. X always wraps around
+     * the level width; Y wraps for the background layer (1) and is clamped for the foreground.
+     */
+    public int getBlockIndexAt(int layer, int x, int y) {
+        int wrappedX = wrapX(x);
+        int wrappedY;
+        if (layer == 1) {
+            wrappedY = wrapY(y);
+        } else {
+            if (y < 0 || y >= levelHeight) {
+                return -1;
+            }
+            wrappedY = y;
+        }
+        int mapX = wrappedX / LevelConstants.BLOCK_WIDTH;
+        int mapY = wrappedY / LevelConstants.BLOCK_HEIGHT;
+        int blockIndex = map[mapY * mapWidth * mapLayers + layer * mapWidth + mapX] & 0xFF;
+        return blockIndex < blockCount ? blockIndex : -1;
+    }
+
+    /**
+     * Returns the raw chunk descriptor word at a pixel position, or -1 if there is none. Uses the
+     * same wrapping rules as {@link #getBlockIndexAt}.
+     */
+    public int getChunkDescWordAt(int layer, int x, int y) {
+        int blockIndex = getBlockIndexAt(layer, x, y);
+        if (blockIndex < 0) {
+            return -1;
+        }
+        int chunkX = (wrapX(x) % LevelConstants.BLOCK_WIDTH) / LevelConstants.CHUNK_WIDTH;
+        int chunkY = (wrapY(y) % LevelConstants.BLOCK_HEIGHT) / LevelConstants.CHUNK_HEIGHT;
+        return blockChunks[blockChunkIndex(blockIndex, chunkX, chunkY)] & 0xFFFF;
+    }
+
+    public int wrapX(int x) {
+        if (levelWidthMask >= 0) {
+            return x & levelWidthMask;
+        }
+        return Math.floorMod(x, levelWidth);
+    }
+
+    public int wrapY(int y) {
+        if (levelHeightMask >= 0) {
+            return y & levelHeightMask;
+        }
+        return Math.floorMod(y, levelHeight);
+    }
+
+    public Pattern getPattern(int index) {
+        if (index < 0 || index >= patternCount) {
+            throw new IllegalArgumentException("Invalid pattern index: " + index);
+        }
+        Pattern view = patternViews[index];
+        if (view == null) {
+            view = new Pattern(patternPixels, patternOffset(index));
+            patternViews[index] = view;
+        }
+        return view;
+    }
+
+    public Chunk getChunk(int index) {
+        if (index < 0 || index >= chunkCount) {
+            throw new IllegalArgumentException("Invalid chunk index: " + index);
+        }
+        Chunk view = chunkViews[index];
+        if (view == null) {
+            view = new Chunk(chunkPatterns, index * Chunk.PATTERNS_PER_CHUNK,
+                    getSolidTileIndex(index), getSolidTileAltIndex(index));
+            chunkViews[index] = view;
+        }
+        return view;
+    }
+
+    public Block getBlock(int index) {
+        if (index < 0 || index >= blockCount) {
+            throw new IllegalArgumentException("Invalid block index: " + index);
+        }
+        Block view = blockViews[index];
+        if (view == null) {
+            view = new Block(blockChunks, index * LevelConstants.CHUNKS_PER_BLOCK);
+            blockViews[index] = view;
+        }
+        return view;
+    }
+
+    /**
+     * Grow the pattern buffer so it can address at least {@code minCount} patterns. New patterns
+     * are transparent, and existing pattern views are repointed at the reallocated array.
+     */
+    public void ensurePatternCapacity(int minCount) {
+        if (minCount <= patternCount) {
+            return;
+        }
+        patternPixels = Arrays.copyOf(patternPixels, minCount * Pattern.PATTERN_SIZE_IN_MEM);
+        patternViews = Arrays.copyOf(patternViews, minCount);
+        for (int i = 0; i < patternCount; i++) {
+            if (patternViews[i] != null) {
+                patternViews[i].rebind(patternPixels, patternOffset(i));
+            }
+        }
+        patternCount = minCount;
+    }
+}
@@ -1,5 +1,6 @@
 package uk.co.jamesj999.sonic.level;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.camera.Camera;
 import uk.co.jamesj999.sonic.data.Rom;
 import uk.co.jamesj999.sonic.level.scroll.BackgroundCamera;
@@ -67,13 +68,8 @@ public class ParallaxManager {
     // Pre-allocated arrays to avoid per-frame allocations
     private final int[] wfzOffsets = new int[4];
 
-    private static ParallaxManager instance;
-
-    public static synchronized ParallaxManager getInstance() {
-        if (instance == null) {
-            instance = new ParallaxManager();
-        }
-        return instance;
+    public static ParallaxManager getInstance() {
+        return EngineContext.current().service(ParallaxManager.class, ParallaxManager::new);
     }
 
     public void load(Rom rom) {
@@ -98,6 +94,15 @@ public class ParallaxManager {
             currentZone = zoneId;
             currentAct = actId;
 
+            // The previous zone's routine wrote hScroll, so each handler must rewrite
+            // all of it next time rather than only its changed bands
+            if (loaded) {
+                ehzHandler.invalidate();
+                cpzHandler.invalidate();
+                arzHandler.invalidate();
+                mczHandler.invalidate();
+            }
+
             if (zoneId == ZONE_ARZ && arzHandler != null) {
                 arzHandler.init(actId, cameraX, cameraY);
             } else if (zoneId == ZONE_CPZ && cpzHandler != null) {
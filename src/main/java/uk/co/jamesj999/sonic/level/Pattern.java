@@ -13,6 +13,9 @@ import java.util.Arrays;
  * pixels.
  *
  * Once loaded into memory, pixels are stored 1-per-byte (i.e. as a byte index into a palette).
+ *
+ * A pattern either owns its pixel storage or acts as a view over a slice of a shared array (see
+ * {@link PackedLevel}), in which case writes go straight through to the packed level data.
  */
 public class Pattern {
     public static final int PATTERN_WIDTH = 8;
@@ -21,7 +24,8 @@ public class Pattern {
     public static final int PATTERN_SIZE_IN_MEM = PATTERN_WIDTH * PATTERN_HEIGHT;
     public static final int PATTERN_SIZE_IN_ROM = PATTERN_SIZE_IN_MEM / PIXELS_PER_BYTE;
 
-    private final byte[] pixels;
+    private byte[] pixels;
+    private int offset;
 
     // Default constructor
     public Pattern() {
@@ -29,19 +33,35 @@ public class Pattern {
         Arrays.fill(this.pixels, (byte) 0);  // Fill with zeros (transparent pixels)
     }
 
+    // View over PATTERN_SIZE_IN_MEM bytes of a shared pixel array, starting at offset
+    public Pattern(byte[] backing, int offset) {
+        rebind(backing, offset);
+    }
+
+    // Repoint this view, e.g. after the shared pixel array has been reallocated
+    final void rebind(byte[] backing, int offset) {
+        if (offset < 0 || offset + PATTERN_SIZE_IN_MEM > backing.length) {
+            throw new IllegalArgumentException("Pattern view out of bounds");
+        }
+        this.pixels = backing;
+        this.offset = offset;
+    }
+
     // Load pattern from Sega format (2 pixels per byte, 4 bits per pixel)
     public void fromSegaFormat(byte[] buffer) {
         if (buffer.length != PATTERN_SIZE_IN_ROM) {
             throw new IllegalArgumentException("Buffer size does not match pattern size in ROM");
         }
 
-        int bufferPos = 0;
-        for (int row = 0; row < PATTERN_HEIGHT; row++) {
-            for (int col = 0; col < PATTERN_WIDTH; col += 2) {
-                pixels[row * PATTERN_WIDTH + col] = (byte) ((buffer[bufferPos] >> 4) & 0x0F);
-                pixels[row * PATTERN_WIDTH + col + 1] = (byte) (buffer[bufferPos] & 0x0F);
-                bufferPos++;
-            }
+        decodeSegaFormat(buffer, 0, pixels, offset);
+    }
+
+    // Unpack one pattern (PATTERN_SIZE_IN_ROM bytes at srcPos) into one byte per pixel at destPos
+    public static void decodeSegaFormat(byte[] src, int srcPos, byte[] dest, int destPos) {
+        for (int i = 0; i < PATTERN_SIZE_IN_ROM; i++) {
+            int packed = src[srcPos + i];
+            dest[destPos + i * 2] = (byte) ((packed >> 4) & 0x0F);
+            dest[destPos + i * 2 + 1] = (byte) (packed & 0x0F);
         }
     }
 
@@ -50,7 +70,7 @@ public class Pattern {
         if (x < 0 || x >= PATTERN_WIDTH || y < 0 || y >= PATTERN_HEIGHT) {
             throw new IllegalArgumentException("Invalid pixel coordinates");
         }
-        return pixels[y * PATTERN_WIDTH + x];
+        return pixels[offset + y * PATTERN_WIDTH + x];
     }
 
     // Set pixel value at x, y position
@@ -58,17 +78,13 @@ public class Pattern {
         if (x < 0 || x >= PATTERN_WIDTH || y < 0 || y >= PATTERN_HEIGHT) {
             throw new IllegalArgumentException("Invalid pixel coordinates");
         }
-        pixels[y * PATTERN_WIDTH + x] = value;
+        pixels[offset + y * PATTERN_WIDTH + x] = value;
     }
 
     public void copyFrom(Pattern other) {
         if (other == null) {
             return;
         }
-        for (int y = 0; y < PATTERN_HEIGHT; y++) {
-            for (int x = 0; x < PATTERN_WIDTH; x++) {
-                setPixel(x, y, other.getPixel(x, y));
-            }
-        }
+        System.arraycopy(other.pixels, other.offset, pixels, offset, PATTERN_SIZE_IN_MEM);
     }
 }
@@ -21,6 +21,7 @@ public final class PatternDesc {
     private boolean priority;  // Cached priority flag
 
     public void setPaletteIndex(int paletteIndex) {
+        checkWritable();
         this.paletteIndex = paletteIndex;
     }
 
@@ -29,38 +30,63 @@ public final class PatternDesc {
     private boolean vFlip;  // Cached vertical flip flag
 
     public void setPatternIndex(int patternIndex) {
+        checkWritable();
         this.patternIndex = patternIndex;
     }
 
     public void setPriority(boolean priority) {
+        checkWritable();
         this.priority = priority;
     }
 
     public void setHFlip(boolean hFlip) {
+        checkWritable();
         this.hFlip = hFlip;
     }
 
     public void setVFlip(boolean vFlip) {
+        checkWritable();
         this.vFlip = vFlip;
     }
 
     private int patternIndex;  // Cached pattern index
+    private final boolean readOnly;
 
     // Default instance of an empty pattern descriptor
     public static PatternDesc EMPTY = new PatternDesc();
 
     // Default constructor
     public PatternDesc() {
-        this.index = 0;
-        updateFields();  // Initialize cached fields
+        this(0);
     }
 
     // Constructor with index
     public PatternDesc(int index) {
+        this(index, false);
+    }
+
+    private PatternDesc(int index, boolean readOnly) {
         this.index = index;
+        this.readOnly = readOnly;
         updateFields();
     }
 
+    // Read-only descriptor, for views over packed level data that must not diverge from it
+    static PatternDesc readOnly(int index) {
+        return new PatternDesc(index, true);
+    }
+
+    // Copy constructor, including fields changed through the individual setters
+    public PatternDesc(PatternDesc other) {
+        this.index = other.index;
+        this.priority = other.priority;
+        this.paletteIndex = other.paletteIndex;
+        this.hFlip = other.hFlip;
+        this.vFlip = other.vFlip;
+        this.patternIndex = other.patternIndex;
+        this.readOnly = false;
+    }
+
     // Getter for the raw index value
     public int get() {
         return index;
@@ -102,10 +128,17 @@ public final class PatternDesc {
 
     // Setter for the raw index value (assumes correct bit layout)
     public void set(int newIndex) {
+        checkWritable();
         this.index = newIndex;
         updateFields();  // Update cached fields whenever index changes
     }
 
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Packed level pattern descriptors are read-only");
+        }
+    }
+
     // Static method to get the size of the index
     public static int getIndexSize() {
         return Short.BYTES;  // Java equivalent of C++ sizeof(unsigned short)
@@ -6,7 +6,7 @@ import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 import java.util.List;
 
 public abstract class AbstractObjectInstance implements ObjectInstance {
-    protected final ObjectSpawn spawn;
+    protected ObjectSpawn spawn;
     protected final String name;
     private boolean destroyed;
 
@@ -24,6 +24,13 @@ public abstract class AbstractObjectInstance implements ObjectInstance {
         return name;
     }
 
+    /**
+     * Replaces the spawn; used by pooled objects when they are reused.
+     */
+    protected void setSpawn(ObjectSpawn spawn) {
+        this.spawn = spawn;
+    }
+
     protected void setDestroyed(boolean destroyed) {
         this.destroyed = destroyed;
     }
@@ -0,0 +1,90 @@
+package uk.co.jamesj999.sonic.level.objects;
+
+import uk.co.jamesj999.sonic.level.Pattern;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Least-recently-used cache of decoded object art, keyed by ROM address.
+ * <p>
+ * Size is measured in decoded pattern bytes. Once the cap is exceeded the least recently
+ * used entries are dropped; art larger than the cap on its own is returned but not kept.
+ */
+public class ObjectArtCache {
+    private final long capacityBytes;
+    private final LinkedHashMap<Integer, Pattern[]> entries = new LinkedHashMap<>(32, 0.75f, true);
+    private long sizeBytes;
+
+    public ObjectArtCache(long capacityBytes) {
+        this.capacityBytes = Math.max(0, capacityBytes);
+    }
+
+    /**
+     * Returns the cached art for {@code address}, decoding it with {@code loader} on a miss.
+     */
+    public Pattern[] computeIfAbsent(int address, IntFunction<Pattern[]> loader) {
+        Pattern[] cached = entries.get(address);
+        if (cached != null) {
+            return cached;
+        }
+        Pattern[] loaded = loader.apply(address);
+        if (loaded != null) {
+            put(address, loaded);
+        }
+        return loaded;
+    }
+
+    public Pattern[] get(int address) {
+        return entries.get(address);
+    }
+
+    public void put(int address, Pattern[] patterns) {
+        long bytes = sizeOf(patterns);
+        Pattern[] previous = entries.remove(address);
+        if (previous != null) {
+            sizeBytes -= sizeOf(previous);
+        }
+        if (bytes > capacityBytes) {
+            return;
+        }
+        entries.put(address, patterns);
+        sizeBytes += bytes;
+        evict();
+    }
+
+    public boolean contains(int address) {
+        return entries.containsKey(address);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    public void clear() {
+        entries.clear();
+        sizeBytes = 0;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Integer, Pattern[]>> it = entries.entrySet().iterator();
+        while (sizeBytes > capacityBytes && it.hasNext()) {
+            sizeBytes -= sizeOf(it.next().getValue());
+            it.remove();
+        }
+    }
+
+    private static long sizeOf(Pattern[] patterns) {
+        return (long) patterns.length * Pattern.PATTERN_SIZE_IN_MEM;
+    }
+}
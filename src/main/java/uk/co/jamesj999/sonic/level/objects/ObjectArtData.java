@@ -4,7 +4,10 @@ import uk.co.jamesj999.sonic.level.Pattern;
 import uk.co.jamesj999.sonic.level.render.SpriteMappingFrame;
 import uk.co.jamesj999.sonic.sprites.animation.SpriteAnimationSet;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Bundles object art and animations loaded from ROM.
@@ -47,6 +50,8 @@ public class ObjectArtData {
         private final SpriteAnimationSet springAnimations;
         private final SpriteAnimationSet checkpointAnimations;
         private final SpriteAnimationSet signpostAnimations;
+        // Sheets decoded on demand, keyed by the object ID whose spawn first needs them
+        private final Map<Integer, List<ObjectSpriteSheet>> sheetsByObjectId = new HashMap<>();
 
         public ObjectArtData(
                         ObjectSpriteSheet monitorSheet,
@@ -260,4 +265,23 @@ public class ObjectArtData {
         public SpriteAnimationSet signpostAnimations() {
                 return signpostAnimations;
         }
+
+        /**
+         * Associates sheets with an object ID so their art can be loaded when a spawn of that
+         * type first comes into range.
+         */
+        public void addObjectSheets(int objectId, ObjectSpriteSheet... sheets) {
+                List<ObjectSpriteSheet> list = sheetsByObjectId.computeIfAbsent(objectId, id -> new ArrayList<>());
+                for (ObjectSpriteSheet sheet : sheets) {
+                        list.add(sheet);
+                }
+        }
+
+        public List<ObjectSpriteSheet> getSheetsForObject(int objectId) {
+                return sheetsByObjectId.getOrDefault(objectId, List.of());
+        }
+
+        public Map<Integer, List<ObjectSpriteSheet>> getSheetsByObjectId() {
+                return sheetsByObjectId;
+        }
 }
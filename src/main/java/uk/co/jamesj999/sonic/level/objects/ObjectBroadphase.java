@@ -0,0 +1,189 @@
+package uk.co.jamesj999.sonic.level.objects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sorted-interval broadphase over one class of collidable objects (touch responders or
+ * solid objects).
+ * <p>
+ * Members are kept in registration order. On demand, their horizontal extents are sorted by
+ * left edge so a query only walks objects that can overlap the requested range. Candidates
+ * are returned in registration order, so collision resolution order doesn't depend on
+ * object positions.
+ */
+public class ObjectBroadphase {
+
+    /**
+     * Horizontal extent of a member, in level pixels.
+     */
+    public interface Extent {
+        int minX(ObjectInstance instance);
+
+        int maxX(ObjectInstance instance);
+    }
+
+    private final List<ObjectInstance> members = new ArrayList<>();
+    private final List<ObjectInstance> membersView = Collections.unmodifiableList(members);
+
+    private ObjectInstance[] indexed = new ObjectInstance[0];
+    // Sorted by left edge: (minX << 32) | registration index
+    private long[] sortedMinX = new long[0];
+    private int[] maxXByIndex = new int[0];
+    private int[] candidateScratch = new int[0];
+    private int indexedCount;
+    private int maxWidth;
+    private boolean stale = true;
+    private Extent indexedExtent;
+
+    void add(ObjectInstance instance) {
+        members.add(instance);
+        stale = true;
+    }
+
+    void remove(ObjectInstance instance) {
+        for (int i = members.size() - 1; i >= 0; i--) {
+            if (members.get(i) == instance) {
+                members.remove(i);
+                stale = true;
+                return;
+            }
+        }
+    }
+
+    void clear() {
+        members.clear();
+        Arrays.fill(indexed, null);
+        indexedCount = 0;
+        stale = true;
+    }
+
+    /**
+     * Marks the index out of date; member positions or sizes may have changed.
+     */
+    void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Returns all members in registration order.
+     */
+    public List<ObjectInstance> getMembers() {
+        return membersView;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Returns the member at {@code index} in registration order.
+     */
+    public ObjectInstance getMember(int index) {
+        return members.get(index);
+    }
+
+    /**
+     * Widest member extent, for callers that need a margin around the range they query.
+     */
+    public int getMaxWidth(Extent extent) {
+        ensureIndexed(extent);
+        return maxWidth;
+    }
+
+    /**
+     * Appends every member whose extent overlaps {@code [minX, maxX]} (inclusive) to
+     * {@code out}, in registration order.
+     */
+    public void query(int minX, int maxX, Extent extent, List<ObjectInstance> out) {
+        // Indexing first may grow the scratch array
+        ensureIndexed(extent);
+        int found = query(minX, maxX, extent, candidateScratch);
+        for (int i = 0; i < found; i++) {
+            out.add(indexed[candidateScratch[i]]);
+        }
+    }
+
+    /**
+     * Like {@link #query(int, int, Extent, List)}, but writes the overlapping members'
+     * registration indices (see {@link #getMember}) to {@code out} in ascending order.
+     *
+     * @param out must hold at least {@link #size()} entries
+     * @return the number of indices written
+     */
+    public int query(int minX, int maxX, Extent extent, int[] out) {
+        ensureIndexed(extent);
+        if (indexedCount == 0 || minX > maxX) {
+            return 0;
+        }
+
+        // Anything starting more than maxWidth left of the range can't reach it
+        long searchFrom = (long) minX - maxWidth;
+        int start = lowerBound(searchFrom);
+        int found = 0;
+        for (int i = start; i < indexedCount; i++) {
+            long entry = sortedMinX[i];
+            if ((entry >> 32) > maxX) {
+                break;
+            }
+            int index = (int) entry;
+            if (maxXByIndex[index] >= minX) {
+                out[found++] = index;
+            }
+        }
+        Arrays.sort(out, 0, found);
+        return found;
+    }
+
+    private void ensureIndexed(Extent extent) {
+        if (stale || extent != indexedExtent) {
+            rebuild(extent);
+        }
+    }
+
+    private void rebuild(Extent extent) {
+        int count = members.size();
+        if (indexed.length < count) {
+            int capacity = Math.max(count, indexed.length * 2);
+            indexed = new ObjectInstance[capacity];
+            sortedMinX = new long[capacity];
+            maxXByIndex = new int[capacity];
+            candidateScratch = new int[capacity];
+        } else {
+            Arrays.fill(indexed, count, indexedCount, null);
+        }
+
+        int widest = 0;
+        for (int i = 0; i < count; i++) {
+            ObjectInstance instance = members.get(i);
+            int left = extent.minX(instance);
+            int right = Math.max(left, extent.maxX(instance));
+            indexed[i] = instance;
+            sortedMinX[i] = ((long) left << 32) | i;
+            maxXByIndex[i] = right;
+            widest = Math.max(widest, right - left);
+        }
+        Arrays.sort(sortedMinX, 0, count);
+
+        indexedCount = count;
+        maxWidth = widest;
+        indexedExtent = extent;
+        stale = false;
+    }
+
+    private int lowerBound(long minX) {
+        int low = 0;
+        int high = indexedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if ((sortedMinX[mid] >> 32) < minX) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -4,32 +4,69 @@ import com.jogamp.opengl.GL2;
 import uk.co.jamesj999.sonic.graphics.GLCommand;
 import uk.co.jamesj999.sonic.graphics.GLCommandGroup;
 import uk.co.jamesj999.sonic.graphics.GraphicsManager;
+import uk.co.jamesj999.sonic.graphics.PriorityBuckets;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 import uk.co.jamesj999.sonic.graphics.RenderPriority;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.IdentityHashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
-public class ObjectManager {
+public class ObjectManager implements Snapshottable {
     private final ObjectPlacementManager placementManager;
     private final ObjectRegistry registry;
     private final GraphicsManager graphicsManager = GraphicsManager.getInstance();
-    private final Map<ObjectSpawn, ObjectInstance> activeObjects = new IdentityHashMap<>();
-    private final List<ObjectInstance> dynamicObjects = new ArrayList<>();
+    // Live placed objects by spawn index; they update in spawn (X) order
+    private final ObjectInstance[] placedObjects;
+    private final BitSet placedLive = new BitSet();
+    private int placedCount;
+    // Dynamic objects in the order they were added. Each gets the next serial, so a restore
+    // can tell which were added after the snapshot it restores
+    private ObjectInstance[] dynamicObjects = new ObjectInstance[16];
+    private long[] dynamicSerials = new long[16];
+    private int dynamicCount;
+    private long nextDynamicSerial;
+    // Scratch sets for loadState
+    private final BitSet previousLive = new BitSet();
+    private final BitSet rememberedBefore = new BitSet();
+    // Pre-filtered collision views, kept in sync as objects spawn and are destroyed
+    private final ObjectBroadphase touchBroadphase = new ObjectBroadphase();
+    private final ObjectBroadphase solidBroadphase = new ObjectBroadphase();
+    // Pools for short-lived dynamic objects, keyed by exact instance class
+    private final Map<Class<?>, ObjectPool<?>> pools = new IdentityHashMap<>();
+    // Render order for the current frame, sorted once by sortForRender()
+    private final PriorityBuckets<ObjectInstance> renderBuckets = new PriorityBuckets<>();
+    // One reused command list and group per bucket, as every bucket can be queued in one frame
+    private final List<List<GLCommand>> bucketCommands = new ArrayList<>();
+    private final List<GLCommandGroup> bucketGroups = new ArrayList<>();
     private int frameCounter;
 
     public ObjectManager(ObjectPlacementManager placementManager, ObjectRegistry registry) {
         this.placementManager = placementManager;
         this.registry = registry;
+        this.placedObjects = new ObjectInstance[placementManager != null ? placementManager.getAllSpawns().size() : 0];
     }
 
     public void reset(int cameraX, List<ObjectSpawn> allSpawns) {
-        activeObjects.clear();
-        dynamicObjects.clear();
+        Arrays.fill(placedObjects, null);
+        placedLive.clear();
+        placedCount = 0;
+        for (int i = 0; i < dynamicCount; i++) {
+            releaseToPool(dynamicObjects[i]);
+        }
+        Arrays.fill(dynamicObjects, 0, dynamicCount, null);
+        dynamicCount = 0;
+        renderBuckets.clear();
+        touchBroadphase.clear();
+        solidBroadphase.clear();
         frameCounter = 0;
         placementManager.reset(cameraX);
         registry.reportCoverage(allSpawns);
@@ -40,97 +77,367 @@ public class ObjectManager {
         frameCounter++;
         syncActiveSpawns();
 
-        Iterator<ObjectInstance> dynamicIterator = dynamicObjects.iterator();
-        while (dynamicIterator.hasNext()) {
-            ObjectInstance instance = dynamicIterator.next();
+        // Destroyed objects are compacted out in place; any added meanwhile go after the
+        // survivors and first update next frame
+        int end = dynamicCount;
+        int kept = 0;
+        for (int i = 0; i < end; i++) {
+            ObjectInstance instance = dynamicObjects[i];
             instance.update(frameCounter, player);
             if (instance.isDestroyed()) {
-                dynamicIterator.remove();
+                unregisterCollision(instance);
+                releaseToPool(instance);
+                continue;
             }
+            dynamicObjects[kept] = instance;
+            dynamicSerials[kept++] = dynamicSerials[i];
+        }
+        for (int i = end; i < dynamicCount; i++) {
+            dynamicObjects[kept] = dynamicObjects[i];
+            dynamicSerials[kept++] = dynamicSerials[i];
         }
+        Arrays.fill(dynamicObjects, kept, dynamicCount, null);
+        dynamicCount = kept;
 
-        Iterator<Map.Entry<ObjectSpawn, ObjectInstance>> iterator = activeObjects.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<ObjectSpawn, ObjectInstance> entry = iterator.next();
-            ObjectInstance instance = entry.getValue();
+        List<ObjectSpawn> spawns = placementManager.getAllSpawns();
+        for (int i = placedLive.nextSetBit(0); i >= 0; i = placedLive.nextSetBit(i + 1)) {
+            ObjectInstance instance = placedObjects[i];
             instance.update(frameCounter, player);
             if (instance.isDestroyed()) {
-                placementManager.markRemembered(entry.getKey());
-                iterator.remove();
+                placementManager.markRemembered(spawns.get(i));
+                removePlaced(i);
             }
         }
+
+        // Objects have moved; collision queries re-sort on next use
+        invalidateCollision();
     }
 
     public void drawLowPriority() {
+        sortForRender();
         for (int bucket = RenderPriority.MAX; bucket >= RenderPriority.MIN; bucket--) {
             drawPriorityBucket(bucket, false);
         }
     }
 
     public void drawHighPriority() {
+        sortForRender();
         for (int bucket = RenderPriority.MAX; bucket >= RenderPriority.MIN; bucket--) {
             drawPriorityBucket(bucket, true);
         }
     }
 
+    /**
+     * Sorts the active and dynamic objects into their priority buckets for
+     * {@link #drawPriorityBucket}. Call once per frame before drawing.
+     */
+    public void sortForRender() {
+        renderBuckets.clear();
+        for (int i = placedLive.nextSetBit(0); i >= 0; i = placedLive.nextSetBit(i + 1)) {
+            ObjectInstance instance = placedObjects[i];
+            renderBuckets.add(instance, instance.getPriorityBucket(), instance.isHighPriority());
+        }
+        for (int i = 0; i < dynamicCount; i++) {
+            ObjectInstance instance = dynamicObjects[i];
+            renderBuckets.add(instance, instance.getPriorityBucket(), instance.isHighPriority());
+        }
+        renderBuckets.sort();
+    }
+
     public void drawPriorityBucket(int bucket, boolean highPriority) {
-        if (activeObjects.isEmpty() && dynamicObjects.isEmpty()) {
+        int size = renderBuckets.size(bucket, highPriority);
+        if (size == 0) {
             return;
         }
-        List<GLCommand> commands = new ArrayList<>();
-        int targetBucket = RenderPriority.clamp(bucket);
-        for (ObjectInstance instance : activeObjects.values()) {
-            if (instance.isHighPriority() != highPriority) {
-                continue;
-            }
-            if (RenderPriority.clamp(instance.getPriorityBucket()) != targetBucket) {
-                continue;
-            }
-            instance.appendRenderCommands(commands);
+        int slot = (highPriority ? RenderPriority.MAX + 1 : 0) + RenderPriority.clamp(bucket);
+        while (bucketGroups.size() <= slot) {
+            List<GLCommand> list = new ArrayList<>();
+            bucketCommands.add(list);
+            bucketGroups.add(new GLCommandGroup(GL2.GL_LINES, list));
         }
-        for (ObjectInstance instance : dynamicObjects) {
-            if (instance.isHighPriority() != highPriority) {
-                continue;
-            }
-            if (RenderPriority.clamp(instance.getPriorityBucket()) != targetBucket) {
-                continue;
-            }
-            instance.appendRenderCommands(commands);
+        // The group queued last frame has been flushed by now, so its list can be refilled
+        List<GLCommand> commands = bucketCommands.get(slot);
+        commands.clear();
+        for (int i = 0; i < size; i++) {
+            renderBuckets.get(bucket, highPriority, i).appendRenderCommands(commands);
         }
 
         if (commands.isEmpty()) {
             return;
         }
         graphicsManager.enqueueDebugLineState();
-        graphicsManager.registerCommand(new GLCommandGroup(GL2.GL_LINES, commands));
+        graphicsManager.registerCommand(bucketGroups.get(slot));
         graphicsManager.enqueueDefaultShaderState();
     }
 
     public Collection<ObjectInstance> getActiveObjects() {
-        List<ObjectInstance> all = new ArrayList<>(activeObjects.values());
-        all.addAll(dynamicObjects);
+        List<ObjectInstance> all = new ArrayList<>(placedCount + dynamicCount);
+        for (int i = placedLive.nextSetBit(0); i >= 0; i = placedLive.nextSetBit(i + 1)) {
+            all.add(placedObjects[i]);
+        }
+        all.addAll(Arrays.asList(dynamicObjects).subList(0, dynamicCount));
         return all;
     }
 
+    /**
+     * Number of live placed and dynamic objects, without building a collection.
+     */
+    public int getObjectCount() {
+        return placedCount + dynamicCount;
+    }
+
     public void addDynamicObject(ObjectInstance object) {
-        dynamicObjects.add(object);
+        if (dynamicCount == dynamicObjects.length) {
+            dynamicObjects = Arrays.copyOf(dynamicObjects, dynamicCount * 2);
+            dynamicSerials = Arrays.copyOf(dynamicSerials, dynamicCount * 2);
+        }
+        dynamicObjects[dynamicCount] = object;
+        dynamicSerials[dynamicCount++] = nextDynamicSerial++;
+        registerCollision(object);
+    }
+
+    /**
+     * Whether {@code object} is still one of this manager's dynamic objects.
+     */
+    public boolean isDynamicObject(ObjectInstance object) {
+        for (int i = 0; i < dynamicCount; i++) {
+            if (dynamicObjects[i] == object) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registers a pool for a dynamic object type. {@code capacity} is the most instances of the
+     * type that can be alive at once, standing in for the object RAM slots the original game
+     * would give them.
+     */
+    public <T extends ObjectInstance> ObjectPool<T> registerPool(Class<T> type, int capacity, Supplier<T> factory) {
+        ObjectPool<T> pool = new ObjectPool<>(type, capacity, factory);
+        pools.put(type, pool);
+        return pool;
+    }
+
+    /**
+     * Takes a free instance of a pooled type, or null if its slots are all in use. The caller
+     * reinitialises it and passes it to {@link #addDynamicObject}; it returns to the pool once
+     * destroyed.
+     *
+     * @throws IllegalArgumentException if no pool is registered for {@code type}
+     */
+    public <T extends ObjectInstance> T acquire(Class<T> type) {
+        return getPool(type).acquire();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends ObjectInstance> ObjectPool<T> getPool(Class<T> type) {
+        ObjectPool<T> pool = (ObjectPool<T>) pools.get(type);
+        if (pool == null) {
+            throw new IllegalArgumentException("No object pool registered for " + type.getSimpleName());
+        }
+        return pool;
+    }
+
+    public boolean hasPool(Class<?> type) {
+        return pools.containsKey(type);
+    }
+
+    private void releaseToPool(ObjectInstance instance) {
+        ObjectPool<?> pool = pools.get(instance.getClass());
+        if (pool != null) {
+            pool.release(instance);
+        }
+    }
+
+    /**
+     * Writes the placement window and which placed objects are live. Objects that implement
+     * {@link Snapshottable} also write their own state.
+     */
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(frameCounter);
+        out.writeLong(nextDynamicSerial);
+        placementManager.saveState(out);
+        out.writeShort(placedCount);
+        for (int i = placedLive.nextSetBit(0); i >= 0; i = placedLive.nextSetBit(i + 1)) {
+            out.writeShort(i);
+            ObjectInstance instance = placedObjects[i];
+            boolean hasState = instance instanceof Snapshottable;
+            out.writeBoolean(hasState);
+            if (hasState) {
+                int mark = out.beginBlock();
+                ((Snapshottable) instance).saveState(out);
+                out.endBlock(mark);
+            }
+        }
+    }
+
+    /**
+     * Restores the placed objects from a snapshot.
+     * <p>
+     * A live instance with state of its own is kept and has that state restored, unless the
+     * spawn's remembered flag differs (it was broken or killed in between). Every other placed
+     * object is created afresh from its spawn, and then restored if it has state; stateless
+     * objects implement {@link Snapshottable} with nothing to write so that holding rewind does
+     * not rebuild them every frame. Pooled
+     * dynamic objects (explosions, points, projectiles) are short-lived effects and are cleared
+     * rather than restored, as are dynamic objects added after the snapshot was taken; older
+     * ones carry on from where they are.
+     */
+    @Override
+    public void loadState(StateReader in) {
+        frameCounter = in.readInt();
+        nextDynamicSerial = in.readLong();
+        removeDynamicObjects(nextDynamicSerial);
+
+        rememberedBefore.clear();
+        for (int i = placedLive.nextSetBit(0); i >= 0; i = placedLive.nextSetBit(i + 1)) {
+            if (placementManager.isRemembered(i)) {
+                rememberedBefore.set(i);
+            }
+        }
+        placementManager.loadState(in);
+
+        List<ObjectSpawn> spawns = placementManager.getAllSpawns();
+        previousLive.clear();
+        previousLive.or(placedLive);
+        placedLive.clear();
+        placedCount = 0;
+        int count = in.readShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            int index = in.readShort() & 0xFFFF;
+            ObjectInstance instance = null;
+            if (previousLive.get(index)) {
+                previousLive.clear(index);
+                instance = placedObjects[index];
+                if (!(instance instanceof Snapshottable)
+                        || rememberedBefore.get(index) != placementManager.isRemembered(index)) {
+                    unregisterCollision(instance);
+                    instance = null;
+                }
+            }
+            if (instance == null) {
+                instance = registry.create(spawns.get(index));
+                registerCollision(instance);
+            }
+            placedObjects[index] = instance;
+            placedLive.set(index);
+            placedCount++;
+
+            if (in.readBoolean()) {
+                int length = in.readBlockLength();
+                if (instance instanceof Snapshottable snapshottable) {
+                    snapshottable.loadState(in);
+                } else {
+                    in.skip(length);
+                }
+            }
+        }
+        for (int i = previousLive.nextSetBit(0); i >= 0; i = previousLive.nextSetBit(i + 1)) {
+            unregisterCollision(placedObjects[i]);
+            placedObjects[i] = null;
+        }
+
+        invalidateCollision();
+    }
+
+    /**
+     * Drops every placed object, so that the next {@link #loadState} creates each one afresh
+     * from its spawn.
+     */
+    public void clearPlacedObjects() {
+        for (int i = placedLive.nextSetBit(0); i >= 0; i = placedLive.nextSetBit(i + 1)) {
+            unregisterCollision(placedObjects[i]);
+            placedObjects[i] = null;
+        }
+        placedLive.clear();
+        placedCount = 0;
+    }
+
+    /**
+     * Removes pooled dynamic objects and any added since serial {@code firstRemoved}.
+     */
+    private void removeDynamicObjects(long firstRemoved) {
+        int kept = 0;
+        for (int i = 0; i < dynamicCount; i++) {
+            ObjectInstance instance = dynamicObjects[i];
+            if (pools.containsKey(instance.getClass()) || dynamicSerials[i] >= firstRemoved) {
+                unregisterCollision(instance);
+                releaseToPool(instance);
+                continue;
+            }
+            dynamicObjects[kept] = instance;
+            dynamicSerials[kept++] = dynamicSerials[i];
+        }
+        Arrays.fill(dynamicObjects, kept, dynamicCount, null);
+        dynamicCount = kept;
+    }
+
+    /**
+     * Marks both collision broadphases out of date, e.g. after a contact callback may have
+     * moved objects outside {@link #update}.
+     */
+    void invalidateCollision() {
+        touchBroadphase.invalidate();
+        solidBroadphase.invalidate();
+    }
+
+    /**
+     * Active objects that implement {@link TouchResponseProvider}.
+     */
+    public ObjectBroadphase getTouchBroadphase() {
+        return touchBroadphase;
+    }
+
+    /**
+     * Active objects that implement {@link SolidObjectProvider}.
+     */
+    public ObjectBroadphase getSolidBroadphase() {
+        return solidBroadphase;
+    }
+
+    private void registerCollision(ObjectInstance instance) {
+        if (instance instanceof TouchResponseProvider) {
+            touchBroadphase.add(instance);
+        }
+        if (instance instanceof SolidObjectProvider) {
+            solidBroadphase.add(instance);
+        }
+    }
+
+    private void unregisterCollision(ObjectInstance instance) {
+        if (instance instanceof TouchResponseProvider) {
+            touchBroadphase.remove(instance);
+        }
+        if (instance instanceof SolidObjectProvider) {
+            solidBroadphase.remove(instance);
+        }
     }
 
     private void syncActiveSpawns() {
-        Collection<ObjectSpawn> activeSpawns = placementManager.getActiveSpawns();
-        for (ObjectSpawn spawn : activeSpawns) {
-            if (!activeObjects.containsKey(spawn)) {
-                ObjectInstance instance = registry.create(spawn);
-                activeObjects.put(spawn, instance);
+        List<ObjectSpawn> spawns = placementManager.getAllSpawns();
+        for (int i = placementManager.nextActiveIndex(0); i >= 0; i = placementManager.nextActiveIndex(i + 1)) {
+            if (!placedLive.get(i)) {
+                ObjectInstance instance = registry.create(spawns.get(i));
+                placedObjects[i] = instance;
+                placedLive.set(i);
+                placedCount++;
+                registerCollision(instance);
             }
         }
 
-        Iterator<Map.Entry<ObjectSpawn, ObjectInstance>> iterator = activeObjects.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<ObjectSpawn, ObjectInstance> entry = iterator.next();
-            if (!activeSpawns.contains(entry.getKey())) {
-                iterator.remove();
+        for (int i = placedLive.nextSetBit(0); i >= 0; i = placedLive.nextSetBit(i + 1)) {
+            if (!placementManager.isActive(i)) {
+                removePlaced(i);
             }
         }
     }
+
+    private void removePlaced(int index) {
+        unregisterCollision(placedObjects[index]);
+        placedObjects[index] = null;
+        placedLive.clear(index);
+        placedCount--;
+    }
 }
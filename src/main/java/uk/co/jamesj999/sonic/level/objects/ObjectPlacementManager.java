@@ -1,30 +1,53 @@
 package uk.co.jamesj999.sonic.level.objects;
 
 import uk.co.jamesj999.sonic.level.spawn.AbstractPlacementManager;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 
+import java.util.AbstractCollection;
 import java.util.BitSet;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
  * Minimal runtime manager that spawns/despawns objects in a camera window.
  * Uses the original Sonic 2 window distances as a starting point.
  */
-public class ObjectPlacementManager extends AbstractPlacementManager<ObjectSpawn> {
+public class ObjectPlacementManager extends AbstractPlacementManager<ObjectSpawn> implements Snapshottable {
     private static final int LOAD_AHEAD = 0x280; // see addi.w #$280,d6 in ObjectsManager_GoingForward (s2.asm)
     private static final int UNLOAD_BEHIND = 0x300; // see addi.w #$300,d6 when trimming right-side objects
 
     private final BitSet remembered = new BitSet();
+    // Active spawns by index; all lie in [trimIndex, cursorIndex)
+    private final BitSet active = new BitSet();
+    private final BitSet previousActive = new BitSet();
+    private final Collection<ObjectSpawn> activeView = new ActiveSpawns();
+    private int activeCount;
+    private int trimIndex = 0;
     private int cursorIndex = 0;
     private int lastCameraX = Integer.MIN_VALUE;
+    private Consumer<ObjectSpawn> activationListener;
 
     public ObjectPlacementManager(List<ObjectSpawn> spawns) {
         super(spawns, LOAD_AHEAD, UNLOAD_BEHIND);
     }
 
+    /**
+     * Sets a callback invoked whenever a spawn enters the active window (used to load art on
+     * demand).
+     */
+    public void setActivationListener(Consumer<ObjectSpawn> activationListener) {
+        this.activationListener = activationListener;
+    }
+
     public void reset(int cameraX) {
-        active.clear();
+        clearActive();
         remembered.clear();
+        trimIndex = 0;
         cursorIndex = 0;
         lastCameraX = cameraX;
         refreshWindow(cameraX);
@@ -40,8 +63,11 @@ public class ObjectPlacementManager extends AbstractPlacementManager<ObjectSpawn
         }
 
         int delta = cameraX - lastCameraX;
-        if (delta < 0 || delta > (getLoadAhead() + getUnloadBehind())) {
+        if (Math.abs(delta) > (getLoadAhead() + getUnloadBehind())) {
             refreshWindow(cameraX);
+        } else if (delta < 0) {
+            spawnBackward(cameraX);
+            trimAhead(cameraX);
         } else {
             spawnForward(cameraX);
             trimActive(cameraX);
@@ -61,19 +87,85 @@ public class ObjectPlacementManager extends AbstractPlacementManager<ObjectSpawn
         remembered.set(index);
         // Fix: Do not remove Monitors (0x26) from active list!
         if (spawn.objectId() != 0x26) {
-            active.remove(spawn);
+            deactivate(index);
         }
     }
 
+    /**
+     * Spawns in the window that have not been removed, in X order. A live view; it does not
+     * copy.
+     */
+    @Override
+    public Collection<ObjectSpawn> getActiveSpawns() {
+        return activeView;
+    }
+
+    public boolean isActive(ObjectSpawn spawn) {
+        int index = getSpawnIndex(spawn);
+        return index >= 0 && active.get(index);
+    }
+
+    public boolean isActive(int index) {
+        return active.get(index);
+    }
+
+    /**
+     * Index of the first active spawn at or after {@code fromIndex}, or -1. Walks the window
+     * without the iterator {@link #getActiveSpawns()} allocates.
+     */
+    public int nextActiveIndex(int fromIndex) {
+        return active.nextSetBit(fromIndex);
+    }
+
     public boolean isRemembered(ObjectSpawn spawn) {
         int index = getSpawnIndex(spawn);
         return index >= 0 && remembered.get(index);
     }
 
+    public boolean isRemembered(int index) {
+        return remembered.get(index);
+    }
+
     public void clearRemembered() {
         remembered.clear();
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(cursorIndex);
+        out.writeInt(lastCameraX);
+        out.writeBits(remembered);
+        out.writeShort(activeCount);
+        for (int i = active.nextSetBit(0); i >= 0; i = active.nextSetBit(i + 1)) {
+            out.writeShort(i);
+        }
+    }
+
+    /**
+     * Restores the window; spawns that were not active before are reported to the activation
+     * listener so their art is loaded.
+     */
+    @Override
+    public void loadState(StateReader in) {
+        cursorIndex = in.readInt();
+        lastCameraX = in.readInt();
+        trimIndex = lastCameraX == Integer.MIN_VALUE
+                ? 0
+                : Math.min(lowerBound(getWindowStart(lastCameraX)), cursorIndex);
+        in.readBits(remembered);
+        int count = in.readShort() & 0xFFFF;
+        previousActive.clear();
+        previousActive.or(active);
+        clearActive();
+        for (int i = 0; i < count; i++) {
+            int index = in.readShort() & 0xFFFF;
+            activate(index);
+            if (activationListener != null && !previousActive.get(index)) {
+                activationListener.accept(spawns.get(index));
+            }
+        }
+    }
+
     private void spawnForward(int cameraX) {
         int spawnLimit = cameraX + getLoadAhead();
         while (cursorIndex < spawns.size() && spawns.get(cursorIndex).x() <= spawnLimit) {
@@ -83,14 +175,29 @@ public class ObjectPlacementManager extends AbstractPlacementManager<ObjectSpawn
     }
 
     private void trimActive(int cameraX) {
+        // Moving forward only ever pushes spawns out behind the window
+        int windowStart = getWindowStart(cameraX);
+        while (trimIndex < cursorIndex && xs[trimIndex] < windowStart) {
+            deactivate(trimIndex);
+            trimIndex++;
+        }
+    }
+
+    private void spawnBackward(int cameraX) {
+        // see ObjectsManager_GoingBackward (s2.asm)
         int windowStart = getWindowStart(cameraX);
+        while (trimIndex > 0 && xs[trimIndex - 1] >= windowStart) {
+            trimIndex--;
+            trySpawn(trimIndex);
+        }
+    }
+
+    private void trimAhead(int cameraX) {
+        // Moving backward only ever pushes spawns out ahead of the window
         int windowEnd = getWindowEnd(cameraX);
-        Iterator<ObjectSpawn> iterator = active.iterator();
-        while (iterator.hasNext()) {
-            ObjectSpawn spawn = iterator.next();
-            if (spawn.x() < windowStart || spawn.x() > windowEnd) {
-                iterator.remove();
-            }
+        while (cursorIndex > trimIndex && xs[cursorIndex - 1] > windowEnd) {
+            cursorIndex--;
+            deactivate(cursorIndex);
         }
     }
 
@@ -99,8 +206,9 @@ public class ObjectPlacementManager extends AbstractPlacementManager<ObjectSpawn
         int windowEnd = getWindowEnd(cameraX);
         int start = lowerBound(windowStart);
         int end = upperBound(windowEnd);
+        trimIndex = start;
         cursorIndex = end;
-        active.clear();
+        clearActive();
         for (int i = start; i < end; i++) {
             trySpawn(i);
         }
@@ -114,6 +222,68 @@ public class ObjectPlacementManager extends AbstractPlacementManager<ObjectSpawn
                 return;
             }
         }
-        active.add(spawn);
+        if (activate(index) && activationListener != null) {
+            activationListener.accept(spawn);
+        }
+    }
+
+    private boolean activate(int index) {
+        if (active.get(index)) {
+            return false;
+        }
+        active.set(index);
+        activeCount++;
+        return true;
+    }
+
+    private void deactivate(int index) {
+        if (active.get(index)) {
+            active.clear(index);
+            activeCount--;
+        }
+    }
+
+    private void clearActive() {
+        active.clear();
+        activeCount = 0;
+    }
+
+    private final class ActiveSpawns extends AbstractCollection<ObjectSpawn> {
+        @Override
+        public int size() {
+            return activeCount;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return activeCount == 0;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof ObjectSpawn spawn && isActive(spawn);
+        }
+
+        @Override
+        public Iterator<ObjectSpawn> iterator() {
+            return new Iterator<>() {
+                private int next = active.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public ObjectSpawn next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    ObjectSpawn spawn = spawns.get(next);
+                    next = active.nextSetBit(next + 1);
+                    return spawn;
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,75 @@
+package uk.co.jamesj999.sonic.level.objects;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-capacity pool of one dynamic object type.
+ * <p>
+ * The capacity plays the part of the original game's object RAM slots: once every instance is
+ * in use {@link #acquire()} returns null and the spawn simply doesn't happen, as it would when
+ * the hardware runs out of free slots. Acquired instances are reinitialised by the caller and
+ * come back to the pool when {@link ObjectManager} sees them destroyed.
+ */
+public class ObjectPool<T extends ObjectInstance> {
+    private final Class<T> type;
+    private final int capacity;
+    private final Supplier<T> factory;
+    private final ArrayDeque<T> free = new ArrayDeque<>();
+    private final Set<ObjectInstance> leased = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public ObjectPool(Class<T> type, int capacity, Supplier<T> factory) {
+        this.type = type;
+        this.capacity = Math.max(0, capacity);
+        this.factory = factory;
+    }
+
+    /**
+     * Returns a free instance, or null if all {@link #getCapacity()} slots are in use. The
+     * instance still holds its previous state; the caller resets it before use.
+     */
+    public T acquire() {
+        if (leased.size() >= capacity) {
+            return null;
+        }
+        T instance = free.poll();
+        if (instance == null) {
+            instance = factory.get();
+        }
+        leased.add(instance);
+        return instance;
+    }
+
+    /**
+     * Returns an instance to the pool. Instances this pool didn't hand out are ignored.
+     */
+    public boolean release(ObjectInstance instance) {
+        if (!leased.remove(instance)) {
+            return false;
+        }
+        if (instance instanceof PooledObject pooled) {
+            pooled.onRelease();
+        }
+        free.push(type.cast(instance));
+        return true;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getInUse() {
+        return leased.size();
+    }
+
+    public int getFreeCount() {
+        return free.size();
+    }
+}
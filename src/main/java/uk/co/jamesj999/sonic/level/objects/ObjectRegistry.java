@@ -12,4 +12,11 @@ public interface ObjectRegistry {
     default List<String> getAliases(int objectId) {
         return List.of();
     }
+
+    /**
+     * Registers pools for the game's short-lived dynamic objects on a new object manager. The
+     * level manager calls this once the manager is constructed.
+     */
+    default void registerPools(ObjectManager objectManager) {
+    }
 }
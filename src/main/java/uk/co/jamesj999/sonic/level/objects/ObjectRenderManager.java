@@ -6,7 +6,10 @@ import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
 import uk.co.jamesj999.sonic.sprites.animation.SpriteAnimationSet;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -90,6 +93,8 @@ public class ObjectRenderManager {
 
     private final List<ObjectSpriteSheet> sheetOrder = new ArrayList<>();
     private final List<PatternSpriteRenderer> rendererOrder = new ArrayList<>();
+    private final Map<ObjectSpriteSheet, PatternSpriteRenderer> rendererBySheet = new IdentityHashMap<>();
+    private final Map<Integer, List<PatternSpriteRenderer>> renderersByObjectId = new HashMap<>();
 
     public ObjectRenderManager(ObjectArtData artData) {
         this.monitorSheet = artData.monitorSheet();
@@ -183,11 +188,23 @@ public class ObjectRenderManager {
         this.resultsRenderer = new PatternSpriteRenderer(resultsSheet);
         // Don't register - Results gets its own pattern namespace in
         // ensurePatternsCached
+
+        for (Map.Entry<Integer, List<ObjectSpriteSheet>> entry : artData.getSheetsByObjectId().entrySet()) {
+            List<PatternSpriteRenderer> renderers = new ArrayList<>();
+            for (ObjectSpriteSheet sheet : entry.getValue()) {
+                PatternSpriteRenderer renderer = rendererBySheet.get(sheet);
+                if (renderer != null) {
+                    renderers.add(renderer);
+                }
+            }
+            renderersByObjectId.put(entry.getKey(), renderers);
+        }
     }
 
     private void register(ObjectSpriteSheet sheet, PatternSpriteRenderer renderer) {
         sheetOrder.add(sheet);
         rendererOrder.add(renderer);
+        rendererBySheet.put(sheet, renderer);
     }
 
     public int ensurePatternsCached(GraphicsManager graphicsManager, int basePatternIndex) {
@@ -195,8 +212,13 @@ public class ObjectRenderManager {
         for (int i = 0; i < rendererOrder.size(); i++) {
             ObjectSpriteSheet sheet = sheetOrder.get(i);
             PatternSpriteRenderer renderer = rendererOrder.get(i);
-            int count = sheet.getPatterns().length;
-            renderer.ensurePatternsCached(graphicsManager, next);
+            int count = sheet.getPatternCount();
+            if (sheet.isLazy() && !sheet.isLoaded()) {
+                // Decoded and uploaded when an object using it first comes into range
+                renderer.reservePatterns(graphicsManager, next);
+            } else {
+                renderer.ensurePatternsCached(graphicsManager, next);
+            }
             next += count;
         }
 
@@ -209,6 +231,19 @@ public class ObjectRenderManager {
         return next;
     }
 
+    /**
+     * Decodes and uploads the art used by the given object type, if it was deferred.
+     */
+    public void ensureArtForObject(int objectId) {
+        List<PatternSpriteRenderer> renderers = renderersByObjectId.get(objectId);
+        if (renderers == null) {
+            return;
+        }
+        for (PatternSpriteRenderer renderer : renderers) {
+            renderer.ensureUploaded();
+        }
+    }
+
     public boolean isReady() {
         return monitorRenderer.isReady()
                 || spikeRenderer.isReady()
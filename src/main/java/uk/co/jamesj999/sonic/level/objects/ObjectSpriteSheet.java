@@ -5,12 +5,19 @@ import uk.co.jamesj999.sonic.level.render.SpriteMappingFrame;
 import uk.co.jamesj999.sonic.level.render.SpriteSheet;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Simple sprite sheet for static object art (patterns + mapping frames).
+ * <p>
+ * Sheets can also be created lazily with a known pattern count and a loader; the art is
+ * then only decoded the first time the patterns are requested.
  */
 public class ObjectSpriteSheet implements SpriteSheet<SpriteMappingFrame> {
-    private final Pattern[] patterns;
+    private Pattern[] patterns;
+    private Supplier<Pattern[]> loader;
+    private final int patternCount;
+    private final boolean lazy;
     private final List<SpriteMappingFrame> frames;
     private final int paletteIndex;
     private final int frameDelay;
@@ -22,6 +29,28 @@ public class ObjectSpriteSheet implements SpriteSheet<SpriteMappingFrame> {
             int frameDelay
     ) {
         this.patterns = patterns;
+        this.patternCount = patterns.length;
+        this.lazy = false;
+        this.frames = frames;
+        this.paletteIndex = paletteIndex;
+        this.frameDelay = frameDelay;
+    }
+
+    /**
+     * Creates a sheet whose patterns are decoded on first use. The loaded array is padded
+     * with blank patterns (or truncated) to {@code patternCount} so the texture range
+     * reserved up front always matches.
+     */
+    public ObjectSpriteSheet(
+            int patternCount,
+            Supplier<Pattern[]> loader,
+            List<SpriteMappingFrame> frames,
+            int paletteIndex,
+            int frameDelay
+    ) {
+        this.patternCount = Math.max(0, patternCount);
+        this.loader = loader;
+        this.lazy = true;
         this.frames = frames;
         this.paletteIndex = paletteIndex;
         this.frameDelay = frameDelay;
@@ -29,9 +58,48 @@ public class ObjectSpriteSheet implements SpriteSheet<SpriteMappingFrame> {
 
     @Override
     public Pattern[] getPatterns() {
+        if (patterns == null) {
+            patterns = resolve(loader.get());
+            loader = null;
+        }
         return patterns;
     }
 
+    @Override
+    public int getPatternCount() {
+        return patternCount;
+    }
+
+    /**
+     * Returns true once the patterns have been decoded (always true for eager sheets).
+     */
+    public boolean isLoaded() {
+        return patterns != null;
+    }
+
+    /**
+     * Returns true if this sheet was created with a deferred loader.
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    private Pattern[] resolve(Pattern[] loaded) {
+        if (loaded == null) {
+            loaded = new Pattern[0];
+        }
+        if (loaded.length == patternCount) {
+            return loaded;
+        }
+        Pattern[] resized = new Pattern[patternCount];
+        int copy = Math.min(loaded.length, patternCount);
+        System.arraycopy(loaded, 0, resized, 0, copy);
+        for (int i = copy; i < patternCount; i++) {
+            resized[i] = new Pattern();
+        }
+        return resized;
+    }
+
     @Override
     public int getFrameCount() {
         return frames != null ? frames.size() : 0;
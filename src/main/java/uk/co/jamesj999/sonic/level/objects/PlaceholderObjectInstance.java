@@ -1,10 +1,13 @@
 package uk.co.jamesj999.sonic.level.objects;
 
 import uk.co.jamesj999.sonic.graphics.GLCommand;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 
 import java.util.List;
 
-public class PlaceholderObjectInstance extends AbstractObjectInstance {
+public class PlaceholderObjectInstance extends AbstractObjectInstance implements Snapshottable {
     private static final int DEFAULT_HALF_SIZE = 8;
     private static final float COLOR_R = 0.95f;
     private static final float COLOR_G = 0.25f;
@@ -47,6 +50,16 @@ public class PlaceholderObjectInstance extends AbstractObjectInstance {
         }
     }
 
+    // Nothing here changes after construction; being Snapshottable lets a rewind keep this
+    // instance rather than build a new one from the spawn
+    @Override
+    public void saveState(StateWriter out) {
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+    }
+
     private void appendBox(List<GLCommand> commands, int left, int top, int right, int bottom) {
         appendLine(commands, left, top, right, top);
         appendLine(commands, right, top, right, bottom);
@@ -0,0 +1,13 @@
+package uk.co.jamesj999.sonic.level.objects;
+
+/**
+ * Dynamic object that is recycled through an {@link ObjectPool} rather than reallocated.
+ */
+public interface PooledObject {
+    /**
+     * Called when the object goes back to its pool; drop references to other objects so a
+     * parked instance doesn't keep them alive.
+     */
+    default void onRelease() {
+    }
+}
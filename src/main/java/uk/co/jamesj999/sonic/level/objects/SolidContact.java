@@ -1,4 +1,9 @@
 package uk.co.jamesj999.sonic.level.objects;
 
 public record SolidContact(boolean standing, boolean touchSide, boolean touchBottom, boolean touchTop, boolean pushing) {
+    // Every contact resolves to one of these, so the resolver hands out shared instances
+    public static final SolidContact SIDE = new SolidContact(false, true, false, false, false);
+    public static final SolidContact SIDE_PUSHING = new SolidContact(false, true, false, false, true);
+    public static final SolidContact STANDING = new SolidContact(true, false, false, true, false);
+    public static final SolidContact CEILING = new SolidContact(false, false, true, false, false);
 }
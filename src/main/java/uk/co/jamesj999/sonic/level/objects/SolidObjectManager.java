@@ -2,12 +2,30 @@ package uk.co.jamesj999.sonic.level.objects;
 
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
 public class SolidObjectManager {
     private static final Logger LOGGER = Logger.getLogger(SolidObjectManager.class.getName());
+    // Solid boxes span the object's half width either side of its anchor
+    private static final ObjectBroadphase.Extent SOLID_EXTENT = new ObjectBroadphase.Extent() {
+        @Override
+        public int minX(ObjectInstance instance) {
+            SolidObjectParams params = ((SolidObjectProvider) instance).getSolidParams();
+            return instance.getSpawn().x() + params.offsetX() - params.halfWidth();
+        }
+
+        @Override
+        public int maxX(ObjectInstance instance) {
+            SolidObjectParams params = ((SolidObjectProvider) instance).getSolidParams();
+            return instance.getSpawn().x() + params.offsetX() + params.halfWidth();
+        }
+    };
+
     private final ObjectManager objectManager;
+    private int[] candidateIndices = new int[0];
+    private final List<ObjectInstance> queryCandidates = new ArrayList<>();
     private int frameCounter;
     private ObjectInstance ridingObject;
     private int ridingX;
@@ -55,11 +73,13 @@ public class SolidObjectManager {
         if (player.getYSpeed() < 0) {
             return false;
         }
-        Collection<ObjectInstance> activeObjects = objectManager.getActiveObjects();
-        for (ObjectInstance instance : activeObjects) {
-            if (!(instance instanceof SolidObjectProvider provider)) {
-                continue;
-            }
+        // Contact needs the player's centre within the object's width
+        int playerCenterX = player.getCentreX();
+        queryCandidates.clear();
+        objectManager.getSolidBroadphase().query(playerCenterX, playerCenterX, SOLID_EXTENT, queryCandidates);
+        for (int i = 0; i < queryCandidates.size(); i++) {
+            ObjectInstance instance = queryCandidates.get(i);
+            SolidObjectProvider provider = (SolidObjectProvider) instance;
             if (!provider.isSolidFor(player)) {
                 continue;
             }
@@ -81,9 +101,11 @@ public class SolidObjectManager {
                         provider.isTopSolidOnly(), instance, false);
             }
             if (contact != null && contact.standing()) {
+                queryCandidates.clear();
                 return true;
             }
         }
+        queryCandidates.clear();
         return false;
     }
 
@@ -121,11 +143,34 @@ public class SolidObjectManager {
         int playerXRadius = player.getXRadius();
         int playerYRadius = player.getYRadius();
 
-        Collection<ObjectInstance> activeObjects = objectManager.getActiveObjects();
-        for (ObjectInstance instance : activeObjects) {
-            if (!(instance instanceof SolidObjectProvider provider)) {
-                continue;
+        // Overhead objects must lie beyond the player's edge in the checked direction, or
+        // within the player's width when checking upwards
+        int queryMinX;
+        int queryMaxX;
+        switch (quadrant) {
+            case 0x40 -> {
+                queryMinX = Integer.MIN_VALUE;
+                queryMaxX = playerCenterX - playerXRadius;
+            }
+            case 0x80 -> {
+                queryMinX = playerCenterX - playerXRadius;
+                queryMaxX = playerCenterX + playerXRadius;
+            }
+            case 0xC0 -> {
+                queryMinX = playerCenterX + playerXRadius;
+                queryMaxX = Integer.MAX_VALUE;
+            }
+            default -> {
+                // Downwards is never treated as an obstruction
+                return minDistance;
             }
+        }
+
+        queryCandidates.clear();
+        objectManager.getSolidBroadphase().query(queryMinX, queryMaxX, SOLID_EXTENT, queryCandidates);
+        for (int i = 0; i < queryCandidates.size(); i++) {
+            ObjectInstance instance = queryCandidates.get(i);
+            SolidObjectProvider provider = (SolidObjectProvider) instance;
             if (!provider.isSolidFor(player)) {
                 continue;
             }
@@ -144,6 +189,7 @@ public class SolidObjectManager {
                 minDistance = distance;
             }
         }
+        queryCandidates.clear();
         return minDistance;
     }
 
@@ -220,7 +266,6 @@ public class SolidObjectManager {
 
         player.setPushing(false);
 
-        Collection<ObjectInstance> activeObjects = objectManager.getActiveObjects();
         if (ridingObject != null) {
             int currentX = ridingObject.getX();
             int currentY = ridingObject.getY();
@@ -236,13 +281,42 @@ public class SolidObjectManager {
             }
         }
 
+        // Side pushes can move the player by up to an object's width, so query with that
+        // margin. If the player is pushed further still, every member registered after the
+        // last one resolved is visited, keeping the same order as a full pass.
+        ObjectBroadphase broadphase = objectManager.getSolidBroadphase();
+        int queryX = player.getCentreX();
+        int margin = broadphase.getMaxWidth(SOLID_EXTENT);
+        int memberCount = broadphase.size();
+        if (candidateIndices.length < memberCount) {
+            candidateIndices = new int[Math.max(memberCount, candidateIndices.length * 2)];
+        }
+        int candidateCount = broadphase.query(queryX - margin, queryX + margin, SOLID_EXTENT, candidateIndices);
+        int nextCandidate = 0;
+        int memberIndex = -1;
+        boolean fullPass = false;
+        boolean notified = false;
+
         ObjectInstance nextRidingObject = null;
         int nextRidingX = 0;
         int nextRidingY = 0;
-        for (ObjectInstance instance : activeObjects) {
-            if (!(instance instanceof SolidObjectProvider provider)) {
-                continue;
+        while (true) {
+            if (!fullPass && Math.abs(player.getCentreX() - queryX) > margin) {
+                fullPass = true;
+            }
+            if (fullPass) {
+                memberIndex++;
+                if (memberIndex >= memberCount) {
+                    break;
+                }
+            } else {
+                if (nextCandidate >= candidateCount) {
+                    break;
+                }
+                memberIndex = candidateIndices[nextCandidate++];
             }
+            ObjectInstance instance = broadphase.getMember(memberIndex);
+            SolidObjectProvider provider = (SolidObjectProvider) instance;
             if (!provider.isSolidFor(player)) {
                 continue;
             }
@@ -277,8 +351,13 @@ public class SolidObjectManager {
             }
             if (instance instanceof SolidObjectListener listener) {
                 listener.onSolidContact(player, contact, frameCounter);
+                notified = true;
             }
         }
+        if (notified) {
+            // Listeners may have moved their objects
+            objectManager.invalidateCollision();
+        }
         ridingObject = nextRidingObject;
         ridingX = nextRidingX;
         ridingY = nextRidingY;
@@ -393,7 +472,7 @@ public class SolidObjectManager {
                 }
                 player.setCentreX((short) (playerCenterX - distX));
             }
-            return new SolidContact(false, true, false, false, pushing);
+            return pushing ? SolidContact.SIDE_PUSHING : SolidContact.SIDE;
         }
 
         // If distY is positive (penetration) OR negative within sticky tolerance
@@ -433,7 +512,7 @@ public class SolidObjectManager {
                     player.setRolling(false);
                 }
             }
-            return new SolidContact(true, false, false, true, false);
+            return SolidContact.STANDING;
         }
 
         if (topSolidOnly) {
@@ -450,6 +529,6 @@ public class SolidObjectManager {
                 player.setYSpeed((short) 0);
             }
         }
-        return new SolidContact(false, false, true, false, false);
+        return SolidContact.CEILING;
     }
 }
@@ -1,18 +1,38 @@
 package uk.co.jamesj999.sonic.level.objects;
 
+import uk.co.jamesj999.sonic.debug.DebugOverlayManager;
+import uk.co.jamesj999.sonic.debug.DebugOverlayToggle;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Set;
 
 public class TouchResponseManager {
     private final ObjectManager objectManager;
     private final TouchResponseTable table;
-    private final Set<ObjectInstance> overlapping = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Objects overlapped last frame and this frame; swapped each update rather than reallocated
+    private Set<ObjectInstance> overlapping = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Set<ObjectInstance> current = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Results are immutable and fully determined by the low byte of the collision flags
+    private final TouchResponseResult[] resultsByFlags = new TouchResponseResult[0x100];
     private final TouchResponseDebugState debugState = new TouchResponseDebugState();
+    private final List<ObjectInstance> candidates = new ArrayList<>();
+    // Touch boxes extend by the size table's width radius either side of the object
+    private final ObjectBroadphase.Extent touchExtent = new ObjectBroadphase.Extent() {
+        @Override
+        public int minX(ObjectInstance instance) {
+            return instance.getSpawn().x() - widthRadius(instance);
+        }
+
+        @Override
+        public int maxX(ObjectInstance instance) {
+            return instance.getSpawn().x() + widthRadius(instance);
+        }
+    };
     // Use external frameCounter from LevelManager for consistent timing with ring
     // collection
     private int currentFrameCounter;
@@ -60,13 +80,19 @@ public class TouchResponseManager {
         }
         debugState.setPlayer(playerX, playerY, playerHeight, baseYRadius, crouching);
         debugState.clear();
-
-        Set<ObjectInstance> current = Collections.newSetFromMap(new IdentityHashMap<>());
-        Collection<ObjectInstance> activeObjects = objectManager.getActiveObjects();
-        for (ObjectInstance instance : activeObjects) {
-            if (!(instance instanceof TouchResponseProvider provider)) {
-                continue;
-            }
+        // Per-object debug hits are only captured while the touch response panel is showing
+        DebugOverlayManager overlayManager = DebugOverlayManager.getInstance();
+        boolean captureDebug = overlayManager.isEnabled(DebugOverlayToggle.OVERLAY)
+                && overlayManager.isEnabled(DebugOverlayToggle.TOUCH_RESPONSE);
+
+        current.clear();
+        // Only objects whose touch box spans the player's 16px-wide box can overlap
+        candidates.clear();
+        objectManager.getTouchBroadphase().query(playerX, playerX + 0x10, touchExtent, candidates);
+        boolean responded = false;
+        for (int i = 0; i < candidates.size(); i++) {
+            ObjectInstance instance = candidates.get(i);
+            TouchResponseProvider provider = (TouchResponseProvider) instance;
             int flags = provider.getCollisionFlags();
             int sizeIndex = flags & 0x3F;
             int width = table.getWidthRadius(sizeIndex);
@@ -74,22 +100,46 @@ public class TouchResponseManager {
             TouchCategory category = decodeCategory(flags);
 
             boolean overlap = isOverlapping(playerX, playerY, playerHeight, instance.getSpawn(), width, height);
-            debugState.addHit(
-                    new TouchResponseDebugHit(instance.getSpawn(), flags, sizeIndex, width, height, category, overlap));
+            if (captureDebug) {
+                debugState.addHit(new TouchResponseDebugHit(instance.getSpawn(), flags, sizeIndex, width, height,
+                        category, overlap));
+            }
             if (!overlap) {
                 continue;
             }
 
             current.add(instance);
             if (!overlapping.contains(instance)) {
-                TouchResponseResult result = new TouchResponseResult(sizeIndex, width, height, category);
+                TouchResponseResult result = resultFor(flags, sizeIndex, width, height, category);
                 TouchResponseListener listener = instance instanceof TouchResponseListener casted ? casted : null;
                 handleTouchResponse(player, instance, listener, result);
+                responded = true;
             }
         }
+        if (responded) {
+            // Responses can bounce, move or break objects
+            objectManager.invalidateCollision();
+        }
 
-        overlapping.clear();
-        overlapping.addAll(current);
+        candidates.clear();
+        Set<ObjectInstance> previous = overlapping;
+        overlapping = current;
+        current = previous;
+        current.clear();
+    }
+
+    private TouchResponseResult resultFor(int flags, int sizeIndex, int width, int height, TouchCategory category) {
+        int key = flags & 0xFF;
+        TouchResponseResult result = resultsByFlags[key];
+        if (result == null) {
+            result = new TouchResponseResult(sizeIndex, width, height, category);
+            resultsByFlags[key] = result;
+        }
+        return result;
+    }
+
+    private int widthRadius(ObjectInstance instance) {
+        return table.getWidthRadius(((TouchResponseProvider) instance).getCollisionFlags() & 0x3F);
     }
 
     private boolean isOverlapping(int playerX, int playerY, int playerHeight,
@@ -0,0 +1,250 @@
+package uk.co.jamesj999.sonic.level.particles;
+
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays store for simple moving sprites such as scattered rings.
+ * <p>
+ * Each particle is an index into parallel primitive arrays: 8.8 fixed-point position and
+ * velocity, remaining lifetime, the frame it spawned on, the frame its end animation started
+ * on ({@link #NO_FRAME} until then) and an id used to stagger periodic work. Particles keep
+ * their spawn order; {@link #kill} only marks a particle and {@link #compact} removes marked
+ * ones in a single pass. Storage grows as needed and is never shrunk.
+ */
+public final class ParticleBuffer implements Snapshottable {
+    public static final int NO_FRAME = -1;
+
+    private int[] xSubpixels;
+    private int[] ySubpixels;
+    private int[] xVels;
+    private int[] yVels;
+    private int[] lifetimes;
+    private int[] spawnFrames;
+    private int[] endFrames;
+    private int[] ids;
+    private boolean[] dead;
+    private int count;
+    private int deadCount;
+
+    public ParticleBuffer(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        xSubpixels = new int[capacity];
+        ySubpixels = new int[capacity];
+        xVels = new int[capacity];
+        yVels = new int[capacity];
+        lifetimes = new int[capacity];
+        spawnFrames = new int[capacity];
+        endFrames = new int[capacity];
+        ids = new int[capacity];
+        dead = new boolean[capacity];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public void clear() {
+        count = 0;
+        deadCount = 0;
+    }
+
+    /**
+     * Adds a particle at pixel position ({@code x}, {@code y}).
+     *
+     * @return the new particle's index
+     */
+    public int add(int id, int x, int y, int xVel, int yVel, int lifetime, int spawnFrame) {
+        if (count == ids.length) {
+            grow(count * 2);
+        }
+        int i = count++;
+        ids[i] = id;
+        xSubpixels[i] = x << 8;
+        ySubpixels[i] = y << 8;
+        xVels[i] = xVel;
+        yVels[i] = yVel;
+        lifetimes[i] = lifetime;
+        spawnFrames[i] = spawnFrame;
+        endFrames[i] = NO_FRAME;
+        dead[i] = false;
+        return i;
+    }
+
+    /**
+     * Moves every particle that has not started its end animation by its velocity, then
+     * applies {@code gravity} to its Y velocity.
+     */
+    public void integrate(int gravity) {
+        for (int i = 0; i < count; i++) {
+            if (endFrames[i] != NO_FRAME) {
+                continue;
+            }
+            xSubpixels[i] += xVels[i];
+            ySubpixels[i] += yVels[i];
+            yVels[i] += gravity;
+        }
+    }
+
+    /**
+     * Marks a particle for removal by the next {@link #compact}. Indices stay valid until then.
+     */
+    public void kill(int i) {
+        if (!dead[i]) {
+            dead[i] = true;
+            deadCount++;
+        }
+    }
+
+    public boolean isDead(int i) {
+        return dead[i];
+    }
+
+    /**
+     * Removes killed particles, keeping the survivors in order.
+     */
+    public void compact() {
+        if (deadCount == 0) {
+            return;
+        }
+        int out = 0;
+        for (int i = 0; i < count; i++) {
+            if (dead[i]) {
+                continue;
+            }
+            if (out != i) {
+                ids[out] = ids[i];
+                xSubpixels[out] = xSubpixels[i];
+                ySubpixels[out] = ySubpixels[i];
+                xVels[out] = xVels[i];
+                yVels[out] = yVels[i];
+                lifetimes[out] = lifetimes[i];
+                spawnFrames[out] = spawnFrames[i];
+                endFrames[out] = endFrames[i];
+                dead[out] = false;
+            }
+            out++;
+        }
+        count = out;
+        deadCount = 0;
+    }
+
+    public int getId(int i) {
+        return ids[i];
+    }
+
+    public int getX(int i) {
+        return xSubpixels[i] >> 8;
+    }
+
+    public int getY(int i) {
+        return ySubpixels[i] >> 8;
+    }
+
+    public void addYSubpixel(int i, int delta) {
+        ySubpixels[i] += delta;
+    }
+
+    public int getXVel(int i) {
+        return xVels[i];
+    }
+
+    public int getYVel(int i) {
+        return yVels[i];
+    }
+
+    public void setYVel(int i, int yVel) {
+        yVels[i] = yVel;
+    }
+
+    public int getLifetime(int i) {
+        return lifetimes[i];
+    }
+
+    /**
+     * Counts down the particle's lifetime.
+     *
+     * @return the lifetime remaining
+     */
+    public int decLifetime(int i) {
+        return --lifetimes[i];
+    }
+
+    public int getSpawnFrame(int i) {
+        return spawnFrames[i];
+    }
+
+    /**
+     * Frame the particle's end animation started on, or {@link #NO_FRAME}.
+     */
+    public int getEndFrame(int i) {
+        return endFrames[i];
+    }
+
+    /**
+     * Starts the particle's end animation; it stops moving from then on.
+     */
+    public void setEndFrame(int i, int frame) {
+        endFrames[i] = frame;
+    }
+
+    public boolean isEnding(int i) {
+        return endFrames[i] != NO_FRAME;
+    }
+
+    @Override
+    public void saveState(StateWriter out) {
+        compact();
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeInt(ids[i]);
+            out.writeInt(xSubpixels[i]);
+            out.writeInt(ySubpixels[i]);
+            out.writeInt(xVels[i]);
+            out.writeInt(yVels[i]);
+            out.writeInt(lifetimes[i]);
+            out.writeInt(spawnFrames[i]);
+            out.writeInt(endFrames[i]);
+        }
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        int saved = in.readInt();
+        if (saved > ids.length) {
+            grow(saved);
+        }
+        count = saved;
+        deadCount = 0;
+        for (int i = 0; i < count; i++) {
+            ids[i] = in.readInt();
+            xSubpixels[i] = in.readInt();
+            ySubpixels[i] = in.readInt();
+            xVels[i] = in.readInt();
+            yVels[i] = in.readInt();
+            lifetimes[i] = in.readInt();
+            spawnFrames[i] = in.readInt();
+            endFrames[i] = in.readInt();
+            dead[i] = false;
+        }
+    }
+
+    private void grow(int capacity) {
+        xSubpixels = Arrays.copyOf(xSubpixels, capacity);
+        ySubpixels = Arrays.copyOf(ySubpixels, capacity);
+        xVels = Arrays.copyOf(xVels, capacity);
+        yVels = Arrays.copyOf(yVels, capacity);
+        lifetimes = Arrays.copyOf(lifetimes, capacity);
+        spawnFrames = Arrays.copyOf(spawnFrames, capacity);
+        endFrames = Arrays.copyOf(endFrames, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        dead = Arrays.copyOf(dead, capacity);
+    }
+}
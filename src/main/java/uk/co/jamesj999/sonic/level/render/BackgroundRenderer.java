@@ -133,6 +133,58 @@ public class BackgroundRenderer {
         if (!initialized)
             return;
 
+        bindTilePass(gl, displayHeight);
+
+        gl.glClearColor(0, 0, 0, 0);
+        gl.glClear(GL2.GL_COLOR_BUFFER_BIT | GL2.GL_DEPTH_BUFFER_BIT);
+    }
+
+    /**
+     * Begin a tile rendering pass that only replaces a band of rows - binds the FBO
+     * and clears just those rows, keeping the rest of its contents.
+     * The band wraps at the bottom of the FBO, like the VDP's plane B.
+     *
+     * @param gl            OpenGL context
+     * @param displayHeight The display pixel height used by pattern renderer for
+     *                      Y-flip.
+     * @param fboY          First FBO row (Genesis Y, top-down) to replace
+     * @param height        Number of rows to replace
+     */
+    public void beginTilePass(GL2 gl, int displayHeight, int fboY, int height) {
+        if (!initialized)
+            return;
+
+        bindTilePass(gl, displayHeight);
+
+        int start = Math.floorMod(fboY, fboHeight);
+        int firstHeight = Math.min(height, fboHeight - start);
+        boolean scissorWasEnabled = gl.glIsEnabled(GL2.GL_SCISSOR_TEST);
+        int[] savedScissor = new int[4];
+        gl.glGetIntegerv(GL2.GL_SCISSOR_BOX, savedScissor, 0);
+
+        gl.glClearColor(0, 0, 0, 0);
+        gl.glEnable(GL2.GL_SCISSOR_TEST);
+        clearRows(gl, start, firstHeight);
+        if (firstHeight < height) {
+            clearRows(gl, 0, height - firstHeight);
+        }
+
+        gl.glScissor(savedScissor[0], savedScissor[1], savedScissor[2], savedScissor[3]);
+        if (!scissorWasEnabled) {
+            gl.glDisable(GL2.GL_SCISSOR_TEST);
+        }
+    }
+
+    /**
+     * Clear FBO rows [fboY, fboY + height) in Genesis Y. FBO pixel rows run
+     * bottom-up, so Genesis row y is pixel row fboHeight - y.
+     */
+    private void clearRows(GL2 gl, int fboY, int height) {
+        gl.glScissor(0, fboHeight - fboY - height, fboWidth, height);
+        gl.glClear(GL2.GL_COLOR_BUFFER_BIT | GL2.GL_DEPTH_BUFFER_BIT);
+    }
+
+    private void bindTilePass(GL2 gl, int displayHeight) {
         // Save current viewport
         gl.glGetIntegerv(GL2.GL_VIEWPORT, savedViewport, 0);
 
@@ -157,10 +209,6 @@ public class BackgroundRenderer {
         gl.glMatrixMode(GL2.GL_MODELVIEW);
         gl.glPushMatrix();
         gl.glLoadIdentity();
-
-        gl.glClearColor(0, 0, 0, 0);
-        gl.glClear(GL2.GL_COLOR_BUFFER_BIT | GL2.GL_DEPTH_BUFFER_BIT);
-
     }
 
     /**
@@ -246,6 +294,8 @@ public class BackgroundRenderer {
      * @param scrollMidpoint   The midpoint of the scroll range (hScroll values are
      *                         relative to this)
      * @param extraBuffer      Extra pixels on each side of the FBO
+     * @param fboVScroll       FBO row shown on the top scanline; the shader wraps
+     *                         rows below it at the FBO height
      * @param paletteTextureId ID of the combined palette texture
      * @param screenWidth      Display width in pixels
      * @param screenHeight     Display height in pixels
@@ -12,27 +12,59 @@ import java.util.List;
 public class PatternSpriteRenderer {
     private final SpriteSheet<? extends SpriteFrame<? extends SpriteFramePiece>> spriteSheet;
     private int patternBase = -1;
+    // Set when a pattern range has been reserved but the art not yet uploaded
+    private GraphicsManager pendingUpload;
     private final FrameBounds[] frameBoundsCache;
     private final PatternBounds[] patternBoundsCache;
 
     public PatternSpriteRenderer(SpriteSheet<? extends SpriteFrame<? extends SpriteFramePiece>> spriteSheet) {
         this.spriteSheet = spriteSheet;
         this.frameBoundsCache = new FrameBounds[spriteSheet.getFrameCount()];
-        this.patternBoundsCache = new PatternBounds[spriteSheet.getPatterns().length];
+        this.patternBoundsCache = new PatternBounds[spriteSheet.getPatternCount()];
     }
 
     public void ensurePatternsCached(GraphicsManager graphicsManager, int basePatternIndex) {
-        if (patternBase == basePatternIndex) {
+        if (patternBase == basePatternIndex && pendingUpload == null) {
             return;
         }
         cachePatterns(graphicsManager, basePatternIndex);
         patternBase = basePatternIndex;
+        pendingUpload = null;
+    }
+
+    /**
+     * Assigns the pattern range without uploading anything. The sheet's art is uploaded by
+     * {@link #ensureUploaded()}, or on the first draw.
+     */
+    public void reservePatterns(GraphicsManager graphicsManager, int basePatternIndex) {
+        if (patternBase == basePatternIndex) {
+            return;
+        }
+        patternBase = basePatternIndex;
+        pendingUpload = graphicsManager;
+    }
+
+    /**
+     * Uploads the sheet's patterns into a previously reserved range, if not done already.
+     */
+    public void ensureUploaded() {
+        GraphicsManager graphicsManager = pendingUpload;
+        if (graphicsManager == null || graphicsManager.getGraphics() == null) {
+            return;
+        }
+        pendingUpload = null;
+        cachePatterns(graphicsManager, patternBase);
+    }
+
+    public boolean isUploaded() {
+        return patternBase >= 0 && pendingUpload == null;
     }
 
     public void updatePatternRange(GraphicsManager graphicsManager, int startIndex, int count) {
         if (graphicsManager == null || patternBase < 0 || count <= 0) {
             return;
         }
+        ensureUploaded();
         Pattern[] patterns = spriteSheet.getPatterns();
         int end = Math.min(patterns.length, startIndex + count);
         for (int i = Math.max(0, startIndex); i < end; i++) {
@@ -69,6 +101,7 @@ public class PatternSpriteRenderer {
         if (frameIndex < 0 || frameIndex >= spriteSheet.getFrameCount() || patternBase < 0) {
             return;
         }
+        ensureUploaded();
         SpriteFrame<? extends SpriteFramePiece> frame = spriteSheet.getFrame(frameIndex);
         drawFrame(frame, originX, originY, hFlip, vFlip);
     }
@@ -81,6 +114,7 @@ public class PatternSpriteRenderer {
         if (pieces == null || patternBase < 0) {
             return;
         }
+        ensureUploaded();
         drawFramePieces(pieces, originX, originY, hFlip, vFlip);
     }
 
@@ -88,6 +122,7 @@ public class PatternSpriteRenderer {
         if (patternBase < 0) {
             return;
         }
+        ensureUploaded();
         Pattern[] patterns = spriteSheet.getPatterns();
         if (patternIndex < 0 || patternIndex >= patterns.length) {
             return;
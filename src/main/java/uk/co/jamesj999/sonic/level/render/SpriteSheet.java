@@ -7,6 +7,15 @@ import uk.co.jamesj999.sonic.level.Pattern;
  */
 public interface SpriteSheet<F extends SpriteFrame<? extends SpriteFramePiece>> {
     Pattern[] getPatterns();
+
+    /**
+     * Number of patterns this sheet occupies. Sheets that decode lazily override this so
+     * texture slots can be assigned without decoding the art.
+     */
+    default int getPatternCount() {
+        return getPatterns().length;
+    }
+
     int getFrameCount();
     F getFrame(int index);
     int getPaletteIndex();
@@ -4,22 +4,25 @@ import uk.co.jamesj999.sonic.audio.AudioManager;
 import uk.co.jamesj999.sonic.audio.GameSound;
 import uk.co.jamesj999.sonic.camera.Camera;
 import uk.co.jamesj999.sonic.level.ChunkDesc;
+import uk.co.jamesj999.sonic.level.CollisionField;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.SolidTile;
 import uk.co.jamesj999.sonic.level.render.PatternSpriteRenderer;
 import uk.co.jamesj999.sonic.level.objects.TouchResponseTable;
+import uk.co.jamesj999.sonic.level.particles.ParticleBuffer;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-
-public class LostRingManager {
+public class LostRingManager implements Snapshottable {
     private static final int MAX_LOST_RINGS = 0x20;
     private static final int GRAVITY = 0x18;
     private static final int LIFETIME_FRAMES = 0xFF;
     private static final int RING_TOUCH_SIZE_INDEX = 0x07;
     private static final int SOLIDITY_TOP = 0x0C;
+    // Rings cannot be picked up again until this many frames after they were spilled
+    private static final int COLLECTION_DELAY_FRAMES = 64;
 
     // Cached singleton references to avoid synchronized getInstance() calls in hot loops
     private final AudioManager audioManager = AudioManager.getInstance();
@@ -53,7 +56,8 @@ public class LostRingManager {
     private final int sparkleStartIndex;
     private final int sparkleFrameCount;
     private final int frameDelay;
-    private final List<LostRing> rings = new ArrayList<>();
+    // End frame marks when a ring was collected and its sparkle began
+    private final ParticleBuffer rings = new ParticleBuffer(MAX_LOST_RINGS);
     private int nextId;
 
     public LostRingManager(LevelManager levelManager, RingRenderManager renderManager,
@@ -100,8 +104,8 @@ public class LostRingManager {
                 }
             }
 
-            rings.add(new LostRing(nextId++, player.getCentreX(), player.getCentreY(), xVel, yVel, LIFETIME_FRAMES,
-                    frameCounter));
+            rings.add(nextId++, player.getCentreX(), player.getCentreY(), xVel, yVel, LIFETIME_FRAMES,
+                    frameCounter);
             xVel = -xVel;
             angle = -angle;
         }
@@ -110,6 +114,18 @@ public class LostRingManager {
         audioManager.playSfx(GameSound.RING_SPILL);
     }
 
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeInt(nextId);
+        rings.saveState(out);
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        nextId = in.readInt();
+        rings.loadState(in);
+    }
+
     public void update(AbstractPlayableSprite player, int frameCounter) {
         if (renderManager == null || rings.isEmpty()) {
             return;
@@ -123,6 +139,7 @@ public class LostRingManager {
         int playerX = 0;
         int playerY = 0;
         int playerHeight = 0;
+        boolean canCollect = false;
         if (player != null) {
             int baseYRadius = Math.max(1, player.getYRadius() - 3);
             playerX = player.getCentreX() - 8;
@@ -132,48 +149,41 @@ public class LostRingManager {
                 playerY += 12;
                 playerHeight = 20;
             }
+            canCollect = !player.getDead() && player.getInvulnerableFrames() < 90;
         }
+        int touchWidth = touchResponseTable != null ? touchResponseTable.getWidthRadius(RING_TOUCH_SIZE_INDEX) : 6;
+        int touchHeight = touchResponseTable != null ? touchResponseTable.getHeightRadius(RING_TOUCH_SIZE_INDEX) : 6;
+        int cameraBottom = camera.getMaxY() + 224;
 
-        Iterator<LostRing> iterator = rings.iterator();
-        while (iterator.hasNext()) {
-            LostRing ring = iterator.next();
-
-            if (!ring.isCollected()) {
-                ring.addXSubpixel(ring.getXVel());
-                ring.addYSubpixel(ring.getYVel());
-                ring.addYVel(GRAVITY);
-
-                if (ring.getYVel() >= 0 && ((frameCounter + ring.getId()) & 7) == 0) {
-                    int dist = ringCheckFloorDist(ring.getX(), ring.getY());
+        rings.integrate(GRAVITY);
+        int count = rings.size();
+        for (int i = 0; i < count; i++) {
+            if (!rings.isEnding(i)) {
+                // Floor checks are spread over 8 frames by ring id
+                if (rings.getYVel(i) >= 0 && ((frameCounter + rings.getId(i)) & 7) == 0) {
+                    int dist = ringCheckFloorDist(rings.getX(i), rings.getY(i));
                     if (dist < 0) {
-                        ring.addYSubpixel(dist << 8);
-                        int yVel = ring.getYVel();
+                        rings.addYSubpixel(i, dist << 8);
+                        int yVel = rings.getYVel(i);
                         yVel -= (yVel >> 2);
-                        ring.setYVel(-yVel);
+                        rings.setYVel(i, -yVel);
                     }
                 }
 
-                if (player != null && ring.canBeCollected(frameCounter)
-                        && !player.getDead()
-                        && player.getInvulnerableFrames() < 90
-                        && ringOverlapsPlayer(playerX, playerY, playerHeight, ring)) {
-                    ring.markCollected(frameCounter);
+                if (canCollect && frameCounter - rings.getSpawnFrame(i) >= COLLECTION_DELAY_FRAMES
+                        && ringOverlapsPlayer(playerX, playerY, playerHeight, touchWidth, touchHeight,
+                                rings.getX(i), rings.getY(i))) {
+                    rings.setEndFrame(i, frameCounter);
                     player.addRings(1);
                     audioManager.playSfx(GameSound.RING);
                 }
             }
 
-            ring.decLifetime();
-            if (ring.getLifetime() <= 0) {
-                iterator.remove();
-                continue;
-            }
-
-            int cameraBottom = camera.getMaxY() + 224;
-            if (ring.getY() > cameraBottom) {
-                iterator.remove();
+            if (rings.decLifetime(i) <= 0 || rings.getY(i) > cameraBottom) {
+                rings.kill(i);
             }
         }
+        rings.compact();
     }
 
     public void draw(int frameCounter) {
@@ -182,44 +192,43 @@ public class LostRingManager {
         }
 
         int spinFrameIndex = renderManager.getSpinFrameIndex(frameCounter);
-        Iterator<LostRing> iterator = rings.iterator();
-        while (iterator.hasNext()) {
-            LostRing ring = iterator.next();
-            if (!ring.isCollected()) {
+        int count = rings.size();
+        for (int i = 0; i < count; i++) {
+            if (!rings.isEnding(i)) {
                 // Blink when lifetime < 64 frames (skip render on odd frames)
-                if (ring.getLifetime() < 64 && (ring.getLifetime() & 1) != 0) {
+                int lifetime = rings.getLifetime(i);
+                if (lifetime < 64 && (lifetime & 1) != 0) {
                     continue; // Skip rendering this ring this frame (blink)
                 }
-                renderManager.drawFrameIndex(spinFrameIndex, ring.getX(), ring.getY());
+                renderManager.drawFrameIndex(spinFrameIndex, rings.getX(i), rings.getY(i));
                 continue;
             }
 
-            int sparkleStart = ring.getSparkleStartFrame();
-            if (sparkleStart < 0 || sparkleFrameCount <= 0) {
-                iterator.remove();
+            if (sparkleFrameCount <= 0) {
+                rings.kill(i);
                 continue;
             }
-            int elapsed = frameCounter - sparkleStart;
+            int elapsed = frameCounter - rings.getEndFrame(i);
             if (elapsed < 0) {
                 elapsed = 0;
             }
             int sparkleFrameOffset = elapsed / frameDelay;
             if (sparkleFrameOffset >= sparkleFrameCount) {
-                iterator.remove();
+                rings.kill(i);
                 continue;
             }
             int sparkleFrameIndex = sparkleStartIndex + sparkleFrameOffset;
-            renderManager.drawFrameIndex(sparkleFrameIndex, ring.getX(), ring.getY());
+            renderManager.drawFrameIndex(sparkleFrameIndex, rings.getX(i), rings.getY(i));
         }
+        rings.compact();
     }
 
-    private boolean ringOverlapsPlayer(int playerX, int playerY, int playerHeight, LostRing ring) {
+    private boolean ringOverlapsPlayer(int playerX, int playerY, int playerHeight, int width, int height,
+            int ringX, int ringY) {
         if (playerHeight <= 0) {
             return false;
         }
-        int width = touchResponseTable != null ? touchResponseTable.getWidthRadius(RING_TOUCH_SIZE_INDEX) : 6;
-        int height = touchResponseTable != null ? touchResponseTable.getHeightRadius(RING_TOUCH_SIZE_INDEX) : 6;
-        int dx = ring.getX() - width - playerX;
+        int dx = ringX - width - playerX;
         if (dx < 0) {
             int sum = (dx & 0xFFFF) + ((width * 2) & 0xFFFF);
             if (sum <= 0xFFFF) {
@@ -229,7 +238,7 @@ public class LostRingManager {
             return false;
         }
 
-        int dy = ring.getY() - height - playerY;
+        int dy = ringY - height - playerY;
         if (dy < 0) {
             int sum = (dy & 0xFFFF) + ((height * 2) & 0xFFFF);
             if (sum <= 0xFFFF) {
@@ -242,23 +251,31 @@ public class LostRingManager {
     }
 
     private int ringCheckFloorDist(int x, int y) {
-        ChunkDesc chunkDesc = levelManager.getChunkDescAt((byte) 0, x, y);
-        SolidTile tile = getSolidTile(chunkDesc, SOLIDITY_TOP);
-        SensorMetric metric = getMetric(tile, chunkDesc, x, y);
-        if (metric.metric == 0) {
+        CollisionField field = levelManager.getCollisionField();
+        byte metric = getFloorMetric(field, x, y);
+        if (metric == 0) {
             return 0;
         }
-        if (metric.metric == 16) {
+        if (metric == 16) {
             int prevY = y - 16;
-            ChunkDesc prevDesc = levelManager.getChunkDescAt((byte) 0, x, prevY);
-            SolidTile prevTile = getSolidTile(prevDesc, SOLIDITY_TOP);
-            SensorMetric prevMetric = getMetric(prevTile, prevDesc, x, prevY);
-            if (prevMetric.metric > 0 && prevMetric.metric < 16) {
-                return calculateDistance(prevMetric.metric, x, y, prevY);
+            byte prevMetric = getFloorMetric(field, x, prevY);
+            if (prevMetric > 0 && prevMetric < 16) {
+                return calculateDistance(prevMetric, x, y, prevY);
             }
-            return calculateDistance(metric.metric, x, y, y);
+            return calculateDistance(metric, x, y, y);
         }
-        return calculateDistance(metric.metric, x, y, y);
+        return calculateDistance(metric, x, y, y);
+    }
+
+    private byte getFloorMetric(CollisionField field, int x, int y) {
+        if (field != null) {
+            int cell = field.getCell(x, y);
+            SolidTile tile = field.getSolidTile(cell, SOLIDITY_TOP);
+            return getMetric(tile, CollisionField.getHFlip(cell), CollisionField.getVFlip(cell), x);
+        }
+        ChunkDesc chunkDesc = levelManager.getChunkDescAt((byte) 0, x, y);
+        SolidTile tile = getSolidTile(chunkDesc, SOLIDITY_TOP);
+        return getMetric(tile, chunkDesc != null && chunkDesc.getHFlip(), chunkDesc != null && chunkDesc.getVFlip(), x);
     }
 
     private SolidTile getSolidTile(ChunkDesc chunkDesc, int solidityBitIndex) {
@@ -268,22 +285,21 @@ public class LostRingManager {
         return levelManager.getSolidTileForChunkDesc(chunkDesc, solidityBitIndex);
     }
 
-    private SensorMetric getMetric(SolidTile tile, ChunkDesc desc, int x, int y) {
+    private byte getMetric(SolidTile tile, boolean hFlip, boolean vFlip, int x) {
         if (tile == null) {
-            return new SensorMetric((byte) 0);
+            return 0;
         }
         int index = x & 0x0F;
-        if (desc != null && desc.getHFlip()) {
+        if (hFlip) {
             index = 15 - index;
         }
         byte metric = tile.getHeightAt((byte) index);
         if (metric != 0 && metric != 16) {
-            boolean invert = (desc != null && desc.getVFlip());
-            if (invert) {
+            if (vFlip) {
                 metric = (byte) (16 - metric);
             }
         }
-        return new SensorMetric(metric);
+        return metric;
     }
 
     private int calculateDistance(byte metric, int x, int y, int checkY) {
@@ -298,7 +314,4 @@ public class LostRingManager {
     private int calcCosine(int angle) {
         return SINE_TABLE[(angle & 0xFF) + 0x40];
     }
-
-    private record SensorMetric(byte metric) {
-    }
 }
@@ -53,8 +53,9 @@ public class RingManager {
             return;
         }
 
-        Collection<RingSpawn> active = placementManager.getActiveSpawns();
-        if (active.isEmpty()) {
+        int start = placementManager.getActiveStart();
+        int end = placementManager.getActiveEnd();
+        if (start >= end) {
             return;
         }
 
@@ -63,18 +64,23 @@ public class RingManager {
         int playerRight = playerLeft + player.getWidth();
         int playerBottom = playerTop + player.getHeight();
 
-        for (RingSpawn ring : active) {
-            int index = placementManager.getSpawnIndex(ring);
-            if (index < 0 || placementManager.isCollected(index)) {
+        // Rings are sorted by X, so only those whose box can reach the player need testing
+        int minX = bounds.minX();
+        int maxX = bounds.maxX();
+        for (int index = start; index < end; index++) {
+            int ringX = placementManager.getSpawnX(index);
+            if (ringX + maxX < playerLeft) {
+                continue;
+            }
+            if (ringX + minX > playerRight) {
+                break;
+            }
+            if (placementManager.isCollected(index)) {
                 continue;
             }
 
-            int ringLeft = ring.x() + bounds.minX();
-            int ringRight = ring.x() + bounds.maxX();
-            int ringTop = ring.y() + bounds.minY();
-            int ringBottom = ring.y() + bounds.maxY();
-
-            if (playerRight < ringLeft || playerLeft > ringRight || playerBottom < ringTop || playerTop > ringBottom) {
+            int ringY = placementManager.getSpawnY(index);
+            if (playerBottom < ringY + bounds.minY() || playerTop > ringY + bounds.maxY()) {
                 continue;
             }
 
@@ -91,19 +97,18 @@ public class RingManager {
         if (placementManager == null || renderManager == null) {
             return;
         }
-        Collection<RingSpawn> active = placementManager.getActiveSpawns();
-        if (active == null || active.isEmpty()) {
+        int start = placementManager.getActiveStart();
+        int end = placementManager.getActiveEnd();
+        if (start >= end) {
             return;
         }
 
         int spinFrameIndex = renderManager.getSpinFrameIndex(frameCounter);
-        for (RingSpawn ring : active) {
-            int index = placementManager.getSpawnIndex(ring);
-            if (index < 0) {
-                continue;
-            }
+        for (int index = start; index < end; index++) {
+            int ringX = placementManager.getSpawnX(index);
+            int ringY = placementManager.getSpawnY(index);
             if (!placementManager.isCollected(index)) {
-                renderManager.drawFrameIndex(spinFrameIndex, ring.x(), ring.y());
+                renderManager.drawFrameIndex(spinFrameIndex, ringX, ringY);
                 continue;
             }
 
@@ -122,7 +127,7 @@ public class RingManager {
                 continue;
             }
             int sparkleFrameIndex = sparkleStartIndex + sparkleFrameOffset;
-            renderManager.drawFrameIndex(sparkleFrameIndex, ring.x(), ring.y());
+            renderManager.drawFrameIndex(sparkleFrameIndex, ringX, ringY);
         }
     }
 
@@ -1,23 +1,29 @@
 package uk.co.jamesj999.sonic.level.rings;
 
 import uk.co.jamesj999.sonic.level.spawn.AbstractPlacementManager;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 
 import java.util.Arrays;
 import java.util.BitSet;
-import java.util.LinkedHashSet;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Minimal runtime manager that exposes rings within a camera window.
  */
-public class RingPlacementManager extends AbstractPlacementManager<RingSpawn> {
+public class RingPlacementManager extends AbstractPlacementManager<RingSpawn> implements Snapshottable {
     private static final int LOAD_AHEAD = 0x280;
     private static final int UNLOAD_BEHIND = 0x300;
     private static final int NO_SPARKLE = -1;
 
     private final BitSet collected = new BitSet();
     private final int[] sparkleStartFrames;
+    // Active window as [activeStart, activeEnd) over the X-sorted spawns
+    private int activeStart;
+    private int activeEnd;
+    private int lastCameraX = Integer.MIN_VALUE;
 
     public RingPlacementManager(List<RingSpawn> spawns) {
         super(spawns, LOAD_AHEAD, UNLOAD_BEHIND);
@@ -26,7 +32,7 @@ public class RingPlacementManager extends AbstractPlacementManager<RingSpawn> {
     }
 
     public void reset(int cameraX) {
-        active.clear();
+        lastCameraX = Integer.MIN_VALUE;
         collected.clear();
         Arrays.fill(sparkleStartFrames, NO_SPARKLE);
         update(cameraX);
@@ -67,16 +73,82 @@ public class RingPlacementManager extends AbstractPlacementManager<RingSpawn> {
         int windowStart = getWindowStart(cameraX);
         int windowEnd = getWindowEnd(cameraX);
 
-        int start = lowerBound(windowStart);
-        int end = upperBound(windowEnd);
+        int delta = cameraX - lastCameraX;
+        if (lastCameraX == Integer.MIN_VALUE || Math.abs(delta) > getLoadAhead() + getUnloadBehind()) {
+            activeStart = lowerBound(windowStart);
+            activeEnd = upperBound(windowEnd);
+        } else {
+            // Small camera moves only nudge the cursors
+            while (activeStart < xs.length && xs[activeStart] < windowStart) {
+                activeStart++;
+            }
+            while (activeStart > 0 && xs[activeStart - 1] >= windowStart) {
+                activeStart--;
+            }
+            while (activeEnd < xs.length && xs[activeEnd] <= windowEnd) {
+                activeEnd++;
+            }
+            while (activeEnd > 0 && xs[activeEnd - 1] > windowEnd) {
+                activeEnd--;
+            }
+        }
+        lastCameraX = cameraX;
+    }
+
+    /**
+     * Rings in the window, in X order. A view of {@link #getAllSpawns()}, so indices run from
+     * {@link #getActiveStart()}.
+     */
+    @Override
+    public Collection<RingSpawn> getActiveSpawns() {
+        return spawns.subList(activeStart, activeEnd);
+    }
+
+    /**
+     * Index of the first ring in the window.
+     */
+    public int getActiveStart() {
+        return activeStart;
+    }
 
-        Set<RingSpawn> window = new LinkedHashSet<>();
-        for (int i = start; i < end; i++) {
-            window.add(spawns.get(i));
+    /**
+     * Index one past the last ring in the window.
+     */
+    public int getActiveEnd() {
+        return activeEnd;
+    }
+
+    /**
+     * Writes the collected bits and any sparkles still playing. The active window is not
+     * written; it follows the camera on the next update.
+     */
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeBits(collected);
+        int sparkles = 0;
+        for (int frame : sparkleStartFrames) {
+            if (frame != NO_SPARKLE) {
+                sparkles++;
+            }
+        }
+        out.writeShort(sparkles);
+        for (int i = 0; i < sparkleStartFrames.length; i++) {
+            if (sparkleStartFrames[i] != NO_SPARKLE) {
+                out.writeShort(i);
+                out.writeInt(sparkleStartFrames[i]);
+            }
         }
+    }
 
-        active.retainAll(window);
-        active.addAll(window);
+    @Override
+    public void loadState(StateReader in) {
+        in.readBits(collected);
+        Arrays.fill(sparkleStartFrames, NO_SPARKLE);
+        int sparkles = in.readShort() & 0xFFFF;
+        for (int i = 0; i < sparkles; i++) {
+            int index = in.readShort() & 0xFFFF;
+            sparkleStartFrames[index] = in.readInt();
+        }
     }
 
     public int getTotalRingCount() {
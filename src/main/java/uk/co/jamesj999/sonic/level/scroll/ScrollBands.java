@@ -0,0 +1,128 @@
+package uk.co.jamesj999.sonic.level.scroll;
+
+import java.util.Arrays;
+
+import static uk.co.jamesj999.sonic.level.scroll.M68KMath.*;
+
+/**
+ * Band-based form of a zone's horizontal scroll table.
+ *
+ * The SwScrl routines write runs of scanlines that share one BG scroll word, so a
+ * handler describes each frame as a list of bands (line count + BG scroll) and
+ * {@link #expand} fills them into the 224-line buffer with {@link Arrays#fill}.
+ * Adjacent bands with the same scroll are merged.
+ *
+ * Expansion is incremental: when the buffer still holds the previous expansion, only
+ * bands whose lines or scroll changed are rewritten. A ripple band that ticks while the
+ * camera is still costs its own few lines, and a still frame writes nothing.
+ */
+final class ScrollBands {
+
+    // Exclusive end line and BG scroll of each band
+    private final int[] ends = new int[VISIBLE_LINES];
+    private final short[] bgScrolls = new short[VISIBLE_LINES];
+    private int count;
+
+    // What the buffer held after the last expansion
+    private final int[] writtenEnds = new int[VISIBLE_LINES];
+    private final short[] writtenBgScrolls = new short[VISIBLE_LINES];
+    private int writtenCount;
+    private short writtenFg;
+    private int[] writtenBuf;
+
+    private int minScrollOffset;
+    private int maxScrollOffset;
+
+    /**
+     * Start describing a new frame from line 0.
+     */
+    void begin() {
+        count = 0;
+    }
+
+    /**
+     * Append a band of {@code lines} scanlines. Lines past the bottom of the screen are
+     * dropped.
+     */
+    void add(int lines, short bgScroll) {
+        int start = getLine();
+        int end = Math.min(VISIBLE_LINES, start + lines);
+        if (end <= start) {
+            return;
+        }
+        if (count > 0 && bgScrolls[count - 1] == bgScroll) {
+            ends[count - 1] = end;
+            return;
+        }
+        ends[count] = end;
+        bgScrolls[count] = bgScroll;
+        count++;
+    }
+
+    /**
+     * First line not yet covered by a band.
+     */
+    int getLine() {
+        return count == 0 ? 0 : ends[count - 1];
+    }
+
+    /**
+     * Whether {@code horizScrollBuf} still holds the last expansion.
+     */
+    boolean isCurrent(int[] horizScrollBuf) {
+        return writtenBuf == horizScrollBuf;
+    }
+
+    /**
+     * Forget the last expansion, so the next one rewrites every band. Call when
+     * something else may have written to the buffer.
+     */
+    void invalidate() {
+        writtenBuf = null;
+    }
+
+    /**
+     * Fill the bands into the buffer as packed (FG, BG) words and update the offset
+     * range. Lines after the last band are left untouched.
+     */
+    void expand(int[] horizScrollBuf, short fgScroll) {
+        boolean incremental = writtenBuf == horizScrollBuf && writtenFg == fgScroll;
+        minScrollOffset = Integer.MAX_VALUE;
+        maxScrollOffset = Integer.MIN_VALUE;
+
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int end = ends[i];
+            short bgScroll = bgScrolls[i];
+            boolean unchanged = incremental && i < writtenCount
+                    && writtenEnds[i] == end && writtenBgScrolls[i] == bgScroll
+                    && (i == 0 || writtenEnds[i - 1] == start);
+            if (!unchanged) {
+                Arrays.fill(horizScrollBuf, start, end, packScrollWords(fgScroll, bgScroll));
+            }
+
+            int offset = bgScroll - fgScroll;
+            if (offset < minScrollOffset) {
+                minScrollOffset = offset;
+            }
+            if (offset > maxScrollOffset) {
+                maxScrollOffset = offset;
+            }
+            start = end;
+        }
+
+        System.arraycopy(ends, 0, writtenEnds, 0, count);
+        System.arraycopy(bgScrolls, 0, writtenBgScrolls, 0, count);
+        writtenCount = count;
+        writtenFg = fgScroll;
+        writtenBuf = horizScrollBuf;
+    }
+
+    int getMinScrollOffset() {
+        return minScrollOffset;
+    }
+
+    int getMaxScrollOffset() {
+        return maxScrollOffset;
+    }
+}
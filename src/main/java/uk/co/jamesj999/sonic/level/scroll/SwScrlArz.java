@@ -45,6 +45,8 @@ public class SwScrlArz implements ZoneScrollHandler {
     private int maxScrollOffset;
     private short vscrollFactorBG;
 
+    private final ScrollBands bands = new ScrollBands();
+
     // 16.16 fixed-point background camera accumulators
     private long arzBgXPos; // Target BG X position (16.16 in long to avoid overflow)
     private long arzBgXPosFast; // Actual BG X position (16.16)
@@ -89,6 +91,7 @@ public class SwScrlArz implements ZoneScrollHandler {
         }
 
         initialized = true;
+        bands.invalidate();
     }
 
     @Override
@@ -102,9 +105,6 @@ public class SwScrlArz implements ZoneScrollHandler {
             init(actId, cameraX, cameraY);
         }
 
-        minScrollOffset = Integer.MAX_VALUE;
-        maxScrollOffset = Integer.MIN_VALUE;
-
         // ==================== Step 1: Calculate Camera Diffs ====================
         int diffX = cameraX - lastCameraX;
         int diffY = cameraY - lastCameraY;
@@ -230,29 +230,31 @@ public class SwScrlArz implements ZoneScrollHandler {
         rowScrollPx[15] = fastSpeed;
 
         // ==================== Step 6: Fill Scroll Buffer ====================
+        // One band per row; only rows whose speed or extent changed are rewritten
         short fgScroll = negWord(cameraX);
-        int currentLine = 0;
         int rowIdx = currentRowIndex;
         int pixelsInRow = remainingInRow;
 
-        while (currentLine < VISIBLE_LINES) {
-            int speed = rowScrollPx[rowIdx];
-            int count = Math.min(pixelsInRow, VISIBLE_LINES - currentLine);
-
-            for (int k = 0; k < count; k++) {
-                short bgScroll = negWord(speed);
-                horizScrollBuf[currentLine++] = packScrollWords(fgScroll, bgScroll);
-
-                int offset = bgScroll - fgScroll;
-                if (offset < minScrollOffset)
-                    minScrollOffset = offset;
-                if (offset > maxScrollOffset)
-                    maxScrollOffset = offset;
-            }
+        bands.begin();
+        while (bands.getLine() < VISIBLE_LINES) {
+            bands.add(pixelsInRow, negWord(rowScrollPx[rowIdx]));
 
             rowIdx = (rowIdx + 1) % 16;
             pixelsInRow = ROW_HEIGHTS[rowIdx];
         }
+
+        bands.expand(horizScrollBuf, fgScroll);
+        minScrollOffset = bands.getMinScrollOffset();
+        maxScrollOffset = bands.getMaxScrollOffset();
+    }
+
+    /**
+     * Rewrite the whole table on the next update, for when something else has written
+     * to the buffer.
+     */
+    @Override
+    public void invalidate() {
+        bands.invalidate();
     }
 
     @Override
@@ -280,6 +282,7 @@ public class SwScrlArz implements ZoneScrollHandler {
         arzBgYPos = 0;
         lastCameraX = 0;
         lastCameraY = 0;
+        bands.invalidate();
     }
 
     // ==================== Test Access Methods ====================
@@ -40,6 +40,8 @@ public class SwScrlCpz implements ZoneScrollHandler {
     private int maxScrollOffset;
     private short vscrollFactorBG;
 
+    private final ScrollBands bands = new ScrollBands();
+
     // 16.16 fixed-point background camera accumulators
     // These track the cumulative BG position across frames
     private int bg1X_16_16; // BG1 X position (upper region, 1/8 speed)
@@ -87,6 +89,7 @@ public class SwScrlCpz implements ZoneScrollHandler {
 
         ripplePhase = 0;
         frameCounterForRipple = 0;
+        bands.invalidate();
     }
 
     @Override
@@ -100,9 +103,6 @@ public class SwScrlCpz implements ZoneScrollHandler {
             init(cameraX, cameraY);
         }
 
-        minScrollOffset = Integer.MAX_VALUE;
-        maxScrollOffset = Integer.MIN_VALUE;
-
         // ==================== Step 1: Calculate Camera Diffs ====================
         // Diffs in subpixels (1/256 pixel units, which is camera diff << 8)
         int cameraXDiff = cameraX - lastCameraX;
@@ -163,47 +163,27 @@ public class SwScrlCpz implements ZoneScrollHandler {
         // FG scroll is constant for all lines
         short fgScroll = negWord(cameraX);
 
-        int screenLine = 0;
+        bands.begin();
 
-        while (screenLine < VISIBLE_LINES) {
+        while (bands.getLine() < VISIBLE_LINES) {
             // Wrap block index to 0..63 range
             int blockIdx = currentBlockIdx & 0x3F;
 
-            // How many lines to fill for this block (limited by screen end)
-            int linesToFill = Math.min(remainingInBlock, VISIBLE_LINES - screenLine);
-
-            // Determine BG X scroll for this block
-            short bgScroll;
-
             if (blockIdx < SEAM_BLOCK_INDEX) {
                 // Above seam: use BG1 (slow scroll)
-                bgScroll = negWord(bg1Xpx);
-                // Fill linesToFill lines with same value
-                int packed = packScrollWords(fgScroll, bgScroll);
-                trackOffset(fgScroll, bgScroll);
-                for (int i = 0; i < linesToFill; i++) {
-                    horizScrollBuf[screenLine++] = packed;
-                }
+                bands.add(remainingInBlock, negWord(bg1Xpx));
             } else if (blockIdx > SEAM_BLOCK_INDEX) {
                 // Below seam: use BG2 (fast scroll)
-                bgScroll = negWord(bg2Xpx);
-                // Fill linesToFill lines with same value
-                int packed = packScrollWords(fgScroll, bgScroll);
-                trackOffset(fgScroll, bgScroll);
-                for (int i = 0; i < linesToFill; i++) {
-                    horizScrollBuf[screenLine++] = packed;
-                }
+                bands.add(remainingInBlock, negWord(bg2Xpx));
             } else {
                 // Seam block (blockIdx == 18): Apply ripple effect
                 // Base is BG1 X, add ripple offset per scanline
-                int baseBg1Xpx = bg1Xpx;
                 int rippleStart = ripplePhase & 0x1F; // 0..31 index into ripple data
 
-                // lineInBlock tells us where in the block we start (for first iteration)
                 // For the seam block, we need to track the actual position within the block
                 int posInBlock = LINES_PER_BLOCK - remainingInBlock; // 0-15 position we start at
 
-                for (int i = 0; i < linesToFill; i++) {
+                for (int i = 0; i < remainingInBlock; i++) {
                     // Get ripple offset from ROM data
                     // Use position within block + rippleStart for the ripple index
                     int ripple = 0;
@@ -213,9 +193,7 @@ public class SwScrlCpz implements ZoneScrollHandler {
                     }
 
                     // Apply ripple: bgScrollXpx = baseBg1Xpx + ripple
-                    bgScroll = negWord(baseBg1Xpx + ripple);
-                    horizScrollBuf[screenLine++] = packScrollWords(fgScroll, bgScroll);
-                    trackOffset(fgScroll, bgScroll);
+                    bands.add(1, negWord(bg1Xpx + ripple));
                 }
             }
 
@@ -223,16 +201,20 @@ public class SwScrlCpz implements ZoneScrollHandler {
             currentBlockIdx++;
             remainingInBlock = LINES_PER_BLOCK;
         }
+
+        // Only blocks whose scroll changed since last frame are rewritten
+        bands.expand(horizScrollBuf, fgScroll);
+        minScrollOffset = bands.getMinScrollOffset();
+        maxScrollOffset = bands.getMaxScrollOffset();
     }
 
-    private void trackOffset(short fgScroll, short bgScroll) {
-        int offset = bgScroll - fgScroll;
-        if (offset < minScrollOffset) {
-            minScrollOffset = offset;
-        }
-        if (offset > maxScrollOffset) {
-            maxScrollOffset = offset;
-        }
+    /**
+     * Rewrite the whole table on the next update, for when something else has written
+     * to the buffer.
+     */
+    @Override
+    public void invalidate() {
+        bands.invalidate();
     }
 
     @Override
@@ -262,6 +244,7 @@ public class SwScrlCpz implements ZoneScrollHandler {
         lastCameraY = 0;
         ripplePhase = 0;
         frameCounterForRipple = 0;
+        bands.invalidate();
     }
 
     // ==================== Test Access Methods ====================
@@ -34,6 +34,10 @@ public class SwScrlEhz implements ZoneScrollHandler {
     private int maxScrollOffset;
     private short vscrollFactorBG;
 
+    private final ScrollBands bands = new ScrollBands();
+    private int lastCameraX;
+    private int lastRippleIndex;
+
     public SwScrlEhz(ParallaxTables tables) {
         this.tables = tables;
     }
@@ -44,8 +48,19 @@ public class SwScrlEhz implements ZoneScrollHandler {
             int cameraY,
             int frameCounter,
             int actId) {
-        minScrollOffset = Integer.MAX_VALUE;
-        maxScrollOffset = Integer.MIN_VALUE;
+        // Ripple animation speed (1 byte every 8 frames) - Slowed down per user
+        // feedback
+        // Using continuous counter, masking lookup to first 32 bytes to avoid
+        // distortion
+        int rippleIndex = (frameCounter >> 3);
+
+        // The table only depends on the camera X and the ripple timer, so frames where
+        // neither moved leave last frame's table in place
+        if (bands.isCurrent(horizScrollBuf) && cameraX == lastCameraX && rippleIndex == lastRippleIndex) {
+            return;
+        }
+        lastCameraX = cameraX;
+        lastRippleIndex = rippleIndex;
 
         // d2 = -Camera_X_pos (FG scroll, constant for all lines)
         short d2 = negWord(cameraX);
@@ -56,91 +71,40 @@ public class SwScrlEhz implements ZoneScrollHandler {
         // Vscroll_Factor_BG for EHZ is 0 (BG doesn't scroll vertically independently)
         vscrollFactorBG = 0;
 
-        int lineIndex = 0;
+        bands.begin();
 
         // ==================== Band 1: Sky (22 lines) ====================
         // BG = 0, FG = d2
-        {
-            short bgScroll = 0;
-            int packed = packScrollWords(fgScroll, bgScroll);
-            trackOffset(fgScroll, bgScroll); // Track once per constant region
-            int limit = Math.min(VISIBLE_LINES, lineIndex + 22);
-            for (; lineIndex < limit; lineIndex++) {
-                horizScrollBuf[lineIndex] = packed;
-            }
-        }
+        bands.add(22, (short) 0);
 
         // ==================== Band 2: Far Clouds (58 lines) ====================
         // BG = d2 >> 6, FG = d2
-        {
-            short bgScroll = asrWord(d2, 6);
-            int packed = packScrollWords(fgScroll, bgScroll);
-            trackOffset(fgScroll, bgScroll);
-            int limit = Math.min(VISIBLE_LINES, lineIndex + 58);
-            for (; lineIndex < limit; lineIndex++) {
-                horizScrollBuf[lineIndex] = packed;
-            }
-        }
+        bands.add(58, asrWord(d2, 6));
 
         // ==================== Band 3: Water Surface (21 lines) ====================
         // Water surface with ripple effect using SwScrl_RippleData
         {
             short baseBgScroll = asrWord(d2, 6);
-            int limit = Math.min(VISIBLE_LINES, lineIndex + 21);
-
-            // Ripple animation speed (1 byte every 8 frames) - Slowed down per user
-            // feedback
-            // Using continuous counter, masking lookup to first 32 bytes to avoid
-            // distortion
-            int rippleIndex = (frameCounter >> 3);
-
-            for (; lineIndex < limit; lineIndex++) {
-                int wobble = tables.getRippleSigned(rippleIndex & 0x1F);
-                short bgScroll = (short) (baseBgScroll + wobble);
-
-                horizScrollBuf[lineIndex] = packScrollWords(fgScroll, bgScroll);
-                trackOffset(fgScroll, bgScroll);
-
-                rippleIndex++;
+            for (int i = 0; i < 21; i++) {
+                int wobble = tables.getRippleSigned((rippleIndex + i) & 0x1F);
+                bands.add(1, (short) (baseBgScroll + wobble));
             }
         }
 
         // ==================== Band 4: Gap (11 lines) ====================
         // BG = 0, FG = d2
-        {
-            short bgScroll = 0;
-            int packed = packScrollWords(fgScroll, bgScroll);
-            trackOffset(fgScroll, bgScroll);
-            int limit = Math.min(VISIBLE_LINES, lineIndex + 11);
-            for (; lineIndex < limit; lineIndex++) {
-                horizScrollBuf[lineIndex] = packed;
-            }
-        }
+        bands.add(11, (short) 0);
 
         // ==================== Band 5: Near Hills (16 lines) ====================
         // BG = d2 >> 4, FG = d2
-        {
-            short bgScroll = asrWord(d2, 4);
-            int packed = packScrollWords(fgScroll, bgScroll);
-            trackOffset(fgScroll, bgScroll);
-            int limit = Math.min(VISIBLE_LINES, lineIndex + 16);
-            for (; lineIndex < limit; lineIndex++) {
-                horizScrollBuf[lineIndex] = packed;
-            }
-        }
+        bands.add(16, asrWord(d2, 4));
 
         // ==================== Band 6: Nearer Hills (16 lines) ====================
         // BG = (d2 >> 4) * 1.5, FG = d2
         {
             short d0 = asrWord(d2, 4);
             short d3 = asrWord(d0, 1);
-            short bgScroll = (short) (d0 + d3);
-            int packed = packScrollWords(fgScroll, bgScroll);
-            trackOffset(fgScroll, bgScroll);
-            int limit = Math.min(VISIBLE_LINES, lineIndex + 16);
-            for (; lineIndex < limit; lineIndex++) {
-                horizScrollBuf[lineIndex] = packed;
-            }
+            bands.add(16, (short) (d0 + d3));
         }
 
         // ==================== Bottom Gradient Region ====================
@@ -149,97 +113,51 @@ public class SwScrlEhz implements ZoneScrollHandler {
         // FG speed. Using 'd2' (FG scroll) as base.
 
         // ========== Sub-band 6a (Segment 7): 15 lines (0.25 -> 0.50) ==========
-        {
-            // Start: 0.25 * d2 = d2 >> 2. In fixed point (<<16): (d2<<16) >> 2 = d2 << 14
-            int startFixed = (d2 << 14);
-            int endFixed = (d2 << 15);
-            int count = 15;
-            int increment = (endFixed - startFixed) / count;
-
-            int bgFixed = startFixed;
-            int limit = Math.min(VISIBLE_LINES, lineIndex + count);
-
-            for (; lineIndex < limit; lineIndex++) {
-                short bgScroll = (short) (bgFixed >> 16);
-                horizScrollBuf[lineIndex] = packScrollWords(fgScroll, bgScroll);
-
-                // Check offset for every line in gradient (value changes)
-                int offset = bgScroll - fgScroll;
-                if (offset < minScrollOffset)
-                    minScrollOffset = offset;
-                if (offset > maxScrollOffset)
-                    maxScrollOffset = offset;
-
-                bgFixed += increment;
-            }
-        }
+        // Start: 0.25 * d2 = d2 >> 2. In fixed point (<<16): (d2<<16) >> 2 = d2 << 14
+        addGradient(d2 << 14, d2 << 15, 15);
 
         // ========== Sub-band 6b (Segment 8): 18 lines (0.50 -> 0.75) ==========
-        {
-            // Start: 0.50 * d2 = d2 >> 1
-            // End: 0.75 * d2 = 0.50 + 0.25 = (d2 >> 1) + (d2 >> 2)
-            int startFixed = (d2 << 15);
-            int endFixed = startFixed + (d2 << 14);
-            int count = 18;
-            int increment = (endFixed - startFixed) / count;
-
-            int bgFixed = startFixed;
-            int limit = Math.min(VISIBLE_LINES, lineIndex + count);
-
-            for (; lineIndex < limit; lineIndex++) {
-                short bgScroll = (short) (bgFixed >> 16);
-                horizScrollBuf[lineIndex] = packScrollWords(fgScroll, bgScroll);
-
-                int offset = bgScroll - fgScroll;
-                if (offset < minScrollOffset)
-                    minScrollOffset = offset;
-                if (offset > maxScrollOffset)
-                    maxScrollOffset = offset;
-
-                bgFixed += increment;
-            }
-        }
+        // Start: 0.50 * d2 = d2 >> 1
+        // End: 0.75 * d2 = 0.50 + 0.25 = (d2 >> 1) + (d2 >> 2)
+        addGradient(d2 << 15, (d2 << 15) + (d2 << 14), 18);
 
         // ========== Sub-band 6c (Segment 9): 45 lines (0.75 -> 1.00) ==========
+        // Start: 0.75 * d2
+        // End: 1.00 * d2
         {
-            // Start: 0.75 * d2
-            // End: 1.00 * d2
             int endFixed = (d2 << 16);
-            int startFixed = (endFixed >> 1) + (endFixed >> 2);
-            int count = 45;
-            int increment = (endFixed - startFixed) / count;
-
-            int bgFixed = startFixed;
-            int limit = Math.min(VISIBLE_LINES, lineIndex + count);
-
-            for (; lineIndex < limit; lineIndex++) {
-                short bgScroll = (short) (bgFixed >> 16);
-                horizScrollBuf[lineIndex] = packScrollWords(fgScroll, bgScroll);
-
-                int offset = bgScroll - fgScroll;
-                if (offset < minScrollOffset)
-                    minScrollOffset = offset;
-                if (offset > maxScrollOffset)
-                    maxScrollOffset = offset;
-
-                bgFixed += increment;
-            }
+            addGradient((endFixed >> 1) + (endFixed >> 2), endFixed, 45);
         }
 
         // ==================== Bug Reproduction ====================
         // Original EHZ only writes 222 lines, leaving last 2 uninitialized.
+        bands.expand(horizScrollBuf, fgScroll);
+        minScrollOffset = bands.getMinScrollOffset();
+        maxScrollOffset = bands.getMaxScrollOffset();
     }
 
-    private void trackOffset(short fgScroll, short bgScroll) {
-        int offset = bgScroll - fgScroll;
-        if (offset < minScrollOffset) {
-            minScrollOffset = offset;
-        }
-        if (offset > maxScrollOffset) {
-            maxScrollOffset = offset;
+    /**
+     * Add {@code count} one-line bands stepping linearly in 16.16 fixed point from
+     * {@code startFixed} towards {@code endFixed}.
+     */
+    private void addGradient(int startFixed, int endFixed, int count) {
+        int increment = (endFixed - startFixed) / count;
+        int bgFixed = startFixed;
+        for (int i = 0; i < count; i++) {
+            bands.add(1, (short) (bgFixed >> 16));
+            bgFixed += increment;
         }
     }
 
+    /**
+     * Rewrite the whole table on the next update, for when something else has written
+     * to the buffer.
+     */
+    @Override
+    public void invalidate() {
+        bands.invalidate();
+    }
+
     @Override
     public short getVscrollFactorBG() {
         return vscrollFactorBG;
@@ -52,8 +52,12 @@ public class SwScrlMcz implements ZoneScrollHandler {
     private short vscrollFactorFG;
     private int bgY; // Raw background Y position (without ripple)
 
-    // Pre-allocated segment scroll array
+    // Pre-allocated segment scroll array, built for segScrollCameraX
     private final short[] segScroll = new short[24];
+    private int segScrollCameraX;
+    private boolean segScrollBuilt;
+
+    private final ScrollBands bands = new ScrollBands();
 
     // State
     private boolean screenShakeFlag = false;
@@ -73,9 +77,6 @@ public class SwScrlMcz implements ZoneScrollHandler {
             int frameCounter,
             int actId) {
 
-        minScrollOffset = Integer.MAX_VALUE;
-        maxScrollOffset = Integer.MIN_VALUE;
-
         // ==================== Step 1: Calculate BG Y (Act Dependent)
         // ====================
         // Original uses DIVU.W for unsigned division
@@ -117,7 +118,10 @@ public class SwScrlMcz implements ZoneScrollHandler {
         // Uses fixed-point accumulation matching 68000 behavior
         // base = floorSigned( ( (int32)cameraX << 4 ) / 10 )
         // baseFixed = base << 12
-        buildSegmentScrollValues(cameraX);
+        // The values only depend on the camera X, so they are kept until it moves
+        if (!segScrollBuilt || cameraX != segScrollCameraX) {
+            buildSegmentScrollValues(cameraX);
+        }
 
         // ==================== Step 4: Expand to Scanlines ====================
         if (tables == null) {
@@ -161,26 +165,26 @@ public class SwScrlMcz implements ZoneScrollHandler {
         // remainingInSeg = how many pixels left in current segment
         int remainingInSeg = (rowHeights[seg] & 0xFF) - yInCycle;
 
-        // Fill 224 screen lines
-        for (int screenLine = 0; screenLine < VISIBLE_LINES; screenLine++) {
+        // Fill 224 screen lines, one band per segment. Only segments whose scroll or
+        // extent changed since last frame are rewritten.
+        bands.begin();
+        while (bands.getLine() < VISIBLE_LINES) {
             // BG scroll = -(segScroll[seg])
             // Note: We track segScroll as the camera-relative offset, so
             // bgScroll = fgScroll + (cameraX - segScroll[seg])
             short segScrollVal = segScroll[seg];
-            short bgScroll = (short) (fgScroll + (cameraX - segScrollVal));
-
-            horizScrollBuf[screenLine] = packScrollWords(fgScroll, bgScroll);
-            trackOffset(fgScroll, bgScroll);
-
-            remainingInSeg--;
-            if (remainingInSeg == 0) {
-                seg++;
-                if (seg >= 24) {
-                    seg = 0; // Wrap around
-                }
-                remainingInSeg = rowHeights[seg] & 0xFF;
+            bands.add(remainingInSeg, (short) (fgScroll + (cameraX - segScrollVal)));
+
+            seg++;
+            if (seg >= 24) {
+                seg = 0; // Wrap around
             }
+            remainingInSeg = rowHeights[seg] & 0xFF;
         }
+
+        bands.expand(horizScrollBuf, fgScroll);
+        minScrollOffset = bands.getMinScrollOffset();
+        maxScrollOffset = bands.getMaxScrollOffset();
     }
 
     /**
@@ -214,6 +218,9 @@ public class SwScrlMcz implements ZoneScrollHandler {
         // accumulator starts at baseFixed (step 1 value)
         int accFixed = baseFixed;
 
+        segScrollCameraX = cameraX;
+        segScrollBuilt = true;
+
         // Process 9 steps
         for (int step = 1; step <= 9; step++) {
             // Extract the word value (signed 16-bit from bits 16-31 of accumulator)
@@ -286,17 +293,8 @@ public class SwScrlMcz implements ZoneScrollHandler {
         return (dividend - divisor + 1) / divisor;
     }
 
-    private void trackOffset(short fgScroll, short bgScroll) {
-        int offset = bgScroll - fgScroll;
-        if (offset < minScrollOffset) {
-            minScrollOffset = offset;
-        }
-        if (offset > maxScrollOffset) {
-            maxScrollOffset = offset;
-        }
-    }
-
     private void fillFallback(int[] horizScrollBuf, int cameraX) {
+        bands.invalidate();
         short fgScroll = negWord(cameraX);
         short bgScroll = asrWord(cameraX, 1); // 0.5x scroll as fallback
         int packed = packScrollWords(fgScroll, bgScroll);
@@ -309,6 +307,15 @@ public class SwScrlMcz implements ZoneScrollHandler {
         maxScrollOffset = minScrollOffset;
     }
 
+    /**
+     * Rewrite the whole table on the next update, for when something else has written
+     * to the buffer.
+     */
+    @Override
+    public void invalidate() {
+        bands.invalidate();
+    }
+
     @Override
     public short getVscrollFactorBG() {
         return vscrollFactorBG;
@@ -49,4 +49,13 @@ public interface ZoneScrollHandler {
      * @return Maximum (BG - FG) scroll offset
      */
     int getMaxScrollOffset();
+
+    /**
+     * Forget what was last written to the scroll buffer.
+     * 
+     * Handlers only rewrite the lines whose scroll changed since their last update, so
+     * this must be called when anything else may have written to the buffer in between
+     * (e.g. another zone's routine).
+     */
+    void invalidate();
 }
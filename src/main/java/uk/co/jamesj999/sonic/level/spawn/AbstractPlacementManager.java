@@ -4,19 +4,19 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.IdentityHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 /**
  * Shared windowing support for spawn placement managers.
+ * <p>
+ * Spawns are held sorted by X alongside primitive copies of their coordinates, so the window
+ * can be tracked as index cursors and per-spawn state kept in index-addressed bit sets.
  */
 public abstract class AbstractPlacementManager<T extends SpawnPoint> {
     protected final List<T> spawns;
-    protected final Set<T> active = new LinkedHashSet<>();
-    protected final Map<T, Integer> spawnIndexMap = new IdentityHashMap<>();
+    // Spawn coordinates, parallel to spawns
+    protected final int[] xs;
+    protected final int[] ys;
     private final int loadAhead;
     private final int unloadBehind;
 
@@ -26,8 +26,11 @@ public abstract class AbstractPlacementManager<T extends SpawnPoint> {
         this.spawns = Collections.unmodifiableList(sorted);
         this.loadAhead = loadAhead;
         this.unloadBehind = unloadBehind;
-        for (int i = 0; i < this.spawns.size(); i++) {
-            spawnIndexMap.put(this.spawns.get(i), i);
+        this.xs = new int[sorted.size()];
+        this.ys = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            xs[i] = sorted.get(i).x();
+            ys[i] = sorted.get(i).y();
         }
     }
 
@@ -35,13 +38,31 @@ public abstract class AbstractPlacementManager<T extends SpawnPoint> {
         return spawns;
     }
 
-    public Collection<T> getActiveSpawns() {
-        return Collections.unmodifiableCollection(active);
-    }
+    public abstract Collection<T> getActiveSpawns();
 
+    /**
+     * Index of {@code spawn} in {@link #getAllSpawns()}, found by binary search on X.
+     * Spawns are matched by identity.
+     */
     public int getSpawnIndex(T spawn) {
-        Integer index = spawnIndexMap.get(spawn);
-        return index != null ? index : -1;
+        if (spawn == null) {
+            return -1;
+        }
+        int x = spawn.x();
+        for (int i = lowerBound(x); i < xs.length && xs[i] == x; i++) {
+            if (spawns.get(i) == spawn) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getSpawnX(int index) {
+        return xs[index];
+    }
+
+    public int getSpawnY(int index) {
+        return ys[index];
     }
 
     protected int getLoadAhead() {
@@ -62,10 +83,10 @@ public abstract class AbstractPlacementManager<T extends SpawnPoint> {
 
     protected int lowerBound(int value) {
         int low = 0;
-        int high = spawns.size();
+        int high = xs.length;
         while (low < high) {
             int mid = (low + high) >>> 1;
-            if (spawns.get(mid).x() < value) {
+            if (xs[mid] < value) {
                 low = mid + 1;
             } else {
                 high = mid;
@@ -76,10 +97,10 @@ public abstract class AbstractPlacementManager<T extends SpawnPoint> {
 
     protected int upperBound(int value) {
         int low = 0;
-        int high = spawns.size();
+        int high = xs.length;
         while (low < high) {
             int mid = (low + high) >>> 1;
-            if (spawns.get(mid).x() <= value) {
+            if (xs[mid] <= value) {
                 low = mid + 1;
             } else {
                 high = mid;
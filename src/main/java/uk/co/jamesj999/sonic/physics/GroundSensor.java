@@ -1,6 +1,7 @@
 package uk.co.jamesj999.sonic.physics;
 
 import uk.co.jamesj999.sonic.level.ChunkDesc;
+import uk.co.jamesj999.sonic.level.CollisionField;
 import uk.co.jamesj999.sonic.level.LevelManager;
 import uk.co.jamesj999.sonic.level.SolidTile;
 import uk.co.jamesj999.sonic.sprites.SensorConfiguration;
@@ -8,11 +9,13 @@ import uk.co.jamesj999.sonic.sprites.managers.SpriteManager;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 public class GroundSensor extends Sensor {
-    private static LevelManager levelManager = LevelManager.getInstance();
+    // Resolved when the sprite is built, so sensors probe their own engine context's level
+    private final LevelManager levelManager = LevelManager.getInstance();
 
-    public static void setLevelManager(LevelManager levelManager) {
-        GroundSensor.levelManager = levelManager;
-    }
+    // Result of the last probe(): the solid tile found and the flips of the chunk it came from
+    private SolidTile probeTile;
+    private boolean probeHFlip;
+    private boolean probeVFlip;
 
     public GroundSensor(AbstractPlayableSprite sprite, Direction direction, byte x, byte y, boolean active) {
         super(sprite, direction, x, y, active);
@@ -30,9 +33,8 @@ public class GroundSensor extends Sensor {
         boolean vertical = sensorConfiguration.vertical();
         Direction globalDirection = sensorConfiguration.direction();
 
-        short[] rotatedOffset = getRotatedOffset();
-        short xOffset = rotatedOffset[0];
-        short yOffset = rotatedOffset[1];
+        short xOffset = getRotatedXOffset();
+        short yOffset = getRotatedYOffset();
 
         // Cache sprite center coordinates to avoid repeated getter calls
         int centreX = sprite.getCentreX();
@@ -66,7 +68,7 @@ public class GroundSensor extends Sensor {
         }
 
         byte distance = calculateDistance((byte) 0, originalX, originalY, nextX, nextY, globalDirection);
-        return createResultWithDistance(null, null, distance, globalDirection);
+        return createResultWithDistance(null, false, false, distance, globalDirection);
     }
 
     private SolidTile getSolidTile(ChunkDesc chunkDesc, int solidityBitIndex) {
@@ -80,6 +82,24 @@ public class GroundSensor extends Sensor {
         return levelManager.getSolidTileForChunkDesc(chunkDesc, solidityBitIndex);
     }
 
+    /**
+     * Looks up the solid tile at a position, using the baked collision field when the level has
+     * one and the chunk descriptor path otherwise. Sets probeTile, probeHFlip and probeVFlip.
+     */
+    private void probe(CollisionField field, byte mapLayer, int x, int y, int solidityBitIndex) {
+        if (field != null) {
+            int cell = field.getCell(x, y);
+            probeTile = field.getSolidTile(cell, solidityBitIndex);
+            probeHFlip = CollisionField.getHFlip(cell);
+            probeVFlip = CollisionField.getVFlip(cell);
+            return;
+        }
+        ChunkDesc chunkDesc = levelManager.getChunkDescAt(mapLayer, x, y);
+        probeTile = getSolidTile(chunkDesc, solidityBitIndex);
+        probeHFlip = chunkDesc != null && chunkDesc.getHFlip();
+        probeVFlip = chunkDesc != null && chunkDesc.getVFlip();
+    }
+
     private SensorResult scanTile(short originalX,
             short originalY,
             short checkX,
@@ -88,12 +108,16 @@ public class GroundSensor extends Sensor {
             int solidityBitIndex,
             Direction direction,
             boolean vertical) {
-        ChunkDesc chunkDesc = levelManager.getChunkDescAt(mapLayer, checkX, checkY);
-        SolidTile tile = getSolidTile(chunkDesc, solidityBitIndex);
+        // Collision is only baked for the foreground layer
+        CollisionField field = mapLayer == 0 ? levelManager.getCollisionField() : null;
+        probe(field, mapLayer, checkX, checkY, solidityBitIndex);
+        SolidTile tile = probeTile;
         if (tile == null) {
             return null;
         }
-        byte metric = getMetric(tile, chunkDesc, checkX, checkY, vertical, direction);
+        boolean hFlip = probeHFlip;
+        boolean vFlip = probeVFlip;
+        byte metric = getMetric(tile, hFlip, vFlip, checkX, checkY, vertical, direction);
         if (metric == 0) {
             return null;
         }
@@ -106,31 +130,35 @@ public class GroundSensor extends Sensor {
                 prevX = calculateNextTile(direction.opposite(), checkX);
             }
 
-            ChunkDesc prevDesc = levelManager.getChunkDescAt(mapLayer, prevX, prevY);
-            SolidTile prevTile = getSolidTile(prevDesc, solidityBitIndex);
-            byte prevMetric = getMetric(prevTile, prevDesc, prevX, prevY, vertical, direction);
+            probe(field, mapLayer, prevX, prevY, solidityBitIndex);
+            SolidTile prevTile = probeTile;
+            boolean prevHFlip = probeHFlip;
+            boolean prevVFlip = probeVFlip;
+            byte prevMetric = getMetric(prevTile, prevHFlip, prevVFlip, prevX, prevY, vertical, direction);
             if (prevMetric > 0 && prevMetric < 16) {
-                return createResult(prevTile, prevDesc, originalX, originalY, prevX, prevY, direction, vertical);
+                return createResult(prevTile, prevHFlip, prevVFlip, originalX, originalY, prevX, prevY, direction,
+                        vertical);
             }
 
             byte distance = calculateDistance(metric, originalX, originalY, checkX, checkY, direction);
-            return createResultWithDistance(tile, chunkDesc, distance, direction);
+            return createResultWithDistance(tile, hFlip, vFlip, distance, direction);
         }
 
-        return createResult(tile, chunkDesc, originalX, originalY, checkX, checkY, direction, vertical);
+        return createResult(tile, hFlip, vFlip, originalX, originalY, checkX, checkY, direction, vertical);
     }
 
-    private byte getMetric(SolidTile tile, ChunkDesc desc, int x, int y, boolean vertical, Direction direction) {
+    private byte getMetric(SolidTile tile, boolean hFlip, boolean vFlip, int x, int y, boolean vertical,
+            Direction direction) {
         if (tile == null)
             return 0;
         int index;
         if (vertical) {
             index = x & 0x0F;
-            if (desc != null && desc.getHFlip())
+            if (hFlip)
                 index = 15 - index;
             byte metric = tile.getHeightAt((byte) index);
             if (metric != 0 && metric != 16) {
-                boolean invert = (desc != null && desc.getVFlip()) ^ (direction == Direction.UP);
+                boolean invert = vFlip ^ (direction == Direction.UP);
                 if (invert) {
                     metric = (byte) (16 - metric);
                 }
@@ -138,11 +166,11 @@ public class GroundSensor extends Sensor {
             return metric;
         } else {
             index = y & 0x0F;
-            if (desc != null && desc.getVFlip())
+            if (vFlip)
                 index = 15 - index;
             byte metric = tile.getWidthAt((byte) index);
             if (metric != 0 && metric != 16) {
-                boolean invert = (desc != null && desc.getHFlip()) ^ (direction == Direction.LEFT);
+                boolean invert = hFlip ^ (direction == Direction.LEFT);
                 if (invert) {
                     metric = (byte) (16 - metric);
                 }
@@ -151,26 +179,25 @@ public class GroundSensor extends Sensor {
         }
     }
 
-    private SensorResult createResult(SolidTile tile, ChunkDesc desc, short originalX, short originalY, short checkX,
-            short checkY, Direction direction, boolean vertical) {
-        byte metric = getMetric(tile, desc, checkX, checkY, vertical, direction);
+    private SensorResult createResult(SolidTile tile, boolean hFlip, boolean vFlip, short originalX, short originalY,
+            short checkX, short checkY, Direction direction, boolean vertical) {
+        byte metric = getMetric(tile, hFlip, vFlip, checkX, checkY, vertical, direction);
         byte distance = calculateDistance(metric, originalX, originalY, checkX, checkY, direction);
 
-        return createResultWithDistance(tile, desc, distance, direction);
+        return createResultWithDistance(tile, hFlip, vFlip, distance, direction);
     }
 
-    private SensorResult createResultWithDistance(SolidTile tile, ChunkDesc desc, byte distance, Direction direction) {
+    private SensorResult createResultWithDistance(SolidTile tile, boolean hFlip, boolean vFlip, byte distance,
+            Direction direction) {
         byte angle = 0;
         int index = 0;
         if (tile != null) {
             // Get angle with flips
-            boolean hFlip = (desc != null) && desc.getHFlip();
-            boolean vFlip = (desc != null) && desc.getVFlip();
             angle = tile.getAngle(hFlip, vFlip);
             index = tile.getIndex();
         }
 
-        return new SensorResult(angle, distance, index, direction);
+        return result.set(angle, distance, index, direction);
     }
 
     private byte calculateDistance(byte metric, short originalX, short originalY, short checkX, short checkY,
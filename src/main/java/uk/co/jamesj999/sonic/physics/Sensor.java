@@ -1,7 +1,6 @@
 package uk.co.jamesj999.sonic.physics;
 
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
-import uk.co.jamesj999.sonic.sprites.playable.GroundMode;
 
 public abstract class Sensor {
     protected AbstractPlayableSprite sprite;
@@ -11,6 +10,8 @@ public abstract class Sensor {
     protected boolean active;
 
     protected SensorResult currentResult;
+    // Refilled by each scan rather than allocating a new result
+    protected final SensorResult result = new SensorResult();
 
     protected abstract SensorResult doScan(short dx, short dy);
 
@@ -35,30 +36,28 @@ public abstract class Sensor {
         return direction;
     }
 
-    public short[] getRotatedOffset() {
-        short xOffset = x;
-        short yOffset = y;
-
-        GroundMode mode = sprite.getGroundMode();
-        switch (mode) {
-            case RIGHTWALL -> {
-                short temp = xOffset;
-                xOffset = yOffset;
-                yOffset = (short) -temp;
-            }
-            case CEILING -> {
-                xOffset = (short) -xOffset;
-                yOffset = (short) -yOffset;
-            }
-            case LEFTWALL -> {
-                short temp = xOffset;
-                xOffset = (short) -yOffset;
-                yOffset = temp;
-            }
-            default -> { }
-        }
-
-        return new short[] { xOffset, yOffset };
+    /**
+     * Sensor X offset from the sprite centre, rotated for the current ground mode.
+     */
+    public short getRotatedXOffset() {
+        return switch (sprite.getGroundMode()) {
+            case RIGHTWALL -> y;
+            case CEILING -> (short) -x;
+            case LEFTWALL -> (short) -y;
+            default -> x;
+        };
+    }
+
+    /**
+     * Sensor Y offset from the sprite centre, rotated for the current ground mode.
+     */
+    public short getRotatedYOffset() {
+        return switch (sprite.getGroundMode()) {
+            case RIGHTWALL -> (short) -x;
+            case CEILING -> (short) -y;
+            case LEFTWALL -> x;
+            default -> y;
+        };
     }
 
     public SensorResult getCurrentResult() {
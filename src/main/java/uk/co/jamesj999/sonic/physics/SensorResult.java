@@ -1,4 +1,51 @@
 package uk.co.jamesj999.sonic.physics;
 
-public record SensorResult(byte angle, byte distance, int tileId, Direction direction) {
+/**
+ * Result of a sensor scan.
+ * <p>
+ * Each sensor owns a single result that is refilled on every scan, so a result is only valid
+ * until the next scan of the sensor that produced it.
+ */
+public final class SensorResult {
+    private byte angle;
+    private byte distance;
+    private int tileId;
+    private Direction direction;
+
+    public SensorResult() {
+    }
+
+    public SensorResult(byte angle, byte distance, int tileId, Direction direction) {
+        set(angle, distance, tileId, direction);
+    }
+
+    SensorResult set(byte angle, byte distance, int tileId, Direction direction) {
+        this.angle = angle;
+        this.distance = distance;
+        this.tileId = tileId;
+        this.direction = direction;
+        return this;
+    }
+
+    public byte angle() {
+        return angle;
+    }
+
+    public byte distance() {
+        return distance;
+    }
+
+    public int tileId() {
+        return tileId;
+    }
+
+    public Direction direction() {
+        return direction;
+    }
+
+    @Override
+    public String toString() {
+        return "SensorResult[angle=" + angle + ", distance=" + distance + ", tileId=" + tileId
+                + ", direction=" + direction + "]";
+    }
 }
@@ -1,18 +1,22 @@
 package uk.co.jamesj999.sonic.physics;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 public class TerrainCollisionManager {
-	private static TerrainCollisionManager terrainCollisionManager;
 
 	// In the future, we may need to expand this method to work with AbstractSprite too for NPCs.
 	public SensorResult[] getSensorResult(Sensor[] sensors) {
-		SensorResult[] results = new SensorResult[sensors.length];
+		return getSensorResult(sensors, new SensorResult[sensors.length]);
+	}
 
+	/**
+	 * Scans each sensor into {@code results}, which must be at least as long as {@code sensors}.
+	 */
+	public SensorResult[] getSensorResult(Sensor[] sensors, SensorResult[] results) {
 		for (int i = 0; i < sensors.length; i++) {
 			results[i] = sensors[i].scan();
 		}
-
 		return results;
 	}
 		// I know, I thought it was closest to 0 too, but apparently not
@@ -93,10 +97,7 @@ public class TerrainCollisionManager {
 		return output;
 	}
 
-	public synchronized static TerrainCollisionManager getInstance() {
-		if (terrainCollisionManager == null) {
-			terrainCollisionManager = new TerrainCollisionManager();
-		}
-		return terrainCollisionManager;
+	public static TerrainCollisionManager getInstance() {
+		return EngineContext.current().service(TerrainCollisionManager.class, TerrainCollisionManager::new);
 	}
 }
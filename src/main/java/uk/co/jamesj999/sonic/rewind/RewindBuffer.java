@@ -0,0 +1,307 @@
+package uk.co.jamesj999.sonic.rewind;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of per-frame snapshots held off-heap.
+ * <p>
+ * Every {@code keyframeInterval} frames a snapshot is stored whole. The frames in between are
+ * stored as the XOR of the snapshot against that keyframe, with runs of zero bytes (state that
+ * did not change) collapsed, so a typical frame costs tens of bytes. Reading any frame back is
+ * one keyframe copy plus one delta pass. When the buffer is full the oldest frames are dropped,
+ * along with any deltas whose keyframe went with them.
+ */
+public class RewindBuffer {
+    // A zero run shorter than this is cheaper to carry inside a literal than to start a new run
+    private static final int MIN_ZERO_RUN = 2;
+
+    private final ByteBuffer storage;
+    private final int capacity;
+    private final int maxFrames;
+    private final int keyframeInterval;
+
+    // Per-frame index, addressed by sequence number modulo maxFrames
+    private final int[] offsets;
+    private final int[] encodedLengths;
+    private final int[] rawLengths;
+    private final long[] keyframeSeqs;
+
+    private long oldestSeq;
+    private long nextSeq;
+    private int writeOffset;
+
+    // Raw bytes of the keyframe new deltas are taken against
+    private byte[] base = new byte[0];
+    private int baseLength;
+    private long baseSeq = -1;
+
+    private byte[] encoded = new byte[0];
+    private byte[] decoded = new byte[0];
+
+    public RewindBuffer(int capacityBytes, int maxFrames, int keyframeInterval) {
+        if (capacityBytes <= 0 || maxFrames <= 0 || keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Rewind buffer sizes must be positive");
+        }
+        this.storage = ByteBuffer.allocateDirect(capacityBytes);
+        this.capacity = capacityBytes;
+        this.maxFrames = maxFrames;
+        this.keyframeInterval = keyframeInterval;
+        this.offsets = new int[maxFrames];
+        this.encodedLengths = new int[maxFrames];
+        this.rawLengths = new int[maxFrames];
+        this.keyframeSeqs = new long[maxFrames];
+    }
+
+    /**
+     * Number of frames that can currently be read back.
+     */
+    public int size() {
+        return (int) (nextSeq - oldestSeq);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getMaxFrames() {
+        return maxFrames;
+    }
+
+    public void clear() {
+        oldestSeq = nextSeq;
+        writeOffset = 0;
+        baseSeq = -1;
+        baseLength = 0;
+    }
+
+    /**
+     * Appends {@code snapshot} as the newest frame, evicting the oldest frames as needed.
+     *
+     * @throws IllegalArgumentException if a single snapshot is larger than the whole buffer
+     */
+    public void push(StateWriter snapshot) {
+        byte[] raw = snapshot.array();
+        int rawLength = snapshot.size();
+        if (rawLength > capacity) {
+            throw new IllegalArgumentException("Snapshot of " + rawLength
+                    + " bytes does not fit in a rewind buffer of " + capacity + " bytes");
+        }
+        if (size() == maxFrames) {
+            oldestSeq++;
+            dropOrphanedDeltas();
+        }
+
+        boolean keyframe = baseSeq < oldestSeq || nextSeq - baseSeq >= keyframeInterval;
+        int encodedLength = keyframe ? rawLength : encodeDelta(raw, rawLength);
+        if (!keyframe && encodedLength >= rawLength) {
+            keyframe = true;
+            encodedLength = rawLength;
+        }
+
+        int offset = makeRoom(encodedLength);
+        if (!keyframe && baseSeq < oldestSeq) {
+            // Making room evicted the keyframe this delta was taken against
+            keyframe = true;
+            encodedLength = rawLength;
+            offset = makeRoom(encodedLength);
+        }
+
+        storage.put(offset, keyframe ? raw : encoded, 0, encodedLength);
+        int slot = slot(nextSeq);
+        offsets[slot] = offset;
+        encodedLengths[slot] = encodedLength;
+        rawLengths[slot] = rawLength;
+        keyframeSeqs[slot] = keyframe ? nextSeq : baseSeq;
+        if (keyframe) {
+            base = ensureCapacity(base, rawLength);
+            System.arraycopy(raw, 0, base, 0, rawLength);
+            baseLength = rawLength;
+            baseSeq = nextSeq;
+        }
+        writeOffset = offset + encodedLength;
+        nextSeq++;
+    }
+
+    /**
+     * Decodes the frame {@code age} frames before the newest (0 is the newest).
+     *
+     * @throws IndexOutOfBoundsException if that frame is no longer held
+     */
+    public StateReader read(int age) {
+        if (age < 0 || age >= size()) {
+            throw new IndexOutOfBoundsException("Frame " + age + " back is not held (" + size() + " frames)");
+        }
+        long seq = nextSeq - 1 - age;
+        int length = decode(seq);
+        return new StateReader(decoded, length);
+    }
+
+    /**
+     * Drops the newest {@code frames} frames, so that the frame before them becomes the newest
+     * and recording carries on from there.
+     */
+    public void truncate(int frames) {
+        int dropped = Math.min(Math.max(0, frames), size());
+        if (dropped == 0) {
+            return;
+        }
+        nextSeq -= dropped;
+        if (size() == 0) {
+            clear();
+            return;
+        }
+        int newest = slot(nextSeq - 1);
+        writeOffset = offsets[newest] + encodedLengths[newest];
+        long keySeq = keyframeSeqs[newest];
+        if (baseSeq != keySeq) {
+            int keySlot = slot(keySeq);
+            baseLength = rawLengths[keySlot];
+            base = ensureCapacity(base, baseLength);
+            storage.get(offsets[keySlot], base, 0, baseLength);
+            baseSeq = keySeq;
+        }
+    }
+
+    private int decode(long seq) {
+        int slot = slot(seq);
+        int rawLength = rawLengths[slot];
+        long keySeq = keyframeSeqs[slot];
+        int keySlot = slot(keySeq);
+        int keyLength = rawLengths[keySlot];
+
+        decoded = ensureCapacity(decoded, Math.max(rawLength, keyLength));
+        storage.get(offsets[keySlot], decoded, 0, keyLength);
+        if (keySeq == seq) {
+            return rawLength;
+        }
+        if (rawLength > keyLength) {
+            Arrays.fill(decoded, keyLength, rawLength, (byte) 0);
+        }
+
+        int in = offsets[slot];
+        int end = in + encodedLengths[slot];
+        int out = 0;
+        while (in < end) {
+            int zeroRun = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = storage.get(in++);
+                zeroRun |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            out += zeroRun;
+
+            int literal = 0;
+            shift = 0;
+            do {
+                b = storage.get(in++);
+                literal |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            for (int i = 0; i < literal; i++) {
+                decoded[out++] ^= storage.get(in++);
+            }
+        }
+        return rawLength;
+    }
+
+    /**
+     * XORs {@code raw} against the current keyframe into {@link #encoded} as alternating
+     * zero-run and literal lengths, each followed by its literal bytes.
+     */
+    private int encodeDelta(byte[] raw, int rawLength) {
+        // Worst case is a literal of one byte between every minimum zero run
+        encoded = ensureCapacity(encoded, rawLength * 2 + 16);
+        int out = 0;
+        int i = 0;
+        while (i < rawLength) {
+            int runStart = i;
+            while (i < rawLength && delta(raw, i) == 0) {
+                i++;
+            }
+            int zeroRun = i - runStart;
+
+            int literalStart = i;
+            while (i < rawLength && !zeroRunAt(raw, rawLength, i)) {
+                i++;
+            }
+            int literal = i - literalStart;
+
+            out = writeVarint(zeroRun, out);
+            out = writeVarint(literal, out);
+            for (int j = literalStart; j < i; j++) {
+                encoded[out++] = delta(raw, j);
+            }
+        }
+        return out;
+    }
+
+    private boolean zeroRunAt(byte[] raw, int rawLength, int index) {
+        int end = Math.min(rawLength, index + MIN_ZERO_RUN);
+        for (int i = index; i < end; i++) {
+            if (delta(raw, i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte delta(byte[] raw, int index) {
+        return index < baseLength ? (byte) (raw[index] ^ base[index]) : raw[index];
+    }
+
+    private int writeVarint(int value, int out) {
+        while ((value & ~0x7F) != 0) {
+            encoded[out++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        encoded[out++] = (byte) value;
+        return out;
+    }
+
+    /**
+     * Picks where the next {@code length} bytes go and evicts the frames stored there.
+     */
+    private int makeRoom(int length) {
+        int offset = writeOffset;
+        if (offset + length > capacity) {
+            offset = 0;
+            // The tail past the write position is abandoned by the wrap; frames still stored
+            // there are the oldest and go first
+            while (size() > 0 && offsets[slot(oldestSeq)] >= writeOffset) {
+                oldestSeq++;
+                dropOrphanedDeltas();
+            }
+        }
+        // Frames are laid out in sequence order around the ring, so only the oldest can
+        // be in the way
+        while (size() > 0 && overlapsOldest(offset, length)) {
+            oldestSeq++;
+            dropOrphanedDeltas();
+        }
+        return offset;
+    }
+
+    private boolean overlapsOldest(int offset, int length) {
+        int slot = slot(oldestSeq);
+        int start = offsets[slot];
+        int end = start + encodedLengths[slot];
+        return offset < end && start < offset + length;
+    }
+
+    private void dropOrphanedDeltas() {
+        while (size() > 0 && keyframeSeqs[slot(oldestSeq)] < oldestSeq) {
+            oldestSeq++;
+        }
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % maxFrames);
+    }
+
+    private static byte[] ensureCapacity(byte[] array, int length) {
+        return array.length >= length ? array : new byte[Math.max(length, array.length * 2)];
+    }
+}
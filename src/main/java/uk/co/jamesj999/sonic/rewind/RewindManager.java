@@ -0,0 +1,200 @@
+package uk.co.jamesj999.sonic.rewind;
+
+import uk.co.jamesj999.sonic.EngineContext;
+import uk.co.jamesj999.sonic.audio.AudioManager;
+import uk.co.jamesj999.sonic.camera.Camera;
+import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
+import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
+import uk.co.jamesj999.sonic.game.GameRng;
+import uk.co.jamesj999.sonic.game.GameStateManager;
+import uk.co.jamesj999.sonic.game.sonic2.OscillationManager;
+import uk.co.jamesj999.sonic.level.LevelManager;
+import uk.co.jamesj999.sonic.level.objects.ObjectManager;
+import uk.co.jamesj999.sonic.sprites.Sprite;
+import uk.co.jamesj999.sonic.sprites.managers.SpriteManager;
+import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
+import uk.co.jamesj999.sonic.timer.TimerManager;
+
+import java.util.List;
+
+/**
+ * Records a snapshot of the level at the end of every frame and can step back through them.
+ * <p>
+ * A snapshot covers the players, camera, placed objects and placement windows, rings, timers,
+ * oscillators, RNG, score and the music position. Snapshots only apply to the level they were
+ * taken in, so history is dropped whenever a level is loaded. The first snapshot after a load
+ * is also kept aside as a retry point, so a level can be restarted without reloading it.
+ */
+public class RewindManager {
+    // One whole snapshot a second keeps deltas small and any frame a single delta away
+    private static final int KEYFRAME_INTERVAL = 60;
+    private static final int FRAMES_PER_SECOND = 60;
+
+    private final StateWriter writer = new StateWriter(16 * 1024);
+    private final RewindBuffer buffer;
+    // A level load replaces the object manager, which is how a new level is noticed
+    private ObjectManager capturedFor;
+    private byte[] retryPoint = new byte[0];
+    private int retryLength;
+
+    private RewindManager() {
+        SonicConfigurationService configService = SonicConfigurationService.getInstance();
+        int seconds = configService.getInt(SonicConfiguration.REWIND_SECONDS);
+        int bytes = configService.getInt(SonicConfiguration.REWIND_BUFFER_BYTES);
+        buffer = seconds > 0 && bytes > 0
+                ? new RewindBuffer(bytes, seconds * FRAMES_PER_SECOND, KEYFRAME_INTERVAL)
+                : null;
+    }
+
+    public static RewindManager getInstance() {
+        return EngineContext.current().service(RewindManager.class, RewindManager::new);
+    }
+
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    /**
+     * Frames that can currently be stepped back through.
+     */
+    public int getAvailableFrames() {
+        return buffer != null ? Math.max(0, buffer.size() - 1) : 0;
+    }
+
+    /**
+     * Records the state at the end of this frame.
+     */
+    public void capture() {
+        if (buffer == null) {
+            return;
+        }
+        ObjectManager objectManager = LevelManager.getInstance().getObjectManager();
+        if (objectManager == null) {
+            return;
+        }
+        if (objectManager != capturedFor) {
+            clear();
+            capturedFor = objectManager;
+        }
+
+        writer.reset();
+        writeState(writer);
+        buffer.push(writer);
+        if (retryLength == 0) {
+            retryLength = writer.size();
+            if (retryPoint.length < retryLength) {
+                retryPoint = new byte[retryLength];
+            }
+            System.arraycopy(writer.array(), 0, retryPoint, 0, retryLength);
+        }
+    }
+
+    /**
+     * Steps back one frame.
+     *
+     * @return false if there was nothing earlier to go back to
+     */
+    public boolean stepBack() {
+        return rewind(1);
+    }
+
+    /**
+     * Goes back {@code frames} frames, or as far as the history reaches. Recording carries on
+     * from the restored frame.
+     *
+     * @return false if there was nothing earlier to go back to
+     */
+    public boolean rewind(int frames) {
+        if (buffer == null || !isCurrentLevel()) {
+            return false;
+        }
+        int steps = Math.min(frames, buffer.size() - 1);
+        if (steps <= 0) {
+            return false;
+        }
+        buffer.truncate(steps);
+        readState(buffer.read(0));
+        return true;
+    }
+
+    /**
+     * Puts the level back to its first recorded frame, as if it had just been loaded. Every
+     * placed object is created afresh from its spawn rather than carried over.
+     *
+     * @return false if nothing has been recorded for this level
+     */
+    public boolean retry() {
+        if (retryLength == 0 || !isCurrentLevel()) {
+            return false;
+        }
+        capturedFor.clearPlacedObjects();
+        readState(new StateReader(retryPoint, retryLength));
+        buffer.clear();
+        return true;
+    }
+
+    /**
+     * Drops all history and the retry point.
+     */
+    public void clear() {
+        if (buffer != null) {
+            buffer.clear();
+        }
+        retryLength = 0;
+        capturedFor = null;
+    }
+
+    private boolean isCurrentLevel() {
+        return capturedFor != null && capturedFor == LevelManager.getInstance().getObjectManager();
+    }
+
+    private void writeState(StateWriter out) {
+        out.writeInt(GameRng.getInstance().getSeed());
+        OscillationManager.saveState(out);
+        TimerManager.getInstance().saveState(out);
+        Camera.getInstance().saveState(out);
+        GameStateManager.getInstance().saveState(out);
+        LevelManager.getInstance().saveState(out);
+
+        List<Sprite> sprites = SpriteManager.getInstance().getAllSprites();
+        int players = 0;
+        for (int i = 0; i < sprites.size(); i++) {
+            if (sprites.get(i) instanceof AbstractPlayableSprite) {
+                players++;
+            }
+        }
+        out.writeByte(players);
+        for (int i = 0; i < sprites.size(); i++) {
+            if (sprites.get(i) instanceof AbstractPlayableSprite playable) {
+                out.writeString(playable.getCode());
+                int mark = out.beginBlock();
+                playable.saveState(out);
+                out.endBlock(mark);
+            }
+        }
+
+        AudioManager.getInstance().saveState(out);
+    }
+
+    private void readState(StateReader in) {
+        GameRng.getInstance().setSeed(in.readInt());
+        OscillationManager.loadState(in);
+        TimerManager.getInstance().loadState(in);
+        Camera.getInstance().loadState(in);
+        GameStateManager.getInstance().loadState(in);
+        LevelManager.getInstance().loadState(in);
+
+        int players = in.readByte();
+        for (int i = 0; i < players; i++) {
+            String code = in.readString();
+            int length = in.readBlockLength();
+            if (SpriteManager.getInstance().getSprite(code) instanceof AbstractPlayableSprite playable) {
+                playable.loadState(in);
+            } else {
+                in.skip(length);
+            }
+        }
+
+        AudioManager.getInstance().loadState(in);
+    }
+}
@@ -0,0 +1,14 @@
+package uk.co.jamesj999.sonic.rewind;
+
+/**
+ * State that can be written into a rewind snapshot and read back.
+ * <p>
+ * {@link #loadState} must read exactly what {@link #saveState} wrote, in the same order.
+ * Implementations only write plain values; anything that references other objects is written
+ * as an index or code and resolved again on load.
+ */
+public interface Snapshottable {
+    void saveState(StateWriter out);
+
+    void loadState(StateReader in);
+}
@@ -0,0 +1,85 @@
+package uk.co.jamesj999.sonic.rewind;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+/**
+ * Reads back a snapshot written by {@link StateWriter}.
+ */
+public final class StateReader {
+    private final ByteBuffer buffer;
+
+    public StateReader(byte[] data, int length) {
+        this.buffer = ByteBuffer.wrap(data, 0, length);
+    }
+
+    public int remaining() {
+        return buffer.remaining();
+    }
+
+    public int readByte() {
+        return buffer.get();
+    }
+
+    public boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    public short readShort() {
+        return buffer.getShort();
+    }
+
+    public int readInt() {
+        return buffer.getInt();
+    }
+
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    public float readFloat() {
+        return Float.intBitsToFloat(buffer.getInt());
+    }
+
+    public double readDouble() {
+        return Double.longBitsToDouble(buffer.getLong());
+    }
+
+    public String readString() {
+        int length = buffer.getShort() & 0xFFFF;
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) buffer.getShort();
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Reads the length of a block started with {@link StateWriter#beginBlock()}. Follow it
+     * with the block's contents, or pass it to {@link #skip} to ignore them.
+     */
+    public int readBlockLength() {
+        return buffer.getInt();
+    }
+
+    public void skip(int bytes) {
+        buffer.position(buffer.position() + bytes);
+    }
+
+    /**
+     * Replaces the contents of {@code bits} with a set written by {@link StateWriter#writeBits}.
+     */
+    public void readBits(BitSet bits) {
+        bits.clear();
+        int words = buffer.getInt();
+        for (int word = 0; word < words; word++) {
+            long value = buffer.getLong();
+            int base = word << 6;
+            while (value != 0) {
+                int bit = Long.numberOfTrailingZeros(value);
+                bits.set(base + bit);
+                value &= value - 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package uk.co.jamesj999.sonic.rewind;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Growable byte sink that snapshots are serialised into. Reused from frame to frame, so
+ * writing a snapshot only allocates when it outgrows every snapshot before it.
+ */
+public final class StateWriter {
+    private ByteBuffer buffer;
+
+    public StateWriter(int initialCapacity) {
+        buffer = ByteBuffer.allocate(Math.max(64, initialCapacity));
+    }
+
+    /**
+     * Discards everything written so the writer can be reused.
+     */
+    public void reset() {
+        buffer.clear();
+    }
+
+    public int size() {
+        return buffer.position();
+    }
+
+    /**
+     * Backing array; the snapshot occupies {@code [0, size())}.
+     */
+    byte[] array() {
+        return buffer.array();
+    }
+
+    /**
+     * Copy of everything written so far.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public void writeByte(int value) {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeShort(int value) {
+        ensure(2);
+        buffer.putShort((short) value);
+    }
+
+    public void writeInt(int value) {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    public void writeLong(long value) {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    public void writeFloat(float value) {
+        writeInt(Float.floatToRawIntBits(value));
+    }
+
+    public void writeDouble(double value) {
+        writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Writes a short string such as a timer code.
+     */
+    public void writeString(String value) {
+        writeShort(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            writeShort(value.charAt(i));
+        }
+    }
+
+    /**
+     * Writes {@code bits} as a word count followed by 64-bit words, without copying the set.
+     */
+    public void writeBits(BitSet bits) {
+        int words = (bits.length() + 63) >>> 6;
+        writeInt(words);
+        for (int word = 0; word < words; word++) {
+            int base = word << 6;
+            long value = 0;
+            for (int i = bits.nextSetBit(base); i >= 0 && i < base + 64; i = bits.nextSetBit(i + 1)) {
+                value |= 1L << (i - base);
+            }
+            writeLong(value);
+        }
+    }
+
+    /**
+     * Starts a length-prefixed block, so that a reader with nothing to restore it into can
+     * skip it using {@link StateReader#readBlockLength()} and {@link StateReader#skip}.
+     *
+     * @return the mark to pass to {@link #endBlock}
+     */
+    public int beginBlock() {
+        writeInt(0);
+        return buffer.position();
+    }
+
+    public void endBlock(int mark) {
+        buffer.putInt(mark - 4, buffer.position() - mark);
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+}
@@ -1,6 +1,6 @@
 package uk.co.jamesj999.sonic.sprites.managers;
 
-import uk.co.jamesj999.sonic.Engine;
+import uk.co.jamesj999.sonic.debug.DebugViewState;
 import uk.co.jamesj999.sonic.sprites.Sprite;
 
 public class DebugSpriteMovementManager extends AbstractSpriteMovementManager {
@@ -26,7 +26,7 @@ public class DebugSpriteMovementManager extends AbstractSpriteMovementManager {
         }
         if (space) {
             if (debounceTestKey <= 0) {
-                Engine.nextDebugOption();
+                DebugViewState.getInstance().nextOption();
                 debounceTestKey = 10;
             }
             else {
@@ -35,7 +35,7 @@ public class DebugSpriteMovementManager extends AbstractSpriteMovementManager {
         }
         if(testKey){
             if (debounceTestKey <= 0) {
-                Engine.nextDebugState();
+                DebugViewState.getInstance().nextState();
                 debounceTestKey = 10;
             }
             else {
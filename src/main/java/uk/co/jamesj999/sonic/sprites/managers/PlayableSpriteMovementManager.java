@@ -6,6 +6,9 @@ import uk.co.jamesj999.sonic.physics.Sensor;
 import uk.co.jamesj999.sonic.physics.SensorResult;
 import uk.co.jamesj999.sonic.physics.TerrainCollisionManager;
 import uk.co.jamesj999.sonic.physics.TrigLookupTable;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.audio.AudioManager;
 import uk.co.jamesj999.sonic.audio.GameSound;
 import uk.co.jamesj999.sonic.sprites.animation.ScriptedVelocityAnimationProfile;
@@ -19,7 +22,7 @@ import uk.co.jamesj999.sonic.timer.timers.SpindashCameraTimer;
 import java.util.logging.Logger;
 
 public class PlayableSpriteMovementManager extends
-		AbstractSpriteMovementManager<AbstractPlayableSprite> {
+		AbstractSpriteMovementManager<AbstractPlayableSprite> implements Snapshottable {
 	private static final Logger LOGGER = Logger.getLogger(PlayableSpriteMovementManager.class.getName());
 
 	private final TerrainCollisionManager terrainCollisionManager = TerrainCollisionManager
@@ -34,6 +37,8 @@ public class PlayableSpriteMovementManager extends
 	private final short slopeRollingUp;
 	private final short slopeRollingDown;
 	private final short rollDecel;
+	// Built once; the lock is looked up every frame
+	private final String controlLockTimerCode;
 
 	private boolean jumpPressed;
 	private boolean jumpHeld;
@@ -47,6 +52,11 @@ public class PlayableSpriteMovementManager extends
 
 	private boolean testKeyPressed;
 
+	// Scan result buffers, reused every frame
+	private SensorResult[] groundResults = new SensorResult[0];
+	private SensorResult[] ceilingResults = new SensorResult[0];
+	private SensorResult[] pushResults = new SensorResult[0];
+
 	public PlayableSpriteMovementManager(AbstractPlayableSprite sprite) {
 		super(sprite);
 		// Note: max, runAccel, runDecel, and friction are read dynamically from sprite
@@ -58,6 +68,29 @@ public class PlayableSpriteMovementManager extends
 		slopeRollingUp = sprite.getSlopeRollingUp();
 		slopeRollingDown = sprite.getSlopeRollingDown();
 		rollDecel = sprite.getRollDecel();
+		controlLockTimerCode = "ControlLock-" + sprite.getCode();
+	}
+
+	/**
+	 * Writes the button edge state, so a restored frame does not see a held jump as a new
+	 * press.
+	 */
+	@Override
+	public void saveState(StateWriter out) {
+		out.writeBoolean(jumpPressed);
+		out.writeBoolean(jumpHeld);
+		out.writeBoolean(skidding);
+		out.writeBoolean(downLocked);
+		out.writeBoolean(testKeyPressed);
+	}
+
+	@Override
+	public void loadState(StateReader in) {
+		jumpPressed = in.readBoolean();
+		jumpHeld = in.readBoolean();
+		skidding = in.readBoolean();
+		downLocked = in.readBoolean();
+		testKeyPressed = in.readBoolean();
 	}
 
 	@Override
@@ -100,7 +133,7 @@ public class PlayableSpriteMovementManager extends
 			testKeyPressed = false;
 		}
 
-		boolean controlLocked = TimerManager.getInstance().getTimerForCode("ControlLock-" + sprite.getCode()) != null;
+		boolean controlLocked = TimerManager.getInstance().getTimerForCode(controlLockTimerCode) != null;
 
 		// SPG: Store raw button state before control lock modifies it.
 		// During control lock, friction is only applied when NO buttons are pressed.
@@ -207,7 +240,7 @@ public class PlayableSpriteMovementManager extends
 						sprite.setYSpeed((short) 0);
 
 						TimerManager.getInstance()
-								.registerTimer(new ControlLockTimer("ControlLock-" + sprite.getCode(), 30, sprite));
+								.registerTimer(new ControlLockTimer(controlLockTimerCode, 30, sprite));
 					}
 				}
 			}
@@ -241,8 +274,12 @@ public class PlayableSpriteMovementManager extends
 		}
 
 		// Perform terrain checks - results are updated directly into the sprite
-		SensorResult[] groundResult = terrainCollisionManager.getSensorResult(sprite.getGroundSensors());
-		SensorResult[] ceilingResult = terrainCollisionManager.getSensorResult(sprite.getCeilingSensors());
+		Sensor[] groundSensors = sprite.getGroundSensors();
+		Sensor[] ceilingSensors = sprite.getCeilingSensors();
+		groundResults = sized(groundResults, groundSensors.length);
+		ceilingResults = sized(ceilingResults, ceilingSensors.length);
+		SensorResult[] groundResult = terrainCollisionManager.getSensorResult(groundSensors, groundResults);
+		SensorResult[] ceilingResult = terrainCollisionManager.getSensorResult(ceilingSensors, ceilingResults);
 
 		doTerrainCollision(sprite, groundResult);
 		doCeilingCollision(sprite, ceilingResult);
@@ -299,7 +336,8 @@ public class PlayableSpriteMovementManager extends
 	}
 
 	private void doWallCollision(AbstractPlayableSprite sprite) {
-		SensorResult[] pushResult = new SensorResult[sprite.getPushSensors().length];
+		pushResults = sized(pushResults, sprite.getPushSensors().length);
+		SensorResult[] pushResult = pushResults;
 		// If grounded, we need to check if we're going to hit a wall based on our
 		// xSpeed.
 		// If we are, we need to stop moving.
@@ -375,14 +413,10 @@ public class PlayableSpriteMovementManager extends
 
 				if (collision) {
 					// Add a 1px buffer to prevent sticking to walls
-					if (dir == Direction.RIGHT) {
-						lowestResult = new SensorResult(lowestResult.angle(), (byte) (lowestResult.distance() - 1),
-								lowestResult.tileId(), lowestResult.direction());
-					} else if (dir == Direction.LEFT) {
-						lowestResult = new SensorResult(lowestResult.angle(), (byte) (lowestResult.distance() - 1),
-								lowestResult.tileId(), lowestResult.direction());
+					if (dir == Direction.RIGHT || dir == Direction.LEFT) {
+						distance = (byte) (distance - 1);
 					}
-					moveForSensorResult(sprite, lowestResult);
+					moveForDistance(sprite, dir, distance);
 					sprite.setXSpeed((short) 0);
 					sprite.setGSpeed((short) 0);
 				}
@@ -1102,9 +1136,16 @@ public class PlayableSpriteMovementManager extends
 		return lowestResult;
 	}
 
+	private static SensorResult[] sized(SensorResult[] buffer, int length) {
+		return buffer.length == length ? buffer : new SensorResult[length];
+	}
+
 	private void moveForSensorResult(AbstractPlayableSprite sprite, SensorResult result) {
-		byte distance = result.distance();
-		switch (result.direction()) {
+		moveForDistance(sprite, result.direction(), result.distance());
+	}
+
+	private void moveForDistance(AbstractPlayableSprite sprite, Direction direction, byte distance) {
+		switch (direction) {
 			case UP -> sprite.setY((short) (sprite.getY() - distance));
 			case DOWN -> sprite.setY((short) (sprite.getY() + distance));
 			case LEFT -> sprite.setX((short) (sprite.getX() - distance));
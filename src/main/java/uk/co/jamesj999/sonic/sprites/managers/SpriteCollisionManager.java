@@ -1,5 +1,6 @@
 package uk.co.jamesj999.sonic.sprites.managers;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.Control.InputHandler;
 import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
 import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
@@ -8,7 +9,7 @@ import uk.co.jamesj999.sonic.sprites.Sprite;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
 import java.awt.event.KeyEvent;
-import java.util.Collection;
+import java.util.List;
 
 /**
  * Created by Jamesjohnstone on 09/04/15. 9 Years later he re-enters the file;
@@ -16,7 +17,6 @@ import java.util.Collection;
  * to a bygone era of his life
  */
 public class SpriteCollisionManager {
-        private static SpriteCollisionManager spriteCollisionManager;
 
         SonicConfigurationService configService = SonicConfigurationService.getInstance();
         SpriteManager spriteManager = SpriteManager.getInstance();
@@ -46,7 +46,7 @@ public class SpriteCollisionManager {
          */
         public void update(InputHandler handler) {
                 frameCounter++;
-                Collection<Sprite> sprites = spriteManager.getAllSprites();
+                List<Sprite> sprites = spriteManager.getAllSprites();
                 // Firstly calculate key presses:
                 boolean up = handler.isKeyDown(upKey);
                 boolean down = handler.isKeyDown(downKey);
@@ -58,8 +58,9 @@ public class SpriteCollisionManager {
                 // Check for debug mode toggle (edge-triggered: only on key press, not hold)
                 boolean debugModePressed = handler.isKeyPressed(debugModeKey);
 
-                // Iterate our Sprites:
-                for (Sprite sprite : sprites) {
+                // Iterate our Sprites (by index; an iterator would be garbage every frame):
+                for (int i = 0; i < sprites.size(); i++) {
+                        Sprite sprite = sprites.get(i);
                         // Check we're dealing with a playable sprite:
                         if (sprite instanceof AbstractPlayableSprite) {
                                 AbstractPlayableSprite playable = (AbstractPlayableSprite) sprite;
@@ -105,9 +106,10 @@ public class SpriteCollisionManager {
          */
         public void updateWithoutInput() {
                 frameCounter++;
-                Collection<Sprite> sprites = spriteManager.getAllSprites();
+                List<Sprite> sprites = spriteManager.getAllSprites();
 
-                for (Sprite sprite : sprites) {
+                for (int i = 0; i < sprites.size(); i++) {
+                        Sprite sprite = sprites.get(i);
                         if (sprite instanceof AbstractPlayableSprite) {
                                 AbstractPlayableSprite playable = (AbstractPlayableSprite) sprite;
 
@@ -122,10 +124,7 @@ public class SpriteCollisionManager {
                 }
         }
 
-        public synchronized static SpriteCollisionManager getInstance() {
-                if (spriteCollisionManager == null) {
-                        spriteCollisionManager = new SpriteCollisionManager();
-                }
-                return spriteCollisionManager;
+        public static SpriteCollisionManager getInstance() {
+                return EngineContext.current().service(SpriteCollisionManager.class, SpriteCollisionManager::new);
         }
 }
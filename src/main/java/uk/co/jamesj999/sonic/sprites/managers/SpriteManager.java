@@ -1,13 +1,16 @@
 package uk.co.jamesj999.sonic.sprites.managers;
 
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
 import uk.co.jamesj999.sonic.physics.Direction;
 import uk.co.jamesj999.sonic.sprites.SensorConfiguration;
 import uk.co.jamesj999.sonic.sprites.Sprite;
 import uk.co.jamesj999.sonic.sprites.playable.GroundMode;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,9 +23,10 @@ public class SpriteManager {
 	private final SonicConfigurationService configService = SonicConfigurationService
 			.getInstance();
 
-	private static SpriteManager spriteManager;
-
 	private Map<String, Sprite> sprites;
+	// The same sprites in the order they were added, so per-frame loops can index them
+	private final List<Sprite> spriteList = new ArrayList<>();
+	private final List<Sprite> spriteView = Collections.unmodifiableList(spriteList);
 
 	private static final SensorConfiguration[][] MOVEMENT_MAPPING_ARRAY = createMovementMappingArray();
 
@@ -38,7 +42,12 @@ public class SpriteManager {
 	 * @return
 	 */
 	public boolean addSprite(Sprite sprite) {
-		return (sprites.put(sprite.getCode(), sprite) != null);
+		Sprite previous = sprites.put(sprite.getCode(), sprite);
+		if (previous != null) {
+			spriteList.remove(previous);
+		}
+		spriteList.add(sprite);
+		return previous != null;
 	}
 
 	/**
@@ -49,21 +58,24 @@ public class SpriteManager {
 	 * @return
 	 */
 	public boolean removeSprite(String code) {
-		return removeSprite(getSprite(code));
+		Sprite removed = sprites.remove(code);
+		if (removed != null) {
+			spriteList.remove(removed);
+		}
+		return removed != null;
 	}
 
-	public Collection<Sprite> getAllSprites() {
-		return sprites.values();
+	/**
+	 * Every sprite, in the order they were added. A live, read-only view.
+	 */
+	public List<Sprite> getAllSprites() {
+		return spriteView;
 	}
 
 	public Sprite getSprite(String code) {
 		return sprites.get(code);
 	}
 
-	private boolean removeSprite(Sprite sprite) {
-		return (sprites.remove(sprite) != null);
-	}
-
 	public static SensorConfiguration[][] createMovementMappingArray() {
 		SensorConfiguration[][] output = new SensorConfiguration[GroundMode.values().length][Direction.values().length];
 		// Initialize the array with all possible GroundMode and Direction combinations
@@ -98,10 +110,7 @@ public class SpriteManager {
 		return MOVEMENT_MAPPING_ARRAY[groundMode.ordinal()][direction.ordinal()];
 	}
 
-	public synchronized static SpriteManager getInstance() {
-		if (spriteManager == null) {
-			spriteManager = new SpriteManager();
-		}
-		return spriteManager;
+	public static SpriteManager getInstance() {
+		return EngineContext.current().service(SpriteManager.class, SpriteManager::new);
 	}
 }
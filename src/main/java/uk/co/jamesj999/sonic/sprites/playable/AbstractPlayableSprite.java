@@ -7,10 +7,14 @@ import java.util.logging.Logger;
 import uk.co.jamesj999.sonic.audio.AudioManager;
 import uk.co.jamesj999.sonic.audio.GameSound;
 import uk.co.jamesj999.sonic.level.LevelManager;
+import uk.co.jamesj999.sonic.level.objects.ObjectManager;
 import uk.co.jamesj999.sonic.game.sonic2.objects.InvincibilityStarsObjectInstance;
 import uk.co.jamesj999.sonic.game.sonic2.objects.ShieldObjectInstance;
 import uk.co.jamesj999.sonic.physics.Direction;
 import uk.co.jamesj999.sonic.physics.Sensor;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
 import uk.co.jamesj999.sonic.sprites.AbstractSprite;
 import uk.co.jamesj999.sonic.sprites.SensorConfiguration;
 import uk.co.jamesj999.sonic.sprites.managers.PlayableSpriteMovementManager;
@@ -31,7 +35,7 @@ import uk.co.jamesj999.sonic.timer.timers.SpeedShoesTimer;
  * @author james
  * 
  */
-public abstract class AbstractPlayableSprite extends AbstractSprite {
+public abstract class AbstractPlayableSprite extends AbstractSprite implements Snapshottable {
         private static final Logger LOGGER = Logger.getLogger(AbstractPlayableSprite.class.getName());
 
         protected final SpriteMovementManager movementManager;
@@ -1184,71 +1188,31 @@ public abstract class AbstractPlayableSprite extends AbstractSprite {
         }
 
         public void updateSensors(short originalX, short originalY) {
-                Sensor[] sensorsToActivate;
-                Sensor[] sensorsToDeactivate;
-
-                Sensor groundA = groundSensors[0];
-                Sensor groundB = groundSensors[1];
-
-                Sensor ceilingC = ceilingSensors[0];
-                Sensor ceilingD = ceilingSensors[1];
-
-                Sensor pushE = pushSensors[0];
-                Sensor pushF = pushSensors[1];
-
                 if (getAir()) {
                         short xSpeedPositive = (short) Math.abs(xSpeed);
                         short ySpeedPositive = (short) Math.abs(ySpeed);
 
                         if (xSpeedPositive > ySpeedPositive) {
-                                if (xSpeed > 0) {
-                                        sensorsToActivate = new Sensor[] { groundA, groundB, ceilingC, ceilingD,
-                                                        pushF };
-                                        sensorsToDeactivate = new Sensor[] { pushE };
-                                } else {
-                                        sensorsToActivate = new Sensor[] { groundA, groundB, ceilingC, ceilingD,
-                                                        pushE };
-                                        sensorsToDeactivate = new Sensor[] { pushF };
-                                }
+                                setSensorsActive(true, true, xSpeed <= 0, xSpeed > 0);
+                        } else if (ySpeed > 0) {
+                                setSensorsActive(true, false, true, true);
                         } else {
-                                if (ySpeed > 0) {
-                                        sensorsToActivate = new Sensor[] { groundA, groundB, pushE, pushF };
-                                        sensorsToDeactivate = new Sensor[] { ceilingC, ceilingD };
-                                } else {
-                                        sensorsToActivate = new Sensor[] { ceilingC, ceilingD, pushE, pushF };
-                                        sensorsToDeactivate = new Sensor[] { groundA, groundB };
-                                }
+                                setSensorsActive(false, true, true, true);
                         }
                 } else {
                         boolean pushActive = Math.abs(angle) <= 64;
-                        if (xSpeed > 0) {
-                                sensorsToActivate = new Sensor[] { groundA, groundB, ceilingC, ceilingD, pushF };
-                                sensorsToDeactivate = new Sensor[] { pushE };
-                                if (!pushActive) {
-                                        sensorsToActivate = new Sensor[] { groundA, groundB, ceilingC, ceilingD };
-                                        sensorsToDeactivate = new Sensor[] { pushE, pushF };
-                                }
-                        } else if (xSpeed < 0) {
-                                sensorsToActivate = new Sensor[] { groundA, groundB, ceilingC, ceilingD, pushE };
-                                sensorsToDeactivate = new Sensor[] { pushF };
-                                if (!pushActive) {
-                                        sensorsToActivate = new Sensor[] { groundA, groundB, ceilingC, ceilingD };
-                                        sensorsToDeactivate = new Sensor[] { pushE, pushF };
-                                }
-                        } else {
-                                sensorsToActivate = new Sensor[] { groundA, groundB, ceilingC, ceilingD };
-                                sensorsToDeactivate = new Sensor[] { pushE, pushF };
-                        }
+                        setSensorsActive(true, true, pushActive && xSpeed < 0, pushActive && xSpeed > 0);
                 }
-
-                setSensorActive(sensorsToActivate, true);
-                setSensorActive(sensorsToDeactivate, false);
         }
 
-        private void setSensorActive(Sensor[] sensors, boolean active) {
-                for (Sensor sensor : sensors) {
-                        sensor.setActive(active);
-                }
+        // Sets sensor activity in place; this runs every frame so no temporary arrays
+        private void setSensorsActive(boolean ground, boolean ceiling, boolean pushLeft, boolean pushRight) {
+                groundSensors[0].setActive(ground);
+                groundSensors[1].setActive(ground);
+                ceilingSensors[0].setActive(ceiling);
+                ceilingSensors[1].setActive(ceiling);
+                pushSensors[0].setActive(pushLeft);
+                pushSensors[1].setActive(pushRight);
         }
 
         public Sensor[] getAllSensors() {
@@ -1296,6 +1260,234 @@ public abstract class AbstractPlayableSprite extends AbstractSprite {
                 yHistory[historyPos] = yPixel;
         }
 
+        @Override
+        public void saveState(StateWriter out) {
+                out.writeShort(xPixel);
+                out.writeShort(yPixel);
+                out.writeByte(xSubpixel);
+                out.writeByte(ySubpixel);
+                out.writeShort(gSpeed);
+                out.writeShort(xSpeed);
+                out.writeShort(ySpeed);
+                out.writeByte(angle);
+                out.writeByte(layer);
+                out.writeByte(topSolidBit);
+                out.writeByte(lrbSolidBit);
+                out.writeByte(direction.ordinal());
+                out.writeByte(runningMode.ordinal());
+                out.writeShort(jump);
+
+                out.writeByte(historyPos);
+                for (int i = 0; i < xHistory.length; i++) {
+                        out.writeShort(xHistory[i]);
+                        out.writeShort(yHistory[i]);
+                }
+
+                out.writeBoolean(rolling);
+                out.writeBoolean(rollingJump);
+                out.writeBoolean(air);
+                out.writeBoolean(pushing);
+                out.writeBoolean(springing);
+                out.writeBoolean(dead);
+                out.writeBoolean(hurt);
+                out.writeBoolean(spindash);
+                out.writeBoolean(crouching);
+                out.writeBoolean(shield);
+                out.writeBoolean(speedShoes);
+                out.writeBoolean(forceInputRight);
+                out.writeBoolean(controlLocked);
+                out.writeBoolean(debugMode);
+                out.writeInt(invulnerableFrames);
+                out.writeInt(invincibleFrames);
+                out.writeInt(springingFrames);
+                out.writeInt(deathCountdown);
+                out.writeFloat(spindashConstant);
+                out.writeInt(spiralActiveFrame);
+                out.writeByte(flipAngle);
+                out.writeByte(flipSpeed);
+                out.writeByte(flipsRemaining);
+                out.writeBoolean(flipTurned);
+                out.writeInt(badnikChainCounter);
+
+                out.writeShort(slopeRunning);
+                out.writeShort(slopeRollingUp);
+                out.writeShort(slopeRollingDown);
+                out.writeShort(runAccel);
+                out.writeShort(runDecel);
+                out.writeShort(friction);
+                out.writeShort(maxRoll);
+                out.writeShort(max);
+                out.writeShort(rollDecel);
+                out.writeShort(minStartRollSpeed);
+                out.writeShort(minRollSpeed);
+                out.writeShort(xRadius);
+                out.writeShort(yRadius);
+                out.writeShort(renderXOffset);
+                out.writeShort(renderYOffset);
+                writeSensorFlags(out, groundSensors);
+                writeSensorFlags(out, ceilingSensors);
+                writeSensorFlags(out, pushSensors);
+
+                out.writeInt(mappingFrame);
+                out.writeInt(animationFrameCount);
+                out.writeInt(animationId);
+                out.writeInt(animationFrameIndex);
+                out.writeInt(animationTick);
+                out.writeBoolean(renderHFlip);
+                out.writeBoolean(renderVFlip);
+                out.writeBoolean(highPriority);
+                out.writeByte(priorityBucket);
+
+                boolean movementState = movementManager instanceof Snapshottable;
+                out.writeBoolean(movementState);
+                if (movementState) {
+                        ((Snapshottable) movementManager).saveState(out);
+                }
+        }
+
+        @Override
+        public void loadState(StateReader in) {
+                xPixel = in.readShort();
+                yPixel = in.readShort();
+                xSubpixel = (byte) in.readByte();
+                ySubpixel = (byte) in.readByte();
+                gSpeed = in.readShort();
+                xSpeed = in.readShort();
+                ySpeed = in.readShort();
+                angle = (byte) in.readByte();
+                layer = (byte) in.readByte();
+                topSolidBit = (byte) in.readByte();
+                lrbSolidBit = (byte) in.readByte();
+                direction = Direction.values()[in.readByte()];
+                runningMode = GroundMode.values()[in.readByte()];
+                jump = in.readShort();
+
+                historyPos = (byte) in.readByte();
+                for (int i = 0; i < xHistory.length; i++) {
+                        xHistory[i] = in.readShort();
+                        yHistory[i] = in.readShort();
+                }
+
+                rolling = in.readBoolean();
+                rollingJump = in.readBoolean();
+                air = in.readBoolean();
+                pushing = in.readBoolean();
+                springing = in.readBoolean();
+                dead = in.readBoolean();
+                hurt = in.readBoolean();
+                spindash = in.readBoolean();
+                crouching = in.readBoolean();
+                boolean savedShield = in.readBoolean();
+                speedShoes = in.readBoolean();
+                forceInputRight = in.readBoolean();
+                controlLocked = in.readBoolean();
+                debugMode = in.readBoolean();
+                invulnerableFrames = in.readInt();
+                invincibleFrames = in.readInt();
+                springingFrames = in.readInt();
+                deathCountdown = in.readInt();
+                spindashConstant = in.readFloat();
+                spiralActiveFrame = in.readInt();
+                flipAngle = (byte) in.readByte();
+                flipSpeed = (byte) in.readByte();
+                flipsRemaining = (byte) in.readByte();
+                flipTurned = in.readBoolean();
+                badnikChainCounter = in.readInt();
+
+                slopeRunning = in.readShort();
+                slopeRollingUp = in.readShort();
+                slopeRollingDown = in.readShort();
+                runAccel = in.readShort();
+                runDecel = in.readShort();
+                friction = in.readShort();
+                maxRoll = in.readShort();
+                max = in.readShort();
+                rollDecel = in.readShort();
+                minStartRollSpeed = in.readShort();
+                minRollSpeed = in.readShort();
+                xRadius = in.readShort();
+                yRadius = in.readShort();
+                renderXOffset = in.readShort();
+                renderYOffset = in.readShort();
+                readSensorFlags(in, groundSensors);
+                readSensorFlags(in, ceilingSensors);
+                readSensorFlags(in, pushSensors);
+
+                mappingFrame = in.readInt();
+                animationFrameCount = in.readInt();
+                animationId = in.readInt();
+                animationFrameIndex = in.readInt();
+                animationTick = in.readInt();
+                renderHFlip = in.readBoolean();
+                renderVFlip = in.readBoolean();
+                highPriority = in.readBoolean();
+                priorityBucket = in.readByte();
+
+                if (in.readBoolean()) {
+                        ((Snapshottable) movementManager).loadState(in);
+                }
+
+                restorePowerUpObjects(savedShield);
+        }
+
+        /**
+         * Brings the shield and invincibility stars in line with restored state, since they
+         * are separate objects rather than snapshot fields.
+         */
+        private void restorePowerUpObjects(boolean savedShield) {
+                // Either may have been added after the snapshot and so removed by the restore
+                ObjectManager objectManager = LevelManager.getInstance().getObjectManager();
+                if (objectManager != null) {
+                        if (shieldObject != null && !objectManager.isDynamicObject(shieldObject)) {
+                                shieldObject = null;
+                        }
+                        if (invincibilityObject != null && !objectManager.isDynamicObject(invincibilityObject)) {
+                                invincibilityObject = null;
+                        }
+                }
+
+                if (savedShield && shieldObject == null) {
+                        shield = false;
+                        giveShield();
+                } else if (!savedShield && shieldObject != null) {
+                        shieldObject.destroy();
+                        shieldObject = null;
+                }
+                shield = savedShield;
+
+                if (invincibleFrames > 0 && invincibilityObject == null) {
+                        invincibilityObject = new InvincibilityStarsObjectInstance(this);
+                        objectManager.addDynamicObject(invincibilityObject);
+                } else if (invincibleFrames == 0 && invincibilityObject != null) {
+                        invincibilityObject.destroy();
+                        invincibilityObject = null;
+                }
+                if (shieldObject != null) {
+                        shieldObject.setVisible(invincibleFrames == 0);
+                }
+        }
+
+        private static void writeSensorFlags(StateWriter out, Sensor[] sensors) {
+                int flags = 0;
+                if (sensors != null) {
+                        for (int i = 0; i < sensors.length; i++) {
+                                if (sensors[i].isActive()) {
+                                        flags |= 1 << i;
+                                }
+                        }
+                }
+                out.writeByte(flags);
+        }
+
+        private static void readSensorFlags(StateReader in, Sensor[] sensors) {
+                int flags = in.readByte();
+                if (sensors != null) {
+                        for (int i = 0; i < sensors.length; i++) {
+                                sensors[i].setActive((flags & (1 << i)) != 0);
+                        }
+                }
+        }
+
         public short getRenderCentreX() {
                 return (short) (getCentreX() + renderXOffset);
         }
@@ -0,0 +1,84 @@
+package uk.co.jamesj999.sonic.timer;
+
+/**
+ * Fixed-timestep accumulator that decouples game ticks from screen refreshes.
+ * <p>
+ * Each redraw passes the current {@link System#nanoTime()} to {@link #advance}, which returns
+ * how many ticks are due. A redraw faster than the tick rate gets zero or one tick, a late
+ * one catches up by up to {@code maxCatchUp} ticks, and any backlog beyond that is dropped
+ * rather than letting the game run ahead in a burst. {@link #getAlpha()} is how far the
+ * redraw sits between the last tick and the next, for interpolating what is drawn.
+ */
+public class FixedStepClock {
+    public static final double NTSC_HZ = 60000.0 / 1001.0;
+    public static final double PAL_HZ = 50.0;
+
+    private final long stepNanos;
+    private final int maxCatchUp;
+    private long lastNanos;
+    private long accumulated;
+    private boolean started;
+
+    public FixedStepClock(double hz, int maxCatchUp) {
+        if (hz <= 0 || maxCatchUp < 1) {
+            throw new IllegalArgumentException("Tick rate and catch-up limit must be positive");
+        }
+        this.stepNanos = Math.round(1_000_000_000.0 / hz);
+        this.maxCatchUp = maxCatchUp;
+    }
+
+    /**
+     * Tick rate for a region setting: PAL runs at 50Hz, anything else at NTSC's 59.94Hz.
+     */
+    public static double hzForRegion(String region) {
+        return "PAL".equalsIgnoreCase(region) ? PAL_HZ : NTSC_HZ;
+    }
+
+    /**
+     * Accounts for the time since the previous call.
+     *
+     * @return the number of ticks to run now
+     */
+    public int advance(long nowNanos) {
+        if (!started) {
+            // The first redraw always gets one tick so something is on screen
+            started = true;
+            lastNanos = nowNanos;
+            accumulated = 0;
+            return 1;
+        }
+        long elapsed = nowNanos - lastNanos;
+        lastNanos = nowNanos;
+        if (elapsed > 0) {
+            accumulated += elapsed;
+        }
+        long due = accumulated / stepNanos;
+        if (due > maxCatchUp) {
+            due = maxCatchUp;
+            accumulated %= stepNanos;
+        } else {
+            accumulated -= due * stepNanos;
+        }
+        return (int) due;
+    }
+
+    /**
+     * Fraction of a tick, in [0, 1), that has passed since the last tick ran.
+     */
+    public float getAlpha() {
+        return (float) accumulated / stepNanos;
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * Forgets the time since the last call, e.g. after a pause or a long load, so the next
+     * redraw does not try to catch up.
+     */
+    public void reset() {
+        started = false;
+        accumulated = 0;
+    }
+}
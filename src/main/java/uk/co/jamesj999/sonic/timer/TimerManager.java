@@ -1,24 +1,43 @@
 package uk.co.jamesj999.sonic.timer;
 
+import uk.co.jamesj999.sonic.EngineContext;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
 /**
  * Created by James on 26/03/15.
  */
-public class TimerManager {
+public class TimerManager implements Snapshottable {
     private static final Logger LOGGER = Logger.getLogger(TimerManager.class.getName());
-    private static TimerManager timerManager;
 
-    private Map<String, Timer> timers = new HashMap<String, Timer>();
+    private final Map<String, Timer> timers = new HashMap<String, Timer>();
+    // The same timers in the order they were registered; ticked and saved by index so a frame
+    // doesn't allocate an iterator
+    private final List<Timer> timerOrder = new ArrayList<>();
+    // Last timer registered under each code, so a rewind can bring back one that has since fired
+    private final Map<String, Timer> knownTimers = new HashMap<>();
 
     public void registerTimer(Timer timer) {
-        timers.put(timer.getCode(), timer);
+        Timer previous = timers.put(timer.getCode(), timer);
+        if (previous != null) {
+            timerOrder.remove(previous);
+        }
+        timerOrder.add(timer);
+        knownTimers.put(timer.getCode(), timer);
     }
 
     public void removeTimerForCode(String code) {
-        timers.remove(code);
+        Timer removed = timers.remove(code);
+        if (removed != null) {
+            timerOrder.remove(removed);
+        }
     }
 
     public Timer getTimerForCode(String code) {
@@ -27,33 +46,54 @@ public class TimerManager {
 
     public void update() {
         // Iterate all our timers:
-        // Iterate all our timers:
-        var iterator = timers.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<String, Timer> timerEntry = iterator.next();
-            Timer timer = timerEntry.getValue();
+        for (int i = 0; i < timerOrder.size(); i++) {
+            Timer timer = timerOrder.get(i);
             // Decrement the tick value to indicate a tick has passed:
             timer.decrementTick();
 
             // Check if the tick is less than 1.
             if (timer.getTicks() < 1) {
+                // Remove it first, so the event is free to register a new timer under its code
+                timerOrder.remove(i--);
+                timers.remove(timer.getCode(), timer);
                 // Perform event
                 // TODO: Improve the error reporting - use a proper Exception structure
-                if (timer.perform()) {
-                    iterator.remove();
-                } else {
+                if (!timer.perform()) {
                     LOGGER.fine(
                             "ERROR: " + timer.getClass() + " " + timer.getCode() + " failed to complete successfully.");
-                    iterator.remove();
                 }
             }
         }
     }
 
-    public synchronized static TimerManager getInstance() {
-        if (timerManager == null) {
-            timerManager = new TimerManager();
+    @Override
+    public void saveState(StateWriter out) {
+        out.writeShort(timerOrder.size());
+        for (int i = 0; i < timerOrder.size(); i++) {
+            Timer timer = timerOrder.get(i);
+            out.writeString(timer.getCode());
+            out.writeInt(timer.getTicks());
+        }
+    }
+
+    @Override
+    public void loadState(StateReader in) {
+        timers.clear();
+        timerOrder.clear();
+        int count = in.readShort();
+        for (int i = 0; i < count; i++) {
+            String code = in.readString();
+            int ticks = in.readInt();
+            Timer timer = knownTimers.get(code);
+            if (timer != null) {
+                timer.setTicks(ticks);
+                timers.put(code, timer);
+                timerOrder.add(timer);
+            }
         }
-        return timerManager;
+    }
+
+    public static TimerManager getInstance() {
+        return EngineContext.current().service(TimerManager.class, TimerManager::new);
     }
 }
@@ -0,0 +1,294 @@
+package uk.co.jamesj999.sonic.tools;
+
+import uk.co.jamesj999.sonic.Control.InputMovie;
+import uk.co.jamesj999.sonic.Control.ReplayInputHandler;
+import uk.co.jamesj999.sonic.EngineContext;
+import uk.co.jamesj999.sonic.GameLoop;
+import uk.co.jamesj999.sonic.audio.AudioManager;
+import uk.co.jamesj999.sonic.audio.JOALAudioBackend;
+import uk.co.jamesj999.sonic.camera.Camera;
+import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
+import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
+import uk.co.jamesj999.sonic.game.GameRng;
+import uk.co.jamesj999.sonic.graphics.FadeManager;
+import uk.co.jamesj999.sonic.graphics.GraphicsManager;
+import uk.co.jamesj999.sonic.level.LevelManager;
+import uk.co.jamesj999.sonic.level.objects.ObjectManager;
+import uk.co.jamesj999.sonic.sprites.managers.SpriteManager;
+import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
+import uk.co.jamesj999.sonic.sprites.playable.Sonic;
+import uk.co.jamesj999.sonic.sprites.playable.Tails;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Replays an {@link InputMovie} headlessly as fast as the CPU allows, reporting throughput and
+ * a per-frame state hash so physics changes can be checked for desyncs against a reference run.
+ * <p>
+ * Usage:
+ * <pre>
+ * mvn exec:java -Dexec.mainClass="uk.co.jamesj999.sonic.tools.ReplayRunner" \
+ *     -Dexec.args="run.smov --hashes run.hashes --expect reference.hashes --no-audio" -q
+ * </pre>
+ * {@code --hashes} writes one hex state hash per frame; {@code --expect} compares against such
+ * a file and reports the first frame that differs. {@code --no-audio} skips sound synthesis
+ * even if audio is enabled in the configuration. {@code --parallel N} replays the movie in N
+ * separate {@link EngineContext}s at once on a fork-join pool and checks every copy ends in the
+ * same state; parallel runs are always silent.
+ */
+public class ReplayRunner {
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final InputMovie movie;
+    private final EngineContext context;
+    private final ReplayInputHandler input = new ReplayInputHandler();
+    private final GameLoop gameLoop;
+    private AbstractPlayableSprite player;
+
+    public ReplayRunner(InputMovie movie) {
+        this(movie, EngineContext.current());
+    }
+
+    public ReplayRunner(InputMovie movie, EngineContext context) {
+        this.movie = movie;
+        this.context = context;
+        this.gameLoop = new GameLoop(context, input);
+    }
+
+    /**
+     * Sets up the same state {@code Engine.init} would, without a GL context, and loads the
+     * movie's starting zone and act.
+     */
+    public void init(boolean audio) throws IOException {
+        EngineContext.Binding binding = context.bind();
+        try {
+            initInContext(audio);
+        } finally {
+            binding.close();
+        }
+    }
+
+    private void initInContext(boolean audio) throws IOException {
+        SonicConfigurationService configService = SonicConfigurationService.getInstance();
+        GraphicsManager.getInstance().initHeadless();
+        if (audio) {
+            AudioManager.getInstance().setBackend(new JOALAudioBackend());
+        }
+        GameRng.getInstance().setSeed(movie.getSeed());
+
+        String mainCode = configService.getString(SonicConfiguration.MAIN_CHARACTER_CODE);
+        if ("tails".equalsIgnoreCase(mainCode)) {
+            player = new Tails(mainCode, (short) 100, (short) 624);
+        } else {
+            player = new Sonic(mainCode, (short) 100, (short) 624);
+        }
+        SpriteManager.getInstance().addSprite(player);
+        Camera camera = Camera.getInstance();
+        camera.setFocusedSprite(player);
+        camera.updatePosition(true);
+
+        LevelManager.getInstance().loadZoneAndAct(movie.getZone(), movie.getAct());
+    }
+
+    /**
+     * Runs every frame of the movie.
+     *
+     * @param expected reference hashes to compare against, or null
+     */
+    public Result run(long[] expected) {
+        EngineContext.Binding binding = context.bind();
+        try {
+            return runInContext(expected);
+        } finally {
+            binding.close();
+        }
+    }
+
+    private Result runInContext(long[] expected) {
+        int frames = movie.getFrameCount();
+        long[] hashes = new long[frames];
+        int firstDesync = -1;
+        FadeManager fadeManager = FadeManager.getInstance();
+
+        long start = System.nanoTime();
+        for (int frame = 0; frame < frames; frame++) {
+            input.setFrameMask(movie.getFrame(frame));
+            gameLoop.step();
+            // Engine.display() advances fades after each step
+            fadeManager.update();
+
+            hashes[frame] = stateHash(player, LevelManager.getInstance().getObjectManager());
+            if (firstDesync < 0 && expected != null
+                    && (frame >= expected.length || expected[frame] != hashes[frame])) {
+                firstDesync = frame;
+            }
+        }
+        return new Result(hashes, System.nanoTime() - start, firstDesync);
+    }
+
+    /**
+     * Hashes the state a desync shows up in first: player position, subpixels and speeds, ring
+     * count and live object count.
+     */
+    public static long stateHash(AbstractPlayableSprite player, ObjectManager objectManager) {
+        long hash = FNV_OFFSET;
+        if (player != null) {
+            hash = mix(hash, player.getX());
+            hash = mix(hash, player.getY());
+            hash = mix(hash, player.getXSubpixel());
+            hash = mix(hash, player.getYSubpixel());
+            hash = mix(hash, player.getXSpeed());
+            hash = mix(hash, player.getYSpeed());
+            hash = mix(hash, player.getGSpeed());
+            hash = mix(hash, player.getRingCount());
+        }
+        return mix(hash, objectManager != null ? objectManager.getObjectCount() : 0);
+    }
+
+    private static long mix(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (value >>> shift) & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    public record Result(long[] hashes, long elapsedNanos, int firstDesync) {
+        public double framesPerSecond() {
+            return elapsedNanos > 0 ? hashes.length * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        public long finalHash() {
+            return hashes.length > 0 ? hashes[hashes.length - 1] : FNV_OFFSET;
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayRunner <movie> [--hashes <out>] [--expect <reference>] [--no-audio] [--parallel <n>]");
+            System.exit(1);
+        }
+        Path moviePath = Path.of(args[0]);
+        Path hashesPath = null;
+        Path expectPath = null;
+        boolean audio = SonicConfigurationService.getInstance().getBoolean(SonicConfiguration.AUDIO_ENABLED);
+        int parallel = 1;
+
+        // Parse args
+        for (int i = 1; i < args.length; i++) {
+            if ("--hashes".equals(args[i]) && i + 1 < args.length) {
+                hashesPath = Path.of(args[++i]);
+            } else if ("--expect".equals(args[i]) && i + 1 < args.length) {
+                expectPath = Path.of(args[++i]);
+            } else if ("--no-audio".equals(args[i])) {
+                audio = false;
+            } else if ("--parallel".equals(args[i]) && i + 1 < args.length) {
+                parallel = Math.max(1, Integer.parseInt(args[++i]));
+            }
+        }
+
+        try {
+            InputMovie movie = InputMovie.load(moviePath);
+            long[] expected = expectPath != null ? readHashes(expectPath) : null;
+
+            if (parallel > 1) {
+                runParallel(movie, parallel);
+                return;
+            }
+
+            ReplayRunner runner = new ReplayRunner(movie);
+            runner.init(audio);
+            Result result = runner.run(expected);
+
+            System.out.printf("Replayed %d frames in %.1f ms (%.0f fps, %.1fx real time)%n",
+                    movie.getFrameCount(), result.elapsedNanos() / 1_000_000.0,
+                    result.framesPerSecond(), result.framesPerSecond() / 60.0);
+            System.out.printf("Final state hash: %016x%n", result.finalHash());
+
+            if (hashesPath != null) {
+                try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(hashesPath))) {
+                    for (long hash : result.hashes()) {
+                        writer.printf("%016x%n", hash);
+                    }
+                }
+                System.out.println("State hashes written to: " + hashesPath);
+            }
+
+            if (expected != null) {
+                if (result.firstDesync() >= 0) {
+                    System.out.println("Desync at frame " + result.firstDesync());
+                    System.exit(2);
+                }
+                System.out.println("No desync against " + expectPath);
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Replays {@code movie} in {@code copies} independent engine contexts at once and reports
+     * whether they all agree frame for frame.
+     */
+    private static void runParallel(InputMovie movie, int copies) {
+        ForkJoinPool pool = new ForkJoinPool(Math.min(copies, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<ForkJoinTask<Result>> tasks = new ArrayList<>(copies);
+            long start = System.nanoTime();
+            for (int i = 0; i < copies; i++) {
+                EngineContext context = new EngineContext("replay-" + i);
+                tasks.add(pool.submit(() -> {
+                    ReplayRunner runner = new ReplayRunner(movie, context);
+                    try {
+                        runner.init(false);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return runner.run(null);
+                }));
+            }
+
+            long[] reference = null;
+            int mismatches = 0;
+            for (ForkJoinTask<Result> task : tasks) {
+                long[] hashes = task.join().hashes();
+                if (reference == null) {
+                    reference = hashes;
+                } else if (!Arrays.equals(reference, hashes)) {
+                    mismatches++;
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("Replayed %d copies of %d frames in %.2f s (%.0f fps aggregate)%n",
+                    copies, movie.getFrameCount(), seconds, copies * movie.getFrameCount() / seconds);
+            if (mismatches > 0) {
+                System.out.println(mismatches + " of " + copies + " copies diverged from the first");
+                System.exit(2);
+            }
+            System.out.printf("All copies agree; final state hash: %016x%n", reference[reference.length - 1]);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static long[] readHashes(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path);
+        long[] hashes = new long[lines.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = Long.parseUnsignedLong(lines.get(i).trim(), 16);
+        }
+        return hashes;
+    }
+}
@@ -0,0 +1,330 @@
+package uk.co.jamesj999.sonic.tools;
+
+import uk.co.jamesj999.sonic.Control.InputMovie;
+import uk.co.jamesj999.sonic.EngineContext;
+import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageCheckpoint;
+import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageManager;
+import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageObject;
+import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageObjectManager;
+import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStagePlayer;
+import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2TrackFrameCache;
+import uk.co.jamesj999.sonic.graphics.GraphicsManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageConstants.SPECIAL_STAGE_COUNT;
+
+/**
+ * Runs the Sonic 2 special stage simulation headlessly as fast as the CPU allows: track
+ * animation, players, objects and checkpoints, but no drawing. Input comes from a script, so
+ * the simulation cost can be measured apart from rendering and every stage's ring requirements
+ * can be checked against {@code Sonic2SpecialStageDataLoader.getRingRequirement} automatically.
+ * <p>
+ * Usage:
+ * <pre>
+ * mvn exec:java -Dexec.mainClass="uk.co.jamesj999.sonic.tools.SpecialStageRunner" \
+ *     -Dexec.args="[stage 1-7 | all] [--movie run.smov] [--max-frames N]" -q
+ * </pre>
+ * Without {@code --movie} the {@link #RING_CHASER} autopilot plays. Each run reports the
+ * result, rings collected, every checkpoint against its requirement, how long the track frames
+ * took to decode at load and per-frame update times.
+ */
+public class SpecialStageRunner {
+
+    /** Special stage button bits, as GameLoop passes them to the manager */
+    public static final int BUTTON_LEFT = 0x04;
+    public static final int BUTTON_RIGHT = 0x08;
+    public static final int BUTTON_JUMP = 0x70;
+
+    /** Comfortably longer than any stage takes, so a stuck run still ends */
+    public static final int DEFAULT_MAX_FRAMES = 60 * 60 * 10;
+
+    /**
+     * Supplies the held buttons for each frame.
+     */
+    @FunctionalInterface
+    public interface InputScript {
+        int heldButtons(int frame, Sonic2SpecialStageManager manager);
+    }
+
+    /** Never presses anything */
+    public static final InputScript NO_INPUT = (frame, manager) -> 0;
+
+    /**
+     * Steers the lead player towards the nearest ring still ahead, and away from a bomb that is
+     * about to arrive within reach.
+     */
+    public static final InputScript RING_CHASER = SpecialStageRunner::chaseRings;
+
+    private static final int BOMB_DODGE_DEPTH = 12;
+    private static final int BOMB_DODGE_ANGLE = 0x14;
+    private static final int STEER_DEAD_ZONE = 4;
+
+    private final int stageIndex;
+    private final InputScript script;
+    private final EngineContext context;
+    private Sonic2SpecialStageManager manager;
+
+    public SpecialStageRunner(int stageIndex, InputScript script) {
+        this(stageIndex, script, EngineContext.current());
+    }
+
+    public SpecialStageRunner(int stageIndex, InputScript script, EngineContext context) {
+        this.stageIndex = stageIndex;
+        this.script = script;
+        this.context = context;
+    }
+
+    /**
+     * Loads the stage without a GL context.
+     */
+    public void init() throws IOException {
+        EngineContext.Binding binding = context.bind();
+        try {
+            GraphicsManager.getInstance().initHeadless();
+            manager = Sonic2SpecialStageManager.getInstance();
+            manager.initialize(stageIndex);
+        } finally {
+            binding.close();
+        }
+    }
+
+    /**
+     * Steps the stage until it completes or fails, or {@code maxFrames} have run.
+     */
+    public Result run(int maxFrames) {
+        EngineContext.Binding binding = context.bind();
+        try {
+            return runInContext(maxFrames);
+        } finally {
+            binding.close();
+        }
+    }
+
+    private Result runInContext(int maxFrames) {
+        Sonic2SpecialStageObjectManager objects = manager.getObjectManager();
+        Sonic2SpecialStageCheckpoint checkpoint = manager.getCheckpoint();
+        boolean teamMode = manager.getSonicPlayer() != null && manager.getTailsPlayer() != null;
+
+        long[] frameNanos = new long[maxFrames];
+        List<CheckpointRecord> checkpoints = new ArrayList<>();
+        int lastAct = objects.getCurrentSpecialAct();
+        boolean checkpointWasActive = false;
+        int previousHeld = 0;
+        int frames = 0;
+
+        long start = System.nanoTime();
+        while (frames < maxFrames && !manager.isFinished()) {
+            int held = script.heldButtons(frames, manager);
+            manager.handleInput(held, held & ~previousHeld);
+            previousHeld = held;
+
+            long frameStart = System.nanoTime();
+            manager.update();
+            frameNanos[frames++] = System.nanoTime() - frameStart;
+
+            int act = objects.getCurrentSpecialAct();
+            if (act != lastAct) {
+                lastAct = act;
+                checkpoints.add(new CheckpointRecord(act, ringRequirement(act, teamMode),
+                        objects.getRingsCollected(), objects.getPerfectRingsTotal()));
+            }
+            boolean checkpointActive = checkpoint.isActive();
+            if (checkpointWasActive && !checkpointActive && !checkpoints.isEmpty()) {
+                checkpoints.get(checkpoints.size() - 1).result = checkpoint.getLastResult();
+            }
+            checkpointWasActive = checkpointActive;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Sonic2TrackFrameCache trackFrames = manager.getTrackFrameCache();
+        return new Result(stageIndex, manager.getResultState(), objects.getRingsCollected(),
+                objects.getPerfectRingsTotal(), checkpoints, Arrays.copyOf(frameNanos, frames), elapsed,
+                trackFrames != null ? trackFrames.getBuildNanos() : 0);
+    }
+
+    private int ringRequirement(int checkpointNumber, boolean teamMode) {
+        int quarter = Math.max(0, Math.min(3, checkpointNumber - 1));
+        try {
+            return manager.getDataLoader().getRingRequirement(stageIndex, quarter, teamMode);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static int chaseRings(int frame, Sonic2SpecialStageManager manager) {
+        List<Sonic2SpecialStagePlayer> players = manager.getPlayers();
+        Sonic2SpecialStageObjectManager objects = manager.getObjectManager();
+        if (players.isEmpty() || objects == null) {
+            return 0;
+        }
+        int playerAngle = players.get(0).getAngle() & 0xFF;
+
+        Sonic2SpecialStageObject ring = null;
+        Sonic2SpecialStageObject bomb = null;
+        for (int i = 0; i < objects.getActiveObjectCount(); i++) {
+            Sonic2SpecialStageObject obj = objects.getActiveObject(i);
+            if (obj.getState() != Sonic2SpecialStageObject.State.ACTIVE || obj.getDepth() <= 0) {
+                continue;
+            }
+            if (obj.isRing() && (ring == null || obj.getDepth() < ring.getDepth())) {
+                ring = obj;
+            } else if (obj.isBomb() && obj.getDepth() <= BOMB_DODGE_DEPTH
+                    && Math.abs(angleDelta(playerAngle, obj.getAngle())) < BOMB_DODGE_ANGLE
+                    && (bomb == null || obj.getDepth() < bomb.getDepth())) {
+                bomb = obj;
+            }
+        }
+
+        int delta;
+        if (bomb != null) {
+            // Step off the bomb's side, away from its centre
+            delta = angleDelta(playerAngle, bomb.getAngle()) >= 0 ? -BOMB_DODGE_ANGLE : BOMB_DODGE_ANGLE;
+        } else if (ring != null) {
+            delta = angleDelta(playerAngle, ring.getAngle());
+        } else {
+            delta = angleDelta(playerAngle, 0x40);
+        }
+
+        // Holding left raises the player's angle, right lowers it
+        if (delta > STEER_DEAD_ZONE) {
+            return BUTTON_LEFT;
+        }
+        if (delta < -STEER_DEAD_ZONE) {
+            return BUTTON_RIGHT;
+        }
+        return 0;
+    }
+
+    /** Signed shortest step from one track angle to another (-128..127) */
+    private static int angleDelta(int from, int to) {
+        return (byte) ((to - from) & 0xFF);
+    }
+
+    /**
+     * Adapts an {@link InputMovie} to the special stage buttons.
+     */
+    public static InputScript fromMovie(InputMovie movie) {
+        return (frame, manager) -> {
+            if (frame >= movie.getFrameCount()) {
+                return 0;
+            }
+            int mask = movie.getFrame(frame);
+            int held = 0;
+            if ((mask & InputMovie.LEFT) != 0) {
+                held |= BUTTON_LEFT;
+            }
+            if ((mask & InputMovie.RIGHT) != 0) {
+                held |= BUTTON_RIGHT;
+            }
+            if ((mask & InputMovie.JUMP) != 0) {
+                held |= BUTTON_JUMP;
+            }
+            return held;
+        };
+    }
+
+    /**
+     * A checkpoint marker: the rings held and the rings spawned when it was reached, and how the
+     * checkpoint resolved once its animation finished (null if the run ended first).
+     */
+    public static final class CheckpointRecord {
+        public final int number;
+        public final int requirement;
+        public final int ringsCollected;
+        public final int ringsSpawned;
+        private Sonic2SpecialStageCheckpoint.Result result;
+
+        CheckpointRecord(int number, int requirement, int ringsCollected, int ringsSpawned) {
+            this.number = number;
+            this.requirement = requirement;
+            this.ringsCollected = ringsCollected;
+            this.ringsSpawned = ringsSpawned;
+        }
+
+        public Sonic2SpecialStageCheckpoint.Result getResult() {
+            return result;
+        }
+    }
+
+    public record Result(int stageIndex, Sonic2SpecialStageManager.ResultState state, int ringsCollected,
+                         int ringsSpawned, List<CheckpointRecord> checkpoints, long[] frameNanos,
+                         long elapsedNanos, long trackDecodeNanos) {
+        public int frames() {
+            return frameNanos.length;
+        }
+
+        public double framesPerSecond() {
+            return elapsedNanos > 0 ? frameNanos.length * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        /**
+         * Update time at the given percentile (0-100), in nanoseconds.
+         */
+        public long percentileNanos(double percentile) {
+            if (frameNanos.length == 0) {
+                return 0;
+            }
+            long[] sorted = frameNanos.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+
+    public static void main(String[] args) {
+        int firstStage = 0;
+        int lastStage = SPECIAL_STAGE_COUNT - 1;
+        Path moviePath = null;
+        int maxFrames = DEFAULT_MAX_FRAMES;
+
+        // Parse args
+        for (int i = 0; i < args.length; i++) {
+            if ("--movie".equals(args[i]) && i + 1 < args.length) {
+                moviePath = Path.of(args[++i]);
+            } else if ("--max-frames".equals(args[i]) && i + 1 < args.length) {
+                maxFrames = Math.max(1, Integer.parseInt(args[++i]));
+            } else if (!"all".equalsIgnoreCase(args[i])) {
+                int stage = Integer.parseInt(args[i]) - 1;
+                if (stage < 0 || stage >= SPECIAL_STAGE_COUNT) {
+                    System.err.println("Usage: SpecialStageRunner [stage 1-" + SPECIAL_STAGE_COUNT
+                            + " | all] [--movie <file>] [--max-frames <n>]");
+                    System.exit(1);
+                }
+                firstStage = stage;
+                lastStage = stage;
+            }
+        }
+
+        try {
+            InputScript script = moviePath != null ? fromMovie(InputMovie.load(moviePath)) : RING_CHASER;
+            for (int stage = firstStage; stage <= lastStage; stage++) {
+                SpecialStageRunner runner = new SpecialStageRunner(stage, script);
+                runner.init();
+                report(runner.run(maxFrames));
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private static void report(Result result) {
+        System.out.printf("Stage %d: %s after %d frames, %d/%d rings%n", result.stageIndex() + 1,
+                result.state(), result.frames(), result.ringsCollected(), result.ringsSpawned());
+        for (CheckpointRecord record : result.checkpoints()) {
+            System.out.printf("  Checkpoint %d: %d rings (%d spawned), needs %d -> %s%n", record.number,
+                    record.ringsCollected, record.ringsSpawned, record.requirement, record.getResult());
+        }
+        System.out.printf("  Track frames decoded in %.2f ms at load%n", result.trackDecodeNanos() / 1_000_000.0);
+        System.out.printf("  %.1f ms total, %.0f fps; update p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                result.elapsedNanos() / 1_000_000.0, result.framesPerSecond(),
+                result.percentileNanos(50) / 1000.0, result.percentileNanos(99) / 1000.0,
+                result.percentileNanos(100) / 1000.0);
+    }
+}
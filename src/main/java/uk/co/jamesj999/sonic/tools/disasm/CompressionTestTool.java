@@ -20,10 +20,13 @@ import java.util.Arrays;
  */
 public class CompressionTestTool {
 
+    public static final String SEARCH_CANCELLED = "Search cancelled";
+
     private static final int MAX_READ_SIZE = 0x10000;
 
     private final Rom rom;
     private byte[] romData;
+    private volatile ParallelRomScanner activeScanner;
 
     public CompressionTestTool(Rom rom) {
         this.rom = rom;
@@ -104,29 +107,84 @@ public class CompressionTestTool {
      */
     public CompressionTestResult searchForMatch(CompressionType type, byte[] referenceData,
                                                   long startOffset, long endOffset, int step) throws IOException {
-        byte[] data = getRomData();
-        long maxOffset = Math.min(endOffset, data.length);
+        return searchForMatch(type, referenceData, startOffset, endOffset, step, null);
+    }
 
-        for (long offset = startOffset; offset < maxOffset; offset += step) {
-            try {
-                CompressionTestResult result = testDecompression(offset, type);
-                if (result.isSuccess()) {
-                    if (Arrays.equals(result.getDecompressedData(), referenceData)) {
-                        return result;
-                    }
-                }
-            } catch (Exception ignored) {
-            }
+    /**
+     * Search for a matching decompression in an offset range using all cores.
+     * The scan can be stopped with {@link #cancelSearch()}.
+     *
+     * @param progressListener Receives progress from the scanning threads, or null
+     */
+    public CompressionTestResult searchForMatch(CompressionType type, byte[] referenceData,
+                                                  long startOffset, long endOffset, int step,
+                                                  ParallelRomScanner.ProgressListener progressListener)
+            throws IOException {
+        ParallelRomScanner scanner = new ParallelRomScanner(getRomData());
+        scanner.setProgressListener(progressListener);
+        activeScanner = scanner;
+        ParallelRomScanner.ScanResult scan;
+        try {
+            scan = scanner.scan(createMatcher(type, referenceData), startOffset, endOffset, step);
+        } finally {
+            activeScanner = null;
         }
 
-        return CompressionTestResult.failure(type, startOffset, "No matching offset found");
+        if (scan.isCancelled()) {
+            return CompressionTestResult.failure(type, startOffset, SEARCH_CANCELLED);
+        }
+        if (!scan.isFound()) {
+            return CompressionTestResult.failure(type, startOffset, "No matching offset found");
+        }
+        return CompressionTestResult.success(type, scan.getOffset(), scan.getCompressedSize(),
+                referenceData.length, referenceData.clone());
     }
 
     /**
      * Search the entire ROM for a matching compressed version of the reference data.
      */
     public CompressionTestResult searchEntireRom(CompressionType type, byte[] referenceData) throws IOException {
-        return searchForMatch(type, referenceData, 0, getRomData().length, 1);
+        return searchEntireRom(type, referenceData, null);
+    }
+
+    public CompressionTestResult searchEntireRom(CompressionType type, byte[] referenceData,
+                                                   ParallelRomScanner.ProgressListener progressListener)
+            throws IOException {
+        return searchForMatch(type, referenceData, 0, getRomData().length, 1, progressListener);
+    }
+
+    /**
+     * Cancel the search currently running on another thread, if any.
+     */
+    public void cancelSearch() {
+        ParallelRomScanner scanner = activeScanner;
+        if (scanner != null) {
+            scanner.cancel();
+        }
+    }
+
+    private ParallelRomScanner.Matcher createMatcher(CompressionType type, byte[] referenceData) {
+        switch (type) {
+            case NEMESIS:
+                return ParallelRomScanner.nemesisMatcher(referenceData);
+            case KOSINSKI:
+            case KOSINSKI_MODULED:
+                return ParallelRomScanner.kosinskiMatcher(referenceData);
+            case UNCOMPRESSED:
+                return ParallelRomScanner.rawMatcher(referenceData);
+            default:
+                // No in-place decoder for these yet, so fall back to the stream decoders
+                return (rom, offset) -> {
+                    try {
+                        CompressionTestResult result = testDecompression(offset, type);
+                        if (result.isSuccess() && Arrays.equals(result.getDecompressedData(), referenceData)) {
+                            return result.getCompressedSize();
+                        }
+                    } catch (Exception ignored) {
+                    }
+                    return -1;
+                };
+        }
     }
 
     private CompressionTestResult testNemesis(long offset, byte[] chunk) throws IOException {
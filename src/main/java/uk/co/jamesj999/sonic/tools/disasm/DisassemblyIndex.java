@@ -0,0 +1,341 @@
+package uk.co.jamesj999.sonic.tools.disasm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Index of every binary include in the disassembly.
+ *
+ * Each .asm file is parsed once for BINCLUDE directives (with and without labels) and palette
+ * macros. The parsed entries are written to a small cache file along with each source file's
+ * modification time and size, so later runs only re-parse the files that changed. Lookups by exact
+ * label or by compression type are hash lookups; substring searches scan the in-memory entries
+ * without touching the disk.
+ *
+ * Entries are ordered by .asm path and then by line number.
+ */
+public class DisassemblyIndex {
+
+    /**
+     * Default cache location, relative to the working directory.
+     */
+    public static final Path DEFAULT_CACHE_FILE = Path.of("target", "disasm-index.cache");
+
+    private static final int CACHE_VERSION = 1;
+
+    private static final Pattern BINCLUDE_PATTERN = Pattern.compile(
+            "^\\s*(\\w+):\\s*(?:BINCLUDE|binclude)\\s+\"([^\"]+)\"",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private static final Pattern BINCLUDE_NO_LABEL_PATTERN = Pattern.compile(
+            "^\\s*(?:BINCLUDE|binclude)\\s+\"([^\"]+)\"",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    // Pattern for palette macro: "Label: palette path[,path2] [; comment]"
+    // The macro expands to BINCLUDE "art/palettes/{path}"
+    private static final Pattern PALETTE_PATTERN = Pattern.compile(
+            "^\\s*(\\w+):\\s*palette\\s+([^,;]+?)(?:\\s*,\\s*([^;]+?))?(?:\\s*;.*)?\\s*$",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * How an include was declared.
+     */
+    public enum Kind {
+        /** {@code Label: BINCLUDE "path"} */
+        LABELLED_BINCLUDE,
+        /** {@code BINCLUDE "path"} */
+        BINCLUDE,
+        /** {@code Label: palette path[,path2]} */
+        PALETTE
+    }
+
+    /**
+     * A single include together with how it was declared.
+     */
+    public record Entry(Kind kind, DisassemblySearchResult result) {
+    }
+
+    private record SourceFile(long modifiedTime, long size, List<Entry> entries) {
+    }
+
+    private final Path disasmRoot;
+    private final Path cacheFile;
+
+    // Keyed by .asm path relative to the root; sorted so entry order is stable
+    private final TreeMap<String, SourceFile> sources = new TreeMap<>();
+    private List<Entry> entries = List.of();
+    private Map<String, List<Entry>> entriesByLabel = Map.of();
+    private Map<CompressionType, List<Entry>> entriesByType = Map.of();
+    private boolean loaded;
+
+    public DisassemblyIndex(Path disasmRoot) {
+        this(disasmRoot, Path.of(System.getProperty("disasm.index", DEFAULT_CACHE_FILE.toString())));
+    }
+
+    /**
+     * @param cacheFile Where to persist the index, or null to keep it in memory only
+     */
+    public DisassemblyIndex(Path disasmRoot, Path cacheFile) {
+        this.disasmRoot = disasmRoot;
+        this.cacheFile = cacheFile;
+    }
+
+    public Path getDisasmRoot() {
+        return disasmRoot;
+    }
+
+    /**
+     * Loads the index on first use, from the cache where it is still current.
+     */
+    public synchronized void ensureLoaded() throws IOException {
+        if (!loaded) {
+            readCache();
+            refresh();
+            loaded = true;
+        }
+    }
+
+    /**
+     * Re-parses any .asm files added or modified since the index was built and drops deleted ones.
+     *
+     * @return true if anything changed
+     */
+    public synchronized boolean refresh() throws IOException {
+        Map<String, BasicFileAttributes> current = new HashMap<>();
+        if (Files.isDirectory(disasmRoot)) {
+            try (Stream<Path> walk = Files.walk(disasmRoot)) {
+                for (Path path : (Iterable<Path>) walk.filter(p -> p.toString().endsWith(".asm"))::iterator) {
+                    current.put(relativize(path), Files.readAttributes(path, BasicFileAttributes.class));
+                }
+            }
+        }
+
+        boolean changed = sources.keySet().retainAll(current.keySet());
+        for (Map.Entry<String, BasicFileAttributes> file : current.entrySet()) {
+            long modifiedTime = file.getValue().lastModifiedTime().toMillis();
+            long size = file.getValue().size();
+            SourceFile existing = sources.get(file.getKey());
+            if (existing != null && existing.modifiedTime == modifiedTime && existing.size == size) {
+                continue;
+            }
+            sources.put(file.getKey(), new SourceFile(modifiedTime, size,
+                    parse(disasmRoot.resolve(file.getKey()), file.getKey())));
+            changed = true;
+        }
+
+        if (changed || !loaded) {
+            rebuildLookups();
+        }
+        if (changed) {
+            writeCache();
+        }
+        return changed;
+    }
+
+    /**
+     * All entries, in .asm path and line order.
+     */
+    public List<Entry> getEntries() throws IOException {
+        ensureLoaded();
+        return entries;
+    }
+
+    /**
+     * Entries declared in one .asm file, in line order.
+     *
+     * @param asmFilePath Path relative to the disassembly root, e.g. "s2.asm"
+     */
+    public List<Entry> getEntries(String asmFilePath) throws IOException {
+        ensureLoaded();
+        SourceFile source = sources.get(normalise(asmFilePath));
+        return source != null ? source.entries : List.of();
+    }
+
+    /**
+     * Entries whose label is exactly {@code label}.
+     */
+    public List<Entry> findByLabel(String label) throws IOException {
+        ensureLoaded();
+        return entriesByLabel.getOrDefault(label, List.of());
+    }
+
+    public List<Entry> findByCompressionType(CompressionType type) throws IOException {
+        ensureLoaded();
+        return entriesByType.getOrDefault(type, List.of());
+    }
+
+    private void rebuildLookups() {
+        List<Entry> all = new ArrayList<>();
+        Map<String, List<Entry>> byLabel = new HashMap<>();
+        Map<CompressionType, List<Entry>> byType = new LinkedHashMap<>();
+        for (SourceFile source : sources.values()) {
+            for (Entry entry : source.entries) {
+                all.add(entry);
+                String label = entry.result().getLabel();
+                if (label != null) {
+                    byLabel.computeIfAbsent(label, k -> new ArrayList<>(1)).add(entry);
+                }
+                byType.computeIfAbsent(entry.result().getCompressionType(), k -> new ArrayList<>()).add(entry);
+            }
+        }
+        entries = Collections.unmodifiableList(all);
+        entriesByLabel = byLabel;
+        entriesByType = byType;
+    }
+
+    private List<Entry> parse(Path asmFile, String asmFilePath) throws IOException {
+        List<Entry> parsed = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(asmFile)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                // Cheap rejection before running any of the regexes
+                String lower = line.toLowerCase();
+                boolean mayBeBinclude = lower.contains("binclude");
+                if (!mayBeBinclude && !lower.contains("palette")) {
+                    continue;
+                }
+
+                if (mayBeBinclude) {
+                    Matcher matcher = BINCLUDE_PATTERN.matcher(line);
+                    if (matcher.find()) {
+                        parsed.add(entry(Kind.LABELLED_BINCLUDE, matcher.group(1), matcher.group(2),
+                                CompressionType.fromExtension(matcher.group(2)), asmFilePath, lineNumber, line));
+                        continue;
+                    }
+                    Matcher noLabelMatcher = BINCLUDE_NO_LABEL_PATTERN.matcher(line);
+                    if (noLabelMatcher.find()) {
+                        parsed.add(entry(Kind.BINCLUDE, null, noLabelMatcher.group(1),
+                                CompressionType.fromExtension(noLabelMatcher.group(1)), asmFilePath, lineNumber, line));
+                        continue;
+                    }
+                }
+
+                Matcher paletteMatcher = PALETTE_PATTERN.matcher(line);
+                if (paletteMatcher.find()) {
+                    String label = paletteMatcher.group(1);
+                    String path2 = paletteMatcher.group(3) != null ? paletteMatcher.group(3).trim() : null;
+                    // Palettes are .bin (uncompressed)
+                    parsed.add(entry(Kind.PALETTE, label, "art/palettes/" + paletteMatcher.group(2).trim(),
+                            CompressionType.UNCOMPRESSED, asmFilePath, lineNumber, line));
+                    if (path2 != null && !path2.isEmpty()) {
+                        // The second palette gets a "_2" suffix on the label
+                        parsed.add(entry(Kind.PALETTE, label + "_2", "art/palettes/" + path2,
+                                CompressionType.UNCOMPRESSED, asmFilePath, lineNumber, line));
+                    }
+                }
+            }
+        }
+        return parsed;
+    }
+
+    private static Entry entry(Kind kind, String label, String filePath, CompressionType type,
+                               String asmFilePath, int lineNumber, String line) {
+        return new Entry(kind, new DisassemblySearchResult(label, filePath, type, asmFilePath, lineNumber,
+                line.trim()));
+    }
+
+    private String relativize(Path path) {
+        return normalise(disasmRoot.relativize(path).toString());
+    }
+
+    private static String normalise(String path) {
+        return path.replace('\\', '/');
+    }
+
+    private void readCache() {
+        if (cacheFile == null || !Files.isRegularFile(cacheFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != CACHE_VERSION
+                    || !in.readUTF().equals(disasmRoot.toAbsolutePath().normalize().toString())) {
+                return;
+            }
+            CompressionType[] types = CompressionType.values();
+            Kind[] kinds = Kind.values();
+            TreeMap<String, SourceFile> cached = new TreeMap<>();
+            int fileCount = in.readInt();
+            for (int f = 0; f < fileCount; f++) {
+                String asmFilePath = in.readUTF();
+                long modifiedTime = in.readLong();
+                long size = in.readLong();
+                int entryCount = in.readInt();
+                List<Entry> fileEntries = new ArrayList<>(entryCount);
+                for (int e = 0; e < entryCount; e++) {
+                    Kind kind = kinds[in.readUnsignedByte()];
+                    String label = in.readBoolean() ? in.readUTF() : null;
+                    String filePath = in.readUTF();
+                    CompressionType type = types[in.readUnsignedByte()];
+                    int lineNumber = in.readInt();
+                    String line = in.readUTF();
+                    fileEntries.add(new Entry(kind, new DisassemblySearchResult(label, filePath, type,
+                            asmFilePath, lineNumber, line)));
+                }
+                cached.put(asmFilePath, new SourceFile(modifiedTime, size, fileEntries));
+            }
+            sources.putAll(cached);
+        } catch (IOException | RuntimeException e) {
+            // A damaged or outdated cache just means a full re-parse
+            sources.clear();
+        }
+    }
+
+    private void writeCache() {
+        if (cacheFile == null) {
+            return;
+        }
+        try {
+            Path parent = cacheFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(cacheFile)))) {
+                out.writeInt(CACHE_VERSION);
+                out.writeUTF(disasmRoot.toAbsolutePath().normalize().toString());
+                out.writeInt(sources.size());
+                for (Map.Entry<String, SourceFile> source : sources.entrySet()) {
+                    out.writeUTF(source.getKey());
+                    out.writeLong(source.getValue().modifiedTime);
+                    out.writeLong(source.getValue().size);
+                    out.writeInt(source.getValue().entries.size());
+                    for (Entry entry : source.getValue().entries) {
+                        DisassemblySearchResult result = entry.result();
+                        out.writeByte(entry.kind().ordinal());
+                        out.writeBoolean(result.getLabel() != null);
+                        if (result.getLabel() != null) {
+                            out.writeUTF(result.getLabel());
+                        }
+                        out.writeUTF(result.getFilePath());
+                        out.writeByte(result.getCompressionType().ordinal());
+                        out.writeInt(result.getAsmLineNumber());
+                        out.writeUTF(result.getAsmLine());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // The cache is only an optimisation; the in-memory index is still valid
+        }
+    }
+}
@@ -0,0 +1,477 @@
+package uk.co.jamesj999.sonic.tools.disasm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Searches a ROM image for the offset at which a compressed stream decodes to some reference data.
+ *
+ * The offset range is split into fixed-size blocks that are handed out to one worker per core.
+ * Each offset is tested with a {@link Matcher}; the Nemesis, Kosinski and raw matchers here decode
+ * straight out of the ROM array and compare against the reference as they go, so most offsets are
+ * rejected after a header check or the first few output bytes. The lowest matching offset wins,
+ * and blocks beyond the best match found so far are skipped.
+ *
+ * A scan can be cancelled from another thread with {@link #cancel()}, and reports progress
+ * through an optional {@link ProgressListener}.
+ */
+public final class ParallelRomScanner {
+
+    private static final int BLOCK_SIZE = 0x4000;
+    private static final int KOSINSKI_WINDOW_SIZE = 0x2000;
+    private static final int NEMESIS_PATTERN_SIZE = 0x20;
+
+    /**
+     * Tests a single ROM offset.
+     */
+    @FunctionalInterface
+    public interface Matcher {
+        /**
+         * @return the number of ROM bytes the stream at {@code offset} occupies if it decodes to the
+         *         reference data, or -1 if it does not
+         */
+        int match(byte[] rom, int offset);
+    }
+
+    /**
+     * Receives scan progress. Called from worker threads.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long offsetsScanned, long offsetsTotal);
+    }
+
+    /**
+     * Outcome of a scan: the lowest matching offset and its compressed size, or -1 for both.
+     */
+    public static final class ScanResult {
+        private final long offset;
+        private final int compressedSize;
+        private final boolean cancelled;
+
+        private ScanResult(long offset, int compressedSize, boolean cancelled) {
+            this.offset = offset;
+            this.compressedSize = compressedSize;
+            this.cancelled = cancelled;
+        }
+
+        public boolean isFound() {
+            return offset >= 0;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public int getCompressedSize() {
+            return compressedSize;
+        }
+    }
+
+    private final byte[] rom;
+    private final int threadCount;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile ProgressListener progressListener;
+
+    public ParallelRomScanner(byte[] rom) {
+        this(rom, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelRomScanner(byte[] rom, int threadCount) {
+        this.rom = rom;
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Stops a running scan. The scan returns a cancelled, not-found result.
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Scans offsets {@code start}, {@code start + step}, ... below {@code end} and returns the lowest
+     * one the matcher accepts.
+     */
+    public ScanResult scan(Matcher matcher, long start, long end, int step) {
+        int first = (int) Math.max(0, start);
+        int last = (int) Math.min(end, rom.length);
+        int stride = Math.max(1, step);
+        if (first >= last) {
+            return new ScanResult(-1, -1, false);
+        }
+
+        long total = (last - first + stride - 1) / stride;
+        AtomicLong best = new AtomicLong(Long.MAX_VALUE);
+        AtomicLong bestSize = new AtomicLong(-1);
+        AtomicLong scanned = new AtomicLong();
+
+        int blockSpan = BLOCK_SIZE * stride;
+        int workers = (int) Math.min(threadCount, (total + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        AtomicLong nextBlock = new AtomicLong(first);
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "RomScanner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    while (!cancelled.get()) {
+                        long blockStart = nextBlock.getAndAdd(blockSpan);
+                        // Blocks are handed out in order, so once one starts past the best match
+                        // every later block does too
+                        if (blockStart >= last || blockStart >= best.get()) {
+                            return;
+                        }
+                        int blockEnd = (int) Math.min(last, blockStart + blockSpan);
+                        int tested = 0;
+                        for (int offset = (int) blockStart; offset < blockEnd; offset += stride) {
+                            if (offset >= best.get() || cancelled.get()) {
+                                break;
+                            }
+                            tested++;
+                            int size = matcher.match(rom, offset);
+                            if (size >= 0) {
+                                recordMatch(best, bestSize, offset, size);
+                                break;
+                            }
+                        }
+                        reportProgress(scanned.addAndGet(tested), total);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled.set(true);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("ROM scan failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (cancelled.get()) {
+            return new ScanResult(-1, -1, true);
+        }
+        long offset = best.get();
+        if (offset == Long.MAX_VALUE) {
+            return new ScanResult(-1, -1, false);
+        }
+        return new ScanResult(offset, (int) bestSize.get(), false);
+    }
+
+    private static synchronized void recordMatch(AtomicLong best, AtomicLong bestSize, int offset, int size) {
+        if (offset < best.get()) {
+            best.set(offset);
+            bestSize.set(size);
+        }
+    }
+
+    private void reportProgress(long scanned, long total) {
+        ProgressListener listener = progressListener;
+        if (listener != null) {
+            listener.onProgress(scanned, total);
+        }
+    }
+
+    /**
+     * Matches the ROM bytes against the reference directly.
+     */
+    public static Matcher rawMatcher(byte[] reference) {
+        return (rom, offset) -> {
+            if (offset + reference.length > rom.length) {
+                return -1;
+            }
+            for (int i = 0; i < reference.length; i++) {
+                if (rom[offset + i] != reference[i]) {
+                    return -1;
+                }
+            }
+            return reference.length;
+        };
+    }
+
+    /**
+     * Decodes Nemesis data in place, following {@link uk.co.jamesj999.sonic.tools.NemesisReader}.
+     * The header's pattern count must match the reference size before the code table is read, and
+     * each decoded row is compared with the reference as soon as it is complete.
+     */
+    public static Matcher nemesisMatcher(byte[] reference) {
+        return (rom, offset) -> {
+            if (offset + 2 > rom.length) {
+                return -1;
+            }
+            int header = ((rom[offset] & 0xFF) << 8) | (rom[offset + 1] & 0xFF);
+            int patternCount = header & 0x7FFF;
+            if (patternCount * NEMESIS_PATTERN_SIZE != reference.length) {
+                return -1;
+            }
+            if (patternCount == 0) {
+                return 2;
+            }
+            return decodeNemesis(rom, offset, (header & 0x8000) != 0, patternCount, reference);
+        };
+    }
+
+    private static int decodeNemesis(byte[] rom, int offset, boolean xorMode, int patternCount,
+                                     byte[] reference) {
+        int pos = offset + 2;
+        int end = rom.length;
+
+        int[] codeLengths = new int[256];
+        int[] codeEntries = new int[256];
+        int paletteIndex = 0;
+        if (pos >= end) {
+            return -1;
+        }
+        int control = rom[pos++] & 0xFF;
+        while (control != 0xFF) {
+            if ((control & 0x80) != 0) {
+                paletteIndex = control & 0x0F;
+            } else {
+                if (pos >= end) {
+                    return -1;
+                }
+                int code = rom[pos++] & 0xFF;
+                int codeLength = control & 0x0F;
+                if (codeLength > 0 && codeLength <= 8) {
+                    int entry = (((control >> 4) & 0x7) << 4) | paletteIndex;
+                    int shift = 8 - codeLength;
+                    int base = (code << shift) & 0xFF;
+                    for (int i = 0; i < (1 << shift); i++) {
+                        codeLengths[(base + i) & 0xFF] = codeLength;
+                        codeEntries[(base + i) & 0xFF] = entry;
+                    }
+                }
+            }
+            if (pos >= end) {
+                return -1;
+            }
+            control = rom[pos++] & 0xFF;
+        }
+
+        int bitBuffer = 0;
+        int bitCount = 0;
+        int nybblesRemaining = patternCount * 64;
+        int row = 0;
+        int prevRow = 0;
+        int rowNibbles = 0;
+        int outPos = 0;
+
+        while (nybblesRemaining > 0) {
+            while (bitCount < 8) {
+                if (pos >= end) {
+                    return -1;
+                }
+                bitBuffer = (bitBuffer << 8) | (rom[pos++] & 0xFF);
+                bitCount += 8;
+            }
+            int prefix = (bitBuffer >> (bitCount - 8)) & 0xFF;
+            int palette;
+            int run;
+            if ((prefix & 0xFC) == 0xFC) {
+                bitCount -= 6;
+                while (bitCount < 7) {
+                    if (pos >= end) {
+                        return -1;
+                    }
+                    bitBuffer = (bitBuffer << 8) | (rom[pos++] & 0xFF);
+                    bitCount += 8;
+                }
+                int inline = (bitBuffer >> (bitCount - 7)) & 0x7F;
+                bitCount -= 7;
+                palette = inline & 0xF;
+                run = ((inline >> 4) & 0x7) + 1;
+            } else {
+                int codeLength = codeLengths[prefix];
+                if (codeLength == 0) {
+                    return -1;
+                }
+                bitCount -= codeLength;
+                palette = codeEntries[prefix] & 0xF;
+                run = ((codeEntries[prefix] >> 4) & 0xF) + 1;
+            }
+            bitBuffer &= (1 << bitCount) - 1;
+
+            if (run > nybblesRemaining) {
+                return -1;
+            }
+            nybblesRemaining -= run;
+            for (int i = 0; i < run; i++) {
+                row = (row << 4) | palette;
+                if (++rowNibbles == 8) {
+                    if (xorMode) {
+                        row ^= prevRow;
+                        prevRow = row;
+                    }
+                    // Compare the finished row with the reference before decoding any further
+                    if ((byte) (row >>> 24) != reference[outPos]
+                            || (byte) (row >>> 16) != reference[outPos + 1]
+                            || (byte) (row >>> 8) != reference[outPos + 2]
+                            || (byte) row != reference[outPos + 3]) {
+                        return -1;
+                    }
+                    outPos += 4;
+                    row = 0;
+                    rowNibbles = 0;
+                }
+            }
+        }
+        return pos - offset;
+    }
+
+    /**
+     * Decodes Kosinski data in place, following {@link uk.co.jamesj999.sonic.tools.KosinskiReader}.
+     * Every output byte is compared with the reference as it is produced, and since the output
+     * matches the reference up to that point, the reference doubles as the sliding window. A stream
+     * that opens with a literal must have the reference's first byte as that literal, which rejects
+     * most offsets before decoding starts.
+     */
+    public static Matcher kosinskiMatcher(byte[] reference) {
+        return (rom, offset) -> {
+            if (offset + 2 > rom.length) {
+                return -1;
+            }
+            if (reference.length > 0 && (rom[offset] & 1) != 0
+                    && (offset + 2 >= rom.length || rom[offset + 2] != reference[0])) {
+                return -1;
+            }
+            return decodeKosinski(rom, offset, reference);
+        };
+    }
+
+    private static int decodeKosinski(byte[] rom, int offset, byte[] reference) {
+        int pos = offset;
+        int end = rom.length;
+        int written = 0;
+
+        int descriptor = (rom[pos] & 0xFF) | ((rom[pos + 1] & 0xFF) << 8);
+        int bitsRemaining = 16;
+        pos += 2;
+
+        while (true) {
+            // Descriptor bits are popped exactly as KosinskiReader does, including reading the next
+            // descriptor as soon as the current one runs out
+            boolean bit = (descriptor & 1) != 0;
+            descriptor >>>= 1;
+            if (--bitsRemaining == 0) {
+                if (pos + 2 > end) {
+                    return -1;
+                }
+                descriptor = (rom[pos] & 0xFF) | ((rom[pos + 1] & 0xFF) << 8);
+                bitsRemaining = 16;
+                pos += 2;
+            }
+
+            if (bit) {
+                if (pos >= end || written >= reference.length || rom[pos] != reference[written]) {
+                    return -1;
+                }
+                pos++;
+                written++;
+                continue;
+            }
+
+            boolean fullMatch = (descriptor & 1) != 0;
+            descriptor >>>= 1;
+            if (--bitsRemaining == 0) {
+                if (pos + 2 > end) {
+                    return -1;
+                }
+                descriptor = (rom[pos] & 0xFF) | ((rom[pos + 1] & 0xFF) << 8);
+                bitsRemaining = 16;
+                pos += 2;
+            }
+
+            int distance;
+            int count;
+            if (fullMatch) {
+                if (pos + 2 > end) {
+                    return -1;
+                }
+                int low = rom[pos++] & 0xFF;
+                int high = rom[pos++] & 0xFF;
+                distance = ((((high & 0xF8) << 5) | low) ^ 0x1FFF) + 1 & 0x1FFF;
+                count = high & 0x07;
+                if (count != 0) {
+                    count += 2;
+                } else {
+                    if (pos >= end) {
+                        return -1;
+                    }
+                    count = (rom[pos++] & 0xFF) + 1;
+                    if (count == 1) {
+                        return written == reference.length ? pos - offset : -1;
+                    } else if (count == 2) {
+                        continue;
+                    }
+                }
+            } else {
+                count = 2;
+                for (int i = 0; i < 2; i++) {
+                    boolean countBit = (descriptor & 1) != 0;
+                    descriptor >>>= 1;
+                    if (--bitsRemaining == 0) {
+                        if (pos + 2 > end) {
+                            return -1;
+                        }
+                        descriptor = (rom[pos] & 0xFF) | ((rom[pos + 1] & 0xFF) << 8);
+                        bitsRemaining = 16;
+                        pos += 2;
+                    }
+                    if (countBit) {
+                        count += i == 0 ? 2 : 1;
+                    }
+                }
+                if (pos >= end) {
+                    return -1;
+                }
+                distance = ((rom[pos++] & 0xFF) ^ 0xFF) + 1 & 0xFF;
+            }
+
+            if (written + count > reference.length) {
+                return -1;
+            }
+            for (int i = 0; i < count; i++) {
+                int src = written - distance;
+                byte value;
+                if (src < 0) {
+                    // KosinskiReader fails on a negative window index
+                    return -1;
+                } else if (distance == 0) {
+                    // A zero distance reads the window slot about to be overwritten
+                    value = written >= KOSINSKI_WINDOW_SIZE ? reference[written - KOSINSKI_WINDOW_SIZE] : 0;
+                } else {
+                    value = reference[src];
+                }
+                if (value != reference[written]) {
+                    return -1;
+                }
+                written++;
+            }
+        }
+    }
+}
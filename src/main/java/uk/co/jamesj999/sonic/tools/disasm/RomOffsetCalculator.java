@@ -1,12 +1,9 @@
 package uk.co.jamesj999.sonic.tools.disasm;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Calculates ROM offsets for disassembly items by using known anchor offsets
@@ -18,11 +15,6 @@ import java.util.regex.Pattern;
  */
 public class RomOffsetCalculator {
 
-    private static final Pattern BINCLUDE_PATTERN = Pattern.compile(
-            "^\\s*(\\w+):\\s*(?:BINCLUDE|binclude)\\s+\"([^\"]+)\"",
-            Pattern.CASE_INSENSITIVE
-    );
-
     /**
      * Known anchor offsets from verified ROM locations.
      * These are used as starting points for offset calculation.
@@ -49,7 +41,10 @@ public class RomOffsetCalculator {
     }
 
     private final Path disasmRoot;
+    private final DisassemblyIndex index;
     private List<BincludeEntry> orderedEntries;
+    private Map<String, Integer> entryIndexByLabel;
+    private final Map<String, Long> fileSizes = new HashMap<>();
 
     /**
      * Runtime-discovered anchors from verified offsets.
@@ -58,7 +53,12 @@ public class RomOffsetCalculator {
     private final Map<String, Long> runtimeAnchors = new LinkedHashMap<>();
 
     public RomOffsetCalculator(Path disasmRoot) {
-        this.disasmRoot = disasmRoot;
+        this(new DisassemblyIndex(disasmRoot));
+    }
+
+    public RomOffsetCalculator(DisassemblyIndex index) {
+        this.disasmRoot = index.getDisasmRoot();
+        this.index = index;
     }
 
     public RomOffsetCalculator(String disasmRootPath) {
@@ -135,13 +135,7 @@ public class RomOffsetCalculator {
         }
 
         // Find the target entry
-        int targetIndex = -1;
-        for (int i = 0; i < orderedEntries.size(); i++) {
-            if (label.equals(orderedEntries.get(i).label)) {
-                targetIndex = i;
-                break;
-            }
-        }
+        int targetIndex = entryIndexByLabel.getOrDefault(label, -1);
 
         if (targetIndex < 0) {
             return -1; // Label not found
@@ -225,13 +219,7 @@ public class RomOffsetCalculator {
             return new OffsetCalculation(label, getAnyAnchorOffset(label), label, 0, true);
         }
 
-        int targetIndex = -1;
-        for (int i = 0; i < orderedEntries.size(); i++) {
-            if (label.equals(orderedEntries.get(i).label)) {
-                targetIndex = i;
-                break;
-            }
-        }
+        int targetIndex = entryIndexByLabel.getOrDefault(label, -1);
 
         if (targetIndex < 0) {
             return null;
@@ -274,46 +262,36 @@ public class RomOffsetCalculator {
     private void ensureEntriesLoaded() throws IOException {
         if (orderedEntries == null) {
             orderedEntries = parseS2Asm();
+            entryIndexByLabel = new HashMap<>();
+            for (int i = 0; i < orderedEntries.size(); i++) {
+                entryIndexByLabel.putIfAbsent(orderedEntries.get(i).label, i);
+            }
         }
     }
 
     private List<BincludeEntry> parseS2Asm() throws IOException {
         List<BincludeEntry> entries = new ArrayList<>();
-        Path s2asm = disasmRoot.resolve("s2.asm");
-
-        if (!Files.exists(s2asm)) {
-            return entries;
-        }
-
-        try (BufferedReader reader = Files.newBufferedReader(s2asm)) {
-            String line;
-            int lineNumber = 0;
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                Matcher matcher = BINCLUDE_PATTERN.matcher(line);
-                if (matcher.find()) {
-                    entries.add(new BincludeEntry(
-                            matcher.group(1),
-                            matcher.group(2),
-                            lineNumber
-                    ));
-                }
+        for (DisassemblyIndex.Entry entry : index.getEntries("s2.asm")) {
+            if (entry.kind() == DisassemblyIndex.Kind.LABELLED_BINCLUDE) {
+                DisassemblySearchResult result = entry.result();
+                entries.add(new BincludeEntry(result.getLabel(), result.getFilePath(), result.getAsmLineNumber()));
             }
         }
-
         return entries;
     }
 
     private long getFileSize(String relativePath) {
-        try {
-            Path path = disasmRoot.resolve(relativePath);
-            if (Files.exists(path)) {
-                return Files.size(path);
+        return fileSizes.computeIfAbsent(relativePath, path -> {
+            try {
+                Path file = disasmRoot.resolve(path);
+                if (Files.exists(file)) {
+                    return Files.size(file);
+                }
+            } catch (IOException e) {
+                // Ignore
             }
-        } catch (IOException e) {
-            // Ignore
-        }
-        return -1;
+            return -1L;
+        });
     }
 
     /**
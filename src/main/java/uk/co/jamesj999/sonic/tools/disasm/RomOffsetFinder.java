@@ -33,9 +33,10 @@ public class RomOffsetFinder {
 
     public RomOffsetFinder(String disasmPath, String romPath) throws IOException {
         this.disasmPath = disasmPath;
-        this.searchTool = new DisassemblySearchTool(disasmPath);
+        DisassemblyIndex index = new DisassemblyIndex(Path.of(disasmPath));
+        this.searchTool = new DisassemblySearchTool(index);
         this.testTool = new CompressionTestTool(romPath);
-        this.offsetCalculator = new RomOffsetCalculator(disasmPath);
+        this.offsetCalculator = new RomOffsetCalculator(index);
     }
 
     /**
@@ -57,6 +58,15 @@ public class RomOffsetFinder {
      * Find the ROM offset for a specific item, searching from startOffset.
      */
     public OffsetFinderResult findOffset(String labelPattern, long startOffset, long endOffset) throws IOException {
+        return findOffset(labelPattern, startOffset, endOffset, null);
+    }
+
+    /**
+     * Find the ROM offset for a specific item, reporting scan progress as it goes.
+     * The scan can be stopped from another thread with {@link #cancelSearch()}.
+     */
+    public OffsetFinderResult findOffset(String labelPattern, long startOffset, long endOffset,
+                                         ParallelRomScanner.ProgressListener progressListener) throws IOException {
         List<DisassemblySearchResult> searchResults = searchTool.search(labelPattern);
 
         if (searchResults.isEmpty()) {
@@ -86,16 +96,26 @@ public class RomOffsetFinder {
         }
 
         long searchEnd = endOffset > 0 ? endOffset : Long.MAX_VALUE;
-        CompressionTestResult testResult = testTool.searchForMatch(type, referenceData, startOffset, searchEnd, 1);
+        CompressionTestResult testResult = testTool.searchForMatch(type, referenceData, startOffset, searchEnd, 1,
+                progressListener);
 
         if (testResult.isSuccess()) {
             return OffsetFinderResult.found(item, testResult);
+        } else if (CompressionTestTool.SEARCH_CANCELLED.equals(testResult.getErrorMessage())) {
+            return OffsetFinderResult.notFound(labelPattern, CompressionTestTool.SEARCH_CANCELLED);
         } else {
             return OffsetFinderResult.notFound(labelPattern,
                     "Could not find matching ROM offset for " + item.getLabel());
         }
     }
 
+    /**
+     * Cancel a running {@link #findOffset} scan.
+     */
+    public void cancelSearch() {
+        testTool.cancelSearch();
+    }
+
     /**
      * Test decompression at a specific ROM offset.
      */
@@ -133,16 +153,24 @@ public class RomOffsetFinder {
      * @return VerificationResult with status and details
      */
     public VerificationResult verify(String labelPattern) throws IOException {
-        // 1. Search for the label
-        List<DisassemblySearchResult> results = searchTool.search(labelPattern);
+        // 1. Look up the label, preferring an exact match over a partial one
+        List<DisassemblySearchResult> results = searchTool.findByLabel(labelPattern);
+        if (results.isEmpty()) {
+            results = searchTool.search(labelPattern);
+        }
         if (results.isEmpty()) {
             return VerificationResult.notFound(labelPattern, -1, "Label not found in disassembly");
         }
+        return verify(results.get(0));
+    }
 
-        DisassemblySearchResult item = results.get(0);
+    /**
+     * Verify the calculated ROM offset of an item already found in the disassembly.
+     */
+    public VerificationResult verify(DisassemblySearchResult item) throws IOException {
         String label = item.getLabel();
         if (label == null) {
-            return VerificationResult.error(labelPattern, "Item has no label");
+            return VerificationResult.error(item.getFilePath(), "Item has no label");
         }
 
         // 2. Calculate offset using the calculator
@@ -212,7 +240,7 @@ public class RomOffsetFinder {
             }
 
             try {
-                VerificationResult result = verify(item.getLabel());
+                VerificationResult result = verify(item);
                 results.add(result);
 
                 // Add verified offsets as runtime anchors for better accuracy
@@ -329,8 +357,7 @@ public class RomOffsetFinder {
         System.out.println();
 
         // Create offset calculator for ROM offset estimation
-        RomOffsetCalculator offsetCalculator = new RomOffsetCalculator(
-                System.getProperty("disasm.path", DEFAULT_DISASM_PATH));
+        RomOffsetCalculator offsetCalculator = finder.getOffsetCalculator();
 
         for (DisassemblySearchResult result : results) {
             System.out.printf("Label:       %s%n", result.getLabel() != null ? result.getLabel() : "(none)");
@@ -373,9 +400,32 @@ public class RomOffsetFinder {
         if (startOffset > 0) {
             System.out.printf("Starting from offset: 0x%X%n", startOffset);
         }
+        System.out.println("(press Enter to cancel)");
         System.out.println();
 
-        OffsetFinderResult result = finder.findOffset(pattern, startOffset, -1);
+        // Cancel the scan if the user presses Enter while it runs
+        Thread cancelWatcher = new Thread(() -> {
+            try {
+                if (System.in.read() >= 0) {
+                    finder.cancelSearch();
+                }
+            } catch (IOException ignored) {
+            }
+        }, "RomOffsetFinder-cancel");
+        cancelWatcher.setDaemon(true);
+        cancelWatcher.start();
+
+        // Start below 0% so the first report, 0%, is printed
+        int[] lastPercent = {-10};
+        OffsetFinderResult result = finder.findOffset(pattern, startOffset, -1, (scanned, total) -> {
+            int percent = (int) (scanned * 100 / total);
+            synchronized (lastPercent) {
+                if (percent / 10 > lastPercent[0] / 10) {
+                    lastPercent[0] = percent;
+                    System.err.printf("Scanned %d%%%n", percent);
+                }
+            }
+        });
 
         if (result.isFound()) {
             System.out.println("=== FOUND ===");
@@ -14,6 +14,7 @@
 uniform sampler2D BackgroundTexture;
 
 // 1D texture containing per-scanline scroll values (224 entries)
+// RG16: R = raw BG scroll word, G = raw FG scroll word (unsigned 16-bit)
 uniform sampler1D HScrollTexture;
 
 // Screen dimensions (actual viewport pixels)
@@ -31,7 +32,8 @@ uniform float ScrollMidpoint;
 // Extra buffer pixels on each side of the FBO
 uniform float ExtraBuffer;
 
-// Vertical scroll offset (sub-chunk alignment)
+// FBO row shown on the top scanline. The FBO wraps vertically like the VDP's
+// plane B: each background row is kept at (worldY mod BGTextureHeight).
 uniform float VScroll;
 
 // Viewport offset (for letterboxing/pillarboxing support)
@@ -53,23 +55,22 @@ void main()
     // Get the scroll value for this scanline
     float scanline = clamp(gameY, 0.0, 223.0);  // Clamp to valid scanline range
     float scanlineTexCoord = (scanline + 0.5) / 224.0;
-    float hScrollThis = texture1D(HScrollTexture, scanlineTexCoord).r * 32767.0;
+    // Recover the signed 16-bit BG scroll word
+    float hScrollThis = floor(texture1D(HScrollTexture, scanlineTexCoord).r * 65535.0 + 0.5);
+    if (hScrollThis >= 32768.0) hScrollThis -= 65536.0;
     
     // hScroll contains negative values (e.g., -cameraX * parallaxFactor)
     // To get world X position: worldX = screenX - hScroll
     // Since hScroll is negative, this adds the absolute value
     float worldX = gameX - hScrollThis;
     
-    // Apply vertical scroll offset (sub-chunk alignment)
-    float fboY = gameY + VScroll;
+    // Apply vertical scroll, wrapping within the FBO height
+    float fboY = mod(gameY + VScroll, BGTextureHeight);
     
     // Wrap X within the background map period (FBO width)
     float fboX = mod(worldX, BGTextureWidth);
     if (fboX < 0.0) fboX += BGTextureWidth;
     
-    // Clamp Y to valid range
-    fboY = clamp(fboY, 0.0, BGTextureHeight - 1.0);
-    
     // Sample FBO with half-pixel offset to avoid edge artifacts
     float fboU = fboX / BGTextureWidth;
     float fboV = 1.0 - ((fboY + 0.5) / BGTextureHeight);  // Add 0.5 for pixel center
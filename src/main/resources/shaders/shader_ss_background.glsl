@@ -16,7 +16,7 @@
 uniform sampler2D BackgroundTexture;
 
 // 1D texture containing per-scanline horizontal scroll values (224 entries)
-// Each value is the background X scroll offset for that scanline
+// RG16: R is the raw background X scroll word for that scanline (unsigned 16-bit)
 uniform sampler1D HScrollTexture;
 
 // Screen dimensions (actual window pixels)
@@ -73,9 +73,10 @@ void main()
     float scanline = clamp(gameY, 0.0, SCREEN_GAME_HEIGHT - 1.0);
     float scanlineTexCoord = (scanline + 0.5) / SCREEN_GAME_HEIGHT;
 
-    // H-scroll texture contains signed 16-bit values encoded as normalized floats
+    // H-scroll texture contains raw 16-bit words; fold back to signed
     // The value represents pixels to scroll (positive = scroll right, content moves left)
-    float hScrollValue = texture1D(HScrollTexture, scanlineTexCoord).r * 32767.0;
+    float hScrollValue = floor(texture1D(HScrollTexture, scanlineTexCoord).r * 65535.0 + 0.5);
+    if (hScrollValue >= 32768.0) hScrollValue -= 65536.0;
 
     // Apply horizontal scroll to get the source X position in the background
     // Negative scroll = background moves right (content scrolls left into view)
@@ -0,0 +1,115 @@
+#version 110
+
+/*
+ * Special Stage Track Shader
+ *
+ * Draws the whole plane A halfpipe as one fullscreen quad. Each fragment looks up its
+ * own tile in the decoded track nametable, then its pixel in the track pattern atlas and
+ * finally its colour in the palette.
+ *
+ * The track plane is 128 cells wide and 28 rows tall. The VDP shows it through per-line
+ * H-scroll so that each 8-line tile row is split into four 2-line strips, and strip N
+ * shows columns N*32..N*32+31 of the row, drawing lines 2N and 2N+1 of those tiles.
+ */
+
+// Every decoded track frame, one 28-row block per frame and orientation.
+// RG8: R = low byte, G = high byte of the pattern descriptor word (PCCVHIII IIIIIIII)
+uniform sampler2D NametableTexture;
+
+// Track patterns packed 32 to a row of 8x8 cells, one colour index per texel (R8)
+uniform sampler2D PatternAtlas;
+
+// Combined palette texture (16 colours x 4 lines)
+uniform sampler2D Palette;
+
+// Screen dimensions (actual window pixels)
+uniform float ScreenWidth;
+uniform float ScreenHeight;
+
+// Viewport offset for letterboxing (accounts for window position)
+uniform float ViewportOffsetX;
+uniform float ViewportOffsetY;
+
+// First nametable row of the current frame, and the nametable texture height in rows
+uniform float NametableRow;
+uniform float NametableHeight;
+
+// Pattern atlas height in pixels
+uniform float AtlasHeight;
+
+const float NAMETABLE_WIDTH = 128.0;
+const float CELLS_PER_STRIP = 32.0;
+const float ATLAS_PATTERNS_PER_ROW = 32.0;
+const float ATLAS_WIDTH = 256.0;
+
+// H32 mode parameters
+const float H32_WIDTH = 256.0;
+const float SCREEN_GAME_WIDTH = 320.0;
+const float SCREEN_GAME_HEIGHT = 224.0;
+const float H32_OFFSET = (SCREEN_GAME_WIDTH - H32_WIDTH) / 2.0;  // 32 pixels
+
+void main()
+{
+    // Get fragment position in window coordinates, adjusted for viewport offset
+    vec2 windowPos = gl_FragCoord.xy - vec2(ViewportOffsetX, ViewportOffsetY);
+
+    // Map to game coordinates (0..320 for X, 0..224 for Y), Genesis Y=0 at the top
+    float gameX = windowPos.x / ScreenWidth * SCREEN_GAME_WIDTH;
+    float gameY = (1.0 - windowPos.y / ScreenHeight) * SCREEN_GAME_HEIGHT;
+
+    if (gameX < H32_OFFSET || gameX >= H32_OFFSET + H32_WIDTH) {
+        discard;
+    }
+
+    float localX = floor(gameX - H32_OFFSET);
+    float line = clamp(floor(gameY), 0.0, SCREEN_GAME_HEIGHT - 1.0);
+
+    // Which tile row, which 2-line strip of it, and which line of the strip
+    float row = floor(line / 8.0);
+    float lineInRow = line - row * 8.0;
+    float strip = floor(lineInRow / 2.0);
+    float lineInStrip = lineInRow - strip * 2.0;
+
+    float col = floor(localX / 8.0);
+    float px = localX - col * 8.0;
+
+    // ========================================
+    // NAMETABLE LOOKUP
+    // ========================================
+    vec2 cell = vec2(strip * CELLS_PER_STRIP + col, NametableRow + row);
+    vec4 entry = texture2D(NametableTexture, (cell + 0.5) / vec2(NAMETABLE_WIDTH, NametableHeight));
+    float lo = floor(entry.r * 255.0 + 0.5);
+    float hi = floor(entry.g * 255.0 + 0.5);
+
+    float patternIndex = lo + mod(hi, 8.0) * 256.0;
+    if (patternIndex < 0.5) {
+        discard;
+    }
+    float hFlip = mod(floor(hi / 8.0), 2.0);
+    float vFlip = mod(floor(hi / 16.0), 2.0);
+    float paletteLine = mod(floor(hi / 32.0), 4.0);
+
+    // ========================================
+    // PATTERN LOOKUP
+    // ========================================
+    // V flip swaps the two lines of the strip, matching the strip batch renderer
+    float srcX = hFlip > 0.5 ? 7.0 - px : px;
+    float srcY = strip * 2.0 + (vFlip > 0.5 ? 1.0 - lineInStrip : lineInStrip);
+
+    float atlasCol = mod(patternIndex, ATLAS_PATTERNS_PER_ROW);
+    float atlasRow = floor(patternIndex / ATLAS_PATTERNS_PER_ROW);
+    vec2 texel = vec2(atlasCol * 8.0 + srcX, atlasRow * 8.0 + srcY);
+    float index = texture2D(PatternAtlas, (texel + 0.5) / vec2(ATLAS_WIDTH, AtlasHeight)).r * 255.0;
+
+    // Mega Drive VDP Rule: Index 0 is transparent.
+    if (index < 0.1) {
+        discard;
+    }
+
+    // ========================================
+    // PALETTE LOOKUP
+    // ========================================
+    float paletteX = (floor(index + 0.5) + 0.5) / 16.0;
+    float paletteY = (paletteLine + 0.5) / 4.0;
+    gl_FragColor = texture2D(Palette, vec2(paletteX, paletteY));
+}
@@ -0,0 +1,122 @@
+package uk.co.jamesj999.sonic;
+
+import org.junit.Test;
+import uk.co.jamesj999.sonic.Control.InputMovie;
+import uk.co.jamesj999.sonic.Control.ReplayInputHandler;
+import uk.co.jamesj999.sonic.camera.Camera;
+import uk.co.jamesj999.sonic.game.GameRng;
+import uk.co.jamesj999.sonic.level.LevelManager;
+import uk.co.jamesj999.sonic.sprites.playable.Sonic;
+import uk.co.jamesj999.sonic.tests.HeadlessLevel;
+import uk.co.jamesj999.sonic.tools.ReplayRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static org.junit.Assert.*;
+
+public class TestEngineContext {
+    @Test
+    public void testDefaultContextUsedWhenNothingBound() {
+        assertSame(EngineContext.getDefault(), EngineContext.current());
+        assertSame(Camera.getInstance(), EngineContext.getDefault().call(Camera::getInstance));
+    }
+
+    @Test
+    public void testContextsHaveSeparateServices() {
+        EngineContext a = new EngineContext("a");
+        EngineContext b = new EngineContext("b");
+
+        Camera cameraA = a.call(Camera::getInstance);
+        Camera cameraB = b.call(Camera::getInstance);
+
+        assertNotSame(cameraA, cameraB);
+        assertNotSame(Camera.getInstance(), cameraA);
+        assertSame(cameraA, a.call(Camera::getInstance));
+    }
+
+    @Test
+    public void testBindingRestoresPrevious() {
+        EngineContext outer = new EngineContext("outer");
+        EngineContext inner = new EngineContext("inner");
+
+        EngineContext.Binding outerBinding = outer.bind();
+        EngineContext.Binding innerBinding = inner.bind();
+        assertSame(inner, EngineContext.current());
+        innerBinding.close();
+        assertSame(outer, EngineContext.current());
+        outerBinding.close();
+        assertSame(EngineContext.getDefault(), EngineContext.current());
+    }
+
+    @Test
+    public void testRemoveCreatesFreshInstance() {
+        EngineContext context = new EngineContext("remove");
+        GameRng first = context.call(GameRng::getInstance);
+
+        assertSame(first, context.remove(GameRng.class));
+        assertNotSame(first, context.call(GameRng::getInstance));
+    }
+
+    @Test
+    public void testGameLoopsRunInParallelMatchSerialRun() {
+        int copies = 6;
+        long[] serial = runHeadlessLevel(new EngineContext("serial"));
+        assertTrue("Sonic should keep moving", countChanges(serial) > serial.length / 2);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<ForkJoinTask<long[]>> tasks = new ArrayList<>();
+            for (int i = 0; i < copies; i++) {
+                EngineContext context = new EngineContext("parallel-" + i);
+                tasks.add(pool.submit(() -> runHeadlessLevel(context)));
+            }
+            for (ForkJoinTask<long[]> task : tasks) {
+                assertArrayEquals(serial, task.join());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int countChanges(long[] hashes) {
+        int changes = 0;
+        for (int frame = 1; frame < hashes.length; frame++) {
+            if (hashes[frame] != hashes[frame - 1]) {
+                changes++;
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Runs a scripted input sequence through a real game loop on the headless level and
+     * returns the state hash after every frame.
+     */
+    private static long[] runHeadlessLevel(EngineContext context) {
+        return context.call(() -> {
+            GameRng.getInstance().setSeed(0);
+            ReplayInputHandler input = new ReplayInputHandler();
+            GameLoop gameLoop = new GameLoop(context, input);
+
+            Sonic sonic = HeadlessLevel.loadWithSonic(0x60);
+            LevelManager levelManager = LevelManager.getInstance();
+
+            int frames = 900;
+            long[] hashes = new long[frames];
+            for (int frame = 0; frame < frames; frame++) {
+                // Run right jumping now and then, hit the wall, then run back
+                int mask = frame < 600 ? InputMovie.RIGHT : InputMovie.LEFT;
+                if (frame % 90 >= 70) {
+                    mask |= InputMovie.JUMP;
+                }
+                input.setFrameMask(mask);
+                gameLoop.step();
+                hashes[frame] = ReplayRunner.stateHash(sonic, levelManager.getObjectManager());
+            }
+            return hashes;
+        });
+    }
+}
@@ -2,11 +2,10 @@ package uk.co.jamesj999.sonic.camera;
 
 import org.junit.Before;
 import org.junit.Test;
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.sprites.Sprite;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
-import java.lang.reflect.Field;
-
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -20,7 +19,7 @@ public class TestCamera {
     private AbstractPlayableSprite mockSprite;
 
     @Before
-    public void setUp() throws Exception {
+    public void setUp() {
         // Reset the singleton for each test
         resetCameraSingleton();
         camera = Camera.getInstance();
@@ -45,10 +44,8 @@ public class TestCamera {
         camera.setMaxY((short) 1000);
     }
 
-    private void resetCameraSingleton() throws Exception {
-        Field instanceField = Camera.class.getDeclaredField("camera");
-        instanceField.setAccessible(true);
-        instanceField.set(null, null);
+    private void resetCameraSingleton() {
+        EngineContext.current().remove(Camera.class);
     }
 
     // ==================== Basic Position Tests ====================
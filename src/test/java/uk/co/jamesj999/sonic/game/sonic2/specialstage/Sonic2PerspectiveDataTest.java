@@ -0,0 +1,104 @@
+package uk.co.jamesj999.sonic.game.sonic2.specialstage;
+
+import org.junit.Assume;
+import org.junit.Test;
+import uk.co.jamesj999.sonic.data.Rom;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the perspective lookup tables agree with {@link Sonic2PerspectiveData.PerspectiveEntry}.
+ */
+public class Sonic2PerspectiveDataTest {
+
+    private static final String ROM_FILENAME = "Sonic The Hedgehog 2 (W) (REV01) [!].gen";
+    private static final int FRAME_COUNT = 56;
+
+    @Test
+    public void testLookupTablesMatchEntries() throws IOException {
+        // Every frame shares one block of two entries; the second has no angle culling
+        byte[] data = new byte[FRAME_COUNT * 2 + 2 + 12];
+        for (int frame = 0; frame < FRAME_COUNT; frame++) {
+            data[frame * 2 + 1] = (byte) (FRAME_COUNT * 2);
+        }
+        int block = FRAME_COUNT * 2;
+        data[block + 1] = 2;
+        byte[] entries = { 0x60, 0x50, 0x40, 0x20, 0x30, 0x50, (byte) 0x80, (byte) 0xF0, 0x10, 0x08, 0, 0 };
+        System.arraycopy(entries, 0, data, block + 2, entries.length);
+
+        Sonic2PerspectiveData perspective = load(data);
+
+        assertEquals(-1, perspective.entryIndex(0, 0));
+        assertEquals(-1, perspective.entryIndex(0, 3));
+        assertEquals(-1, perspective.entryIndex(FRAME_COUNT, 1));
+        assertEquals(perspective.entryIndex(0, 1) + 1, perspective.entryIndex(0, 2));
+        assertMatchesEntries(perspective);
+    }
+
+    @Test
+    public void testLookupTablesMatchEntriesForRomData() throws IOException {
+        Assume.assumeTrue("ROM file not found, skipping test", new File(ROM_FILENAME).exists());
+        Rom rom = new Rom();
+        Assume.assumeTrue("Failed to open ROM", rom.open(ROM_FILENAME));
+
+        Sonic2PerspectiveData perspective = new Sonic2PerspectiveData();
+        perspective.load(new Sonic2SpecialStageDataLoader(rom));
+        assertMatchesEntries(perspective);
+    }
+
+    private static Sonic2PerspectiveData load(byte[] data) throws IOException {
+        Sonic2PerspectiveData perspective = new Sonic2PerspectiveData();
+        perspective.load(new Sonic2SpecialStageDataLoader(null) {
+            @Override
+            public byte[] getPerspectiveData() {
+                return data;
+            }
+        });
+        return perspective;
+    }
+
+    private static void assertMatchesEntries(Sonic2PerspectiveData perspective) {
+        for (int frame = 0; frame < FRAME_COUNT; frame++) {
+            for (int depth = 1; depth <= perspective.getMaxDepthCount(frame); depth++) {
+                Sonic2PerspectiveData.PerspectiveEntry entry = perspective.getEntry(frame, depth);
+                int index = perspective.entryIndex(frame, depth);
+                if (entry == null) {
+                    assertEquals(-1, index);
+                    continue;
+                }
+                assertEquals(entry.yBase + entry.yRadius, perspective.getFloorY(index));
+                for (int angle = 0; angle < 256; angle++) {
+                    for (boolean flipped : new boolean[] { false, true }) {
+                        String where = "frame " + frame + " depth " + depth + " angle " + angle + " flipped " + flipped;
+                        int[] pos = entry.calculateScreenPosition(angle, flipped);
+                        assertEquals(where, entry.isAngleVisible(angle, flipped),
+                                perspective.isAngleVisible(index, angle, flipped));
+                        assertEquals(where, pos[0], perspective.getScreenX(index, angle, flipped));
+                        assertEquals(where, pos[1], perspective.getScreenY(index, angle));
+                        assertEquals(where, scaledPosition(entry, angle, flipped)[0],
+                                perspective.getScaledScreenX(index, angle, flipped));
+                        assertEquals(where, scaledPosition(entry, angle, flipped)[1],
+                                perspective.getScaledScreenY(index, angle));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The emerald's 3/4 radius position, as it was computed before the lookup tables.
+     */
+    private static int[] scaledPosition(Sonic2PerspectiveData.PerspectiveEntry entry, int angle, boolean flipped) {
+        double radians = (angle / 256.0) * 2 * Math.PI;
+        int cos = (int) Math.round(Math.cos(radians) * 256);
+        int sin = (int) Math.round(Math.sin(radians) * 256);
+        int xBase = flipped ? 0x100 - entry.xBase : entry.xBase;
+        return new int[] {
+            xBase + ((cos * ((entry.xRadius * 3) / 4)) >> 8),
+            entry.yBase + ((sin * ((entry.yRadius * 3) / 4)) >> 8)
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package uk.co.jamesj999.sonic.game.sonic2.specialstage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for slot recycling in the Special Stage object pool.
+ */
+public class Sonic2SpecialStageObjectPoolTest {
+
+    @Test
+    public void testRemovedObjectsAreRecycledInOrder() {
+        Sonic2SpecialStageObjectPool pool = new Sonic2SpecialStageObjectPool();
+        Sonic2SpecialStageRing first = pool.spawnRing();
+        Sonic2SpecialStageBomb bomb = pool.spawnBomb();
+        Sonic2SpecialStageRing second = pool.spawnRing();
+        assertNotSame(first, second);
+        assertEquals(3, pool.size());
+
+        first.markForRemoval();
+        pool.removeFinished();
+
+        assertEquals(2, pool.size());
+        assertSame(bomb, pool.get(0));
+        assertSame(second, pool.get(1));
+        assertSame("The freed slot is handed out again", first, pool.spawnRing());
+    }
+
+    @Test
+    public void testCapacityIsFixed() {
+        Sonic2SpecialStageObjectPool pool = new Sonic2SpecialStageObjectPool();
+        for (int i = 0; i < Sonic2SpecialStageObjectPool.BOMB_CAPACITY; i++) {
+            assertNotNull(pool.spawnBomb());
+        }
+        assertNull(pool.spawnBomb());
+        assertNotNull(pool.spawnRing());
+
+        pool.clear();
+        assertEquals(0, pool.size());
+        assertNotNull(pool.spawnBomb());
+    }
+
+    @Test
+    public void testSingleEmerald() {
+        Sonic2SpecialStageObjectPool pool = new Sonic2SpecialStageObjectPool();
+        assertNull(pool.getActiveEmerald());
+
+        Sonic2SpecialStageEmerald emerald = pool.spawnEmerald();
+        assertNotNull(emerald);
+        assertNull(pool.spawnEmerald());
+        assertSame(emerald, pool.getActiveEmerald());
+
+        emerald.markForRemoval();
+        pool.removeFinished();
+        assertNull(pool.getActiveEmerald());
+        assertSame(emerald, pool.spawnEmerald());
+    }
+}
@@ -0,0 +1,80 @@
+package uk.co.jamesj999.sonic.game.sonic2.specialstage;
+
+import org.junit.Assume;
+import org.junit.Test;
+import uk.co.jamesj999.sonic.data.Rom;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+import static uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageConstants.TRACK_FRAME_COUNT;
+import static uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2TrackFrameDecoder.TOTAL_VDP_TILES;
+
+/**
+ * Tests for the pre-decoded track frame cache. The ROM-backed test also checks a cached lookup
+ * is cheaper than decoding on demand; SpecialStageRunner reports the build time per stage.
+ */
+public class Sonic2TrackFrameCacheTest {
+
+    private static final String ROM_FILENAME = "Sonic The Hedgehog 2 (W) (REV01) [!].gen";
+
+    @Test
+    public void testLayoutPacksBothOrientationsPerFrame() {
+        byte[][] frames = { null, new byte[4], null };
+        Sonic2TrackFrameCache cache = Sonic2TrackFrameCache.build(frames);
+
+        assertEquals(3, cache.getFrameCount());
+        assertEquals(3 * 2 * TOTAL_VDP_TILES, cache.getWords().length);
+        assertEquals(0, cache.offsetOf(0, false));
+        assertEquals(TOTAL_VDP_TILES, cache.offsetOf(0, true));
+        assertEquals(4 * TOTAL_VDP_TILES, cache.offsetOf(2, false));
+        assertFalse(cache.contains(-1));
+        assertFalse(cache.contains(3));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOffsetRejectsMissingFrame() {
+        Sonic2TrackFrameCache.build(new byte[1][]).offsetOf(1, false);
+    }
+
+    @Test
+    public void testMatchesDecoderForEveryRomFrame() throws IOException {
+        Assume.assumeTrue("ROM file not found, skipping test", new File(ROM_FILENAME).exists());
+        Rom rom = new Rom();
+        Assume.assumeTrue("Failed to open ROM", rom.open(ROM_FILENAME));
+        byte[][] frames = new Sonic2SpecialStageDataLoader(rom).getTrackFrames();
+
+        Sonic2TrackFrameCache cache = Sonic2TrackFrameCache.build(frames);
+        assertEquals(TRACK_FRAME_COUNT, cache.getFrameCount());
+
+        short[] words = cache.getWords();
+        long decodeNanos = 0;
+        for (int frame = 0; frame < frames.length; frame++) {
+            for (int flip = 0; flip < 2; flip++) {
+                boolean flipped = flip == 1;
+                long start = System.nanoTime();
+                int[] expected = Sonic2TrackFrameDecoder.decodeFrame(frames[frame], flipped);
+                decodeNanos += System.nanoTime() - start;
+
+                int offset = cache.offsetOf(frame, flipped);
+                for (int i = 0; i < TOTAL_VDP_TILES; i++) {
+                    assertEquals("Frame " + frame + " flipped=" + flipped + " tile " + i,
+                            expected[i], words[offset + i] & 0xFFFF);
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        int checksum = 0;
+        for (int frame = 0; frame < frames.length; frame++) {
+            checksum += cache.offsetOf(frame, (frame & 1) != 0);
+        }
+        long lookupNanos = System.nanoTime() - start;
+        assertTrue(checksum > 0);
+
+        assertTrue("Cached lookups took " + lookupNanos + " ns against " + decodeNanos + " ns to decode",
+                lookupNanos < decodeNanos);
+        assertTrue(cache.getBuildNanos() > 0);
+    }
+}
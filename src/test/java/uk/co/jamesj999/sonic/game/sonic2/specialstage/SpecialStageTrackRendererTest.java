@@ -0,0 +1,45 @@
+package uk.co.jamesj999.sonic.game.sonic2.specialstage;
+
+import org.junit.Test;
+import uk.co.jamesj999.sonic.level.Pattern;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the texture layouts the special stage track shader reads.
+ */
+public class SpecialStageTrackRendererTest {
+
+    @Test
+    public void testNametableWordsPackLowByteFirst() {
+        short[] words = { (short) 0xE123, (short) 0x0800, 0 };
+        ByteBuffer packed = SpecialStageTrackRenderer.packNametables(words);
+
+        assertEquals(6, packed.remaining());
+        assertEquals(0x23, packed.get(0) & 0xFF);
+        assertEquals(0xE1, packed.get(1) & 0xFF);
+        assertEquals(0x00, packed.get(2) & 0xFF);
+        assertEquals(0x08, packed.get(3) & 0xFF);
+    }
+
+    @Test
+    public void testPatternsPackIntoAtlasCells() {
+        Pattern[] patterns = new Pattern[SpecialStageTrackRenderer.ATLAS_PATTERNS_PER_ROW + 1];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = new Pattern();
+        }
+        patterns[1].setPixel(3, 5, (byte) 7);
+        patterns[SpecialStageTrackRenderer.ATLAS_PATTERNS_PER_ROW].setPixel(0, 0, (byte) 9);
+
+        int width = SpecialStageTrackRenderer.ATLAS_WIDTH;
+        assertEquals(16, SpecialStageTrackRenderer.atlasHeightFor(patterns.length));
+        ByteBuffer atlas = SpecialStageTrackRenderer.packPatternAtlas(patterns);
+
+        assertEquals(width * 16, atlas.remaining());
+        assertEquals(7, atlas.get(5 * width + 8 + 3));
+        assertEquals(9, atlas.get(8 * width));
+        assertEquals(0, atlas.get(0));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Before;
 import org.junit.Test;
 import uk.co.jamesj999.sonic.level.Palette;
 import uk.co.jamesj999.sonic.level.Pattern;
+import uk.co.jamesj999.sonic.level.PatternDesc;
 
 import static org.junit.Assert.*;
 
@@ -223,6 +224,64 @@ public class TestGraphicsManagerHeadless {
         assertTrue("Batching should be re-enabled", graphicsManager.isBatchingEnabled());
     }
 
+    // ==================== Usage Capture Tests ====================
+
+    @Test
+    public void testEmptyCaptureCountsAsChanged() {
+        graphicsManager.initHeadless();
+        assertTrue(graphicsManager.hasChangedSince(new PatternUsage()));
+    }
+
+    @Test
+    public void testCaptureOnlyTracksWhatWasDrawn() {
+        graphicsManager.initHeadless();
+        graphicsManager.cachePatternTexture(createTestPattern(), 10);
+        graphicsManager.cachePatternTexture(createTestPattern(), 11);
+        graphicsManager.cachePaletteTexture(createTestPalette(), 0);
+        graphicsManager.cachePaletteTexture(createTestPalette(), 1);
+
+        PatternUsage usage = new PatternUsage();
+        graphicsManager.beginUsageCapture(usage);
+        graphicsManager.renderPatternWithId(10, new PatternDesc(0x2000), 0, 0);
+        graphicsManager.endUsageCapture();
+        assertFalse(graphicsManager.hasChangedSince(usage));
+
+        // Pattern 11 and palette line 0 were not drawn
+        graphicsManager.updatePatternTexture(createTestPattern(), 11);
+        graphicsManager.cachePaletteTexture(createTestPalette(), 0);
+        assertFalse(graphicsManager.hasChangedSince(usage));
+
+        graphicsManager.cachePaletteTexture(createTestPalette(), 1);
+        assertTrue(graphicsManager.hasChangedSince(usage));
+
+        graphicsManager.beginUsageCapture(usage);
+        graphicsManager.renderPatternWithId(10, new PatternDesc(0x2000), 0, 0);
+        graphicsManager.endUsageCapture();
+        graphicsManager.updatePatternTexture(createTestPattern(), 10);
+        assertTrue(graphicsManager.hasChangedSince(usage));
+    }
+
+    @Test
+    public void testResumedCaptureKeepsEarlierUsage() {
+        graphicsManager.initHeadless();
+        graphicsManager.cachePatternTexture(createTestPattern(), 10);
+        graphicsManager.cachePatternTexture(createTestPattern(), 11);
+        graphicsManager.cachePaletteTexture(createTestPalette(), 0);
+
+        PatternUsage usage = new PatternUsage();
+        graphicsManager.beginUsageCapture(usage);
+        graphicsManager.renderPatternWithId(10, new PatternDesc(0), 0, 0);
+        graphicsManager.endUsageCapture();
+
+        graphicsManager.resumeUsageCapture(usage);
+        graphicsManager.renderPatternWithId(11, new PatternDesc(0), 0, 0);
+        graphicsManager.endUsageCapture();
+        assertFalse(graphicsManager.hasChangedSince(usage));
+
+        graphicsManager.updatePatternTexture(createTestPattern(), 10);
+        assertTrue("Pattern 10 from the first capture is still tracked", graphicsManager.hasChangedSince(usage));
+    }
+
     // ==================== Helper Methods ====================
 
     private Pattern createTestPattern() {
@@ -0,0 +1,158 @@
+package uk.co.jamesj999.sonic.graphics;
+
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+import org.junit.Test;
+import org.mockito.InOrder;
+import uk.co.jamesj999.sonic.level.Pattern;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the bookkeeping and GL uploads of the batched pattern upload queue.
+ */
+public class TestPatternUploadQueue {
+
+    @Test
+    public void testRepeatedUpdatesShareOneSlot() {
+        PatternUploadQueue queue = new PatternUploadQueue();
+        queue.add(5, 100, new Pattern());
+        queue.add(7, 101, new Pattern());
+        queue.add(5, 100, new Pattern());
+
+        assertEquals(2, queue.size());
+        assertTrue(queue.isQueued(5));
+        assertTrue(queue.isQueued(7));
+        assertFalse(queue.isQueued(6));
+    }
+
+    @Test
+    public void testRemovedPatternIsNoLongerQueued() {
+        PatternUploadQueue queue = new PatternUploadQueue();
+        queue.add(5, 100, new Pattern());
+        queue.remove(5);
+        assertFalse(queue.isQueued(5));
+
+        queue.add(5, 100, new Pattern());
+        assertTrue("A later update queues it again", queue.isQueued(5));
+    }
+
+    @Test
+    public void testQueueGrowsAndClears() {
+        PatternUploadQueue queue = new PatternUploadQueue();
+        for (int id = 0; id < 500; id++) {
+            queue.add(id * 3, id + 1, new Pattern());
+        }
+        assertEquals(500, queue.size());
+        assertTrue(queue.isQueued(1497));
+
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertFalse(queue.isQueued(0));
+        assertFalse(queue.isQueued(1497));
+    }
+
+    @Test
+    public void testPboFlushUploadsEachLiveSlotFromItsOffset() {
+        GL gl = mock(GL.class);
+        when(gl.isExtensionAvailable("GL_ARB_pixel_buffer_object")).thenReturn(true);
+        ByteBuffer mapped = ByteBuffer.allocateDirect(64 * 3);
+        when(gl.glMapBuffer(GL2.GL_PIXEL_UNPACK_BUFFER, GL2.GL_WRITE_ONLY)).thenReturn(mapped);
+
+        PatternUploadQueue queue = new PatternUploadQueue();
+        queue.add(5, 100, filledPattern(1));
+        queue.add(7, 101, filledPattern(2));
+        queue.add(9, 102, filledPattern(3));
+        queue.remove(7);
+        queue.flush(gl);
+
+        InOrder inOrder = inOrder(gl);
+        inOrder.verify(gl).glBindTexture(GL2.GL_TEXTURE_2D, 100);
+        inOrder.verify(gl).glTexSubImage2D(GL2.GL_TEXTURE_2D, 0, 0, 0, 8, 8, GL2.GL_RED, GL2.GL_UNSIGNED_BYTE, 0L);
+        inOrder.verify(gl).glBindTexture(GL2.GL_TEXTURE_2D, 102);
+        inOrder.verify(gl).glTexSubImage2D(GL2.GL_TEXTURE_2D, 0, 0, 0, 8, 8, GL2.GL_RED, GL2.GL_UNSIGNED_BYTE, 128L);
+        inOrder.verify(gl).glBindBuffer(GL2.GL_PIXEL_UNPACK_BUFFER, 0);
+
+        verify(gl, never()).glBindTexture(GL2.GL_TEXTURE_2D, 101);
+        verify(gl, times(2)).glTexSubImage2D(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt(), anyLong());
+        verify(gl, never()).glTexSubImage2D(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt(), any(Buffer.class));
+
+        assertEquals("Every staged tile is copied into the PBO", 64 * 3, mapped.position());
+        assertEquals(1, mapped.get(0));
+        assertEquals(3, mapped.get(128 + 63));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testFallbackFlushUploadsEachTileWindow() {
+        GL gl = mock(GL.class);
+        when(gl.isExtensionAvailable("GL_ARB_pixel_buffer_object")).thenReturn(false);
+        List<byte[]> uploads = new ArrayList<>();
+        doAnswer(invocation -> {
+            ByteBuffer pixels = invocation.getArgument(8);
+            byte[] copy = new byte[pixels.remaining()];
+            pixels.duplicate().get(copy);
+            uploads.add(copy);
+            return null;
+        }).when(gl).glTexSubImage2D(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt(), any(Buffer.class));
+
+        PatternUploadQueue queue = new PatternUploadQueue();
+        queue.add(5, 100, filledPattern(1));
+        queue.add(7, 101, filledPattern(2));
+        queue.add(9, 102, filledPattern(3));
+        queue.remove(5);
+        queue.flush(gl);
+
+        verify(gl, never()).glBindTexture(GL2.GL_TEXTURE_2D, 100);
+        verify(gl, never()).glBindBuffer(anyInt(), anyInt());
+        assertEquals(2, uploads.size());
+        assertArrayEquals(filledBytes(2), uploads.get(0));
+        assertArrayEquals(filledBytes(3), uploads.get(1));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testUnmappablePboFallsBackToDirectUpload() {
+        GL gl = mock(GL.class);
+        when(gl.isExtensionAvailable("GL_ARB_pixel_buffer_object")).thenReturn(true);
+
+        PatternUploadQueue queue = new PatternUploadQueue();
+        queue.add(5, 100, filledPattern(1));
+        queue.flush(gl);
+
+        InOrder inOrder = inOrder(gl);
+        inOrder.verify(gl).glBindBuffer(GL2.GL_PIXEL_UNPACK_BUFFER, 0);
+        inOrder.verify(gl).glTexSubImage2D(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt(), any(Buffer.class));
+        verify(gl, never()).glTexSubImage2D(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt(), anyLong());
+    }
+
+    private static Pattern filledPattern(int value) {
+        Pattern pattern = new Pattern();
+        for (int y = 0; y < Pattern.PATTERN_HEIGHT; y++) {
+            for (int x = 0; x < Pattern.PATTERN_WIDTH; x++) {
+                pattern.setPixel(x, y, (byte) value);
+            }
+        }
+        return pattern;
+    }
+
+    private static byte[] filledBytes(int value) {
+        byte[] bytes = new byte[Pattern.PATTERN_WIDTH * Pattern.PATTERN_HEIGHT];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+}
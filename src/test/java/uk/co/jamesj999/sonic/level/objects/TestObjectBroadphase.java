@@ -0,0 +1,233 @@
+package uk.co.jamesj999.sonic.level.objects;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.jamesj999.sonic.EngineContext;
+import uk.co.jamesj999.sonic.graphics.GLCommand;
+import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
+import uk.co.jamesj999.sonic.sprites.playable.Sonic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the sorted-interval collision broadphase.
+ */
+public class TestObjectBroadphase {
+
+    private static final ObjectBroadphase.Extent EXTENT = new ObjectBroadphase.Extent() {
+        @Override
+        public int minX(ObjectInstance instance) {
+            return instance.getX() - ((BoxObject) instance).halfWidth;
+        }
+
+        @Override
+        public int maxX(ObjectInstance instance) {
+            return instance.getX() + ((BoxObject) instance).halfWidth;
+        }
+    };
+
+    private ObjectBroadphase broadphase;
+    private List<ObjectInstance> out;
+
+    @Before
+    public void setUp() {
+        broadphase = new ObjectBroadphase();
+        out = new ArrayList<>();
+    }
+
+    @Test
+    public void testQueryReturnsOverlappingInRegistrationOrder() {
+        BoxObject right = new BoxObject(300, 8);
+        BoxObject far = new BoxObject(2000, 8);
+        BoxObject left = new BoxObject(280, 8);
+        broadphase.add(right);
+        broadphase.add(far);
+        broadphase.add(left);
+
+        broadphase.query(270, 310, EXTENT, out);
+
+        assertEquals(List.of(right, left), out);
+    }
+
+    @Test
+    public void testWideObjectReachesDistantRange() {
+        BoxObject narrow = new BoxObject(100, 4);
+        BoxObject wide = new BoxObject(100, 200);
+        broadphase.add(narrow);
+        broadphase.add(wide);
+
+        broadphase.query(290, 290, EXTENT, out);
+
+        assertEquals(List.of(wide), out);
+        assertEquals(400, broadphase.getMaxWidth(EXTENT));
+    }
+
+    @Test
+    public void testInvalidatePicksUpMovement() {
+        BoxObject box = new BoxObject(100, 8);
+        broadphase.add(box);
+        broadphase.query(500, 500, EXTENT, out);
+        assertTrue(out.isEmpty());
+
+        box.x = 500;
+        broadphase.invalidate();
+        broadphase.query(500, 500, EXTENT, out);
+
+        assertEquals(List.of(box), out);
+    }
+
+    @Test
+    public void testRemovedObjectsAreNotReturned() {
+        BoxObject first = new BoxObject(100, 8);
+        BoxObject second = new BoxObject(104, 8);
+        broadphase.add(first);
+        broadphase.add(second);
+        broadphase.remove(first);
+
+        broadphase.query(100, 100, EXTENT, out);
+
+        assertEquals(List.of(second), out);
+        assertEquals(1, broadphase.size());
+    }
+
+    @Test
+    public void testOpenEndedRangeCoversEverythingToOneSide() {
+        BoxObject left = new BoxObject(4, 8);
+        BoxObject middle = new BoxObject(400, 8);
+        BoxObject right = new BoxObject(900, 8);
+        broadphase.add(left);
+        broadphase.add(middle);
+        broadphase.add(right);
+
+        broadphase.query(Integer.MIN_VALUE, 400, EXTENT, out);
+
+        assertEquals(List.of(left, middle), out);
+    }
+
+    @Test
+    public void testIndexQueryReturnsRegistrationIndices() {
+        BoxObject right = new BoxObject(300, 8);
+        BoxObject far = new BoxObject(2000, 8);
+        BoxObject left = new BoxObject(280, 8);
+        broadphase.add(right);
+        broadphase.add(far);
+        broadphase.add(left);
+
+        int[] indices = new int[broadphase.size()];
+        int found = broadphase.query(270, 310, EXTENT, indices);
+
+        assertEquals(2, found);
+        assertEquals(0, indices[0]);
+        assertEquals(2, indices[1]);
+        assertSame(left, broadphase.getMember(indices[1]));
+    }
+
+    @Test
+    public void testSolidPassPushedPastMarginKeepsRegistrationOrder() {
+        AbstractPlayableSprite player = new EngineContext("solid-order").call(() -> {
+            Sonic sonic = new Sonic("sonic", (short) 0, (short) 0x100);
+            sonic.setAir(true);
+            sonic.setCentreX((short) 100);
+            return sonic;
+        });
+        int y = player.getCentreY();
+
+        ObjectManager manager = new ObjectManager(null, null);
+        List<ObjectInstance> contacts = new ArrayList<>();
+        // Registered before the pusher, so a full pass reaches it while the player is still
+        // at the start
+        ContactBox earlyFar = new ContactBox(1000, y, contacts, -1);
+        ContactBox pusher = new ContactBox(100, y, contacts, 1000);
+        ContactBox lateFar = new ContactBox(1000, y, contacts, -1);
+        manager.addDynamicObject(earlyFar);
+        manager.addDynamicObject(pusher);
+        manager.addDynamicObject(lateFar);
+
+        new SolidObjectManager(manager).update(player);
+
+        assertEquals(List.of(pusher, lateFar), contacts);
+    }
+
+    @Test
+    public void testObjectManagerKeepsProviderViews() {
+        ObjectManager manager = new ObjectManager(null, null);
+        BoxObject plain = new BoxObject(100, 8);
+        SolidBox solid = new SolidBox(100, 8);
+        manager.addDynamicObject(plain);
+        manager.addDynamicObject(solid);
+
+        assertEquals(List.of(solid), manager.getSolidBroadphase().getMembers());
+        assertEquals(0, manager.getTouchBroadphase().size());
+    }
+
+    private static class BoxObject implements ObjectInstance {
+        int x;
+        int y;
+        final int halfWidth;
+
+        BoxObject(int x, int halfWidth) {
+            this.x = x;
+            this.halfWidth = halfWidth;
+        }
+
+        @Override
+        public ObjectSpawn getSpawn() {
+            return new ObjectSpawn(x, y, 0, 0, 0, false, 0);
+        }
+
+        @Override
+        public void update(int frameCounter, AbstractPlayableSprite player) {
+        }
+
+        @Override
+        public void appendRenderCommands(List<GLCommand> commands) {
+        }
+
+        @Override
+        public boolean isHighPriority() {
+            return false;
+        }
+
+        @Override
+        public boolean isDestroyed() {
+            return false;
+        }
+    }
+
+    private static class SolidBox extends BoxObject implements SolidObjectProvider {
+        SolidBox(int x, int halfWidth) {
+            super(x, halfWidth);
+        }
+
+        @Override
+        public SolidObjectParams getSolidParams() {
+            return new SolidObjectParams(halfWidth, 8, 8);
+        }
+    }
+
+    /**
+     * Records each contact and optionally throws the player to {@code throwToX}.
+     */
+    private static class ContactBox extends SolidBox implements SolidObjectListener {
+        private final List<ObjectInstance> contacts;
+        private final int throwToX;
+
+        ContactBox(int x, int y, List<ObjectInstance> contacts, int throwToX) {
+            super(x, 16);
+            this.y = y;
+            this.contacts = contacts;
+            this.throwToX = throwToX;
+        }
+
+        @Override
+        public void onSolidContact(AbstractPlayableSprite player, SolidContact contact, int frameCounter) {
+            contacts.add(this);
+            if (throwToX >= 0) {
+                player.setCentreX((short) throwToX);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package uk.co.jamesj999.sonic.level.objects;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestObjectPlacementManager {
+
+    private static ObjectSpawn spawn(int x, int objectId, boolean respawnTracked) {
+        return new ObjectSpawn(x, 0x100, objectId, 0, 0, respawnTracked, 0x100);
+    }
+
+    private static List<Integer> activeXs(ObjectPlacementManager manager) {
+        List<Integer> xs = new ArrayList<>();
+        for (ObjectSpawn spawn : manager.getActiveSpawns()) {
+            xs.add(spawn.x());
+        }
+        return xs;
+    }
+
+    @Test
+    public void testWindowFollowsCameraForward() {
+        List<ObjectSpawn> spawns = new ArrayList<>();
+        for (int x = 0; x < 0x2000; x += 0x100) {
+            spawns.add(spawn(x, 1, false));
+        }
+        ObjectPlacementManager manager = new ObjectPlacementManager(spawns);
+        manager.reset(0);
+        // Window is [cameraX - 0x300, cameraX + 0x280]
+        assertEquals(List.of(0, 0x100, 0x200), activeXs(manager));
+
+        for (int cameraX = 0; cameraX <= 0x800; cameraX += 0x10) {
+            manager.update(cameraX);
+        }
+        assertEquals(List.of(0x500, 0x600, 0x700, 0x800, 0x900, 0xA00), activeXs(manager));
+        assertEquals(6, manager.getActiveSpawns().size());
+
+        // Jumping back rebuilds the window
+        manager.update(0x100);
+        assertEquals(List.of(0, 0x100, 0x200, 0x300), activeXs(manager));
+    }
+
+    @Test
+    public void testWindowFollowsCameraBackward() {
+        List<ObjectSpawn> spawns = new ArrayList<>();
+        for (int x = 0; x < 0x2000; x += 0x80) {
+            spawns.add(spawn(x, 1, false));
+        }
+        ObjectPlacementManager manager = new ObjectPlacementManager(spawns);
+        manager.reset(0x1000);
+        List<ObjectSpawn> activated = new ArrayList<>();
+        manager.setActivationListener(activated::add);
+
+        for (int cameraX = 0x1000; cameraX >= 0; cameraX -= 0x18) {
+            manager.update(cameraX);
+            ObjectPlacementManager rebuilt = new ObjectPlacementManager(spawns);
+            rebuilt.reset(cameraX);
+            assertEquals("Camera at " + cameraX, activeXs(rebuilt), activeXs(manager));
+        }
+        // Only spawns entering at the left edge were reported: 0x0 through 0xC80
+        assertEquals(0x1A, activated.size());
+
+        // Turning round again continues from the same cursors
+        for (int cameraX = 0; cameraX <= 0x400; cameraX += 0x18) {
+            manager.update(cameraX);
+        }
+        ObjectPlacementManager rebuilt = new ObjectPlacementManager(spawns);
+        rebuilt.reset(0x3F0);
+        assertEquals(activeXs(rebuilt), activeXs(manager));
+    }
+
+    @Test
+    public void testRememberedSpawnsLeaveTheWindow() {
+        ObjectSpawn tracked = spawn(0x100, 1, true);
+        ObjectSpawn monitor = spawn(0x140, 0x26, true);
+        ObjectPlacementManager manager = new ObjectPlacementManager(List.of(tracked, monitor));
+        manager.reset(0);
+        assertTrue(manager.getActiveSpawns().contains(tracked));
+
+        manager.markRemembered(tracked);
+        manager.markRemembered(monitor);
+        assertFalse(manager.isActive(tracked));
+        assertTrue(manager.isActive(monitor));
+        assertTrue(manager.isRemembered(tracked));
+
+        // Coming back into range does not respawn it
+        manager.update(0x2000);
+        manager.update(0);
+        assertFalse(manager.isActive(tracked));
+        assertTrue(manager.isActive(monitor));
+    }
+
+    @Test
+    public void testSpawnIndexMatchesByIdentity() {
+        ObjectSpawn first = spawn(0x100, 1, false);
+        ObjectSpawn twin = spawn(0x100, 1, false);
+        ObjectPlacementManager manager = new ObjectPlacementManager(List.of(first, twin));
+        assertEquals(0, manager.getSpawnIndex(first));
+        assertEquals(1, manager.getSpawnIndex(twin));
+        assertEquals(-1, manager.getSpawnIndex(spawn(0x100, 1, false)));
+    }
+}
@@ -0,0 +1,109 @@
+package uk.co.jamesj999.sonic.level.objects;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.jamesj999.sonic.graphics.GLCommand;
+import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for pooled dynamic objects.
+ */
+public class TestObjectPool {
+
+    private ObjectPool<Debris> pool;
+
+    @Before
+    public void setUp() {
+        pool = new ObjectPool<>(Debris.class, 2, Debris::new);
+    }
+
+    @Test
+    public void testAcquireReturnsNullWhenSlotsExhausted() {
+        assertNotNull(pool.acquire());
+        assertNotNull(pool.acquire());
+
+        assertNull(pool.acquire());
+        assertEquals(2, pool.getInUse());
+    }
+
+    @Test
+    public void testReleasedInstanceIsReused() {
+        Debris first = pool.acquire();
+        pool.acquire();
+        assertTrue(pool.release(first));
+
+        assertTrue(first.released);
+        assertSame(first, pool.acquire());
+        assertEquals(0, pool.getFreeCount());
+    }
+
+    @Test
+    public void testForeignAndDoubleReleasesAreIgnored() {
+        Debris leased = pool.acquire();
+
+        assertFalse(pool.release(new Debris()));
+        assertTrue(pool.release(leased));
+        assertFalse(pool.release(leased));
+        assertEquals(1, pool.getFreeCount());
+        assertEquals(0, pool.getInUse());
+    }
+
+    @Test
+    public void testObjectManagerReleasesDestroyedPooledObjects() {
+        ObjectManager manager = new ObjectManager(new ObjectPlacementManager(List.of()), null);
+        manager.registerPool(Debris.class, 1, Debris::new);
+
+        Debris debris = manager.acquire(Debris.class);
+        manager.addDynamicObject(debris);
+        assertNull(manager.acquire(Debris.class));
+
+        debris.destroyed = true;
+        manager.update(0, null);
+
+        assertTrue(debris.released);
+        assertEquals(0, manager.getPool(Debris.class).getInUse());
+        assertSame(debris, manager.acquire(Debris.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAcquireWithoutPoolIsRejected() {
+        new ObjectManager(null, null).acquire(Debris.class);
+    }
+
+    private static class Debris implements ObjectInstance, PooledObject {
+        boolean destroyed;
+        boolean released;
+
+        @Override
+        public ObjectSpawn getSpawn() {
+            return new ObjectSpawn(0, 0, 0, 0, 0, false, 0);
+        }
+
+        @Override
+        public void update(int frameCounter, AbstractPlayableSprite player) {
+        }
+
+        @Override
+        public void appendRenderCommands(List<GLCommand> commands) {
+        }
+
+        @Override
+        public boolean isHighPriority() {
+            return false;
+        }
+
+        @Override
+        public boolean isDestroyed() {
+            return destroyed;
+        }
+
+        @Override
+        public void onRelease() {
+            released = true;
+        }
+    }
+}
@@ -5,8 +5,6 @@ import org.junit.Test;
 import uk.co.jamesj999.sonic.graphics.GLCommand;
 import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -332,19 +330,13 @@ public class TestTouchResponseManager {
      * Mock ObjectManager that doesn't require real dependencies.
      */
     private static class MockObjectManager extends ObjectManager {
-        private final List<ObjectInstance> objects = new ArrayList<>();
-
         public MockObjectManager() {
             super(null, null);
         }
 
         public void addObject(ObjectInstance obj) {
-            objects.add(obj);
-        }
-
-        @Override
-        public Collection<ObjectInstance> getActiveObjects() {
-            return objects;
+            // Registers the object with the collision broadphase like any spawned object
+            addDynamicObject(obj);
         }
     }
 
@@ -0,0 +1,84 @@
+package uk.co.jamesj999.sonic.level.scroll;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static uk.co.jamesj999.sonic.level.scroll.M68KMath.*;
+
+/**
+ * Tests for band expansion into the scroll buffer.
+ */
+public class ScrollBandsTest {
+
+    private static final int SENTINEL = 0x12345678;
+
+    @Test
+    public void testBandsExpandToLines() {
+        ScrollBands bands = new ScrollBands();
+        int[] buf = new int[VISIBLE_LINES];
+        Arrays.fill(buf, SENTINEL);
+
+        bands.begin();
+        bands.add(10, (short) -5);
+        bands.add(1, (short) -5);
+        bands.add(200, (short) 7);
+        assertEquals(211, bands.getLine());
+        bands.expand(buf, (short) -100);
+
+        assertEquals(packScrollWords((short) -100, (short) -5), buf[10]);
+        assertEquals(packScrollWords((short) -100, (short) 7), buf[11]);
+        assertEquals(packScrollWords((short) -100, (short) 7), buf[210]);
+        assertEquals("Lines after the last band are untouched", SENTINEL, buf[211]);
+        assertEquals(95, bands.getMinScrollOffset());
+        assertEquals(107, bands.getMaxScrollOffset());
+    }
+
+    @Test
+    public void testBandsAreClippedToScreen() {
+        ScrollBands bands = new ScrollBands();
+        bands.begin();
+        bands.add(200, (short) 1);
+        bands.add(200, (short) 2);
+        bands.add(5, (short) 3);
+        assertEquals(VISIBLE_LINES, bands.getLine());
+    }
+
+    @Test
+    public void testOnlyChangedBandsAreRewritten() {
+        ScrollBands bands = new ScrollBands();
+        int[] buf = new int[VISIBLE_LINES];
+        expandTwoBands(bands, buf, (short) 1, (short) 2);
+
+        // Scribble over both bands; an unchanged band is trusted to still be in place
+        buf[0] = SENTINEL;
+        buf[VISIBLE_LINES - 1] = SENTINEL;
+        expandTwoBands(bands, buf, (short) 1, (short) 3);
+        assertEquals(SENTINEL, buf[0]);
+        assertEquals(packScrollWords((short) 0, (short) 3), buf[VISIBLE_LINES - 1]);
+
+        bands.invalidate();
+        expandTwoBands(bands, buf, (short) 1, (short) 3);
+        assertEquals(packScrollWords((short) 0, (short) 1), buf[0]);
+    }
+
+    @Test
+    public void testNewBufferIsWrittenInFull() {
+        ScrollBands bands = new ScrollBands();
+        expandTwoBands(bands, new int[VISIBLE_LINES], (short) 1, (short) 2);
+
+        int[] other = new int[VISIBLE_LINES];
+        assertFalse(bands.isCurrent(other));
+        expandTwoBands(bands, other, (short) 1, (short) 2);
+        assertEquals(packScrollWords((short) 0, (short) 1), other[0]);
+        assertTrue(bands.isCurrent(other));
+    }
+
+    private static void expandTwoBands(ScrollBands bands, int[] buf, short top, short bottom) {
+        bands.begin();
+        bands.add(100, top);
+        bands.add(VISIBLE_LINES, bottom);
+        bands.expand(buf, (short) 0);
+    }
+}
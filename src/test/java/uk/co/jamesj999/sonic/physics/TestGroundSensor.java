@@ -2,6 +2,7 @@ package uk.co.jamesj999.sonic.physics;
 
 import org.junit.Before;
 import org.junit.Test;
+import uk.co.jamesj999.sonic.EngineContext;
 import uk.co.jamesj999.sonic.level.ChunkDesc;
 import uk.co.jamesj999.sonic.level.CollisionMode;
 import uk.co.jamesj999.sonic.level.LevelManager;
@@ -14,6 +15,7 @@ import static org.junit.Assert.assertNotNull;
 
 public class TestGroundSensor {
 
+    private EngineContext context;
     private LevelManager mockLevelManager;
     private AbstractPlayableSprite mockSprite;
 
@@ -55,7 +57,9 @@ public class TestGroundSensor {
             }
         };
 
-        GroundSensor.setLevelManager(mockLevelManager);
+        // Sensors probe the level manager of the context they are built in
+        context = new EngineContext("ground-sensor");
+        context.service(LevelManager.class, () -> mockLevelManager);
 
         mockSprite = new AbstractPlayableSprite("sonic", (short) 0, (short) 0) {
             @Override
@@ -99,6 +103,10 @@ public class TestGroundSensor {
         tiles[3] = new SolidTile(3, emptyHeights, fullWidths, (byte) 0);
     }
 
+    private GroundSensor createSensor(Direction direction, byte x, byte y, boolean active) {
+        return context.call(() -> new GroundSensor(mockSprite, direction, x, y, active));
+    }
+
     private void setTileAt(int x, int y, int tileIndex) {
         setTileAt(x, y, tileIndex, CollisionMode.ALL_SOLID);
     }
@@ -127,7 +135,7 @@ public class TestGroundSensor {
         mockSprite.setX((short) 100);
         mockSprite.setY((short) 100);
 
-        GroundSensor sensor = new GroundSensor(mockSprite, Direction.DOWN, (byte) 0, (byte) 0, true);
+        GroundSensor sensor = createSensor(Direction.DOWN, (byte) 0, (byte) 0, true);
         SensorResult result = sensor.scan();
 
         assertNotNull(result);
@@ -145,7 +153,7 @@ public class TestGroundSensor {
         mockSprite.setX((short) 100);
         mockSprite.setY((short) 112);
 
-        GroundSensor sensor = new GroundSensor(mockSprite, Direction.DOWN, (byte) 0, (byte) 0, true);
+        GroundSensor sensor = createSensor(Direction.DOWN, (byte) 0, (byte) 0, true);
         SensorResult result = sensor.scan();
 
         assertNotNull(result);
@@ -167,7 +175,7 @@ public class TestGroundSensor {
         mockSprite.setX((short) 100);
         mockSprite.setY((short) 100);
 
-        GroundSensor sensor = new GroundSensor(mockSprite, Direction.DOWN, (byte) 0, (byte) 0, true);
+        GroundSensor sensor = createSensor(Direction.DOWN, (byte) 0, (byte) 0, true);
         SensorResult result = sensor.scan();
 
         assertNotNull("Should find extended tile", result);
@@ -205,7 +213,7 @@ public class TestGroundSensor {
         mockSprite.setX((short) 100);
         mockSprite.setY((short) 100);
 
-        GroundSensor sensor = new GroundSensor(mockSprite, Direction.DOWN, (byte) 0, (byte) 0, true);
+        GroundSensor sensor = createSensor(Direction.DOWN, (byte) 0, (byte) 0, true);
         SensorResult result = sensor.scan();
 
         assertNotNull("Should find extended tile", result);
@@ -226,7 +234,7 @@ public class TestGroundSensor {
         mockSprite.setX((short) 100);
         mockSprite.setY((short) 112);
 
-        GroundSensor sensor = new GroundSensor(mockSprite, Direction.DOWN, (byte) 0, (byte) 0, true);
+        GroundSensor sensor = createSensor(Direction.DOWN, (byte) 0, (byte) 0, true);
         SensorResult result = sensor.scan();
 
         assertNotNull("Should find regressed tile", result);
@@ -254,7 +262,7 @@ public class TestGroundSensor {
         mockSprite.setY((short) 100);
         // Note: mockSprite width/height are 0 in setup. getCentreX/Y = X/Y.
 
-        GroundSensor sensor = new GroundSensor(mockSprite, Direction.DOWN, (byte) 0, (byte) 10, true);
+        GroundSensor sensor = createSensor(Direction.DOWN, (byte) 0, (byte) 10, true);
         SensorResult result = sensor.scan();
 
         assertNotNull(result);
@@ -272,7 +280,7 @@ public class TestGroundSensor {
         mockSprite.setY((short) 100);
 
         // 1. Check with DOWN sensor (Ground). Should detect collision.
-        GroundSensor downSensor = new GroundSensor(mockSprite, Direction.DOWN, (byte) 0, (byte) 0, true);
+        GroundSensor downSensor = createSensor(Direction.DOWN, (byte) 0, (byte) 0, true);
         SensorResult downResult = downSensor.scan();
         assertNotNull("DOWN sensor should detect TOP_SOLID", downResult);
         assertEquals(12, downResult.distance());
@@ -287,7 +295,7 @@ public class TestGroundSensor {
         setTileAt(100, 80, 1, CollisionMode.TOP_SOLID);
 
         // UP Sensor looking up.
-        GroundSensor upSensor = new GroundSensor(mockSprite, Direction.UP, (byte) 0, (byte) 0, true);
+        GroundSensor upSensor = createSensor(Direction.UP, (byte) 0, (byte) 0, true);
         // Scan UP.
         // Tile at 100, 80.
         // If solid: Distance = SensorY - (TileY + Height).
@@ -317,7 +325,7 @@ public class TestGroundSensor {
         mockSprite.setX((short) 100);
         mockSprite.setY((short) 100);
 
-        GroundSensor downSensor = new GroundSensor(mockSprite, Direction.DOWN, (byte) 0, (byte) 0, true);
+        GroundSensor downSensor = createSensor(Direction.DOWN, (byte) 0, (byte) 0, true);
         // If solid: distance 12.
         // If ignored: Sees tile at 112 as empty.
         // Distance: (112 + 16 - 0) - 100 = 28.
@@ -326,7 +334,7 @@ public class TestGroundSensor {
 
         // 2. Check UP sensor. Should detect.
         setTileAt(100, 80, 1, CollisionMode.LEFT_RIGHT_BOTTOM_SOLID);
-        GroundSensor upSensor = new GroundSensor(mockSprite, Direction.UP, (byte) 0, (byte) 0, true);
+        GroundSensor upSensor = createSensor(Direction.UP, (byte) 0, (byte) 0, true);
         // If solid: 100 - (80 + 16) = 4.
         SensorResult upResult = upSensor.scan();
         assertEquals("UP sensor should detect L_R_B_SOLID", 4, upResult.distance());
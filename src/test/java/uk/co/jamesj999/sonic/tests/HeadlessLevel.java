@@ -0,0 +1,128 @@
+package uk.co.jamesj999.sonic.tests;
+
+import uk.co.jamesj999.sonic.camera.Camera;
+import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
+import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
+import uk.co.jamesj999.sonic.data.RomByteReader;
+import uk.co.jamesj999.sonic.level.*;
+import uk.co.jamesj999.sonic.level.objects.ObjectInstance;
+import uk.co.jamesj999.sonic.level.objects.ObjectRegistry;
+import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
+import uk.co.jamesj999.sonic.level.objects.TouchResponseTable;
+import uk.co.jamesj999.sonic.level.rings.RingSpawn;
+import uk.co.jamesj999.sonic.level.rings.RingSpriteSheet;
+import uk.co.jamesj999.sonic.sprites.managers.SpriteManager;
+import uk.co.jamesj999.sonic.sprites.playable.Sonic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Synthetic level for running the game loop without a ROM: a flat all-solid floor across
+ * the bottom block row, a wall block at the far right and a line of rings above the floor.
+ */
+public class HeadlessLevel implements Level {
+    public static final int WIDTH_BLOCKS = 16;
+    public static final int HEIGHT_BLOCKS = 4;
+    public static final int FLOOR_Y = (HEIGHT_BLOCKS - 1) * LevelConstants.BLOCK_HEIGHT;
+
+    private final Map map = new Map(2, WIDTH_BLOCKS, HEIGHT_BLOCKS);
+    private final PackedLevel packed;
+    private final SolidTile[] solidTiles;
+    private final List<RingSpawn> rings = new ArrayList<>();
+
+    public HeadlessLevel() {
+        for (int x = 0; x < WIDTH_BLOCKS; x++) {
+            map.setValue(0, x, HEIGHT_BLOCKS - 1, (byte) 1);
+        }
+        map.setValue(0, WIDTH_BLOCKS - 1, HEIGHT_BLOCKS - 2, (byte) 1);
+
+        // Block 0 is empty, block 1 is chunk 1 everywhere, solid from all sides on both paths
+        short[] blockChunks = new short[2 * LevelConstants.CHUNKS_PER_BLOCK];
+        Arrays.fill(blockChunks, LevelConstants.CHUNKS_PER_BLOCK, blockChunks.length, (short) (0xF000 | 1));
+        packed = new PackedLevel(new byte[Pattern.PATTERN_SIZE_IN_MEM], new short[2 * 4],
+                new byte[] { 0, 1 }, new byte[] { 0, 1 }, blockChunks, map);
+
+        byte[] empty = new byte[16];
+        byte[] full = new byte[16];
+        Arrays.fill(full, (byte) 16);
+        solidTiles = new SolidTile[] {
+                new SolidTile(0, empty, empty, (byte) 0),
+                new SolidTile(1, full, full, (byte) 0)
+        };
+
+        for (int x = 0x200; x < 0x600; x += 0x40) {
+            rings.add(new RingSpawn(x, FLOOR_Y - 0x10));
+        }
+    }
+
+    /**
+     * Loads a new headless level into the current context's level manager, with Sonic standing
+     * on the floor at {@code x} as the main character and the camera following him.
+     */
+    public static Sonic loadWithSonic(int x) {
+        String mainCode = SonicConfigurationService.getInstance()
+                .getString(SonicConfiguration.MAIN_CHARACTER_CODE);
+        Sonic sonic = new Sonic(mainCode, (short) x, (short) 0);
+        sonic.setY((short) (FLOOR_Y - sonic.getHeight()));
+        SpriteManager.getInstance().addSprite(sonic);
+        Camera camera = Camera.getInstance();
+        camera.setFocusedSprite(sonic);
+        camera.updatePosition(true);
+        LevelManager.getInstance().loadHeadlessLevel(new HeadlessLevel(), new EmptyRegistry(),
+                createTouchResponseTable());
+        return sonic;
+    }
+
+    /**
+     * Touch sizes for the headless level: index 0 is unused, index 1 is 8x8.
+     */
+    public static TouchResponseTable createTouchResponseTable() {
+        byte[] sizes = new byte[4];
+        sizes[2] = 8;
+        sizes[3] = 8;
+        return new TouchResponseTable(new RomByteReader(sizes), 0, 2);
+    }
+
+    @Override public int getPaletteCount() { return 0; }
+    @Override public Palette getPalette(int index) { return null; }
+    @Override public int getPatternCount() { return packed.getPatternCount(); }
+    @Override public Pattern getPattern(int index) { return packed.getPattern(index); }
+    @Override public int getChunkCount() { return packed.getChunkCount(); }
+    @Override public Chunk getChunk(int index) { return packed.getChunk(index); }
+    @Override public int getBlockCount() { return packed.getBlockCount(); }
+    @Override public Block getBlock(int index) { return packed.getBlock(index); }
+    @Override public SolidTile getSolidTile(int index) { return solidTiles[index]; }
+    @Override public int getSolidTileCount() { return solidTiles.length; }
+    @Override public Map getMap() { return map; }
+    @Override public PackedLevel getPackedLevel() { return packed; }
+    @Override public List<ObjectSpawn> getObjects() { return Collections.emptyList(); }
+    @Override public List<RingSpawn> getRings() { return rings; }
+    @Override public RingSpriteSheet getRingSpriteSheet() { return null; }
+    @Override public int getMinX() { return 0; }
+    @Override public int getMaxX() { return WIDTH_BLOCKS * LevelConstants.BLOCK_WIDTH - 320; }
+    @Override public int getMinY() { return 0; }
+    @Override public int getMaxY() { return HEIGHT_BLOCKS * LevelConstants.BLOCK_HEIGHT - 224; }
+    @Override public int getZoneIndex() { return 0; }
+
+    /**
+     * Registry for a level with no placed objects.
+     */
+    public static class EmptyRegistry implements ObjectRegistry {
+        @Override
+        public ObjectInstance create(ObjectSpawn spawn) {
+            return null;
+        }
+
+        @Override
+        public void reportCoverage(List<ObjectSpawn> spawns) {
+        }
+
+        @Override
+        public String getPrimaryName(int objectId) {
+            return "None";
+        }
+    }
+}
@@ -21,4 +21,17 @@ public class TestChunkDesc {
         assertEquals(0, desc.getChunkIndex());
         assertFalse(desc.getHFlip());
     }
+
+    @Test
+    public void testSharedDescriptorsAreReadOnly() {
+        int index = (1 << 12) | 0x0C2;
+        ChunkDesc shared = ChunkDesc.valueOf(index | 0x10000);
+        assertSame(shared, ChunkDesc.valueOf(index));
+        assertEquals(0x0C2, shared.getChunkIndex());
+        assertEquals(CollisionMode.TOP_SOLID, shared.getPrimaryCollisionMode());
+
+        assertThrows(UnsupportedOperationException.class, () -> shared.set(0));
+        assertThrows(UnsupportedOperationException.class, () -> shared.setChunkIndex(0));
+        assertEquals(index, shared.get());
+    }
 }
@@ -0,0 +1,111 @@
+package uk.co.jamesj999.sonic.tests;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.jamesj999.sonic.level.*;
+import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
+import uk.co.jamesj999.sonic.level.rings.RingSpawn;
+import uk.co.jamesj999.sonic.level.rings.RingSpriteSheet;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestCollisionField {
+
+    private Map map;
+    private PackedLevel packed;
+    private SolidTile[] solidTiles;
+    private Level level;
+
+    @Before
+    public void setUp() {
+        map = new Map(2, 2, 1);
+        map.setValue(0, 0, 0, (byte) 1);
+
+        short[] blockChunks = new short[2 * LevelConstants.CHUNKS_PER_BLOCK];
+        // Chunk 1, X flip, primary solidity top-only, secondary solidity all-solid
+        blockChunks[PackedLevel.blockChunkIndex(1, 2, 3)] = (short) (0xC000 | 0x1000 | 0x0400 | 1);
+        // Chunk 1 with a solid tile reference beyond the table
+        blockChunks[PackedLevel.blockChunkIndex(1, 3, 3)] = (short) (0xF000 | 2);
+
+        packed = new PackedLevel(new byte[Pattern.PATTERN_SIZE_IN_MEM], new short[3 * 4],
+                new byte[] { 0, 1, 5 }, new byte[] { 0, 2, 0 }, blockChunks, map);
+
+        solidTiles = new SolidTile[3];
+        for (int i = 0; i < solidTiles.length; i++) {
+            solidTiles[i] = new SolidTile(i, new byte[16], new byte[16], (byte) 0);
+        }
+        level = new FieldTestLevel();
+    }
+
+    @Test
+    public void testCellResolvesBothPaths() {
+        CollisionField field = CollisionField.build(level);
+        int cell = field.getCell(2 * 16 + 3, 3 * 16 + 9);
+
+        assertEquals(1, CollisionField.getChunkIndex(cell));
+        assertTrue(CollisionField.getHFlip(cell));
+        assertFalse(CollisionField.getVFlip(cell));
+        assertSame(solidTiles[1], field.getSolidTile(cell, 0x0C));
+        assertNull(field.getSolidTile(cell, 0x0D));
+        assertSame(solidTiles[2], field.getSolidTile(cell, 0x0E));
+        assertSame(solidTiles[2], field.getSolidTile(cell, 0x0F));
+    }
+
+    @Test
+    public void testInvalidSolidTileClearsSolidity() {
+        CollisionField field = CollisionField.build(level);
+        int cell = field.getCell(3 * 16, 3 * 16);
+
+        assertEquals(2, CollisionField.getChunkIndex(cell));
+        assertNull(field.getSolidTile(cell, 0x0C));
+        assertSame(solidTiles[0], field.getSolidTile(cell, 0x0E));
+    }
+
+    @Test
+    public void testOutsideLevelIsEmptyAndXWraps() {
+        CollisionField field = CollisionField.build(level);
+
+        assertEquals(0, field.getCell(2 * 16, -1));
+        assertEquals(0, field.getCell(2 * 16, packed.getLevelHeight()));
+        assertEquals(field.getCell(2 * 16, 3 * 16), field.getCell(2 * 16 + packed.getLevelWidth(), 3 * 16));
+    }
+
+    @Test
+    public void testMapEditMarksFieldStale() {
+        CollisionField field = CollisionField.build(level);
+        assertFalse(field.isStale());
+
+        map.setValue(0, 0, 0, (byte) 0);
+        assertTrue(field.isStale());
+
+        field.rebuild();
+        assertFalse(field.isStale());
+        assertEquals(0, field.getCell(2 * 16, 3 * 16));
+    }
+
+    private class FieldTestLevel implements Level {
+        @Override public int getPaletteCount() { return 0; }
+        @Override public Palette getPalette(int index) { return null; }
+        @Override public int getPatternCount() { return packed.getPatternCount(); }
+        @Override public Pattern getPattern(int index) { return packed.getPattern(index); }
+        @Override public int getChunkCount() { return packed.getChunkCount(); }
+        @Override public Chunk getChunk(int index) { return packed.getChunk(index); }
+        @Override public int getBlockCount() { return packed.getBlockCount(); }
+        @Override public Block getBlock(int index) { return packed.getBlock(index); }
+        @Override public SolidTile getSolidTile(int index) { return solidTiles[index]; }
+        @Override public int getSolidTileCount() { return solidTiles.length; }
+        @Override public Map getMap() { return map; }
+        @Override public PackedLevel getPackedLevel() { return packed; }
+        @Override public List<ObjectSpawn> getObjects() { return Collections.emptyList(); }
+        @Override public List<RingSpawn> getRings() { return Collections.emptyList(); }
+        @Override public RingSpriteSheet getRingSpriteSheet() { return null; }
+        @Override public int getMinX() { return 0; }
+        @Override public int getMaxX() { return 0; }
+        @Override public int getMinY() { return 0; }
+        @Override public int getMaxY() { return 0; }
+        @Override public int getZoneIndex() { return 0; }
+    }
+}
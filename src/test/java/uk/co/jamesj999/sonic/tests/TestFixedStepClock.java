@@ -0,0 +1,65 @@
+package uk.co.jamesj999.sonic.tests;
+
+import org.junit.Test;
+import uk.co.jamesj999.sonic.timer.FixedStepClock;
+
+import static org.junit.Assert.*;
+
+public class TestFixedStepClock {
+
+    @Test
+    public void testFirstRedrawGetsOneTick() {
+        FixedStepClock clock = new FixedStepClock(50.0, 4);
+        assertEquals(1, clock.advance(123_456_789L));
+        assertEquals(0, clock.advance(123_456_789L));
+    }
+
+    @Test
+    public void testFastRedrawsTickAtTheFixedRate() {
+        FixedStepClock clock = new FixedStepClock(50.0, 4);
+        long step = clock.getStepNanos();
+        long now = 0;
+        clock.advance(now);
+
+        // Redrawing at 144Hz for one second
+        long frame = 1_000_000_000L / 144;
+        int ticks = 0;
+        for (int i = 0; i < 144; i++) {
+            now += frame;
+            int due = clock.advance(now);
+            assertTrue(due <= 1);
+            ticks += due;
+            assertTrue(clock.getAlpha() >= 0f && clock.getAlpha() < 1f);
+        }
+        assertEquals(1_000_000_000L / step, ticks, 1);
+    }
+
+    @Test
+    public void testLateRedrawCatchesUpWithinLimit() {
+        FixedStepClock clock = new FixedStepClock(FixedStepClock.NTSC_HZ, 4);
+        long step = clock.getStepNanos();
+        clock.advance(0);
+
+        assertEquals(3, clock.advance(step * 3));
+        // Half a second late: only the catch-up limit runs, the rest is dropped
+        assertEquals(4, clock.advance(step * 3 + step * 30 + step / 2));
+        assertEquals(0.5f, clock.getAlpha(), 0.01f);
+        assertEquals(1, clock.advance(step * 34 + step / 2));
+    }
+
+    @Test
+    public void testResetSkipsCatchUp() {
+        FixedStepClock clock = new FixedStepClock(FixedStepClock.NTSC_HZ, 4);
+        clock.advance(0);
+        clock.reset();
+        assertEquals(1, clock.advance(10_000_000_000L));
+        assertEquals(0f, clock.getAlpha(), 0f);
+    }
+
+    @Test
+    public void testRegionRates() {
+        assertEquals(50.0, FixedStepClock.hzForRegion("PAL"), 0.0);
+        assertEquals(59.94, FixedStepClock.hzForRegion("NTSC"), 0.01);
+        assertEquals(59.94, FixedStepClock.hzForRegion(""), 0.01);
+    }
+}
@@ -0,0 +1,156 @@
+package uk.co.jamesj999.sonic.tests;
+
+import org.junit.Test;
+import uk.co.jamesj999.sonic.Control.InputMovie;
+import uk.co.jamesj999.sonic.EngineContext;
+import uk.co.jamesj999.sonic.GameLoop;
+import uk.co.jamesj999.sonic.Control.InputRecorder;
+import uk.co.jamesj999.sonic.Control.ReplayInputHandler;
+import uk.co.jamesj999.sonic.configuration.SonicConfiguration;
+import uk.co.jamesj999.sonic.configuration.SonicConfigurationService;
+import uk.co.jamesj999.sonic.game.GameRng;
+import uk.co.jamesj999.sonic.level.LevelManager;
+import uk.co.jamesj999.sonic.sprites.playable.Sonic;
+import uk.co.jamesj999.sonic.tools.ReplayRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.Assert.*;
+
+public class TestInputMovie {
+    @Test
+    public void testMovieRoundTrips() throws IOException {
+        InputMovie movie = new InputMovie(0x12345678, 2, 1);
+        for (int frame = 0; frame < 5000; frame++) {
+            movie.addFrame(frame & 0x1FF);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        movie.write(out);
+        InputMovie loaded = InputMovie.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(0x12345678, loaded.getSeed());
+        assertEquals(2, loaded.getZone());
+        assertEquals(1, loaded.getAct());
+        assertEquals(5000, loaded.getFrameCount());
+        assertEquals(4999 & 0x1FF, loaded.getFrame(4999));
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsNonMovie() throws IOException {
+        InputMovie.read(new ByteArrayInputStream(new byte[16]));
+    }
+
+    @Test
+    public void testRecordedMaskReplaysSameKeys() {
+        SonicConfigurationService config = SonicConfigurationService.getInstance();
+        int jumpKey = config.getInt(SonicConfiguration.JUMP);
+        int rightKey = config.getInt(SonicConfiguration.RIGHT);
+        int leftKey = config.getInt(SonicConfiguration.LEFT);
+
+        ReplayInputHandler source = new ReplayInputHandler();
+        source.setFrameMask(InputMovie.JUMP | InputMovie.RIGHT);
+        InputRecorder recorder = new InputRecorder(new InputMovie(0, 0, 0));
+        source.setRecorder(recorder);
+        source.beginFrame();
+
+        assertEquals(InputMovie.JUMP | InputMovie.RIGHT, recorder.getMovie().getFrame(0));
+
+        ReplayInputHandler replay = new ReplayInputHandler();
+        replay.setFrameMask(recorder.getMovie().getFrame(0));
+        assertTrue(replay.isKeyDown(jumpKey));
+        assertTrue(replay.isKeyDown(rightKey));
+        assertFalse(replay.isKeyDown(leftKey));
+
+        replay.setFrameMask(0);
+        assertFalse(replay.isKeyDown(jumpKey));
+    }
+
+    @Test
+    public void testReplayWithRewindAndRetryMatchesRecording() {
+        ReplayInputHandler source = new ReplayInputHandler();
+        InputRecorder recorder = new InputRecorder(new InputMovie(0, 0, 0));
+        source.setRecorder(recorder);
+        int frames = 400;
+        long[] recorded = runHeadless(new EngineContext("record"), source, frames, frame -> {
+            if (frame >= 200 && frame < 230) {
+                return InputMovie.REWIND;
+            }
+            if (frame == 300) {
+                return InputMovie.RETRY;
+            }
+            return frame % 60 >= 45 ? InputMovie.RIGHT | InputMovie.JUMP : InputMovie.RIGHT;
+        });
+
+        InputMovie movie = recorder.getMovie();
+        assertEquals(frames, movie.getFrameCount());
+        long[] replayed = runHeadless(new EngineContext("replay"), new ReplayInputHandler(), frames,
+                movie::getFrame);
+        assertArrayEquals(recorded, replayed);
+
+        // Rewinding went back to a frame seen before, and retry back to the start
+        assertEquals(recorded[169], recorded[229]);
+        assertEquals(recorded[0], recorded[300]);
+    }
+
+    @Test
+    public void testVersionOneMovieLoads() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x534D4F56);
+        out.writeShort(1);
+        out.writeInt(7);
+        out.writeShort(3);
+        out.writeShort(1);
+        out.writeInt(2);
+        out.writeByte(InputMovie.RIGHT);
+        out.writeByte(0xFF);
+
+        InputMovie movie = InputMovie.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(2, movie.getFrameCount());
+        assertEquals(InputMovie.RIGHT, movie.getFrame(0));
+        assertEquals(0xFF, movie.getFrame(1));
+    }
+
+    /**
+     * Steps a game loop on the headless level, feeding {@code input} the mask from
+     * {@code script} each frame, and returns the state hash after every frame.
+     */
+    private static long[] runHeadless(EngineContext context, ReplayInputHandler input, int frames,
+            IntUnaryOperator script) {
+        return context.call(() -> {
+            GameRng.getInstance().setSeed(0);
+            GameLoop gameLoop = new GameLoop(context, input);
+            Sonic sonic = HeadlessLevel.loadWithSonic(0x60);
+            LevelManager levelManager = LevelManager.getInstance();
+            long[] hashes = new long[frames];
+            for (int frame = 0; frame < frames; frame++) {
+                input.setFrameMask(script.applyAsInt(frame));
+                gameLoop.step();
+                hashes[frame] = ReplayRunner.stateHash(sonic, levelManager.getObjectManager());
+            }
+            return hashes;
+        });
+    }
+
+    @Test
+    public void testRngMatchesRomSequence() {
+        GameRng rng = GameRng.getInstance();
+        int saved = rng.getSeed();
+        try {
+            // RNG_seed of zero is replaced by $2A6D365A
+            rng.setSeed(0);
+            assertEquals(0x2A6D7FE7, rng.next());
+            assertEquals(0x7FE76115, rng.next());
+            assertEquals(0x6115388B, rng.next());
+            assertEquals(0x388BAC0A, rng.getSeed());
+        } finally {
+            rng.setSeed(saved);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package uk.co.jamesj999.sonic.tests;
+
+import org.junit.Assume;
+import org.junit.Test;
+import uk.co.jamesj999.sonic.Control.InputMovie;
+import uk.co.jamesj999.sonic.Control.ReplayInputHandler;
+import uk.co.jamesj999.sonic.EngineContext;
+import uk.co.jamesj999.sonic.GameLoop;
+import uk.co.jamesj999.sonic.game.GameRng;
+import uk.co.jamesj999.sonic.graphics.GLCommand;
+import uk.co.jamesj999.sonic.level.LevelManager;
+import uk.co.jamesj999.sonic.level.objects.ObjectInstance;
+import uk.co.jamesj999.sonic.level.objects.ObjectManager;
+import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
+import uk.co.jamesj999.sonic.level.objects.SolidObjectParams;
+import uk.co.jamesj999.sonic.level.objects.SolidObjectProvider;
+import uk.co.jamesj999.sonic.level.objects.TouchResponseProvider;
+import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
+import uk.co.jamesj999.sonic.sprites.playable.Sonic;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Guards the steady-state level tick against per-frame garbage: steps a real {@link GameLoop}
+ * on the headless level, with Sonic running back and forth through touch and solid objects, and
+ * checks the bytes allocated per frame stay under a fixed budget. Each step covers input, timers,
+ * player physics, camera, object, solid and touch collision, rings and the rewind snapshot.
+ * <p>
+ * The frames run in a child JVM: once another test has used Mockito's inline mock maker on
+ * {@link AbstractPlayableSprite}, those classes stay instrumented for the rest of the JVM and the
+ * instrumentation itself allocates on every call.
+ */
+public class TestLevelTickAllocation {
+    private static final int FLOOR_Y = HeadlessLevel.FLOOR_Y;
+    private static final int LEFT_TURN_X = 0x100;
+    private static final int RIGHT_TURN_X = 0x680;
+    private static final int WARMUP_FRAMES = 20000;
+    private static final int MEASURED_FRAMES = 2000;
+    private static final long BYTES_PER_FRAME_BUDGET = 64;
+    private static final String RESULT_PREFIX = "bytesPerFrame=";
+
+    private final ReplayInputHandler input = new ReplayInputHandler();
+    private GameLoop gameLoop;
+    private Sonic sonic;
+    private boolean runningRight = true;
+
+    @Test
+    public void testSteadyStateTickStaysUnderAllocationBudget() throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                TestLevelTickAllocation.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue("Harness timed out", process.waitFor(2, TimeUnit.MINUTES));
+        assertEquals("Harness failed:\n" + output, 0, process.exitValue());
+
+        int start = output.lastIndexOf(RESULT_PREFIX);
+        assertTrue("No result from harness:\n" + output, start >= 0);
+        int end = output.indexOf('\n', start);
+        long perFrame = Long.parseLong(output.substring(start + RESULT_PREFIX.length(),
+                end < 0 ? output.length() : end).trim());
+        Assume.assumeTrue("Thread allocation counters unavailable", perFrame >= 0);
+        assertTrue("Allocated " + perFrame + " bytes per frame, budget is " + BYTES_PER_FRAME_BUDGET,
+                perFrame <= BYTES_PER_FRAME_BUDGET);
+    }
+
+    public static void main(String[] args) {
+        TestLevelTickAllocation harness = new TestLevelTickAllocation();
+        harness.setUp();
+        System.out.println(RESULT_PREFIX + harness.measureBytesPerFrame());
+    }
+
+    private void setUp() {
+        GameRng.getInstance().setSeed(0);
+        gameLoop = new GameLoop(EngineContext.current(), input);
+
+        sonic = HeadlessLevel.loadWithSonic(LEFT_TURN_X);
+        LevelManager levelManager = LevelManager.getInstance();
+        // Touch objects sit in Sonic's path; solid ones are above his head so they are
+        // candidates every frame without stopping him
+        ObjectManager objectManager = levelManager.getObjectManager();
+        for (int x = LEFT_TURN_X - 0x80; x < RIGHT_TURN_X + 0x80; x += 0x40) {
+            objectManager.addDynamicObject(new TouchObject(x, FLOOR_Y - 0x10));
+            objectManager.addDynamicObject(new SolidObject(x + 0x20, FLOOR_Y - 0x80));
+        }
+    }
+
+    /**
+     * Returns the mean bytes allocated per steady-state frame, or -1 if the JVM can't tell us.
+     */
+    private long measureBytesPerFrame() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return -1;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            step();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            step();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        if (sonic.getAir()) {
+            throw new IllegalStateException("Sonic left the floor; the harness isn't measuring a grounded run");
+        }
+        return allocated / MEASURED_FRAMES;
+    }
+
+    private void step() {
+        // Run right along the floor, then back left, turning well short of the walls
+        if (runningRight && sonic.getCentreX() > RIGHT_TURN_X) {
+            runningRight = false;
+        } else if (!runningRight && sonic.getCentreX() < LEFT_TURN_X) {
+            runningRight = true;
+        }
+        input.setFrameMask(runningRight ? InputMovie.RIGHT : InputMovie.LEFT);
+        gameLoop.step();
+    }
+
+    private static class FixedObject implements ObjectInstance {
+        private final ObjectSpawn spawn;
+
+        FixedObject(int x, int y) {
+            this.spawn = new ObjectSpawn(x, y, 0, 0, 0, false, 0);
+        }
+
+        @Override
+        public ObjectSpawn getSpawn() {
+            return spawn;
+        }
+
+        @Override
+        public void update(int frameCounter, AbstractPlayableSprite player) {
+        }
+
+        @Override
+        public void appendRenderCommands(List<GLCommand> commands) {
+        }
+
+        @Override
+        public boolean isHighPriority() {
+            return false;
+        }
+
+        @Override
+        public boolean isDestroyed() {
+            return false;
+        }
+    }
+
+    private static class TouchObject extends FixedObject implements TouchResponseProvider {
+        TouchObject(int x, int y) {
+            super(x, y);
+        }
+
+        @Override
+        public int getCollisionFlags() {
+            // Special category, size index 1: no player reaction
+            return 0x41;
+        }
+
+        @Override
+        public int getCollisionProperty() {
+            return 0;
+        }
+    }
+
+    private static class SolidObject extends FixedObject implements SolidObjectProvider {
+        private static final SolidObjectParams PARAMS = new SolidObjectParams(0x10, 0x08, 0x08);
+
+        SolidObject(int x, int y) {
+            super(x, y);
+        }
+
+        @Override
+        public SolidObjectParams getSolidParams() {
+            return PARAMS;
+        }
+    }
+}
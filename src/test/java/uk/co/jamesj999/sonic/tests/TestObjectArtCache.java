@@ -0,0 +1,91 @@
+package uk.co.jamesj999.sonic.tests;
+
+import org.junit.Test;
+import uk.co.jamesj999.sonic.level.Pattern;
+import uk.co.jamesj999.sonic.level.objects.ObjectArtCache;
+import uk.co.jamesj999.sonic.level.objects.ObjectSpriteSheet;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TestObjectArtCache {
+    private static final int PATTERN_BYTES = Pattern.PATTERN_SIZE_IN_MEM;
+
+    @Test
+    public void testEvictsLeastRecentlyUsedOverCap() {
+        ObjectArtCache cache = new ObjectArtCache(4L * PATTERN_BYTES);
+        cache.put(0x100, patterns(2));
+        cache.put(0x200, patterns(2));
+
+        // Touch 0x100 so 0x200 becomes the eldest entry
+        assertNotNull(cache.get(0x100));
+        cache.put(0x300, patterns(1));
+
+        assertTrue(cache.contains(0x100));
+        assertFalse(cache.contains(0x200));
+        assertTrue(cache.contains(0x300));
+        assertEquals(3L * PATTERN_BYTES, cache.getSizeBytes());
+    }
+
+    @Test
+    public void testOversizedArtIsNotRetained() {
+        ObjectArtCache cache = new ObjectArtCache(2L * PATTERN_BYTES);
+        cache.put(0x100, patterns(1));
+
+        Pattern[] loaded = cache.computeIfAbsent(0x200, addr -> patterns(3));
+
+        assertEquals(3, loaded.length);
+        assertFalse(cache.contains(0x200));
+        assertTrue(cache.contains(0x100));
+        assertEquals(PATTERN_BYTES, cache.getSizeBytes());
+    }
+
+    @Test
+    public void testComputeIfAbsentDecodesOnce() {
+        ObjectArtCache cache = new ObjectArtCache(16L * PATTERN_BYTES);
+        AtomicInteger decodes = new AtomicInteger();
+
+        Pattern[] first = cache.computeIfAbsent(0x100, addr -> {
+            decodes.incrementAndGet();
+            return patterns(2);
+        });
+        Pattern[] second = cache.computeIfAbsent(0x100, addr -> {
+            decodes.incrementAndGet();
+            return patterns(2);
+        });
+
+        assertSame(first, second);
+        assertEquals(1, decodes.get());
+    }
+
+    @Test
+    public void testLazySheetDefersDecodeAndPadsToCount() {
+        AtomicInteger decodes = new AtomicInteger();
+        ObjectSpriteSheet sheet = new ObjectSpriteSheet(4, () -> {
+            decodes.incrementAndGet();
+            return patterns(2);
+        }, List.of(), 0, 1);
+
+        assertTrue(sheet.isLazy());
+        assertEquals(4, sheet.getPatternCount());
+        assertFalse(sheet.isLoaded());
+        assertEquals(0, decodes.get());
+
+        Pattern[] resolved = sheet.getPatterns();
+        assertEquals(4, resolved.length);
+        assertNotNull(resolved[3]);
+        assertSame(resolved, sheet.getPatterns());
+        assertEquals(1, decodes.get());
+        assertTrue(sheet.isLoaded());
+    }
+
+    private static Pattern[] patterns(int count) {
+        Pattern[] patterns = new Pattern[count];
+        for (int i = 0; i < count; i++) {
+            patterns[i] = new Pattern();
+        }
+        return patterns;
+    }
+}
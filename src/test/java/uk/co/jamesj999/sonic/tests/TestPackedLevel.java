@@ -0,0 +1,109 @@
+package uk.co.jamesj999.sonic.tests;
+
+import org.junit.Test;
+import uk.co.jamesj999.sonic.level.Block;
+import uk.co.jamesj999.sonic.level.Chunk;
+import uk.co.jamesj999.sonic.level.LevelConstants;
+import uk.co.jamesj999.sonic.level.Map;
+import uk.co.jamesj999.sonic.level.PackedLevel;
+import uk.co.jamesj999.sonic.level.Pattern;
+
+import static org.junit.Assert.*;
+
+public class TestPackedLevel {
+
+    private static PackedLevel createLevel(Map map) {
+        byte[] pixels = new byte[2 * Pattern.PATTERN_SIZE_IN_MEM];
+        pixels[PackedLevel.patternPixelIndex(1, 3, 2)] = 9;
+
+        short[] chunkPatterns = new short[2 * 4];
+        chunkPatterns[PackedLevel.chunkPatternIndex(1, 1, 0)] = (short) 0x8801;
+
+        short[] blockChunks = new short[2 * LevelConstants.CHUNKS_PER_BLOCK];
+        blockChunks[PackedLevel.blockChunkIndex(1, 2, 3)] = (short) 0xD401;
+
+        return new PackedLevel(pixels, chunkPatterns, new byte[] { 0, 5 }, new byte[] { 0, 6 }, blockChunks, map);
+    }
+
+    @Test
+    public void testChunkDescWordLookupWrapsHorizontally() {
+        Map map = new Map(2, 2, 1);
+        map.setValue(0, 1, 0, (byte) 1);
+        PackedLevel level = createLevel(map);
+
+        int x = LevelConstants.BLOCK_WIDTH + 2 * LevelConstants.CHUNK_WIDTH + 5;
+        int y = 3 * LevelConstants.CHUNK_HEIGHT + 7;
+        assertEquals(0xD401, level.getChunkDescWordAt(0, x, y));
+        assertEquals(0xD401, level.getChunkDescWordAt(0, x - level.getLevelWidth(), y));
+        assertEquals(0, level.getChunkDescWordAt(0, 0, y));
+    }
+
+    @Test
+    public void testForegroundClampsAndBackgroundWraps() {
+        Map map = new Map(2, 2, 1);
+        map.setValue(1, 0, 0, (byte) 1);
+        PackedLevel level = createLevel(map);
+
+        int x = 2 * LevelConstants.CHUNK_WIDTH;
+        int y = 3 * LevelConstants.CHUNK_HEIGHT;
+        assertEquals(-1, level.getChunkDescWordAt(0, x, y + level.getLevelHeight()));
+        assertEquals(0xD401, level.getChunkDescWordAt(1, x, y + level.getLevelHeight()));
+    }
+
+    @Test
+    public void testOutOfRangeBlockReturnsMinusOne() {
+        Map map = new Map(2, 1, 1);
+        map.setValue(0, 0, 0, (byte) 7);
+        PackedLevel level = createLevel(map);
+
+        assertEquals(-1, level.getBlockIndexAt(0, 0, 0));
+        assertEquals(-1, level.getChunkDescWordAt(0, 0, 0));
+    }
+
+    @Test
+    public void testObjectViewsMatchPackedData() {
+        PackedLevel level = createLevel(new Map(2, 1, 1));
+
+        assertEquals(9, level.getPattern(1).getPixel(3, 2));
+        assertEquals(0x8801, level.getChunk(1).getPatternDesc(1, 0).get());
+        assertEquals(5, level.getChunk(1).getSolidTileIndex());
+        assertEquals(6, level.getChunk(1).getSolidTileAltIndex());
+        assertEquals(1, level.getBlock(1).getChunkDesc(2, 3).getChunkIndex());
+        assertTrue(level.getBlock(1).getChunkDesc(2, 3).getHFlip());
+    }
+
+    @Test
+    public void testChunkAndBlockViewsAreReadOnly() {
+        PackedLevel level = createLevel(new Map(2, 1, 1));
+        Chunk chunk = level.getChunk(1);
+        Block block = level.getBlock(1);
+
+        assertThrows(UnsupportedOperationException.class, () -> chunk.setSolidTileIndex(0));
+        assertThrows(UnsupportedOperationException.class, () -> chunk.setSolidTileAltIndex(0));
+        assertThrows(UnsupportedOperationException.class,
+                () -> chunk.fromSegaFormat(new byte[Chunk.CHUNK_SIZE_IN_ROM], 0, 0));
+        assertThrows(UnsupportedOperationException.class, () -> chunk.getPatternDesc(1, 0).set(0));
+        assertThrows(UnsupportedOperationException.class, () -> chunk.getPatternDesc(0, 0).setHFlip(true));
+        assertThrows(UnsupportedOperationException.class,
+                () -> block.fromSegaFormat(new byte[LevelConstants.CHUNKS_PER_BLOCK * 2]));
+        assertThrows(UnsupportedOperationException.class, () -> block.getChunkDesc(2, 3).set(0));
+
+        assertEquals(5, chunk.getSolidTileIndex());
+        assertEquals(0x8801, chunk.getPatternDesc(1, 0).get());
+        assertEquals(0xD401, block.getChunkDesc(2, 3).get());
+    }
+
+    @Test
+    public void testPatternViewWritesThroughAndSurvivesGrowth() {
+        PackedLevel level = createLevel(new Map(2, 1, 1));
+        Pattern view = level.getPattern(1);
+
+        level.ensurePatternCapacity(4);
+        assertEquals(4, level.getPatternCount());
+        assertEquals(9, view.getPixel(3, 2));
+
+        view.setPixel(0, 0, (byte) 4);
+        assertEquals(4, level.getPixel(1, 0, 0));
+        assertEquals(0, level.getPattern(3).getPixel(0, 0));
+    }
+}
@@ -0,0 +1,85 @@
+package uk.co.jamesj999.sonic.tests;
+
+import org.junit.Test;
+import uk.co.jamesj999.sonic.level.particles.ParticleBuffer;
+import uk.co.jamesj999.sonic.rewind.RewindBuffer;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
+
+import static org.junit.Assert.*;
+
+public class TestParticleBuffer {
+
+    @Test
+    public void testIntegrateMovesAndAppliesGravity() {
+        ParticleBuffer particles = new ParticleBuffer(4);
+        int i = particles.add(0, 100, 50, 0x180, -0x200, 10, 0);
+        particles.integrate(0x18);
+
+        assertEquals(101, particles.getX(i));
+        assertEquals(48, particles.getY(i));
+        assertEquals(-0x200 + 0x18, particles.getYVel(i));
+    }
+
+    @Test
+    public void testEndingParticlesHoldStill() {
+        ParticleBuffer particles = new ParticleBuffer(4);
+        int i = particles.add(0, 100, 50, 0x100, 0x100, 10, 0);
+        particles.setEndFrame(i, 7);
+        particles.integrate(0x18);
+
+        assertTrue(particles.isEnding(i));
+        assertEquals(7, particles.getEndFrame(i));
+        assertEquals(100, particles.getX(i));
+        assertEquals(0x100, particles.getYVel(i));
+    }
+
+    @Test
+    public void testCompactKeepsSurvivorsInOrder() {
+        ParticleBuffer particles = new ParticleBuffer(1);
+        for (int id = 0; id < 5000; id++) {
+            particles.add(id, id, 0, 0, 0, 1 + (id % 3), 0);
+        }
+        assertEquals(5000, particles.size());
+
+        for (int i = 0; i < particles.size(); i++) {
+            if (particles.decLifetime(i) <= 0) {
+                particles.kill(i);
+            }
+        }
+        particles.compact();
+
+        assertEquals(5000 - 1667, particles.size());
+        int previous = -1;
+        for (int i = 0; i < particles.size(); i++) {
+            int id = particles.getId(i);
+            assertNotEquals(0, id % 3);
+            assertTrue(id > previous);
+            assertEquals(id, particles.getX(i));
+            previous = id;
+        }
+    }
+
+    @Test
+    public void testStateRoundTrip() {
+        ParticleBuffer particles = new ParticleBuffer(2);
+        particles.add(3, 10, 20, 0x40, -0x80, 30, 5);
+        int ending = particles.add(4, 11, 21, 0, 0, 12, 6);
+        particles.setEndFrame(ending, 9);
+
+        StateWriter writer = new StateWriter(64);
+        particles.saveState(writer);
+        RewindBuffer buffer = new RewindBuffer(1024, 2, 1);
+        buffer.push(writer);
+
+        ParticleBuffer restored = new ParticleBuffer(1);
+        restored.loadState(buffer.read(0));
+        assertEquals(2, restored.size());
+        assertEquals(3, restored.getId(0));
+        assertEquals(20, restored.getY(0));
+        assertEquals(-0x80, restored.getYVel(0));
+        assertEquals(5, restored.getSpawnFrame(0));
+        assertFalse(restored.isEnding(0));
+        assertEquals(9, restored.getEndFrame(1));
+        assertEquals(12, restored.getLifetime(1));
+    }
+}
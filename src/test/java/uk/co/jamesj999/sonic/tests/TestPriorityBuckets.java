@@ -0,0 +1,72 @@
+package uk.co.jamesj999.sonic.tests;
+
+import org.junit.Test;
+import uk.co.jamesj999.sonic.graphics.PriorityBuckets;
+import uk.co.jamesj999.sonic.graphics.RenderPriority;
+
+import static org.junit.Assert.*;
+
+public class TestPriorityBuckets {
+
+    @Test
+    public void testItemsAreGroupedByBucketAndPriority() {
+        PriorityBuckets<String> buckets = new PriorityBuckets<>();
+        buckets.clear();
+        buckets.add("a", 3, false);
+        buckets.add("b", 5, true);
+        buckets.add("c", 3, false);
+        buckets.add("d", 3, true);
+        buckets.add("e", 0, false);
+        buckets.sort();
+
+        assertEquals(2, buckets.size(3, false));
+        assertEquals("a", buckets.get(3, false, 0));
+        assertEquals("c", buckets.get(3, false, 1));
+        assertEquals(1, buckets.size(3, true));
+        assertEquals("d", buckets.get(3, true, 0));
+        assertEquals("b", buckets.get(5, true, 0));
+        assertEquals("e", buckets.get(0, false, 0));
+        assertEquals(0, buckets.size(7, false));
+        assertEquals(0, buckets.size(7, true));
+    }
+
+    @Test
+    public void testOutOfRangeBucketsAreClamped() {
+        PriorityBuckets<String> buckets = new PriorityBuckets<>();
+        buckets.add("low", -4, false);
+        buckets.add("high", 20, true);
+        buckets.sort();
+
+        assertEquals("low", buckets.get(RenderPriority.MIN, false, 0));
+        assertEquals("high", buckets.get(RenderPriority.MAX, true, 0));
+    }
+
+    @Test
+    public void testClearAndGrowAcrossFrames() {
+        PriorityBuckets<Integer> buckets = new PriorityBuckets<>();
+        for (int frame = 0; frame < 3; frame++) {
+            buckets.clear();
+            for (int i = 0; i < 100; i++) {
+                buckets.add(i, i % 8, i % 2 == 0);
+            }
+            buckets.sort();
+            int total = 0;
+            for (int bucket = RenderPriority.MIN; bucket <= RenderPriority.MAX; bucket++) {
+                for (boolean high : new boolean[] {false, true}) {
+                    int previous = -1;
+                    for (int i = 0; i < buckets.size(bucket, high); i++) {
+                        int value = buckets.get(bucket, high, i);
+                        assertEquals(bucket, value % 8);
+                        assertTrue(value > previous);
+                        previous = value;
+                        total++;
+                    }
+                }
+            }
+            assertEquals(100, total);
+        }
+        buckets.clear();
+        buckets.sort();
+        assertTrue(buckets.isEmpty());
+    }
+}
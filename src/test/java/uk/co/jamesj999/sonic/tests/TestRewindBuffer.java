@@ -0,0 +1,204 @@
+package uk.co.jamesj999.sonic.tests;
+
+import org.junit.Test;
+import uk.co.jamesj999.sonic.rewind.RewindBuffer;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.*;
+
+public class TestRewindBuffer {
+
+    private static StateWriter frame(int value, int padding) {
+        StateWriter writer = new StateWriter(64);
+        writer.writeInt(value);
+        for (int i = 0; i < padding; i++) {
+            writer.writeByte(i);
+        }
+        writer.writeInt(value * 3);
+        return writer;
+    }
+
+    private static void assertFrame(StateReader reader, int value, int padding) {
+        assertEquals(value, reader.readInt());
+        for (int i = 0; i < padding; i++) {
+            assertEquals((byte) i, reader.readByte());
+        }
+        assertEquals(value * 3, reader.readInt());
+        assertEquals(0, reader.remaining());
+    }
+
+    @Test
+    public void testDeltaFramesRoundTrip() {
+        RewindBuffer buffer = new RewindBuffer(64 * 1024, 100, 10);
+        for (int i = 0; i < 25; i++) {
+            buffer.push(frame(i, 200));
+        }
+        assertEquals(25, buffer.size());
+        for (int age = 0; age < 25; age++) {
+            assertFrame(buffer.read(age), 24 - age, 200);
+        }
+    }
+
+    @Test
+    public void testWrapEvictsFramesLeftInTheTail() {
+        RewindBuffer buffer = new RewindBuffer(100, 100, 1);
+        int[] lengths = { 35, 35, 20, 15, 20, 68 };
+        for (int i = 0; i < lengths.length; i++) {
+            StateWriter writer = new StateWriter(lengths[i]);
+            for (int b = 0; b < lengths[i]; b++) {
+                writer.writeByte(i + 1);
+            }
+            buffer.push(writer);
+        }
+
+        // The last frame wraps past the 20 byte frame at 70; every earlier frame is gone
+        assertEquals(1, buffer.size());
+        StateReader reader = buffer.read(0);
+        assertEquals(68, reader.remaining());
+        assertEquals(6, reader.readByte());
+    }
+
+    @Test
+    public void testSurvivingFramesAreIntactAfterWraps() {
+        RewindBuffer buffer = new RewindBuffer(100, 100, 1);
+        int[] lengths = { 35, 35, 20, 15, 20, 30, 25, 40, 10, 45 };
+        for (int i = 0; i < lengths.length; i++) {
+            StateWriter writer = new StateWriter(lengths[i]);
+            for (int b = 0; b < lengths[i]; b++) {
+                writer.writeByte(i + 1);
+            }
+            buffer.push(writer);
+
+            for (int age = 0; age < buffer.size(); age++) {
+                StateReader reader = buffer.read(age);
+                int index = i - age;
+                assertEquals(lengths[index], reader.remaining());
+                for (int b = 0; b < lengths[index]; b++) {
+                    assertEquals("frame " + index, index + 1, reader.readByte());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDeltasAreSmallerThanKeyframes() {
+        // 10 keyframes of ~208 bytes fit; 100 whole frames would not
+        RewindBuffer buffer = new RewindBuffer(4096, 100, 10);
+        for (int i = 0; i < 100; i++) {
+            buffer.push(frame(i, 200));
+        }
+        assertEquals(100, buffer.size());
+        assertFrame(buffer.read(99), 0, 200);
+    }
+
+    @Test
+    public void testOldestFramesAreEvictedWithTheirDeltas() {
+        RewindBuffer buffer = new RewindBuffer(1024, 1000, 10);
+        for (int i = 0; i < 500; i++) {
+            buffer.push(frame(i, 200));
+        }
+        int size = buffer.size();
+        assertTrue(size > 0 && size < 500);
+        assertFrame(buffer.read(0), 499, 200);
+        // Every frame still held must decode, so none can have outlived its keyframe
+        for (int age = 0; age < size; age++) {
+            assertFrame(buffer.read(age), 499 - age, 200);
+        }
+    }
+
+    @Test
+    public void testFrameCountIsCapped() {
+        RewindBuffer buffer = new RewindBuffer(64 * 1024, 30, 10);
+        for (int i = 0; i < 100; i++) {
+            buffer.push(frame(i, 16));
+        }
+        assertTrue(buffer.size() <= 30);
+        assertFrame(buffer.read(0), 99, 16);
+        assertFrame(buffer.read(buffer.size() - 1), 100 - buffer.size(), 16);
+    }
+
+    @Test
+    public void testTruncateThenPushContinuesFromRestoredFrame() {
+        RewindBuffer buffer = new RewindBuffer(64 * 1024, 100, 10);
+        for (int i = 0; i < 25; i++) {
+            buffer.push(frame(i, 50));
+        }
+        buffer.truncate(12);
+        assertEquals(13, buffer.size());
+        assertFrame(buffer.read(0), 12, 50);
+
+        for (int i = 100; i < 110; i++) {
+            buffer.push(frame(i, 50));
+        }
+        assertEquals(23, buffer.size());
+        assertFrame(buffer.read(0), 109, 50);
+        assertFrame(buffer.read(10), 12, 50);
+        assertFrame(buffer.read(22), 0, 50);
+    }
+
+    @Test
+    public void testSnapshotsOfDifferentSizes() {
+        RewindBuffer buffer = new RewindBuffer(64 * 1024, 100, 10);
+        buffer.push(frame(1, 10));
+        buffer.push(frame(2, 40));
+        buffer.push(frame(3, 5));
+        assertFrame(buffer.read(0), 3, 5);
+        assertFrame(buffer.read(1), 2, 40);
+        assertFrame(buffer.read(2), 1, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSnapshotLargerThanBufferIsRejected() {
+        new RewindBuffer(64, 10, 5).push(frame(0, 100));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testReadingPastHistoryThrows() {
+        RewindBuffer buffer = new RewindBuffer(1024, 10, 5);
+        buffer.push(frame(0, 4));
+        buffer.read(1);
+    }
+
+    @Test
+    public void testWriterRoundTrip() {
+        BitSet bits = new BitSet();
+        bits.set(0);
+        bits.set(63);
+        bits.set(64);
+        bits.set(300);
+
+        StateWriter writer = new StateWriter(8);
+        writer.writeBoolean(true);
+        writer.writeShort(-2);
+        writer.writeLong(Long.MIN_VALUE);
+        writer.writeDouble(1.5);
+        writer.writeString("SONIC");
+        int mark = writer.beginBlock();
+        writer.writeFloat(0.25f);
+        writer.writeBits(bits);
+        writer.endBlock(mark);
+        writer.writeByte(7);
+
+        RewindBuffer buffer = new RewindBuffer(1024, 4, 2);
+        buffer.push(writer);
+        StateReader reader = buffer.read(0);
+
+        assertTrue(reader.readBoolean());
+        assertEquals(-2, reader.readShort());
+        assertEquals(Long.MIN_VALUE, reader.readLong());
+        assertEquals(1.5, reader.readDouble(), 0.0);
+        assertEquals("SONIC", reader.readString());
+        int length = reader.readBlockLength();
+        assertEquals(4 + 4 + 5 * 8, length);
+        assertEquals(0.25f, reader.readFloat(), 0.0f);
+        BitSet restored = new BitSet();
+        restored.set(5);
+        reader.readBits(restored);
+        assertEquals(bits, restored);
+        assertEquals(7, reader.readByte());
+        assertEquals(0, reader.remaining());
+    }
+}
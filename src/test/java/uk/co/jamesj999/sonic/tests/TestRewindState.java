@@ -0,0 +1,525 @@
+package uk.co.jamesj999.sonic.tests;
+
+import org.junit.Test;
+import uk.co.jamesj999.sonic.EngineContext;
+import uk.co.jamesj999.sonic.audio.smps.SmpsSequencer;
+import uk.co.jamesj999.sonic.audio.synth.VirtualSynthesizer;
+import uk.co.jamesj999.sonic.camera.Camera;
+import uk.co.jamesj999.sonic.game.sonic2.OscillationManager;
+import uk.co.jamesj999.sonic.game.sonic2.audio.Sonic2SmpsSequencerConfig;
+import uk.co.jamesj999.sonic.game.sonic2.audio.smps.Sonic2SmpsData;
+import uk.co.jamesj999.sonic.game.sonic2.objects.BridgeStakeObjectInstance;
+import uk.co.jamesj999.sonic.game.sonic2.objects.EHZWaterfallObjectInstance;
+import uk.co.jamesj999.sonic.game.sonic2.objects.PlatformObjectInstance;
+import uk.co.jamesj999.sonic.graphics.GLCommand;
+import uk.co.jamesj999.sonic.level.ChunkDesc;
+import uk.co.jamesj999.sonic.level.CollisionMode;
+import uk.co.jamesj999.sonic.level.LevelManager;
+import uk.co.jamesj999.sonic.level.SolidTile;
+import uk.co.jamesj999.sonic.level.objects.AbstractObjectInstance;
+import uk.co.jamesj999.sonic.level.objects.ObjectInstance;
+import uk.co.jamesj999.sonic.level.objects.ObjectManager;
+import uk.co.jamesj999.sonic.level.objects.ObjectPlacementManager;
+import uk.co.jamesj999.sonic.level.objects.ObjectRegistry;
+import uk.co.jamesj999.sonic.level.objects.ObjectSpawn;
+import uk.co.jamesj999.sonic.level.objects.PlaceholderObjectInstance;
+import uk.co.jamesj999.sonic.level.rings.RingPlacementManager;
+import uk.co.jamesj999.sonic.level.rings.RingSpawn;
+import uk.co.jamesj999.sonic.rewind.RewindBuffer;
+import uk.co.jamesj999.sonic.rewind.Snapshottable;
+import uk.co.jamesj999.sonic.rewind.StateReader;
+import uk.co.jamesj999.sonic.rewind.StateWriter;
+import uk.co.jamesj999.sonic.sprites.playable.AbstractPlayableSprite;
+import uk.co.jamesj999.sonic.sprites.playable.Sonic;
+import uk.co.jamesj999.sonic.timer.AbstractTimer;
+import uk.co.jamesj999.sonic.timer.TimerManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round trips each piece of state the rewind buffer records: save, change it, load, and check
+ * that saving again gives back exactly the same bytes.
+ */
+public class TestRewindState {
+    private static final int FLOOR_Y = 0x100;
+
+    @Test
+    public void testPlayerRoundTripKeepsJumpButtonState() {
+        new EngineContext("rewind-player").run(() -> {
+            Sonic sonic = createSonicOnFloor(0x40);
+            for (int i = 0; i < 30; i++) {
+                step(sonic, true, false);
+            }
+            // Press jump and keep it held, so the button edge state is part of the snapshot
+            step(sonic, true, true);
+            step(sonic, true, true);
+            assertTrue(sonic.getAir());
+            byte[] saved = snapshot(sonic::saveState);
+            short x = sonic.getX();
+            short y = sonic.getY();
+            short ySpeed = sonic.getYSpeed();
+
+            for (int i = 0; i < 20; i++) {
+                step(sonic, false, false);
+            }
+            assertNotEquals(ySpeed, sonic.getYSpeed());
+
+            restore(sonic::loadState, saved);
+            assertEquals(x, sonic.getX());
+            assertEquals(y, sonic.getY());
+            assertEquals(ySpeed, sonic.getYSpeed());
+            assertTrue(sonic.getAir());
+            assertArrayEquals(saved, snapshot(sonic::saveState));
+
+            // Jump is still held from before the snapshot, so holding it is not a new press
+            step(sonic, true, true);
+            assertTrue(ySpeed < sonic.getYSpeed());
+        });
+    }
+
+    @Test
+    public void testCameraRoundTrip() {
+        new EngineContext("rewind-camera").run(() -> {
+            Camera camera = Camera.getInstance();
+            camera.setX((short) 0x120);
+            camera.setY((short) 0x80);
+            camera.setMaxYTarget((short) 0x400);
+            byte[] saved = snapshot(camera::saveState);
+
+            camera.setX((short) 0x800);
+            camera.setY((short) 0x300);
+            camera.setMaxYTarget((short) 0x200);
+            camera.setFrozen(true);
+
+            restore(camera::loadState, saved);
+            assertEquals(0x120, camera.getX());
+            assertEquals(0x80, camera.getY());
+            assertEquals(0x400, camera.getMaxYTarget());
+            assertFalse(camera.getFrozen());
+            assertArrayEquals(saved, snapshot(camera::saveState));
+        });
+    }
+
+    @Test
+    public void testObjectManagerRestoresLiveObjects() {
+        List<ObjectSpawn> spawns = List.of(
+                new ObjectSpawn(0x100, 0x80, 1, 0, 0, true, 0),
+                new ObjectSpawn(0x180, 0x80, 2, 0, 0, false, 0),
+                new ObjectSpawn(0x200, 0x80, 1, 0, 0, true, 0));
+        ObjectManager objectManager = new ObjectManager(new ObjectPlacementManager(spawns), new TestRegistry());
+        objectManager.reset(0, spawns);
+        PlainObject olderDynamic = new PlainObject(spawns.get(1));
+        objectManager.addDynamicObject(olderDynamic);
+        for (int i = 0; i < 5; i++) {
+            objectManager.update(0, null);
+        }
+        CountingObject kept = findObject(objectManager, CountingObject.class, 0x100);
+        CountingObject broken = findObject(objectManager, CountingObject.class, 0x200);
+        PlainObject plain = findObject(objectManager, PlainObject.class, 0x180);
+        assertEquals(5, kept.counter);
+        byte[] saved = snapshot(objectManager::saveState);
+
+        broken.destroy = true;
+        PlainObject newerDynamic = new PlainObject(spawns.get(1));
+        objectManager.addDynamicObject(newerDynamic);
+        for (int i = 0; i < 10; i++) {
+            objectManager.update(0, null);
+        }
+        assertNull(findObject(objectManager, CountingObject.class, 0x200));
+
+        restore(objectManager::loadState, saved);
+        assertSame("Objects with state of their own are restored in place",
+                kept, findObject(objectManager, CountingObject.class, 0x100));
+        assertEquals(5, kept.counter);
+        CountingObject unbroken = findObject(objectManager, CountingObject.class, 0x200);
+        assertNotNull("A destroyed object comes back", unbroken);
+        assertEquals(5, unbroken.counter);
+        assertNotSame("Objects without state are created afresh",
+                plain, findObject(objectManager, PlainObject.class, 0x180));
+        assertTrue(objectManager.isDynamicObject(olderDynamic));
+        assertFalse("Dynamic objects added after the snapshot are dropped",
+                objectManager.isDynamicObject(newerDynamic));
+        assertEquals(4, objectManager.getObjectCount());
+        assertArrayEquals(saved, snapshot(objectManager::saveState));
+    }
+
+    @Test
+    public void testStatelessPlacedObjectsAreKeptOnRestore() {
+        List<ObjectSpawn> spawns = List.of(
+                new ObjectSpawn(0x100, 0x80, 0x18, 0, 0, false, 0),
+                new ObjectSpawn(0x140, 0x80, 0x1C, 2, 0, false, 0),
+                new ObjectSpawn(0x180, 0x80, 0x49, 0, 0, false, 0),
+                new ObjectSpawn(0x1C0, 0x80, 0x7F, 0, 0, false, 0));
+        ObjectRegistry registry = new TestRegistry() {
+            @Override
+            public ObjectInstance create(ObjectSpawn spawn) {
+                return switch (spawn.objectId()) {
+                    case 0x18 -> new PlatformObjectInstance(spawn, "Platform");
+                    case 0x1C -> new BridgeStakeObjectInstance(spawn, "Stake");
+                    case 0x49 -> new EHZWaterfallObjectInstance(spawn, "Waterfall");
+                    default -> new PlaceholderObjectInstance(spawn, "Unknown");
+                };
+            }
+        };
+        ObjectManager objectManager = new ObjectManager(new ObjectPlacementManager(spawns), registry);
+        objectManager.reset(0, spawns);
+        objectManager.update(0, null);
+        List<ObjectInstance> before = new ArrayList<>(objectManager.getActiveObjects());
+        assertEquals(4, before.size());
+        byte[] saved = snapshot(objectManager::saveState);
+
+        objectManager.update(0, null);
+        restore(objectManager::loadState, saved);
+        for (ObjectInstance instance : before) {
+            assertSame(instance, findObject(objectManager, instance.getClass(), instance.getSpawn().x()));
+        }
+        assertArrayEquals(saved, snapshot(objectManager::saveState));
+    }
+
+    @Test
+    public void testObjectManagerRestoresPlacementWindow() {
+        List<ObjectSpawn> spawns = new ArrayList<>();
+        for (int x = 0x100; x < 0x2000; x += 0x80) {
+            spawns.add(new ObjectSpawn(x, 0x80, 1, 0, 0, true, 0));
+        }
+        ObjectPlacementManager placement = new ObjectPlacementManager(spawns);
+        ObjectManager objectManager = new ObjectManager(placement, new TestRegistry());
+        objectManager.reset(0, spawns);
+        objectManager.update(0, null);
+        findObject(objectManager, CountingObject.class, 0x100).destroy = true;
+        for (int cameraX = 0; cameraX <= 0x400; cameraX += 0x10) {
+            objectManager.update(cameraX, null);
+        }
+        assertTrue(placement.isRemembered(0));
+        boolean[] activeBefore = activeFlags(placement, spawns.size());
+        byte[] saved = snapshot(objectManager::saveState);
+
+        for (int cameraX = 0x400; cameraX <= 0x1800; cameraX += 0x10) {
+            objectManager.update(cameraX, null);
+        }
+        placement.clearRemembered();
+        assertFalse(Arrays.equals(activeBefore, activeFlags(placement, spawns.size())));
+
+        restore(objectManager::loadState, saved);
+        assertTrue(placement.isRemembered(0));
+        assertArrayEquals(activeBefore, activeFlags(placement, spawns.size()));
+        assertArrayEquals(saved, snapshot(objectManager::saveState));
+
+        // Scrolling on from the restored window matches scrolling on from the original one
+        objectManager.update(0x410, null);
+        ObjectManager reference = new ObjectManager(new ObjectPlacementManager(spawns), new TestRegistry());
+        reference.reset(0, spawns);
+        restore(reference::loadState, saved);
+        reference.update(0x410, null);
+        assertArrayEquals(snapshot(reference::saveState), snapshot(objectManager::saveState));
+    }
+
+    @Test
+    public void testRingRoundTrip() {
+        List<RingSpawn> spawns = new ArrayList<>();
+        for (int x = 0x100; x < 0x400; x += 0x18) {
+            spawns.add(new RingSpawn(x, 0x80));
+        }
+        RingPlacementManager rings = new RingPlacementManager(spawns);
+        rings.reset(0);
+        rings.markCollected(1);
+        rings.setSparkleStartFrame(1, 5);
+        byte[] saved = snapshot(rings::saveState);
+
+        rings.markCollected(2);
+        rings.clearSparkle(1);
+
+        restore(rings::loadState, saved);
+        assertTrue(rings.isCollected(1));
+        assertFalse(rings.isCollected(2));
+        assertEquals(5, rings.getSparkleStartFrame(1));
+        assertEquals(1, rings.getCollectedCount());
+        assertArrayEquals(saved, snapshot(rings::saveState));
+    }
+
+    @Test
+    public void testTimerRoundTrip() {
+        new EngineContext("rewind-timers").run(() -> {
+            TimerManager timers = TimerManager.getInstance();
+            CountdownTimer first = new CountdownTimer("FIRST", 5);
+            CountdownTimer second = new CountdownTimer("SECOND", 9);
+            timers.registerTimer(first);
+            timers.registerTimer(second);
+            timers.update();
+            timers.update();
+            byte[] saved = snapshot(timers::saveState);
+
+            for (int i = 0; i < 3; i++) {
+                timers.update();
+            }
+            assertEquals(1, first.performed);
+            assertNull(timers.getTimerForCode("FIRST"));
+
+            restore(timers::loadState, saved);
+            assertSame(first, timers.getTimerForCode("FIRST"));
+            assertEquals(3, first.getTicks());
+            assertEquals(7, second.getTicks());
+            assertArrayEquals(saved, snapshot(timers::saveState));
+        });
+    }
+
+    @Test
+    public void testOscillationRoundTrip() {
+        new EngineContext("rewind-oscillation").run(() -> {
+            OscillationManager.reset();
+            for (int frame = 1; frame <= 40; frame++) {
+                OscillationManager.update(frame);
+            }
+            byte[] saved = snapshot(OscillationManager::saveState);
+            int value = OscillationManager.getByte(0);
+
+            for (int frame = 41; frame <= 100; frame++) {
+                OscillationManager.update(frame);
+            }
+            assertFalse(Arrays.equals(saved, snapshot(OscillationManager::saveState)));
+
+            restore(OscillationManager::loadState, saved);
+            assertEquals(value, OscillationManager.getByte(0));
+            assertArrayEquals(saved, snapshot(OscillationManager::saveState));
+        });
+    }
+
+    @Test
+    public void testSmpsSequencerRoundTrip() {
+        byte[] data = new byte[0x200];
+        data[2] = 2; // DAC and FM1
+        data[4] = 1; // Dividing timing
+        data[5] = (byte) 0x80; // Tempo
+        data[6] = 0x10; // DAC track: stop
+        data[0x10] = (byte) 0xF2;
+        int trackDataPtr = 0x14;
+        data[10] = (byte) trackDataPtr;
+        int pos = trackDataPtr;
+        for (int i = 0; i < 100; i++) {
+            data[pos++] = (byte) (0x81 + (i % 12));
+            data[pos++] = 0x03;
+        }
+        data[pos] = (byte) 0xF2;
+
+        SmpsSequencer seq = new SmpsSequencer(new Sonic2SmpsData(data), null, new VirtualSynthesizer(),
+                Sonic2SmpsSequencerConfig.CONFIG);
+        short[] buf = new short[4000];
+        seq.read(buf);
+        byte[] saved = snapshot(seq::saveState);
+
+        for (int i = 0; i < 5; i++) {
+            seq.read(buf);
+        }
+        assertFalse(Arrays.equals(saved, snapshot(seq::saveState)));
+
+        restore(seq::loadState, saved);
+        assertArrayEquals(saved, snapshot(seq::saveState));
+    }
+
+    /**
+     * Restoring a frame decodes it from the buffer and loads it into every component. Replays
+     * the worst case, a frame 59 deltas past its keyframe, on a level-sized object layout.
+     */
+    @Test
+    public void testRestoreTakesUnderOneMillisecond() {
+        new EngineContext("rewind-timing").run(() -> {
+            List<ObjectSpawn> spawns = new ArrayList<>();
+            for (int x = 0x100; x < 0x8000; x += 0x40) {
+                spawns.add(new ObjectSpawn(x, 0x80, x % 0x100 == 0 ? 1 : 2, 0, 0, true, 0));
+            }
+            ObjectManager objectManager = new ObjectManager(new ObjectPlacementManager(spawns),
+                    new TestRegistry());
+            objectManager.reset(0, spawns);
+            Sonic sonic = createSonicOnFloor(0x40);
+            Camera camera = Camera.getInstance();
+            TimerManager.getInstance().registerTimer(new CountdownTimer("LONG", Integer.MAX_VALUE));
+            OscillationManager.reset();
+
+            RewindBuffer buffer = new RewindBuffer(4 * 1024 * 1024, 30 * 60, 60);
+            StateWriter writer = new StateWriter(4096);
+            for (int frame = 1; frame <= 600; frame++) {
+                step(sonic, true, false);
+                camera.setX((short) Math.max(0, sonic.getCentreX() - 0xA0));
+                OscillationManager.update(frame);
+                TimerManager.getInstance().update();
+                objectManager.update(camera.getX(), sonic);
+                writer.reset();
+                writeFrame(writer, sonic, objectManager);
+                buffer.push(writer);
+            }
+            assertTrue(objectManager.getObjectCount() > 10);
+
+            int age = 59;
+            for (int i = 0; i < 2000; i++) {
+                readFrame(buffer.read(age), sonic, objectManager);
+            }
+            int restores = 2000;
+            long start = System.nanoTime();
+            for (int i = 0; i < restores; i++) {
+                readFrame(buffer.read(age), sonic, objectManager);
+            }
+            double millis = (System.nanoTime() - start) / 1e6 / restores;
+            assertTrue("Restore took " + millis + " ms", millis < 1.0);
+        });
+    }
+
+    private static void writeFrame(StateWriter out, Sonic sonic, ObjectManager objectManager) {
+        OscillationManager.saveState(out);
+        TimerManager.getInstance().saveState(out);
+        Camera.getInstance().saveState(out);
+        objectManager.saveState(out);
+        sonic.saveState(out);
+    }
+
+    private static void readFrame(StateReader in, Sonic sonic, ObjectManager objectManager) {
+        OscillationManager.loadState(in);
+        TimerManager.getInstance().loadState(in);
+        Camera.getInstance().loadState(in);
+        objectManager.loadState(in);
+        sonic.loadState(in);
+    }
+
+    private static byte[] snapshot(Consumer<StateWriter> save) {
+        StateWriter writer = new StateWriter(256);
+        save.accept(writer);
+        return writer.toByteArray();
+    }
+
+    private static void restore(Consumer<StateReader> load, byte[] saved) {
+        StateReader reader = new StateReader(saved, saved.length);
+        load.accept(reader);
+        assertEquals("Load should read the whole snapshot", 0, reader.remaining());
+    }
+
+    private static boolean[] activeFlags(ObjectPlacementManager placement, int count) {
+        boolean[] flags = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            flags[i] = placement.isActive(i);
+        }
+        return flags;
+    }
+
+    private static <T extends ObjectInstance> T findObject(ObjectManager objectManager, Class<T> type, int x) {
+        for (ObjectInstance instance : objectManager.getActiveObjects()) {
+            if (type.isInstance(instance) && instance.getSpawn().x() == x
+                    && !objectManager.isDynamicObject(instance)) {
+                return type.cast(instance);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds Sonic standing on a flat floor that covers the bottom of the level. The floor is
+     * this context's level manager, so the sprite's sensors resolve it when they are built.
+     */
+    private static Sonic createSonicOnFloor(int x) {
+        byte[] full = new byte[16];
+        Arrays.fill(full, (byte) 16);
+        SolidTile floorTile = new SolidTile(1, full, full, (byte) 0);
+        ChunkDesc floorChunk = new ChunkDesc(1);
+        floorChunk.set(1 | (CollisionMode.ALL_SOLID.getValue() << 12));
+        EngineContext.current().service(LevelManager.class, () -> new LevelManager() {
+            @Override
+            public ChunkDesc getChunkDescAt(byte layer, int px, int py) {
+                return py >= FLOOR_Y ? floorChunk : null;
+            }
+
+            @Override
+            public SolidTile getSolidTileForChunkDesc(ChunkDesc chunkDesc, int solidityBitIndex) {
+                return chunkDesc != null ? floorTile : null;
+            }
+        });
+
+        Sonic sonic = new Sonic("sonic", (short) x, (short) 0);
+        sonic.setY((short) (FLOOR_Y - sonic.getHeight()));
+        sonic.setAir(false);
+        return sonic;
+    }
+
+    private static void step(AbstractPlayableSprite sprite, boolean right, boolean jump) {
+        sprite.getMovementManager().handleMovement(false, false, false, right, jump, false);
+        sprite.tickStatus();
+        sprite.endOfTick();
+    }
+
+    private static class TestRegistry implements ObjectRegistry {
+        @Override
+        public ObjectInstance create(ObjectSpawn spawn) {
+            return spawn.objectId() == 1 ? new CountingObject(spawn) : new PlainObject(spawn);
+        }
+
+        @Override
+        public void reportCoverage(List<ObjectSpawn> spawns) {
+        }
+
+        @Override
+        public String getPrimaryName(int objectId) {
+            return "Test" + objectId;
+        }
+    }
+
+    private static class PlainObject extends AbstractObjectInstance {
+        PlainObject(ObjectSpawn spawn) {
+            super(spawn, "Plain");
+        }
+
+        @Override
+        public void appendRenderCommands(List<GLCommand> commands) {
+        }
+    }
+
+    private static class CountingObject extends AbstractObjectInstance implements Snapshottable {
+        int counter;
+        boolean destroy;
+
+        CountingObject(ObjectSpawn spawn) {
+            super(spawn, "Counting");
+        }
+
+        @Override
+        public void update(int frameCounter, AbstractPlayableSprite player) {
+            counter++;
+            if (destroy) {
+                setDestroyed(true);
+            }
+        }
+
+        @Override
+        public void appendRenderCommands(List<GLCommand> commands) {
+        }
+
+        @Override
+        public void saveState(StateWriter out) {
+            out.writeInt(counter);
+            out.writeBoolean(destroy);
+            out.writeBoolean(isDestroyed());
+        }
+
+        @Override
+        public void loadState(StateReader in) {
+            counter = in.readInt();
+            destroy = in.readBoolean();
+            setDestroyed(in.readBoolean());
+        }
+    }
+
+    private static class CountdownTimer extends AbstractTimer {
+        int performed;
+
+        CountdownTimer(String code, int ticks) {
+            super(code, ticks);
+        }
+
+        @Override
+        public boolean perform() {
+            performed++;
+            return true;
+        }
+    }
+}
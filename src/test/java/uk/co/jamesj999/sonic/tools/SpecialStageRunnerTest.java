@@ -0,0 +1,71 @@
+package uk.co.jamesj999.sonic.tools;
+
+import org.junit.Assume;
+import org.junit.Test;
+import uk.co.jamesj999.sonic.Control.InputMovie;
+import uk.co.jamesj999.sonic.EngineContext;
+import uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageCheckpoint;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static uk.co.jamesj999.sonic.game.sonic2.specialstage.Sonic2SpecialStageConstants.SPECIAL_STAGE_COUNT;
+
+/**
+ * Tests for the headless special stage runner. The ROM-backed test plays every stage with the
+ * autopilot and checks each checkpoint resolved consistently with its ring requirement.
+ * <p>
+ * Run with: mvn test -Dtest=SpecialStageRunnerTest
+ */
+public class SpecialStageRunnerTest {
+
+    private static final Path ROM_PATH = Path.of("Sonic The Hedgehog 2 (W) (REV01) [!].gen");
+
+    @Test
+    public void testMovieFramesMapToSpecialStageButtons() {
+        InputMovie movie = new InputMovie(0, 0, 0);
+        movie.addFrame(InputMovie.LEFT);
+        movie.addFrame(InputMovie.RIGHT | InputMovie.JUMP);
+        movie.addFrame(InputMovie.UP);
+
+        SpecialStageRunner.InputScript script = SpecialStageRunner.fromMovie(movie);
+        assertEquals(SpecialStageRunner.BUTTON_LEFT, script.heldButtons(0, null));
+        assertEquals(SpecialStageRunner.BUTTON_RIGHT | SpecialStageRunner.BUTTON_JUMP, script.heldButtons(1, null));
+        assertEquals(0, script.heldButtons(2, null));
+        assertEquals("Frames past the end hold nothing", 0, script.heldButtons(3, null));
+    }
+
+    @Test
+    public void testEveryStageRunsToTheEnd() throws IOException {
+        Assume.assumeTrue("ROM not found at " + ROM_PATH, Files.exists(ROM_PATH));
+
+        for (int stage = 0; stage < SPECIAL_STAGE_COUNT; stage++) {
+            SpecialStageRunner runner = new SpecialStageRunner(stage, SpecialStageRunner.RING_CHASER,
+                    new EngineContext("special-stage-" + (stage + 1)));
+            runner.init();
+            SpecialStageRunner.Result result = runner.run(SpecialStageRunner.DEFAULT_MAX_FRAMES);
+
+            String where = "Stage " + (stage + 1);
+            assertTrue(where + " did not finish in " + result.frames() + " frames",
+                    result.frames() < SpecialStageRunner.DEFAULT_MAX_FRAMES);
+            assertFalse(where + " reached no checkpoint", result.checkpoints().isEmpty());
+            for (SpecialStageRunner.CheckpointRecord record : result.checkpoints()) {
+                String checkpoint = where + " checkpoint " + record.number;
+                assertTrue(checkpoint + " has no requirement", record.requirement > 0);
+                assertTrue(checkpoint + " needs " + record.requirement + " rings but only "
+                        + record.ringsSpawned + " were spawned", record.requirement <= record.ringsSpawned);
+                if (record.getResult() == Sonic2SpecialStageCheckpoint.Result.FAILED) {
+                    assertTrue(checkpoint + " failed with enough rings", record.ringsCollected < record.requirement);
+                } else if (record.getResult() != null) {
+                    assertTrue(checkpoint + " passed without enough rings", record.ringsCollected >= record.requirement);
+                }
+            }
+
+            System.out.printf("%s: %s, %d/%d rings, %d frames at %.0f fps (p99 update %.1f us)%n", where,
+                    result.state(), result.ringsCollected(), result.ringsSpawned(), result.frames(),
+                    result.framesPerSecond(), result.percentileNanos(99) / 1000.0);
+        }
+    }
+}
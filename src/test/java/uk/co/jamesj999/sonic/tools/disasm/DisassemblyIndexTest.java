@@ -0,0 +1,97 @@
+package uk.co.jamesj999.sonic.tools.disasm;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the disassembly include index using a small generated disassembly tree.
+ */
+public class DisassemblyIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path root;
+    private Path cacheFile;
+
+    @Before
+    public void setUp() throws IOException {
+        root = folder.newFolder("s2disasm").toPath();
+        cacheFile = folder.getRoot().toPath().resolve("index.cache");
+
+        Files.writeString(root.resolve("s2.asm"), String.join("\n",
+                "; main file",
+                "ArtNem_Ring:\tBINCLUDE\t\"art/nemesis/Ring.nem\"",
+                "\tBINCLUDE\t\"misc/unlabelled.bin\"",
+                "ArtKos_Stage:\tbinclude \"art/kosinski/Stage.kos\"",
+                "Pal_Title:\tpalette Title.bin,Title2.bin ; two palettes",
+                ""));
+        Files.createDirectories(root.resolve("sound"));
+        Files.writeString(root.resolve("sound/music.asm"),
+                "Mus_Title:\tBINCLUDE \"sound/music/Title.sax\"\n");
+    }
+
+    @Test
+    public void testIndexesAllIncludeForms() throws IOException {
+        DisassemblyIndex index = new DisassemblyIndex(root, cacheFile);
+
+        List<DisassemblyIndex.Entry> entries = index.getEntries();
+        assertEquals(6, entries.size());
+        assertEquals("s2.asm", entries.get(0).result().getAsmFilePath());
+        assertEquals(2, entries.get(0).result().getAsmLineNumber());
+        assertEquals("sound/music.asm", entries.get(5).result().getAsmFilePath());
+
+        DisassemblySearchResult ring = index.findByLabel("ArtNem_Ring").get(0).result();
+        assertEquals("art/nemesis/Ring.nem", ring.getFilePath());
+        assertEquals(CompressionType.NEMESIS, ring.getCompressionType());
+
+        assertEquals("art/palettes/Title2.bin", index.findByLabel("Pal_Title_2").get(0).result().getFilePath());
+        assertEquals(3, index.findByCompressionType(CompressionType.UNCOMPRESSED).size());
+        assertEquals(4, index.getEntries("s2.asm").stream()
+                .filter(e -> e.kind() != DisassemblyIndex.Kind.BINCLUDE).count());
+    }
+
+    @Test
+    public void testSearchToolKeepsPerQueryFiltering() throws IOException {
+        DisassemblySearchTool tool = new DisassemblySearchTool(new DisassemblyIndex(root, null));
+
+        // Label searches only cover labelled BINCLUDEs, not palettes
+        assertEquals(1, tool.searchByLabel("title").size());
+        // File name searches include unlabelled BINCLUDEs
+        assertEquals(1, tool.searchByFileName("unlabelled").size());
+        // General searches match labels and paths of every include form
+        assertEquals(3, tool.search("title").size());
+        assertEquals(6, tool.listAllIncludes().size());
+    }
+
+    @Test
+    public void testCacheIsReusedAndRefreshedOnModification() throws IOException {
+        new DisassemblyIndex(root, cacheFile).ensureLoaded();
+        assertTrue(Files.exists(cacheFile));
+
+        DisassemblyIndex cached = new DisassemblyIndex(root, cacheFile);
+        cached.ensureLoaded();
+        assertFalse("Unchanged tree should not need re-parsing", cached.refresh());
+        assertEquals(1, cached.findByLabel("Mus_Title").size());
+
+        Path music = root.resolve("sound/music.asm");
+        Files.writeString(music, "Mus_Credits:\tBINCLUDE \"sound/music/Credits.sax\"\n");
+        Files.setLastModifiedTime(music, FileTime.fromMillis(Files.getLastModifiedTime(music).toMillis() + 2000));
+        Files.writeString(root.resolve("extra.asm"), "ArtUnc_Extra:\tBINCLUDE \"art/uncompressed/Extra.bin\"\n");
+
+        DisassemblyIndex refreshed = new DisassemblyIndex(root, cacheFile);
+        assertTrue(refreshed.findByLabel("Mus_Title").isEmpty());
+        assertEquals(1, refreshed.findByLabel("Mus_Credits").size());
+        assertEquals(1, refreshed.findByLabel("ArtUnc_Extra").size());
+    }
+}
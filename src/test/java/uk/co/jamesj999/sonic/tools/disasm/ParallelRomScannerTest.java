@@ -0,0 +1,120 @@
+package uk.co.jamesj999.sonic.tools.disasm;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.jamesj999.sonic.tools.KosinskiReader;
+import uk.co.jamesj999.sonic.tools.NemesisReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the parallel ROM scanner using small hand-built streams embedded in random data.
+ */
+public class ParallelRomScannerTest {
+
+    // Literals 'A', 'B', an inline match of 4 bytes at distance 2, then the terminator
+    private static final byte[] KOSINSKI_STREAM = {
+            (byte) 0x93, 0x00, 'A', 'B', (byte) 0xFE, 0x00, (byte) 0xF0, 0x00
+    };
+    // One pattern, a single 1-bit code for palette 5 with a run of 8, then eight 0 bits (the
+    // decoder peeks a full byte ahead, so the last code needs a second byte of bitstream)
+    private static final byte[] NEMESIS_STREAM = {
+            0x00, 0x01, (byte) 0x85, 0x71, 0x00, (byte) 0xFF, 0x00, 0x00
+    };
+
+    private static final int KOSINSKI_OFFSET = 0x1F001;
+    private static final int NEMESIS_OFFSET = 0x25003;
+
+    private byte[] rom;
+
+    @Before
+    public void setUp() {
+        rom = new byte[0x30000];
+        new Random(1234).nextBytes(rom);
+        System.arraycopy(KOSINSKI_STREAM, 0, rom, KOSINSKI_OFFSET, KOSINSKI_STREAM.length);
+        System.arraycopy(NEMESIS_STREAM, 0, rom, NEMESIS_OFFSET, NEMESIS_STREAM.length);
+    }
+
+    @Test
+    public void testFindsKosinskiStream() throws IOException {
+        byte[] reference = KosinskiReader.decompress(Channels.newChannel(new ByteArrayInputStream(KOSINSKI_STREAM)));
+        assertArrayEquals("ABABAB".getBytes(), reference);
+
+        ParallelRomScanner.ScanResult result = new ParallelRomScanner(rom, 4)
+                .scan(ParallelRomScanner.kosinskiMatcher(reference), 0, rom.length, 1);
+
+        assertTrue(result.isFound());
+        assertEquals(KOSINSKI_OFFSET, result.getOffset());
+        assertEquals(KOSINSKI_STREAM.length, result.getCompressedSize());
+    }
+
+    @Test
+    public void testFindsNemesisStream() throws IOException {
+        byte[] reference = NemesisReader.decompress(Channels.newChannel(new ByteArrayInputStream(NEMESIS_STREAM)));
+        byte[] expected = new byte[32];
+        Arrays.fill(expected, (byte) 0x55);
+        assertArrayEquals(expected, reference);
+
+        ParallelRomScanner.ScanResult result = new ParallelRomScanner(rom, 4)
+                .scan(ParallelRomScanner.nemesisMatcher(reference), 0, rom.length, 1);
+
+        assertTrue(result.isFound());
+        assertEquals(NEMESIS_OFFSET, result.getOffset());
+        assertEquals(NEMESIS_STREAM.length, result.getCompressedSize());
+    }
+
+    @Test
+    public void testReturnsLowestMatch() {
+        System.arraycopy(KOSINSKI_STREAM, 0, rom, 0x2A000, KOSINSKI_STREAM.length);
+        System.arraycopy(KOSINSKI_STREAM, 0, rom, 0x800, KOSINSKI_STREAM.length);
+
+        ParallelRomScanner.ScanResult result = new ParallelRomScanner(rom, 4)
+                .scan(ParallelRomScanner.kosinskiMatcher("ABABAB".getBytes()), 0, rom.length, 1);
+
+        assertEquals(0x800, result.getOffset());
+    }
+
+    @Test
+    public void testDivergingOutputIsRejected() {
+        ParallelRomScanner.ScanResult result = new ParallelRomScanner(rom, 4)
+                .scan(ParallelRomScanner.kosinskiMatcher("ABABAC".getBytes()), 0, rom.length, 1);
+
+        assertFalse(result.isFound());
+        assertFalse(result.isCancelled());
+    }
+
+    @Test
+    public void testProgressCoversWholeRange() {
+        AtomicLong scanned = new AtomicLong();
+        AtomicLong total = new AtomicLong();
+        ParallelRomScanner scanner = new ParallelRomScanner(rom, 4);
+        scanner.setProgressListener((done, all) -> {
+            scanned.accumulateAndGet(done, Math::max);
+            total.set(all);
+        });
+
+        scanner.scan(ParallelRomScanner.rawMatcher(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 }), 0, rom.length, 1);
+
+        assertEquals(rom.length, total.get());
+        assertEquals(rom.length, scanned.get());
+    }
+
+    @Test
+    public void testCancelledScanReportsCancellation() {
+        ParallelRomScanner scanner = new ParallelRomScanner(rom, 4);
+        scanner.cancel();
+
+        ParallelRomScanner.ScanResult result = scanner.scan(
+                ParallelRomScanner.kosinskiMatcher("ABABAB".getBytes()), 0, rom.length, 1);
+
+        assertTrue(result.isCancelled());
+        assertFalse(result.isFound());
+    }
+}